@@ -1,49 +1,279 @@
 package com.rookies4.finalProject.config;
 
+import com.rookies4.finalProject.dto.kafka.PriceAlertMessageDTO;
+import com.rookies4.finalProject.dto.kafka.SubscriptionEventDTO;
+import com.rookies4.finalProject.service.kafka.LastPriceCache;
+import com.rookies4.finalProject.service.kafka.PriceAlertRelay;
+import com.rookies4.finalProject.util.StripedExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
 @EnableKafka
+@RequiredArgsConstructor
 public class KafkaConfig {
 
+    /**
+     * 노드 식별자 (다중 노드 모드의 노드별 consumer group 이름에 사용)
+     * 지정하지 않으면 HOSTNAME (컨테이너/파드 이름)
+     */
+    public static final String INSTANCE_ID = "${kafka.instance-id:${HOSTNAME:local}}";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
     @Value("${spring.kafka.consumer.group-id:stock-group}")
     private String defaultGroupId;
 
+    // 배치 리스너 한 번의 poll 로 가져올 최대 레코드 수
+    @Value("${kafka.stock-ticks.max-poll-records:500}")
+    private int stockTickMaxPollRecords;
+
+    // stock-ticks 리스너 스레드 수 (토픽 파티션 수 이하로 설정)
+    @Value("${kafka.stock-ticks.concurrency:3}")
+    private int stockTickConcurrency;
+
+    // 종목별 STOMP 전송/목표가 판단을 병렬로 처리할 stripe 수 (0이면 CPU 코어 수)
+    @Value("${kafka.stock-ticks.dispatch.stripes:0}")
+    private int dispatchStripes;
+
+    @Value("${kafka.stock-ticks.dispatch.queue-capacity:10000}")
+    private int dispatchQueueCapacity;
+
+    @Value("${kafka.last-price.partitions:3}")
+    private int lastPricePartitions;
+
+    // 호가 전용 레인: 체결/목표가 처리와 스레드·큐를 나눠, 밀리면 호가만 버림
+    @Value("${kafka.order-book.dispatch.stripes:2}")
+    private int orderBookDispatchStripes;
+
+    @Value("${kafka.order-book.dispatch.queue-capacity:1000}")
+    private int orderBookDispatchQueueCapacity;
+
+    // 호가 전용 토픽 리스너 스레드 수 (kafka.order-book.dedicated-topic=true 일 때)
+    @Value("${kafka.order-book.concurrency:1}")
+    private int orderBookConcurrency;
+
+    /**
+     * stock-ticks 값은 byte[] 로 받아 리스너에서 content-type 헤더(JSON / 바이너리)에 맞게 디코딩합니다.
+     * (디코딩 DTO 재사용을 위해 Deserializer 단계에서 객체를 만들지 않음)
+     */
     @Bean
-    public ConsumerFactory<String, String> stockTickConsumerFactory() {
+    public ConsumerFactory<String, byte[]> stockTickConsumerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, defaultGroupId);
-        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // 커밋된 offset 이 없으면(새 그룹, offset 만료) 토픽 전체를 다시 읽지 않고 최신부터 - 마지막 가격은 stock-last-price 로 복구
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, stockTickMaxPollRecords);
 
-        return new DefaultKafkaConsumerFactory<>(
+        DefaultKafkaConsumerFactory<String, byte[]> factory = new DefaultKafkaConsumerFactory<>(
                 config,
                 new StringDeserializer(),
-                new StringDeserializer()
+                new ByteArrayDeserializer()
         );
+        // 컨슈머 클라이언트 지표(records-lag, fetch-latency 등)를 Micrometer 로 노출
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String>
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]>
     stockTickKafkaListenerContainerFactory() {
 
-        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(stockTickConsumerFactory());
+        // poll 단위로 List<ConsumerRecord> 를 받아 종목별로 합친 뒤(conflation) 처리
+        factory.setBatchListener(true);
+        factory.setConcurrency(stockTickConcurrency);
+        return factory;
+    }
+
+    /**
+     * 다중 노드(broadcast) 모드의 노드별 stock-ticks 리스너용
+     * 실시간 전송만 하므로 offset 을 커밋하지 않음 (MANUAL 인데 ack 하지 않음 → 재시작 시 항상 최신부터)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]>
+    stockTickFanoutKafkaListenerContainerFactory() {
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
 
         factory.setConsumerFactory(stockTickConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(stockTickConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * 호가 전용 토픽(stock-order-book) 리스너용
+     * 체결 리스너와 스레드 수를 따로 두고, 실시간 전송만 하므로 offset 을 커밋하지 않음
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]>
+    orderBookKafkaListenerContainerFactory() {
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(stockTickConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(orderBookConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * 목표가 알림 중계 토픽 (다중 노드 모드에서 모든 노드가 노드별 그룹으로 구독)
+     */
+    @Bean
+    public NewTopic priceAlertTopic() {
+        return TopicBuilder.name(PriceAlertRelay.TOPIC)
+                .partitions(1)
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, PriceAlertMessageDTO> priceAlertProducerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+
+        return new DefaultKafkaProducerFactory<>(
+                config,
+                new StringSerializer(),
+                new JsonSerializer<>()
+        );
+    }
+
+    @Bean
+    public KafkaTemplate<String, PriceAlertMessageDTO> priceAlertKafkaTemplate(
+            ProducerFactory<String, PriceAlertMessageDTO> priceAlertProducerFactory) {
+        return new KafkaTemplate<>(priceAlertProducerFactory);
+    }
+
+    @Bean
+    public ConsumerFactory<String, PriceAlertMessageDTO> priceAlertConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, defaultGroupId);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        return new DefaultKafkaConsumerFactory<>(
+                config,
+                new StringDeserializer(),
+                new JsonDeserializer<>(PriceAlertMessageDTO.class, false)
+        );
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PriceAlertMessageDTO>
+    priceAlertKafkaListenerContainerFactory() {
+
+        ConcurrentKafkaListenerContainerFactory<String, PriceAlertMessageDTO> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(priceAlertConsumerFactory());
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * 종목코드 기준 스트라이프 실행기
+     * 같은 종목의 처리 순서는 유지하면서 서로 다른 종목은 여러 코어에서 병렬 처리합니다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public StripedExecutor tickDispatchExecutor() {
+        int stripes = dispatchStripes > 0 ? dispatchStripes : Runtime.getRuntime().availableProcessors();
+        return new StripedExecutor("stock.tick.dispatch", stripes, dispatchQueueCapacity);
+    }
+
+    /**
+     * 호가 전송 전용 스트라이프 실행기
+     * 큐가 가득 차면 대기하지 않고 가장 오래된 호가를 버려 체결/목표가 처리와 Kafka poll 을 늦추지 않습니다.
+     * (호가는 매번 10단계 전체가 오므로 버려도 다음 호가에서 최신 상태로 맞춰짐, 새 구독자 스냅샷은 버리지 않음, 주기 재동기화는 버려져도 다음 주기에 다시 보냄)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public StripedExecutor orderBookDispatchExecutor() {
+        return new StripedExecutor("stock.order-book.dispatch", orderBookDispatchStripes, orderBookDispatchQueueCapacity, true);
+    }
+
+    /**
+     * 종목별 마지막 체결가 토픽 (로그 압축 - 종목코드 키마다 마지막 값만 남음)
+     */
+    @Bean
+    public NewTopic stockLastPriceTopic() {
+        return TopicBuilder.name(LastPriceCache.TOPIC)
+                .partitions(lastPricePartitions)
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT)
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, byte[]> stockLastPriceProducerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+
+        return new DefaultKafkaProducerFactory<>(
+                config,
+                new StringSerializer(),
+                new ByteArraySerializer()
+        );
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> stockLastPriceKafkaTemplate(
+            ProducerFactory<String, byte[]> stockLastPriceProducerFactory) {
+        return new KafkaTemplate<>(stockLastPriceProducerFactory);
+    }
+
+    /**
+     * ProducerFactory / KafkaTemplate 빈을 직접 정의하면 Spring Boot 기본 빈이 만들어지지 않으므로
+     * subscription-events 용도 spring.kafka.producer.* 설정 그대로 명시적으로 등록합니다.
+     * 재시도해도 중복/순서 뒤바뀜이 없도록 멱등 producer 로 보내고, 모아 보내는 이벤트는 linger 로 묶습니다.
+     * (전송은 전용 스레드(subscription-events-sender)에서 하고, 브로커 장애 때 그 스레드가 오래 막혀 대기열이 밀리지 않게 max.block.ms 를 줄임)
+     */
+    @Bean
+    public ProducerFactory<String, SubscriptionEventDTO> subscriptionEventProducerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5000);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, SubscriptionEventDTO> subscriptionEventKafkaTemplate(
+            ProducerFactory<String, SubscriptionEventDTO> subscriptionEventProducerFactory) {
+        return new KafkaTemplate<>(subscriptionEventProducerFactory);
+    }
+}
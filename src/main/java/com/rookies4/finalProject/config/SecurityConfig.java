@@ -72,6 +72,8 @@ public class SecurityConfig {
                                 "/api/app/kis/trade/**",
                                 "/api/app/kis/rank/**",
                                 "/api/app/subscriptions/active-codes",
+                                "/api/app/subscriptions/active-codes/delta",
+                                "/api/app/subscriptions/allocation",
                                 "api/app/portfolios/**",
                                 "/api/test/**",
                                 "/ws/**", "/ws"
@@ -1,13 +1,16 @@
 package com.rookies4.finalProject.config;
 
+import com.rookies4.finalProject.websocket.SlowConsumerGuard;
 import com.rookies4.finalProject.websocket.StompAuthChannelInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @RequiredArgsConstructor
 @Configuration
@@ -15,12 +18,34 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final SlowConsumerGuard slowConsumerGuard;
+
+    @Value("${websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMillis;
+
+    @Value("${websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(stompAuthChannelInterceptor);
     }
 
+    /**
+     * 송신 한도 / 느린 세션 정책은 SlowConsumerGuard 가 세션마다 목적지별로 적용
+     * (Spring 기본 세션 버퍼는 그 뒤의 안전장치 - 보통은 SlowConsumerGuard 대기열이 먼저 처리)
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setDecoratorFactories(slowConsumerGuard)
+                .setMessageSizeLimit(messageSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMillis)
+                .setSendBufferSizeLimit(sendBufferSizeLimit);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // 1. 일반적인 STOMP 설정
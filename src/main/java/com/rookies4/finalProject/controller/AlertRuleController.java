@@ -0,0 +1,55 @@
+package com.rookies4.finalProject.controller;
+
+import com.rookies4.finalProject.dto.AlertRuleDTO;
+import com.rookies4.finalProject.service.AlertRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// 알림 규칙 설정/관리 컨트롤러
+@Tag(name = "Alert Rule", description = "알림 규칙(등락률/N일 신고가/거래량/트레일링 스탑) 설정/관리 API")
+@RestController
+@RequestMapping("/api/app/alert-rules")
+@RequiredArgsConstructor
+public class AlertRuleController {
+
+    private final AlertRuleService alertRuleService;
+
+    // 알림 규칙 등록
+    @Operation(summary = "알림 규칙 등록", description = "종목에 알림 규칙을 등록합니다 (알림은 /topic/price-alert/{userId} 로 전송)")
+    @PostMapping
+    public ResponseEntity<AlertRuleDTO.AlertRuleResponse> createRule(
+            @Valid @RequestBody AlertRuleDTO.CreateRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(alertRuleService.createRule(request));
+    }
+
+    // 내 알림 규칙 목록 조회
+    @Operation(summary = "내 알림 규칙 목록", description = "등록한 알림 규칙 목록을 조회합니다")
+    @GetMapping
+    public ResponseEntity<List<AlertRuleDTO.AlertRuleResponse>> getMyRules() {
+        return ResponseEntity.ok(alertRuleService.getMyRules());
+    }
+
+    // 알림 규칙 활성화/비활성화
+    @Operation(summary = "알림 규칙 활성화/비활성화", description = "알림 규칙을 켜거나 끕니다")
+    @PatchMapping("/{ruleId}/enabled")
+    public ResponseEntity<AlertRuleDTO.AlertRuleResponse> updateEnabled(
+            @PathVariable Long ruleId, @RequestParam boolean enabled) {
+        return ResponseEntity.ok(alertRuleService.updateEnabled(ruleId, enabled));
+    }
+
+    // 알림 규칙 삭제
+    @Operation(summary = "알림 규칙 삭제", description = "알림 규칙을 삭제합니다")
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long ruleId) {
+        alertRuleService.deleteRule(ruleId);
+        return ResponseEntity.noContent().build();
+    }
+}
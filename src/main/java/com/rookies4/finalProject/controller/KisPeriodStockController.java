@@ -24,7 +24,8 @@ public class KisPeriodStockController {
     @Operation(summary = "기간별 시세 조회", description = "특정 종목의 일/주/월/년 단위 시세 데이터를 조회합니다. (로그인 필요)")
     public ResponseEntity<KisPeriodStockDTO.ChartResponse> getChartData(
             @Parameter(description = "종목코드 (예: 005930)") @PathVariable String stockCode,
-            @Parameter(description = "조회 기간 (day, week, month, year)") @RequestParam String period) {
+            @Parameter(description = "조회 기간 (minute, day, week, month, year)") @RequestParam String period,
+            @Parameter(description = "분봉 간격(분) - minute 조회 시 사용 (1, 3, 5, 10, 30, 60)") @RequestParam(defaultValue = "1") int interval) {
 
         Long userId = SecurityUtil.getCurrentUserId();
         if (userId == null) {
@@ -32,7 +33,7 @@ public class KisPeriodStockController {
         }
 
         KisPeriodStockDTO.ChartResponse response =
-                kisPeriodStockService.getChartData(stockCode, period, userId);
+                kisPeriodStockService.getChartData(stockCode, period, interval, userId);
 
         return ResponseEntity.ok(response);
     }
@@ -1,6 +1,7 @@
 package com.rookies4.finalProject.controller;
 
 import com.rookies4.finalProject.dto.StockDTO;
+import com.rookies4.finalProject.dto.StockPopularityDTO;
 import com.rookies4.finalProject.service.StockService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -32,4 +33,16 @@ public class StockController {
     public ResponseEntity<List<StockDTO.StockResponse>> searchStocks(@RequestParam String keyword) {
         return ResponseEntity.ok(stockService.searchStocks(keyword));
     }
+
+    //3. 인기 종목 조회 (구독 + 관심 등록 + 실시간 구독 수 상위)
+    @GetMapping("/popular")
+    public ResponseEntity<List<StockDTO.StockResponse>> getPopularStocks(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(stockService.getPopularStocks(limit));
+    }
+
+    //4. 종목 인기 지표 조회
+    @GetMapping("/{stockCode}/popularity")
+    public ResponseEntity<StockPopularityDTO.PopularityResponse> getPopularity(@PathVariable String stockCode) {
+        return ResponseEntity.ok(stockService.getPopularity(stockCode));
+    }
 }
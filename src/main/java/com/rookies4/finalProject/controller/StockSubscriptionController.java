@@ -1,5 +1,7 @@
 package com.rookies4.finalProject.controller;
 
+import com.rookies4.finalProject.dto.ActiveStockDTO;
+import com.rookies4.finalProject.dto.SlotAllocationDTO;
 import com.rookies4.finalProject.dto.StockSubscriptionDTO;
 import com.rookies4.finalProject.service.StockSubscriptionService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -60,4 +62,28 @@ public class StockSubscriptionController {
         // Service에 getAllActiveStockCodes() 메소드가 필요합니다. (Repository의 Distinct Query 호출)
         return ResponseEntity.ok(stockSubscriptionService.getAllActiveStockCodes());
     }
-}
\ No newline at end of file
+
+    /**
+     * System/Collector용: 활성 종목 변경분 조회
+     * 직전 응답의 epoch / version 을 넘기면 그 이후 추가/삭제된 종목만 받습니다.
+     */
+    @Operation(summary = "[System] 활성 구독 종목 변경분 조회",
+            description = "since(version) 이후 추가/삭제된 종목 코드를 조회합니다. epoch 가 다르거나 너무 오래된 version 이면 전체 목록(full=true)을 반환합니다.")
+    @GetMapping("/active-codes/delta")
+    public ResponseEntity<ActiveStockDTO.DeltaResponse> getActiveStockDelta(
+            @RequestParam(required = false) String epoch,
+            @RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(stockSubscriptionService.getActiveStockDelta(epoch, since));
+    }
+
+    /**
+     * System/Collector용: KIS 실시간 등록 슬롯 배분 조회
+     * 슬롯보다 수요가 많으면 polling 목록의 종목은 REST 폴링으로 받습니다.
+     */
+    @Operation(summary = "[System] 실시간 등록 슬롯 배분 조회",
+            description = "수요 점수 순으로 실시간(WebSocket) 등록 종목과 REST 폴링 종목을 나눈 배분 현황을 조회합니다.")
+    @GetMapping("/allocation")
+    public ResponseEntity<SlotAllocationDTO.AllocationResponse> getSlotAllocation() {
+        return ResponseEntity.ok(stockSubscriptionService.getSlotAllocation());
+    }
+}
@@ -0,0 +1,98 @@
+package com.rookies4.finalProject.domain.entity;
+
+import com.rookies4.finalProject.domain.enums.AlertRuleType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 알림 규칙 엔티티 (등락률 / N일 신고가 / 거래량 / 트레일링 스탑)
+@Entity
+@Table(
+    name = "alert_rule",
+    indexes = {
+        @Index(name = "idx_alert_rule_user", columnList = "user_id")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 사용자 (규칙을 등록한 사용자)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // 종목
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "stock_code", nullable = false)
+    private Stock stock;
+
+    // 규칙 타입
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_type", length = 20, nullable = false)
+    private AlertRuleType ruleType;
+
+    /**
+     * 기준값 - 타입별 의미
+     * PERCENT_CHANGE: 전일 대비 등락률(%), 음수면 하락 / VOLUME: 누적 거래량(주) / TRAILING_STOP: 고점 대비 하락률(%)
+     * N_DAY_HIGH 는 사용하지 않음
+     */
+    @Column(name = "threshold", precision = 19, scale = 2)
+    private BigDecimal threshold;
+
+    // N_DAY_HIGH: 고가를 구할 기간(거래일)
+    @Column(name = "lookback_days")
+    private Integer lookbackDays;
+
+    /**
+     * 기준 가격
+     * N_DAY_HIGH: 등록 시점의 최근 N일 고가 / TRAILING_STOP: 시작 고점 (NULL 이면 첫 체결가부터 추적)
+     */
+    @Column(name = "reference_price", precision = 19, scale = 2)
+    private BigDecimal referencePrice;
+
+    // 같은 규칙의 재알림 간격(분)
+    @Column(name = "cooldown_minutes", nullable = false)
+    @Builder.Default
+    private Integer cooldownMinutes = 30;
+
+    /**
+     * 활성화 여부
+     * false인 경우 알림을 보내지 않음
+     */
+    @Column(name = "is_enabled", nullable = false)
+    @Builder.Default
+    private Boolean isEnabled = true;
+
+    // 마지막 알림 시각
+    @Column(name = "triggered_at")
+    private LocalDateTime triggeredAt;
+
+    // 생성 시간
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 수정 시간
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -82,6 +82,8 @@ public class Stock {
     }
 
     // 종목이 몇 명의 관심 종목으로 등록되었는지 계산
+    // 관심 등록 컬렉션 전체를 불러오므로 목록 / 화면 표시에는 StockPopularityIndex 를 사용
+    @Deprecated
     public int getInterestCount() {
         return interestedUsers != null ? interestedUsers.size() : 0;
     }
@@ -0,0 +1,22 @@
+package com.rookies4.finalProject.domain.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 알림 규칙 타입
+ * threshold / lookbackDays / referencePrice 의 의미가 타입마다 다름
+ */
+
+@Getter
+@AllArgsConstructor
+public enum AlertRuleType {
+    PERCENT_CHANGE("PERCENT_CHANGE", "등락률", "전일 종가 대비 threshold(%) 이상 움직이면 알림 (양수는 상승, 음수는 하락)"),
+    N_DAY_HIGH("N_DAY_HIGH", "N일 신고가", "최근 lookbackDays 일 고가(referencePrice)를 넘어서면 알림"),
+    VOLUME("VOLUME", "거래량", "당일 누적 거래량이 threshold(주) 이상이 되면 알림"),
+    TRAILING_STOP("TRAILING_STOP", "트레일링 스탑", "규칙 등록 이후 고점 대비 threshold(%) 이상 떨어지면 알림");
+
+    private final String code;
+    private final String name;
+    private final String description;
+}
@@ -0,0 +1,32 @@
+package com.rookies4.finalProject.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+public class ActiveStockDTO {
+
+    /**
+     * 활성 종목 변경분 응답 (/api/app/subscriptions/active-codes/delta)
+     * - full = true : stockCodes 가 전체 목록 (처음 요청, 오래된 version, 다른 노드/재기동으로 epoch 가 바뀐 경우)
+     * - full = false : since 이후 added / removed 만 포함
+     * 수집기는 응답의 epoch, version 을 다음 요청에 그대로 넘깁니다.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class DeltaResponse {
+        private String epoch;
+        private long version;
+        private boolean full;
+        private List<String> stockCodes;
+        private List<String> added;
+        private List<String> removed;
+    }
+}
@@ -0,0 +1,69 @@
+package com.rookies4.finalProject.dto;
+
+import com.rookies4.finalProject.domain.entity.AlertRule;
+import com.rookies4.finalProject.domain.enums.AlertRuleType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class AlertRuleDTO {
+
+    // 알림 규칙 등록 요청
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CreateRequest {
+        @NotBlank(message = "알림 규칙을 등록할 종목을 선택해 주세요.")
+        private String stockCode;
+        @NotNull(message = "알림 규칙 타입은 필수입니다.")
+        private AlertRuleType ruleType;
+        private BigDecimal threshold;
+        private Integer lookbackDays;
+        private BigDecimal referencePrice;
+        private Integer cooldownMinutes;
+    }
+
+    // 알림 규칙 응답
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AlertRuleResponse {
+        private Long id;
+        private String stockCode;
+        private String stockName;
+        private AlertRuleType ruleType;
+        private BigDecimal threshold;
+        private Integer lookbackDays;
+        private BigDecimal referencePrice;
+        private Integer cooldownMinutes;
+        private Boolean isEnabled;
+        private LocalDateTime triggeredAt;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+
+        public static AlertRuleResponse fromEntity(AlertRule entity) {
+            return AlertRuleResponse.builder()
+                    .id(entity.getId())
+                    .stockCode(entity.getStock().getStockCode())
+                    .stockName(entity.getStock().getName())
+                    .ruleType(entity.getRuleType())
+                    .threshold(entity.getThreshold())
+                    .lookbackDays(entity.getLookbackDays())
+                    .referencePrice(entity.getReferencePrice())
+                    .cooldownMinutes(entity.getCooldownMinutes())
+                    .isEnabled(entity.getIsEnabled())
+                    .triggeredAt(entity.getTriggeredAt())
+                    .createdAt(entity.getCreatedAt())
+                    .updatedAt(entity.getUpdatedAt())
+                    .build();
+        }
+    }
+}
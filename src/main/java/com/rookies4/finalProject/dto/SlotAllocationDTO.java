@@ -0,0 +1,31 @@
+package com.rookies4.finalProject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+public class SlotAllocationDTO {
+
+    /**
+     * KIS 실시간 등록 슬롯 배분 현황 (/api/app/subscriptions/allocation)
+     * - streaming : 실시간(WebSocket) 등록 종목 (수요 점수 내림차순)
+     * - polling : 슬롯이 모자라 REST 폴링으로 받아야 하는 종목 (수요 점수 내림차순)
+     * version 은 배분이 바뀔 때마다 오르므로 같은 값이면 목록을 다시 볼 필요가 없습니다.
+     * allocated 가 false 면(다중 노드 모드) 배분하지 않으므로 subscription-events 대로 등록합니다.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AllocationResponse {
+        private boolean allocated;
+        private long version;
+        private int capacity;
+        private int usedSlots; // streaming + 해지 유예 중인 종목
+        private List<String> streaming;
+        private List<String> polling;
+    }
+}
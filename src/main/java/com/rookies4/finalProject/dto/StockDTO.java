@@ -1,5 +1,6 @@
 package com.rookies4.finalProject.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.rookies4.finalProject.domain.entity.Stock;
 import com.rookies4.finalProject.domain.entity.User;
 import jakarta.validation.constraints.NotBlank;
@@ -36,6 +37,8 @@ public class StockDTO {
         private String corpCode;
         private String sector; // 섹터 (반도체, 2차전지 등)
         private String industryCode; // 산업분류코드
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private StockPopularityDTO.PopularityResponse popularity; // 구독 / 관심 / 실시간 구독 수 (메모리 집계)
 
         // Entity를 DTO로 변환하는 생성자
         public static StockDTO.StockResponse fromEntity(Stock stock) {
@@ -0,0 +1,27 @@
+package com.rookies4.finalProject.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public class StockPopularityDTO {
+
+    /**
+     * 종목 인기 지표 (메모리 집계 - StockPopularityIndex)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PopularityResponse {
+        private String stockCode; // 종목코드
+        private String name; // 종목명 (인기 종목 목록에서만 채움)
+        private long subscriberCount; // 구독(StockSubscription) 수
+        private long interestCount; // 관심 종목 등록 수
+        private long viewerCount; // 실시간(STOMP) 구독 수
+        private long score; // 정렬 점수 (세 값의 합)
+    }
+}
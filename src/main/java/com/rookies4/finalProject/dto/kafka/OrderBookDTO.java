@@ -22,6 +22,8 @@ public class OrderBookDTO {
     private Long totalAskQty; // 총 매도호가 잔량 (TOTAL_ASKP_RSQN)
     private Long totalBidQty; // 총 매수호가 잔량 (TOTAL_BIDP_RSQN)
 
+    private Long seq; // 서버가 보내는 스냅샷 순번 (OrderBookDeltaDTO 와 같은 순번 체계, Kafka 수신 시 null)
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
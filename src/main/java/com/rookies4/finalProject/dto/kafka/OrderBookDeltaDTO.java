@@ -0,0 +1,65 @@
+package com.rookies4.finalProject.dto.kafka;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 호가 변경분 메시지 (/topic/stock-order-book/{stockCode})
+ *
+ * <p>직전 메시지(스냅샷 또는 델타)와 비교해 바뀐 호가 단계만 담습니다.
+ * 클라이언트는 seq 가 직전 seq + 1 일 때만 적용하고,
+ * 번호가 건너뛰면 다음 스냅샷(ORDER_BOOK)을 기다립니다.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderBookDeltaDTO {
+
+    public static final String TYPE = "ORDER_BOOK_DELTA";
+
+    private String type; // 메시지 타입 ("ORDER_BOOK_DELTA")
+
+    private String stockCode; // 종목 코드
+
+    private Long seq; // 종목별 순번 (스냅샷과 같은 순번 체계)
+
+    private List<Level> asks; // 바뀐 매도 호가 단계 (없으면 생략)
+    private List<Level> bids; // 바뀐 매수 호가 단계 (없으면 생략)
+
+    private Long totalAskQty; // 바뀐 경우에만 포함
+    private Long totalBidQty; // 바뀐 경우에만 포함
+
+    /**
+     * 바뀐 단계 수 (매도 + 매수)
+     */
+    public int changedLevels() {
+        return (asks != null ? asks.size() : 0) + (bids != null ? bids.size() : 0);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Level {
+
+        /**
+         * 호가 단계 (0 = 1호가)
+         */
+        private int level;
+
+        /**
+         * 호가 가격 / 잔량
+         * - 둘 다 없으면 해당 단계가 사라진 것
+         */
+        private BigDecimal price;
+        private Long qty;
+    }
+}
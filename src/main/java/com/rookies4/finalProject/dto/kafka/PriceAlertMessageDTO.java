@@ -24,12 +24,18 @@ public class PriceAlertMessageDTO {
     private String stockCode;
     private String stockName;
 
-    // 어떤 목표가인지
+    // 어떤 목표가인지 (알림 규칙이면 규칙 타입)
     private AlertType alertType;
 
+    // 알림 규칙 id (목표가 알림이면 null)
+    private Long ruleId;
+
+    // 알림 규칙 기준값 (등락률/하락률은 %, 거래량은 주, N일 신고가는 기준 가격)
+    private BigDecimal threshold;
+
     // === Entity 기준 데이터 ===
 
-    // 설정된 목표가 (upperTarget 또는 lowerTarget)
+    // 설정된 목표가 (upperTarget 또는 lowerTarget) / 알림 규칙이 넘어선 가격 수준 (거래량 규칙은 null)
     private BigDecimal targetPrice;
 
     // 목표가 도달 시점의 현재가
@@ -40,6 +46,11 @@ public class PriceAlertMessageDTO {
 
     public enum AlertType {
         UPPER,
-        LOWER
+        LOWER,
+        // 알림 규칙 (AlertRuleType 과 같은 이름)
+        PERCENT_CHANGE,
+        N_DAY_HIGH,
+        VOLUME,
+        TRAILING_STOP
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.rookies4.finalProject.dto.kafka;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 관심 종목 스트림 필터 변경 요청 (/app/watchlist/add, /app/watchlist/remove)
+ * 예: {"stockCodes": ["005930", "000660"]}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WatchlistCommandDTO {
+
+    private List<String> stockCodes;
+}
@@ -52,6 +52,11 @@ public enum ErrorCode {
     //-----------------------------------------------------
     PORTFOLIO_NOT_FOUND("PORTFOLIO_001","해당 포트폴리오를 찾을 수 없습니다",HttpStatus.CONFLICT),
 
+    //-----------------------------------------------------
+    // 알림 규칙 관련
+    //-----------------------------------------------------
+    ALERT_RULE_NOT_FOUND("ALERT_001","해당 알림 규칙을 찾을 수 없습니다.",HttpStatus.NOT_FOUND),
+
     //-----------------------------------------------------
     // KIS API 관련
     //-----------------------------------------------------
@@ -0,0 +1,28 @@
+package com.rookies4.finalProject.repository;
+
+import com.rookies4.finalProject.domain.entity.AlertRule;
+import com.rookies4.finalProject.domain.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 알림 규칙 Repository
+@Repository
+public interface AlertRuleRepository extends JpaRepository<AlertRule, Long> {
+
+    // 활성화된 알림 규칙 전체 (알림 규칙 엔진 적재용)
+    @Query("SELECT ar FROM AlertRule ar " +
+           "JOIN FETCH ar.stock " +
+           "WHERE ar.isEnabled = true")
+    List<AlertRule> findAllEnabledWithStock();
+
+    // 특정 사용자의 모든 알림 규칙 조회
+    @Query("SELECT ar FROM AlertRule ar " +
+           "JOIN FETCH ar.stock " +
+           "WHERE ar.user = :user " +
+           "ORDER BY ar.createdAt DESC")
+    List<AlertRule> findByUserWithStock(@Param("user") User user);
+}
@@ -22,4 +22,11 @@ public interface InterestStockRepository extends JpaRepository<InterestStock, Lo
     // [추가] 모든 관심 종목 코드 목록 조회 (중복 제거)
     @Query("SELECT DISTINCT i.stock.stockCode FROM InterestStock i")
     List<String> findAllInterestStockCodes();
+
+    // 종목별 관심 등록 수 [종목코드, 건수] (ActiveStockSet 적재용 집계)
+    @Query("SELECT i.stock.stockCode, COUNT(i) FROM InterestStock i GROUP BY i.stock.stockCode")
+    List<Object[]> countByStockCode();
+
+    // 특정 종목 관심 등록 수 (ActiveStockSet 재집계 중 겹친 변경 확인용)
+    long countByStock_StockCode(String stockCode);
 }
\ No newline at end of file
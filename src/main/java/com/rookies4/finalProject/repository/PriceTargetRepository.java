@@ -23,6 +23,12 @@ public interface PriceTargetRepository extends JpaRepository<PriceTarget, Long>
            "AND pt.isEnabled = true")
     List<PriceTarget> findByStockCodeAndEnabled(@Param("stockCode") String stockCode);
 
+    // 활성화된 목표가 전체 (목표가 메모리 인덱스 적재용)
+    @Query("SELECT pt FROM PriceTarget pt " +
+           "JOIN FETCH pt.stock " +
+           "WHERE pt.isEnabled = true")
+    List<PriceTarget> findAllEnabledWithStock();
+
     // 특정 사용자의 모든 목표가 조회
     List<PriceTarget> findByUserOrderByCreatedAtDesc(User user);
 
@@ -21,6 +21,9 @@ public interface StockSubscriptionRepository extends JpaRepository<StockSubscrip
     // 특정 종목을 구독 중인 사용자 목록 조회
     List<StockSubscription> findByStock_StockCode(String stockCode);
 
+    // 특정 종목 구독 수 (COUNT 쿼리 - 인기 지표 적재 전 대체 경로)
+    long countByStock_StockCode(String stockCode);
+
     // 사용자 + 종목으로 구독 정보 조회
     Optional<StockSubscription> findByUserAndStock(User user, Stock stock);
 
@@ -30,4 +33,8 @@ public interface StockSubscriptionRepository extends JpaRepository<StockSubscrip
     // 모든 구독 중인 종목 코드 목록 (중복 제거)
     @Query("SELECT DISTINCT s.stock.stockCode FROM StockSubscription s")
     List<String> findAllSubscribedStockCodes();
+
+    // 종목별 구독 수 [종목코드, 건수] (ActiveStockSet 적재용 집계)
+    @Query("SELECT s.stock.stockCode, COUNT(s) FROM StockSubscription s GROUP BY s.stock.stockCode")
+    List<Object[]> countByStockCode();
 }
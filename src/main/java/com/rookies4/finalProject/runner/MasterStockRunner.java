@@ -253,7 +253,8 @@ public class MasterStockRunner implements CommandLineRunner {
         }
     }
 
-    private String[] parseCsvLine(String line) {
+    // 벤치마크(MasterStockCsvBenchmark)에서 직접 호출하므로 package-private static
+    static String[] parseCsvLine(String line) {
         List<String> columns = new ArrayList<>();
         StringBuilder current = new StringBuilder();
         boolean inQuotes = false;
@@ -0,0 +1,347 @@
+package com.rookies4.finalProject.service;
+
+import com.rookies4.finalProject.dto.ActiveStockDTO;
+import com.rookies4.finalProject.repository.InterestStockRepository;
+import com.rookies4.finalProject.repository.StockSubscriptionRepository;
+import com.rookies4.finalProject.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * 활성 종목 집합 (구독 테이블 ∪ 관심 종목 테이블) - 수집기 초기화 / 재동기화용
+ *
+ * <p>종목별 구독 수 / 관심 등록 수를 메모리에 들고 있다가 등록/해지 트랜잭션이 커밋되면 증감합니다.
+ * 합계가 0 ↔ 1 로 바뀔 때만 집합이 바뀌고, 그때마다 version 이 1 씩 오르며 변경 기록에 남습니다.</p>
+ * <ul>
+ *   <li>{@link #delta(String, long)} : since 이후 추가/삭제된 종목만 반환</li>
+ *   <li>변경 기록보다 오래된 version, 다른 epoch(다른 노드 또는 재기동) 이면 전체 목록으로 대신함</li>
+ *   <li>기동 시 GROUP BY 집계 두 번으로 적재, 이후 주기적으로 다시 집계해 어긋난 값(회원 탈퇴 cascade 등)을 바로잡음
+ *       - 바로잡은 차이도 변경 기록에 남으므로 수집기는 delta 로 따라옴</li>
+ * </ul>
+ * <p>재집계 쿼리가 도는 동안 커밋된 변경은 집계 결과에 들어갔는지 알 수 없으므로 따로 모아 두었다가,
+ * 변경된 종목만 종목별 COUNT 로 다시 세어 집계 결과를 덮어쓴 뒤 비교합니다. 다시 세는 도중 들어온 변경은
+ * 한 번 더 세고, 그래도 남은 변경만 집계 결과에 더합니다. (그 사이 추가된 종목이 삭제 → 추가로 잘못
+ * 기록되지 않고, 쿼리가 이미 센 구독이 두 번 세어져 해지 후에도 활성으로 남지 않음)</p>
+ * <p>적재 전에는 {@link #isLoaded()} 가 false 이며 호출 측은 DB 조회로 처리합니다.
+ * 다중 노드(broadcast) 모드에서는 이 노드에서 커밋된 변경만 알고 다른 노드 변경은 재집계 때에야 반영되므로
+ * 수집기용 목록은 {@link #isAuthoritative()} 가 false 인 동안 DB 로 조회합니다 (구독 / 관심 수는 인기 지표용 근사값).</p>
+ * <p>종목의 구독 / 관심 등록 수가 바뀔 때마다 등록된 리스너에 (종목코드, [구독 수, 관심 등록 수]) 를 알립니다.</p>
+ */
+@Slf4j
+@Component
+public class ActiveStockSet {
+
+    private static final int SUBSCRIPTION = 0;
+    private static final int INTEREST = 1;
+    // 재집계 중 변경된 종목을 다시 세는 최대 회차
+    private static final int RECOUNT_ATTEMPTS = 3;
+
+    private final StockSubscriptionRepository stockSubscriptionRepository;
+    private final InterestStockRepository interestStockRepository;
+    private final int changeLogSize;
+
+    // 노드 / 기동마다 다른 값 - version 은 이 epoch 안에서만 비교 가능
+    private final String epoch = UUID.randomUUID().toString();
+
+    // 종목코드 → [구독 수, 관심 등록 수] (넣은 순서 유지 - 전체 목록 순서 안정)
+    private final Map<String, long[]> counts = new LinkedHashMap<>();
+    private final ArrayDeque<Change> changeLog = new ArrayDeque<>();
+    private long version;
+    // 변경 기록으로 설명할 수 있는 가장 오래된 version (적재 시점)
+    private long baseVersion;
+    private volatile boolean loaded;
+    // 다중 노드 모드 - 다른 노드에서 커밋된 변경을 모름
+    private final boolean sharedAcrossNodes;
+    // 재집계 중 커밋된 변경 (재집계 중이 아니면 null)
+    private List<PendingChange> rebuildBuffer;
+    private final List<BiConsumer<String, long[]>> countListeners = new CopyOnWriteArrayList<>();
+
+    public ActiveStockSet(StockSubscriptionRepository stockSubscriptionRepository,
+                          InterestStockRepository interestStockRepository,
+                          @Value("${active-stocks.change-log-size:4096}") int changeLogSize,
+                          @Value("${kafka.stock-ticks.broadcast.enabled:false}") boolean broadcastEnabled) {
+        this.stockSubscriptionRepository = stockSubscriptionRepository;
+        this.interestStockRepository = interestStockRepository;
+        this.changeLogSize = Math.max(1, changeLogSize);
+        this.sharedAcrossNodes = broadcastEnabled;
+    }
+
+    public void addCountListener(BiConsumer<String, long[]> listener) {
+        countListeners.add(listener);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 활성 종목 목록을 메모리에서 바로 응답해도 되는지 (단일 노드에서 적재 후)
+     */
+    public boolean isAuthoritative() {
+        return loaded && !sharedAcrossNodes;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized List<String> stockCodes() {
+        return new ArrayList<>(counts.keySet());
+    }
+
+    /**
+     * 종목의 [구독 수, 관심 등록 수] (없으면 0, 0)
+     */
+    public synchronized long[] countsOf(String stockCode) {
+        long[] value = counts.get(stockCode);
+        return value == null ? new long[2] : value.clone();
+    }
+
+    public void subscriptionAddedAfterCommit(String stockCode) {
+        TransactionCallbacks.afterCommit(() -> apply(stockCode, SUBSCRIPTION, 1));
+    }
+
+    public void subscriptionRemovedAfterCommit(String stockCode) {
+        TransactionCallbacks.afterCommit(() -> apply(stockCode, SUBSCRIPTION, -1));
+    }
+
+    public void interestAddedAfterCommit(String stockCode) {
+        TransactionCallbacks.afterCommit(() -> apply(stockCode, INTEREST, 1));
+    }
+
+    public void interestRemovedAfterCommit(String stockCode) {
+        TransactionCallbacks.afterCommit(() -> apply(stockCode, INTEREST, -1));
+    }
+
+    /**
+     * since 이후 변경분 (epoch 가 다르거나 변경 기록으로 설명할 수 없으면 전체 목록)
+     */
+    public synchronized ActiveStockDTO.DeltaResponse delta(String clientEpoch, long since) {
+        if (!epoch.equals(clientEpoch) || since < baseVersion || since > version) {
+            return snapshot();
+        }
+        // 종목별 처음 변경 전 상태와 마지막 상태를 비교 (추가 후 삭제처럼 되돌아간 종목은 빠짐)
+        Map<String, Boolean[]> touched = new LinkedHashMap<>();
+        for (Change change : changeLog) {
+            if (change.version() <= since) {
+                continue;
+            }
+            Boolean[] state = touched.computeIfAbsent(change.stockCode(), code -> new Boolean[]{!change.added(), null});
+            state[1] = change.added();
+        }
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        touched.forEach((stockCode, state) -> {
+            if (state[0] != state[1]) {
+                (state[1] ? added : removed).add(stockCode);
+            }
+        });
+        return ActiveStockDTO.DeltaResponse.builder()
+                .epoch(epoch)
+                .version(version)
+                .full(false)
+                .added(added)
+                .removed(removed)
+                .build();
+    }
+
+    public synchronized ActiveStockDTO.DeltaResponse snapshot() {
+        return ActiveStockDTO.DeltaResponse.builder()
+                .epoch(epoch)
+                .version(version)
+                .full(true)
+                .stockCodes(new ArrayList<>(counts.keySet()))
+                .build();
+    }
+
+    /**
+     * 종목별 구독 / 관심 등록 수 다시 집계 (기동 시 + 주기적으로)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${active-stocks.reconcile-ms:600000}",
+            fixedDelayString = "${active-stocks.reconcile-ms:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            if (rebuildBuffer != null) {
+                return; // 이미 재집계 중
+            }
+            rebuildBuffer = new ArrayList<>();
+        }
+        try {
+            Map<String, long[]> fresh = new LinkedHashMap<>();
+            merge(fresh, stockSubscriptionRepository.countByStockCode(), SUBSCRIPTION);
+            merge(fresh, interestStockRepository.countByStockCode(), INTEREST);
+            int replayFrom = recountChanged(fresh);
+            synchronized (this) {
+                // 다시 세는 동안에도 계속 들어온 변경만 집계 결과에 더함 (적재 전 변경 포함)
+                for (PendingChange change : rebuildBuffer.subList(replayFrom, rebuildBuffer.size())) {
+                    applyTo(fresh, change.stockCode(), change.source(), change.diff());
+                }
+                if (!loaded) {
+                    counts.putAll(fresh);
+                    fresh.forEach(this::notifyCounts);
+                    version++;
+                    baseVersion = version;
+                    loaded = true;
+                } else {
+                    reconcile(fresh);
+                }
+            }
+            log.info("[ActiveStockSet] 활성 종목 적재 - 종목 {}개, version {}", fresh.size(), version());
+        } catch (Exception e) {
+            log.warn("[ActiveStockSet] 활성 종목 적재 실패 - 이전 값 유지: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                rebuildBuffer = null;
+            }
+        }
+    }
+
+    /**
+     * 집계 쿼리 도중 변경된 종목을 종목별 COUNT 로 다시 세어 덮어씀
+     *
+     * <p>버퍼에 쌓인 변경은 모두 커밋 후 들어온 것이므로 그 뒤에 센 값에는 반드시 포함됩니다.
+     * 다시 세는 도중 들어온 변경은 다음 회차에 세고, 마지막 회차 뒤에 남은 변경의 시작 위치를 반환합니다.</p>
+     */
+    private int recountChanged(Map<String, long[]> fresh) {
+        int replayFrom = 0;
+        for (int attempt = 0; attempt < RECOUNT_ATTEMPTS; attempt++) {
+            Set<String> changed = new LinkedHashSet<>();
+            synchronized (this) {
+                List<PendingChange> pending = rebuildBuffer.subList(replayFrom, rebuildBuffer.size());
+                pending.forEach(change -> changed.add(change.stockCode()));
+                replayFrom = rebuildBuffer.size();
+            }
+            if (changed.isEmpty()) {
+                break;
+            }
+            for (String stockCode : changed) {
+                long subscriptions = stockSubscriptionRepository.countByStock_StockCode(stockCode);
+                long interests = interestStockRepository.countByStock_StockCode(stockCode);
+                if (subscriptions + interests > 0) {
+                    fresh.put(stockCode, new long[]{subscriptions, interests});
+                } else {
+                    fresh.remove(stockCode);
+                }
+            }
+        }
+        return replayFrom;
+    }
+
+    private synchronized void apply(String stockCode, int source, long diff) {
+        if (stockCode == null) {
+            return;
+        }
+        if (rebuildBuffer != null) {
+            rebuildBuffer.add(new PendingChange(stockCode, source, diff));
+        }
+        if (!loaded) {
+            return; // 적재 전 변경은 적재 집계(또는 재집계 버퍼)에 포함됨
+        }
+        long[] value = counts.get(stockCode);
+        boolean wasActive = value != null;
+        if (value == null) {
+            if (diff < 0) {
+                return;
+            }
+            value = new long[2];
+            counts.put(stockCode, value);
+        }
+        value[source] = Math.max(0, value[source] + diff);
+        notifyCounts(stockCode, value);
+        boolean active = value[SUBSCRIPTION] + value[INTEREST] > 0;
+        if (!active) {
+            counts.remove(stockCode);
+        }
+        if (wasActive != active) {
+            record(stockCode, active);
+        }
+    }
+
+    // 다시 집계한 값으로 교체하고 집합 차이는 변경 기록에 남김
+    private void reconcile(Map<String, long[]> fresh) {
+        List<String> removed = new ArrayList<>();
+        for (String stockCode : counts.keySet()) {
+            if (!fresh.containsKey(stockCode)) {
+                removed.add(stockCode);
+            }
+        }
+        List<String> added = new ArrayList<>();
+        for (String stockCode : fresh.keySet()) {
+            if (!counts.containsKey(stockCode)) {
+                added.add(stockCode);
+            }
+        }
+        counts.keySet().removeAll(removed);
+        fresh.forEach(counts::put);
+        removed.forEach(stockCode -> notifyCounts(stockCode, new long[2]));
+        fresh.forEach(this::notifyCounts);
+        removed.forEach(stockCode -> record(stockCode, false));
+        added.forEach(stockCode -> record(stockCode, true));
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            log.info("[ActiveStockSet] 재집계로 바로잡음 - 추가 {}개, 삭제 {}개", added.size(), removed.size());
+        }
+    }
+
+    private void record(String stockCode, boolean added) {
+        version++;
+        changeLog.addLast(new Change(version, stockCode, added));
+        if (changeLog.size() > changeLogSize) {
+            baseVersion = changeLog.removeFirst().version();
+        }
+    }
+
+    private void notifyCounts(String stockCode, long[] value) {
+        long[] snapshot = value.clone();
+        for (BiConsumer<String, long[]> listener : countListeners) {
+            listener.accept(stockCode, snapshot);
+        }
+    }
+
+    // 집계 결과에 변경 1건 반영 (합계가 0 이 되면 제거)
+    private static void applyTo(Map<String, long[]> target, String stockCode, int source, long diff) {
+        long[] value = target.get(stockCode);
+        if (value == null) {
+            if (diff < 0) {
+                return;
+            }
+            value = new long[2];
+            target.put(stockCode, value);
+        }
+        value[source] = Math.max(0, value[source] + diff);
+        if (value[SUBSCRIPTION] + value[INTEREST] == 0) {
+            target.remove(stockCode);
+        }
+    }
+
+    private static void merge(Map<String, long[]> target, List<Object[]> rows, int source) {
+        for (Object[] row : rows) {
+            String stockCode = (String) row[0];
+            long count = ((Number) row[1]).longValue();
+            if (stockCode != null && count > 0) {
+                target.computeIfAbsent(stockCode, code -> new long[2])[source] = count;
+            }
+        }
+    }
+
+    private record Change(long version, String stockCode, boolean added) {
+    }
+
+    private record PendingChange(String stockCode, int source, long diff) {
+    }
+}
@@ -0,0 +1,417 @@
+package com.rookies4.finalProject.service;
+
+import com.rookies4.finalProject.domain.entity.AlertRule;
+import com.rookies4.finalProject.domain.enums.AlertRuleType;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import com.rookies4.finalProject.repository.AlertRuleRepository;
+import com.rookies4.finalProject.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알림 규칙 엔진 (등락률 / N일 신고가 / 거래량 / 트레일링 스탑)
+ *
+ * <p>종목별 활성 규칙을 평가 계획(plan)으로 컴파일해 둡니다. 계획은 규칙 종류/기준값/쿨다운을
+ * 나란히 놓은 primitive 배열이라, 체결 배치마다 배열을 한 번 훑으며 long 비교만 하고
+ * 알림이 없으면 객체를 만들지 않습니다. 기준값은 미리 고정소수점으로 바꿔 둡니다.</p>
+ * <ul>
+ *   <li>PERCENT_CHANGE : 전일 종가(현재가 - 전일 대비) 대비 배치 고가(상승) / 저가(하락)의 등락률, bp 단위</li>
+ *   <li>N_DAY_HIGH : 배치 고가가 등록 시점의 N일 고가를 넘어서면</li>
+ *   <li>VOLUME : 당일 누적 거래량이 기준 이상이면</li>
+ *   <li>TRAILING_STOP : 추적 고점 대비 기준 % 이상 떨어지면 (고점은 메모리에만 유지, 재기동 시 기준 가격부터 다시 추적)
+ *       - 알림을 보내면 고점을 그때 가격(배치 저가)으로 되돌려, 옛 고점 아래에 머무는 동안 쿨다운마다 다시 알리지 않음</li>
+ * </ul>
+ *
+ * <p>한 종목의 평가는 해당 종목 stripe 에서만 일어나므로 규칙 상태(마지막 알림 시각, 고점)는 잠금 없이 갱신합니다.
+ * 적재/반영 방식(잠금 밖 전체 조회, 조회 도중 커밋된 변경 다시 적용)은 {@link PriceTargetIndex} 와 같고,
+ * 알림 시각 저장은 {@link PriceTargetTriggerWriter} 가 모아서 합니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertRuleEngine {
+
+    private static final int PRICE_SCALE = 2;
+    // 등락률 기준값 단위 (1% = 100bp)
+    private static final long BP = 10_000L;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static final byte PERCENT_UP = 0;
+    private static final byte PERCENT_DOWN = 1;
+    private static final byte N_DAY_HIGH = 2;
+    private static final byte VOLUME = 3;
+    private static final byte TRAILING_STOP = 4;
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final PriceTargetTriggerWriter triggerWriter;
+
+    // 규칙 id → 현재 규칙 (쓰기는 모두 synchronized)
+    private final Map<Long, Rule> rules = new HashMap<>();
+    // 종목코드 → 평가 계획 (바뀔 때마다 새 계획으로 교체하므로 읽기는 잠금 없음)
+    private final Map<String, Plan> byStock = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    // 다시 읽는 중 커밋된 저장 / 삭제 (다시 읽는 중이 아니면 null)
+    private List<Runnable> rebuildBuffer;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean hasRules(String stockCode) {
+        return byStock.containsKey(stockCode);
+    }
+
+    public Set<String> stockCodes() {
+        return byStock.keySet();
+    }
+
+    /**
+     * 체결 배치 하나로 종목의 규칙 평가 - 해당 종목 stripe 에서 호출
+     *
+     * @param low        배치 저가
+     * @param high       배치 고가
+     * @param latestTick 배치의 마지막 체결 (전일 대비, 누적 거래량, 현재가)
+     * @return 알림 대상 규칙 (없으면 빈 리스트 - 새로 만들지 않음)
+     */
+    public List<FiredRule> evaluate(String stockCode, BigDecimal low, BigDecimal high, StockTickDTO latestTick, long nowMillis) {
+        Plan plan = byStock.get(stockCode);
+        if (plan == null || low == null || high == null || latestTick == null || latestTick.getCurrentPrice() == null) {
+            return List.of();
+        }
+
+        long lowFixed = toFixed(low);
+        long highFixed = toFixed(high);
+        long currentFixed = toFixed(latestTick.getCurrentPrice());
+        long prevClose = latestTick.getDiff() == null ? 0L : currentFixed - toFixed(latestTick.getDiff());
+        long volume = latestTick.getVolume() == null ? -1L : latestTick.getVolume().longValue();
+
+        List<FiredRule> fired = null;
+        byte[] kinds = plan.kinds;
+        long[] thresholds = plan.thresholds;
+        long[] cooldowns = plan.cooldowns;
+        RuleState[] states = plan.states;
+        for (int i = 0; i < kinds.length; i++) {
+            RuleState state = states[i];
+            long threshold = thresholds[i];
+            long level;
+            boolean hit;
+            switch (kinds[i]) {
+                case PERCENT_UP -> {
+                    level = prevClose * (BP + threshold) / BP;
+                    hit = prevClose > 0 && highFixed * BP >= prevClose * (BP + threshold);
+                }
+                case PERCENT_DOWN -> {
+                    level = prevClose * (BP + threshold) / BP;
+                    hit = prevClose > 0 && lowFixed * BP <= prevClose * (BP + threshold);
+                }
+                case N_DAY_HIGH -> {
+                    level = threshold;
+                    hit = highFixed > threshold;
+                }
+                case VOLUME -> {
+                    level = 0L;
+                    hit = volume >= threshold;
+                }
+                case TRAILING_STOP -> {
+                    // 저가는 이전 고점과, 마지막 체결가는 이번 고가까지 반영한 고점과 비교 (배치 안의 순서를 모르므로)
+                    long previousPeak = state.peak;
+                    long peak = Math.max(previousPeak, highFixed);
+                    state.peak = peak;
+                    level = peak * (BP - threshold) / BP;
+                    hit = (previousPeak > 0 && lowFixed * BP <= previousPeak * (BP - threshold))
+                            || currentFixed * BP <= peak * (BP - threshold);
+                }
+                default -> {
+                    level = 0L;
+                    hit = false;
+                }
+            }
+            if (!hit || nowMillis - state.triggeredAt < cooldowns[i]) {
+                continue;
+            }
+
+            state.triggeredAt = nowMillis;
+            if (kinds[i] == TRAILING_STOP) {
+                state.peak = lowFixed;
+            }
+            Rule rule = plan.rules[i];
+            LocalDateTime triggeredAt = toDateTime(nowMillis);
+            triggerWriter.recordRule(rule.id, triggeredAt);
+            if (fired == null) {
+                fired = new ArrayList<>(2);
+            }
+            fired.add(rule.fire(level, low, high, latestTick.getCurrentPrice(), triggeredAt));
+        }
+        return fired == null ? List.of() : fired;
+    }
+
+    /**
+     * 규칙 저장 후 호출 - 현재 트랜잭션이 커밋되면 반영 (규칙 상태는 새로 시작)
+     */
+    public void putAfterCommit(AlertRule alertRule) {
+        Rule rule = toRule(alertRule, null);
+        TransactionCallbacks.afterCommit(() -> change(() -> put(rule)));
+    }
+
+    /**
+     * 규칙 삭제 후 호출 - 현재 트랜잭션이 커밋되면 제거
+     */
+    public void removeAfterCommit(Long ruleId) {
+        TransactionCallbacks.afterCommit(() -> change(() -> remove(ruleId)));
+    }
+
+    /**
+     * 활성 규칙 전체 다시 읽기 (기동 시 + 주기적으로, 다른 노드에서 바뀐 규칙 반영)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${alert-rule.refresh-ms:60000}",
+            fixedDelayString = "${alert-rule.refresh-ms:60000}")
+    public void rebuild() {
+        synchronized (this) {
+            if (rebuildBuffer != null) {
+                return; // 이미 다시 읽는 중
+            }
+            rebuildBuffer = new ArrayList<>();
+        }
+        try {
+            List<AlertRule> alertRules = alertRuleRepository.findAllEnabledWithStock();
+            synchronized (this) {
+                Map<Long, Rule> previous = new HashMap<>(rules);
+                rules.clear();
+                for (AlertRule alertRule : alertRules) {
+                    Rule rule = toRule(alertRule, previous.get(alertRule.getId()));
+                    if (rule.kind >= 0) {
+                        rules.put(rule.id, rule);
+                    }
+                }
+                // 조회 도중 커밋된 저장 / 삭제 다시 적용
+                rebuildBuffer.forEach(Runnable::run);
+                Map<String, List<Rule>> grouped = new HashMap<>();
+                for (Rule rule : rules.values()) {
+                    grouped.computeIfAbsent(rule.stockCode, code -> new ArrayList<>()).add(rule);
+                }
+                byStock.keySet().retainAll(grouped.keySet());
+                grouped.forEach((stockCode, stockRules) -> byStock.put(stockCode, Plan.of(stockRules)));
+                loaded = true;
+                log.info("[AlertRuleEngine] 알림 규칙 적재 - 규칙 {}건, 종목 {}개", rules.size(), byStock.size());
+            }
+        } catch (Exception e) {
+            log.warn("[AlertRuleEngine] 알림 규칙 적재 실패 - 이전 계획 유지: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                rebuildBuffer = null;
+            }
+        }
+    }
+
+    // 커밋된 저장 / 삭제 반영 (다시 읽는 중이면 조회 결과에도 다시 적용하도록 보관)
+    private synchronized void change(Runnable change) {
+        if (rebuildBuffer != null) {
+            rebuildBuffer.add(change);
+        }
+        change.run();
+    }
+
+    // 규칙의 종목은 바뀌지 않으므로 해당 종목 계획만 다시 만듦
+    private void put(Rule rule) {
+        rules.remove(rule.id);
+        if (rule.enabled && rule.kind >= 0) {
+            rules.put(rule.id, rule);
+        }
+        rebuildStock(rule.stockCode);
+    }
+
+    private void remove(Long ruleId) {
+        Rule previous = rules.remove(ruleId);
+        if (previous != null) {
+            rebuildStock(previous.stockCode);
+        }
+    }
+
+    private void rebuildStock(String stockCode) {
+        List<Rule> stockRules = new ArrayList<>();
+        for (Rule rule : rules.values()) {
+            if (rule.stockCode.equals(stockCode)) {
+                stockRules.add(rule);
+            }
+        }
+        if (stockRules.isEmpty()) {
+            byStock.remove(stockCode);
+        } else {
+            byStock.put(stockCode, Plan.of(stockRules));
+        }
+    }
+
+    // 기준값을 평가용 고정소수점으로 컴파일 - 평가할 수 없는 규칙은 kind = -1
+    private static Rule toRule(AlertRule alertRule, Rule previous) {
+        AlertRuleType type = alertRule.getRuleType();
+        BigDecimal threshold = alertRule.getThreshold();
+        BigDecimal reference = alertRule.getReferencePrice();
+        byte kind = -1;
+        long fixedThreshold = 0L;
+        long initialPeak = 0L;
+        if (type == AlertRuleType.PERCENT_CHANGE && threshold != null && threshold.signum() != 0) {
+            kind = threshold.signum() > 0 ? PERCENT_UP : PERCENT_DOWN;
+            fixedThreshold = toFixed(threshold);
+        } else if (type == AlertRuleType.N_DAY_HIGH && reference != null) {
+            kind = N_DAY_HIGH;
+            fixedThreshold = toFixed(reference);
+        } else if (type == AlertRuleType.VOLUME && threshold != null) {
+            kind = VOLUME;
+            fixedThreshold = threshold.longValue();
+        } else if (type == AlertRuleType.TRAILING_STOP && threshold != null) {
+            kind = TRAILING_STOP;
+            fixedThreshold = toFixed(threshold);
+            initialPeak = reference == null ? 0L : toFixed(reference);
+        }
+        int cooldownMinutes = alertRule.getCooldownMinutes() == null ? 30 : alertRule.getCooldownMinutes();
+
+        Rule rule = new Rule(
+                alertRule.getId(),
+                alertRule.getUser() == null ? null : alertRule.getUser().getId(),
+                alertRule.getStock().getStockCode(),
+                alertRule.getStock().getName(),
+                Boolean.TRUE.equals(alertRule.getIsEnabled()),
+                type,
+                threshold,
+                kind,
+                fixedThreshold,
+                TimeUnit.MINUTES.toMillis(cooldownMinutes),
+                previous != null && previous.kind == kind && previous.threshold == fixedThreshold && previous.initialPeak == initialPeak
+                        ? previous.state
+                        : new RuleState(initialPeak),
+                initialPeak
+        );
+        // 아직 DB 에 저장되지 않은(지연 저장 대기 중) 알림 시각을 다시 읽기로 잃지 않도록 더 최근 값 유지
+        rule.state.triggeredAt = Math.max(rule.state.triggeredAt, toMillis(alertRule.getTriggeredAt()));
+        return rule;
+    }
+
+    private static long toFixed(BigDecimal value) {
+        return value.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0L : dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+    }
+
+    /**
+     * 알림 대상 규칙
+     *
+     * @param targetPrice  규칙이 넘어선 가격 수준 (거래량 규칙은 null)
+     * @param currentPrice 판단에 쓴 가격 (상승 규칙은 배치 고가, 하락 규칙은 배치 저가, 거래량 규칙은 마지막 체결가)
+     */
+    public record FiredRule(Long ruleId, Long userId, String stockCode, String stockName, AlertRuleType ruleType,
+                            BigDecimal threshold, BigDecimal targetPrice, BigDecimal currentPrice,
+                            LocalDateTime triggeredAt) {
+    }
+
+    // 평가 중에 바뀌는 규칙 상태 - 설정이 같으면 다시 읽어도 같은 객체를 이어 씀
+    private static final class RuleState {
+        private volatile long triggeredAt;
+        private volatile long peak;
+
+        private RuleState(long peak) {
+            this.peak = peak;
+        }
+    }
+
+    private static final class Rule {
+        private final Long id;
+        private final Long userId;
+        private final String stockCode;
+        private final String stockName;
+        private final boolean enabled;
+        private final AlertRuleType type;
+        private final BigDecimal displayThreshold;
+        private final byte kind;
+        // 가격/등락률은 소수 2자리 고정소수점(등락률은 bp), 거래량은 주
+        private final long threshold;
+        private final long cooldownMillis;
+        private final RuleState state;
+        private final long initialPeak;
+
+        private Rule(Long id, Long userId, String stockCode, String stockName, boolean enabled, AlertRuleType type,
+                     BigDecimal displayThreshold, byte kind, long threshold, long cooldownMillis, RuleState state,
+                     long initialPeak) {
+            this.id = id;
+            this.userId = userId;
+            this.stockCode = stockCode;
+            this.stockName = stockName;
+            this.enabled = enabled;
+            this.type = type;
+            this.displayThreshold = displayThreshold;
+            this.kind = kind;
+            this.threshold = threshold;
+            this.cooldownMillis = cooldownMillis;
+            this.state = state;
+            this.initialPeak = initialPeak;
+        }
+
+        private FiredRule fire(long level, BigDecimal low, BigDecimal high, BigDecimal current, LocalDateTime triggeredAt) {
+            BigDecimal targetPrice = kind == VOLUME ? null : BigDecimal.valueOf(level, PRICE_SCALE);
+            BigDecimal currentPrice = switch (kind) {
+                case PERCENT_UP, N_DAY_HIGH -> high;
+                case PERCENT_DOWN, TRAILING_STOP -> low;
+                default -> current;
+            };
+            return new FiredRule(id, userId, stockCode, stockName, type,
+                    kind == N_DAY_HIGH ? BigDecimal.valueOf(threshold, PRICE_SCALE) : displayThreshold,
+                    targetPrice, currentPrice, triggeredAt);
+        }
+    }
+
+    /**
+     * 한 종목의 평가 계획 (종류 → 기준값 순으로 정렬, 모든 배열은 같은 순서)
+     */
+    private static final class Plan {
+        private final byte[] kinds;
+        private final long[] thresholds;
+        private final long[] cooldowns;
+        private final RuleState[] states;
+        private final Rule[] rules;
+
+        private Plan(Rule[] rules) {
+            this.rules = rules;
+            this.kinds = new byte[rules.length];
+            this.thresholds = new long[rules.length];
+            this.cooldowns = new long[rules.length];
+            this.states = new RuleState[rules.length];
+            for (int i = 0; i < rules.length; i++) {
+                kinds[i] = rules[i].kind;
+                thresholds[i] = rules[i].threshold;
+                cooldowns[i] = rules[i].cooldownMillis;
+                states[i] = rules[i].state;
+            }
+        }
+
+        private static Plan of(List<Rule> rules) {
+            Rule[] sorted = rules.toArray(Rule[]::new);
+            Arrays.sort(sorted, Comparator.<Rule>comparingInt(r -> r.kind).thenComparingLong(r -> r.threshold));
+            return new Plan(sorted);
+        }
+    }
+}
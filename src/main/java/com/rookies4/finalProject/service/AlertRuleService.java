@@ -0,0 +1,165 @@
+package com.rookies4.finalProject.service;
+
+import com.rookies4.finalProject.domain.entity.AlertRule;
+import com.rookies4.finalProject.domain.entity.Stock;
+import com.rookies4.finalProject.domain.entity.User;
+import com.rookies4.finalProject.domain.enums.AlertRuleType;
+import com.rookies4.finalProject.dto.AlertRuleDTO;
+import com.rookies4.finalProject.exception.BusinessException;
+import com.rookies4.finalProject.exception.ErrorCode;
+import com.rookies4.finalProject.repository.AlertRuleRepository;
+import com.rookies4.finalProject.repository.StockRepository;
+import com.rookies4.finalProject.repository.UserRepository;
+import com.rookies4.finalProject.security.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 알림 규칙 관리 서비스 (평가는 AlertRuleEngine)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AlertRuleService {
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final StockRepository stockRepository;
+    private final UserRepository userRepository;
+    private final AlertRuleEngine alertRuleEngine;
+    private final KisPeriodStockService kisPeriodStockService;
+
+    private static final int DEFAULT_COOLDOWN_MINUTES = 30;
+    private static final int MAX_LOOKBACK_DAYS = 100;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    // 알림 규칙 등록 - KIS 조회(재시도 대기 포함) 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 기준 가격부터 구하고 저장은 save 한 번으로
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AlertRuleDTO.AlertRuleResponse createRule(AlertRuleDTO.CreateRequest request) {
+        validate(request);
+
+        BigDecimal referencePrice = request.getReferencePrice();
+        if (request.getRuleType() == AlertRuleType.N_DAY_HIGH && referencePrice == null) {
+            // 기준 가격을 주지 않으면 등록 시점의 최근 N일 고가 사용
+            referencePrice = BigDecimal.valueOf(
+                    kisPeriodStockService.getRecentHigh(request.getStockCode(), request.getLookbackDays(), getCurrentUserId()));
+        }
+
+        User user = getCurrentUser();
+        Stock stock = getStock(request.getStockCode());
+
+        AlertRule alertRule = AlertRule.builder()
+                .user(user)
+                .stock(stock)
+                .ruleType(request.getRuleType())
+                .threshold(request.getThreshold())
+                .lookbackDays(request.getLookbackDays())
+                .referencePrice(referencePrice)
+                .cooldownMinutes(request.getCooldownMinutes() == null ? DEFAULT_COOLDOWN_MINUTES : request.getCooldownMinutes())
+                .isEnabled(true)
+                .build();
+
+        AlertRule saved = alertRuleRepository.save(alertRule);
+        alertRuleEngine.putAfterCommit(saved);
+
+        return AlertRuleDTO.AlertRuleResponse.fromEntity(saved);
+    }
+
+    // 알림 규칙 활성화/비활성화
+    public AlertRuleDTO.AlertRuleResponse updateEnabled(Long ruleId, boolean enabled) {
+        AlertRule alertRule = getMyRule(ruleId);
+        alertRule.setIsEnabled(enabled);
+
+        AlertRule saved = alertRuleRepository.save(alertRule);
+        alertRuleEngine.putAfterCommit(saved);
+
+        return AlertRuleDTO.AlertRuleResponse.fromEntity(saved);
+    }
+
+    // 알림 규칙 삭제
+    public void deleteRule(Long ruleId) {
+        AlertRule alertRule = getMyRule(ruleId);
+        alertRuleRepository.delete(alertRule);
+        alertRuleEngine.removeAfterCommit(ruleId);
+    }
+
+    // 내 알림 규칙 목록 조회
+    @Transactional(readOnly = true)
+    public List<AlertRuleDTO.AlertRuleResponse> getMyRules() {
+        User user = getCurrentUser();
+        return alertRuleRepository.findByUserWithStock(user).stream()
+                .map(AlertRuleDTO.AlertRuleResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    // 타입별 필수값 검증
+    private void validate(AlertRuleDTO.CreateRequest request) {
+        BigDecimal threshold = request.getThreshold();
+        switch (request.getRuleType()) {
+            case PERCENT_CHANGE -> {
+                if (threshold == null || threshold.signum() == 0 || threshold.abs().compareTo(HUNDRED) >= 0) {
+                    throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION,
+                            "등락률은 0이 아닌 -100 ~ 100 사이 값이어야 합니다.");
+                }
+            }
+            case N_DAY_HIGH -> {
+                Integer days = request.getLookbackDays();
+                if (days == null || days < 1 || days > MAX_LOOKBACK_DAYS) {
+                    throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION,
+                            "기간은 1 ~ " + MAX_LOOKBACK_DAYS + "일 사이여야 합니다.");
+                }
+            }
+            case VOLUME -> {
+                if (threshold == null || threshold.signum() <= 0) {
+                    throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION,
+                            "거래량 기준은 0보다 커야 합니다.");
+                }
+            }
+            case TRAILING_STOP -> {
+                if (threshold == null || threshold.signum() <= 0 || threshold.compareTo(HUNDRED) >= 0) {
+                    throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION,
+                            "하락률은 0 ~ 100 사이 값이어야 합니다.");
+                }
+            }
+        }
+        if (request.getCooldownMinutes() != null && request.getCooldownMinutes() < 1) {
+            throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION,
+                    "재알림 간격은 1분 이상이어야 합니다.");
+        }
+    }
+
+    private AlertRule getMyRule(Long ruleId) {
+        User user = getCurrentUser();
+        AlertRule alertRule = alertRuleRepository.findById(ruleId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ALERT_RULE_NOT_FOUND));
+        if (!alertRule.getUser().getId().equals(user.getId())) {
+            throw new BusinessException(ErrorCode.AUTH_ACCESS_DENIED, "본인의 알림 규칙만 변경할 수 있습니다.");
+        }
+        return alertRule;
+    }
+
+    private Long getCurrentUserId() {
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new BusinessException(ErrorCode.AUTH_ACCESS_DENIED, "로그인이 필요합니다.");
+        }
+        return currentUserId;
+    }
+
+    private User getCurrentUser() {
+        return userRepository.findById(getCurrentUserId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
+                        "로그인한 사용자를 찾을 수 없습니다."));
+    }
+
+    private Stock getStock(String stockCode) {
+        return stockRepository.findByStockCode(stockCode)
+                .orElseThrow(() -> new BusinessException(ErrorCode.TICKER_NOT_FOUND,
+                        "종목을 찾을 수 없습니다: " + stockCode));
+    }
+}
@@ -27,6 +27,7 @@ public class InterestStockService {
     private final StockRepository stockRepository;
     private final InterestStockRepository interestStockRepository;
     private final UserRepository userRepository;
+    private final ActiveStockSet activeStockSet;
 
     //1. 관심 종목 추가
     public InterestStockDTO.InterestStockResponse addInterestStock(InterestStockDTO.InterestStockRequest request){
@@ -45,6 +46,7 @@ public class InterestStockService {
                 .memo(request.getMemo())
                 .build();
         InterestStock savedInterestStock = interestStockRepository.save(interestStock);
+        activeStockSet.interestAddedAfterCommit(stock.getStockCode());
 
         log.info("[Interest] 관심 종목 추가 성공 - UserId: {}, StockCode: {}, StockName: {}", user.getId(), stock.getStockCode(), stock.getName());
         return InterestStockDTO.InterestStockResponse.fromEntity(savedInterestStock);
@@ -77,6 +79,7 @@ public class InterestStockService {
         }
 
         interestStockRepository.delete(interestStock);
+        activeStockSet.interestRemovedAfterCommit(stockCode);
         log.info("[Interest] 관심 종목 삭제 성공 - UserId: {}, StockCode: {}", user.getId(), stockCode);
     }
 
@@ -5,6 +5,7 @@ import com.rookies4.finalProject.dto.KisApiRequest;
 import com.rookies4.finalProject.dto.KisPeriodStockDTO;
 import com.rookies4.finalProject.exception.BusinessException;
 import com.rookies4.finalProject.exception.ErrorCode;
+import com.rookies4.finalProject.service.kafka.CandleAggregator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,13 +26,17 @@ import java.util.stream.Collectors;
 public class KisPeriodStockService {
 
     private final KisApiClient kisApiClient;
+    private final CandleAggregator candleAggregator;
 
+    /**
+     * @param interval 분봉 간격(분) - period 가 minute 일 때만 사용 (1, 3, 5, 10, 30, 60)
+     */
     @SuppressWarnings("unchecked")
-    public KisPeriodStockDTO.ChartResponse getChartData(String stockCode, String period, Long userId) {
+    public KisPeriodStockDTO.ChartResponse getChartData(String stockCode, String period, int interval, Long userId) {
 
         // 분봉(minute) 요청일 경우 전용 메서드 호출
         if ("minute".equalsIgnoreCase(period)) {
-            return getMinuteChartData(stockCode, userId);
+            return getMinuteChartData(stockCode, interval, userId);
         }
 
         String periodCode = getPeriodCode(period);
@@ -106,10 +111,74 @@ public class KisPeriodStockService {
     }
 
     /**
-     * 분봉 데이터 조회 (FHKST03010200)
+     * 최근 N 거래일 고가 (일봉 1회 조회, 알림 규칙 N_DAY_HIGH 기준 가격)
+     *
+     * @param days 거래일 수 (KIS 일봉 1회 조회 한도인 100 이하)
      */
     @SuppressWarnings("unchecked")
-    private KisPeriodStockDTO.ChartResponse getMinuteChartData(String stockCode, Long userId) {
+    public long getRecentHigh(String stockCode, int days, Long userId) {
+        // 휴장일을 감안해 달력 기준으로 넉넉히 조회한 뒤 최근 N건만 사용
+        LocalDate today = LocalDate.now();
+        KisApiRequest request = KisApiRequest.builder()
+                .path("/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice")
+                .trId("FHKST03010100")
+                .param("FID_COND_MRKT_DIV_CODE", "J")
+                .param("FID_INPUT_ISCD", stockCode)
+                .param("FID_INPUT_DATE_1", today.minusDays(days * 2L + 10).format(DateTimeFormatter.ofPattern("yyyyMMdd")))
+                .param("FID_INPUT_DATE_2", today.format(DateTimeFormatter.ofPattern("yyyyMMdd")))
+                .param("FID_PERIOD_DIV_CODE", "D")
+                .param("FID_ORG_ADJ_PRC", "1")
+                .useVirtualServer(false)
+                .build();
+
+        Map<String, Object> body = kisApiClient.get(userId, request, Map.class);
+        validateApiResponse(body);
+
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) body.get("output2");
+        if (rows == null || rows.isEmpty()) {
+            throw new BusinessException(ErrorCode.KIS_API_ERROR, "일봉 데이터가 없습니다: " + stockCode);
+        }
+
+        // KIS 데이터는 최신순(내림차순)
+        long high = 0L;
+        for (Map<String, Object> row : rows.subList(0, Math.min(days, rows.size()))) {
+            high = Math.max(high, parseLong(row.get("stck_hgpr")));
+        }
+        return high;
+    }
+
+    /**
+     * 분봉 데이터 조회
+     * - 실시간 체결을 받고 있는 종목: CandleAggregator 집계 결과 (KIS 호출 없음)
+     * - 그 외(cold) 종목: KIS 분봉 조회 후 요청 간격으로 묶음
+     */
+    private KisPeriodStockDTO.ChartResponse getMinuteChartData(String stockCode, int interval, Long userId) {
+        if (!CandleAggregator.isSupportedInterval(interval)) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "유효하지 않은 분봉 간격입니다: " + interval);
+        }
+
+        List<KisPeriodStockDTO.ChartData> bars = candleAggregator.getBars(stockCode, interval);
+        if (bars != null) {
+            log.debug("[Chart] 실시간 집계 분봉 응답 - StockCode: {}, Interval: {}, DataCount: {}", stockCode, interval, bars.size());
+            return KisPeriodStockDTO.ChartResponse.builder()
+                    .stockCode(stockCode)
+                    .period("minute")
+                    .data(bars)
+                    .build();
+        }
+
+        KisPeriodStockDTO.ChartResponse response = getKisMinuteChartData(stockCode, userId);
+        if (interval > 1) {
+            response.setData(rollUpMinuteBars(response.getData(), interval));
+        }
+        return response;
+    }
+
+    /**
+     * KIS 분봉 데이터 조회 (FHKST03010200)
+     */
+    @SuppressWarnings("unchecked")
+    private KisPeriodStockDTO.ChartResponse getKisMinuteChartData(String stockCode, Long userId) {
         // 현재 시간 (HHmmss)
         String currentTime = LocalTime.now().format(DateTimeFormatter.ofPattern("HHmmss"));
 
@@ -133,6 +202,42 @@ public class KisPeriodStockService {
         return buildResponse(stockCode, "minute", output2, true);
     }
 
+    // 1분봉(시간 오름차순)을 interval 분 단위로 묶음 ("yyyy-MM-dd HH:mm:ss" 형식 기준)
+    private List<KisPeriodStockDTO.ChartData> rollUpMinuteBars(List<KisPeriodStockDTO.ChartData> minuteBars, int interval) {
+        List<KisPeriodStockDTO.ChartData> result = new ArrayList<>();
+        KisPeriodStockDTO.ChartData current = null;
+        String currentKey = null;
+
+        for (KisPeriodStockDTO.ChartData bar : minuteBars) {
+            String time = bar.getTime();
+            if (time == null || time.length() != 19) {
+                continue;
+            }
+            int minuteOfDay = Integer.parseInt(time.substring(11, 13)) * 60 + Integer.parseInt(time.substring(14, 16));
+            int bucket = minuteOfDay - minuteOfDay % interval;
+            String key = time.substring(0, 11) + String.format("%02d:%02d:00", bucket / 60, bucket % 60);
+
+            if (!key.equals(currentKey)) {
+                current = KisPeriodStockDTO.ChartData.builder()
+                        .time(key)
+                        .open(bar.getOpen())
+                        .high(bar.getHigh())
+                        .low(bar.getLow())
+                        .price(bar.getPrice())
+                        .volume(bar.getVolume())
+                        .build();
+                currentKey = key;
+                result.add(current);
+                continue;
+            }
+            current.setHigh(Math.max(current.getHigh(), bar.getHigh()));
+            current.setLow(Math.min(current.getLow(), bar.getLow()));
+            current.setPrice(bar.getPrice());
+            current.setVolume(current.getVolume() + bar.getVolume());
+        }
+        return result;
+    }
+
     private void validateApiResponse(Map<String, Object> body) {
         if (body == null || body.get("rt_cd") == null || ((String)body.get("rt_cd")).isEmpty()) {
             throw new BusinessException(ErrorCode.KIS_API_ERROR, "KIS API로부터 유효하지 않은 응답을 받았습니다.");
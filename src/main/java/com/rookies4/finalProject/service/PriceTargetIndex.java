@@ -0,0 +1,390 @@
+package com.rookies4.finalProject.service;
+
+import com.rookies4.finalProject.domain.entity.PriceTarget;
+import com.rookies4.finalProject.domain.entity.Stock;
+import com.rookies4.finalProject.domain.entity.User;
+import com.rookies4.finalProject.repository.PriceTargetRepository;
+import com.rookies4.finalProject.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 활성 목표가 메모리 인덱스
+ *
+ * <p>체결마다 DB 를 조회하지 않도록 종목별 상한/하한 목표가를 정렬된 primitive 배열
+ * (가격은 소수 2자리 고정소수점)로 들고 있다가, 이분 탐색으로 돌파한 목표가만 골라냅니다.</p>
+ * <ul>
+ *   <li>상한 : 목표가 ≤ 구간 고가인 앞쪽 구간</li>
+ *   <li>하한 : 목표가 ≥ 구간 저가인 뒤쪽 구간</li>
+ * </ul>
+ *
+ * <p>배열 비교는 후보를 넉넉하게(상한은 내림, 하한은 올림) 고르는 1차 필터이고,
+ * 최종 판단은 {@link PriceTargetService} 가 돌려받은 목표가의 BigDecimal 값으로 다시 합니다.
+ * 알림 쿨다운도 여기 들고 있는 알림 시각 기준이며, DB 저장은 {@link PriceTargetTriggerWriter} 가 나중에 합니다.</p>
+ *
+ * <p>목표가 설정/해제는 트랜잭션 커밋 후 반영하고, 기동 시 및 주기적으로 전체를 다시 읽어
+ * 다른 노드에서 바뀐 목표가도 따라갑니다. 읽기 전에는 {@link #isLoaded()} 가 false 이며 호출 측은 DB 조회로 처리합니다.
+ * 전체 조회는 잠금 밖에서 하므로 그동안 알림 시각 반영 / 설정 / 해제가 막히지 않고, 조회 도중 커밋된 설정 / 해제는
+ * 모아 두었다가 조회 결과로 교체한 뒤 다시 적용합니다. (설정 / 해제는 최종 상태로 덮어쓰므로 다시 적용해도 같음)</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceTargetIndex {
+
+    private static final int PRICE_SCALE = 2;
+    private static final long NONE = Long.MIN_VALUE;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final PriceTargetRepository priceTargetRepository;
+
+    // 목표가 id → 현재 값 (쓰기는 모두 synchronized)
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // 종목코드 → 정렬 배열 (바뀔 때마다 새 배열로 교체하므로 읽기는 잠금 없음)
+    private final Map<String, StockTargets> byStock = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    // 다시 읽는 중 커밋된 설정 / 해제 (다시 읽는 중이 아니면 null)
+    private List<Runnable> rebuildBuffer;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean hasTargets(String stockCode) {
+        return byStock.containsKey(stockCode);
+    }
+
+    public Set<String> stockCodes() {
+        return byStock.keySet();
+    }
+
+    /**
+     * 종목의 활성 목표가 수 (상한/하한 중 하나라도 걸린 목표가)
+     */
+    public int targetCount(String stockCode) {
+        StockTargets targets = byStock.get(stockCode);
+        return targets == null ? 0 : targets.count;
+    }
+
+    /**
+     * 가격 구간 [low, high] 에서 돌파한 목표가 (쿨다운 중인 쪽은 제외)
+     *
+     * @return 인덱스 값으로 만든 목표가 사본 (영속 상태 아님 - 알림 상태를 바꿔도 DB 에 반영되지 않음)
+     */
+    public List<PriceTarget> findCrossed(String stockCode, BigDecimal low, BigDecimal high, long nowMillis, long cooldownMillis) {
+        StockTargets targets = byStock.get(stockCode);
+        if (targets == null || low == null || high == null) {
+            return List.of();
+        }
+
+        List<Entry> crossed = new ArrayList<>(2);
+        int upperEnd = upperBound(targets.upperPrices, toFixed(high, RoundingMode.CEILING));
+        for (int i = 0; i < upperEnd; i++) {
+            Entry entry = targets.upperEntries[i];
+            if (nowMillis - entry.upperTriggeredAt >= cooldownMillis) {
+                crossed.add(entry);
+            }
+        }
+        int lowerStart = lowerBound(targets.lowerPrices, toFixed(low, RoundingMode.FLOOR));
+        for (int i = lowerStart; i < targets.lowerPrices.length; i++) {
+            Entry entry = targets.lowerEntries[i];
+            if (nowMillis - entry.lowerTriggeredAt >= cooldownMillis && !crossed.contains(entry)) {
+                crossed.add(entry);
+            }
+        }
+        if (crossed.isEmpty()) {
+            return List.of();
+        }
+
+        List<PriceTarget> result = new ArrayList<>(crossed.size());
+        for (Entry entry : crossed) {
+            result.add(entry.toPriceTarget());
+        }
+        return result;
+    }
+
+    /**
+     * 알림 발생 시각 반영 (쿨다운 동안 후보에서 제외)
+     */
+    public void markTriggered(Long targetId, boolean upper, LocalDateTime triggeredAt) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(targetId);
+        }
+        if (entry == null) {
+            return;
+        }
+        long millis = toMillis(triggeredAt);
+        if (upper) {
+            entry.upperTriggeredAt = millis;
+        } else {
+            entry.lowerTriggeredAt = millis;
+        }
+    }
+
+    /**
+     * 목표가 저장 후 호출 - 현재 트랜잭션이 커밋되면 인덱스에 반영
+     */
+    public void putAfterCommit(PriceTarget target) {
+        Entry entry = toEntry(target);
+        TransactionCallbacks.afterCommit(() -> change(() -> put(entry)));
+    }
+
+    /**
+     * 목표가 삭제 후 호출 - 현재 트랜잭션이 커밋되면 인덱스에서 제거
+     */
+    public void removeAfterCommit(Long targetId) {
+        TransactionCallbacks.afterCommit(() -> change(() -> remove(targetId)));
+    }
+
+    /**
+     * 활성 목표가 전체 다시 읽기 (기동 시 + 주기적으로, 다른 노드에서 바뀐 목표가 반영)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${price-target.index.refresh-ms:60000}",
+            fixedDelayString = "${price-target.index.refresh-ms:60000}")
+    public void rebuild() {
+        synchronized (this) {
+            if (rebuildBuffer != null) {
+                return; // 이미 다시 읽는 중
+            }
+            rebuildBuffer = new ArrayList<>();
+        }
+        try {
+            List<Entry> fresh = new ArrayList<>();
+            for (PriceTarget target : priceTargetRepository.findAllEnabledWithStock()) {
+                fresh.add(toEntry(target));
+            }
+            synchronized (this) {
+                Map<Long, Entry> previous = new HashMap<>(entries);
+                entries.clear();
+                for (Entry entry : fresh) {
+                    entry.keepLaterTriggers(previous.get(entry.id));
+                    entries.put(entry.id, entry);
+                }
+                // 조회 도중 커밋된 설정 / 해제 다시 적용
+                rebuildBuffer.forEach(Runnable::run);
+                Map<String, List<Entry>> grouped = new HashMap<>();
+                for (Entry entry : entries.values()) {
+                    grouped.computeIfAbsent(entry.stockCode, code -> new ArrayList<>()).add(entry);
+                }
+                byStock.keySet().retainAll(grouped.keySet());
+                grouped.forEach((stockCode, stockEntries) -> byStock.put(stockCode, StockTargets.of(stockEntries)));
+                loaded = true;
+                log.info("[PriceTargetIndex] 목표가 인덱스 적재 - 목표가 {}건, 종목 {}개", entries.size(), byStock.size());
+            }
+        } catch (Exception e) {
+            log.warn("[PriceTargetIndex] 목표가 인덱스 적재 실패 - 이전 인덱스 유지: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                rebuildBuffer = null;
+            }
+        }
+    }
+
+    // 커밋된 설정 / 해제 반영 (다시 읽는 중이면 조회 결과에도 다시 적용하도록 보관)
+    private synchronized void change(Runnable change) {
+        if (rebuildBuffer != null) {
+            rebuildBuffer.add(change);
+        }
+        change.run();
+    }
+
+    // 목표가의 종목은 바뀌지 않으므로 해당 종목 배열만 다시 만듦
+    private void put(Entry entry) {
+        entries.remove(entry.id);
+        if (entry.enabled && (entry.upper != NONE || entry.lower != NONE)) {
+            entries.put(entry.id, entry);
+        }
+        rebuildStock(entry.stockCode);
+    }
+
+    private void remove(Long targetId) {
+        Entry previous = entries.remove(targetId);
+        if (previous != null) {
+            rebuildStock(previous.stockCode);
+        }
+    }
+
+    private void rebuildStock(String stockCode) {
+        List<Entry> stockEntries = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.stockCode.equals(stockCode)) {
+                stockEntries.add(entry);
+            }
+        }
+        if (stockEntries.isEmpty()) {
+            byStock.remove(stockCode);
+        } else {
+            byStock.put(stockCode, StockTargets.of(stockEntries));
+        }
+    }
+
+    private static Entry toEntry(PriceTarget target) {
+        return new Entry(
+                target.getId(),
+                target.getUser() == null ? null : target.getUser().getId(),
+                target.getStock().getStockCode(),
+                target.getStock().getName(),
+                Boolean.TRUE.equals(target.getIsEnabled()),
+                target.getUpperTarget(),
+                target.getLowerTarget(),
+                Boolean.TRUE.equals(target.getUpperTriggered()) ? toMillis(target.getUpperTriggeredAt()) : 0L,
+                Boolean.TRUE.equals(target.getLowerTriggered()) ? toMillis(target.getLowerTriggeredAt()) : 0L
+        );
+    }
+
+    private static long toFixed(BigDecimal value, RoundingMode roundingMode) {
+        return value.setScale(PRICE_SCALE, roundingMode).unscaledValue().longValue();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0L : dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return millis == 0L ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+    }
+
+    // value 이하인 원소 수 (정렬된 배열)
+    private static int upperBound(long[] sorted, long value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // value 이상인 첫 원소 위치 (정렬된 배열)
+    private static int lowerBound(long[] sorted, long value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static final class Entry {
+        private final Long id;
+        private final Long userId;
+        private final String stockCode;
+        private final String stockName;
+        private final boolean enabled;
+        private final BigDecimal upperTarget;
+        private final BigDecimal lowerTarget;
+        // 배열 비교용 고정소수점 - 후보를 넉넉하게: 상한은 내림, 하한은 올림
+        private final long upper;
+        private final long lower;
+        private volatile long upperTriggeredAt;
+        private volatile long lowerTriggeredAt;
+
+        private Entry(Long id, Long userId, String stockCode, String stockName, boolean enabled,
+                      BigDecimal upperTarget, BigDecimal lowerTarget, long upperTriggeredAt, long lowerTriggeredAt) {
+            this.id = id;
+            this.userId = userId;
+            this.stockCode = stockCode;
+            this.stockName = stockName;
+            this.enabled = enabled;
+            this.upperTarget = upperTarget;
+            this.lowerTarget = lowerTarget;
+            this.upper = upperTarget == null ? NONE : toFixed(upperTarget, RoundingMode.FLOOR);
+            this.lower = lowerTarget == null ? NONE : toFixed(lowerTarget, RoundingMode.CEILING);
+            this.upperTriggeredAt = upperTriggeredAt;
+            this.lowerTriggeredAt = lowerTriggeredAt;
+        }
+
+        // 아직 DB 에 저장되지 않은(지연 저장 대기 중) 알림 시각을 다시 읽기로 잃지 않도록, 목표가가 같으면 더 최근 값 유지
+        private void keepLaterTriggers(Entry previous) {
+            if (previous == null) {
+                return;
+            }
+            if (previous.upper == upper) {
+                upperTriggeredAt = Math.max(upperTriggeredAt, previous.upperTriggeredAt);
+            }
+            if (previous.lower == lower) {
+                lowerTriggeredAt = Math.max(lowerTriggeredAt, previous.lowerTriggeredAt);
+            }
+        }
+
+        private PriceTarget toPriceTarget() {
+            long upperAt = upperTriggeredAt;
+            long lowerAt = lowerTriggeredAt;
+            return PriceTarget.builder()
+                    .id(id)
+                    .user(User.builder().id(userId).build())
+                    .stock(Stock.builder().stockCode(stockCode).name(stockName).build())
+                    .upperTarget(upperTarget)
+                    .lowerTarget(lowerTarget)
+                    .isEnabled(enabled)
+                    .upperTriggered(upperAt != 0L)
+                    .upperTriggeredAt(toDateTime(upperAt))
+                    .lowerTriggered(lowerAt != 0L)
+                    .lowerTriggeredAt(toDateTime(lowerAt))
+                    .build();
+        }
+    }
+
+    /**
+     * 한 종목의 상한/하한 목표가 (가격 오름차순, 가격 배열과 엔트리 배열은 같은 순서)
+     */
+    private static final class StockTargets {
+        private final long[] upperPrices;
+        private final Entry[] upperEntries;
+        private final long[] lowerPrices;
+        private final Entry[] lowerEntries;
+        private final int count;
+
+        private StockTargets(Entry[] upperEntries, Entry[] lowerEntries, int count) {
+            this.count = count;
+            this.upperEntries = upperEntries;
+            this.lowerEntries = lowerEntries;
+            this.upperPrices = new long[upperEntries.length];
+            for (int i = 0; i < upperEntries.length; i++) {
+                upperPrices[i] = upperEntries[i].upper;
+            }
+            this.lowerPrices = new long[lowerEntries.length];
+            for (int i = 0; i < lowerEntries.length; i++) {
+                lowerPrices[i] = lowerEntries[i].lower;
+            }
+        }
+
+        private static StockTargets of(List<Entry> entries) {
+            Entry[] uppers = entries.stream().filter(e -> e.upper != NONE).toArray(Entry[]::new);
+            Entry[] lowers = entries.stream().filter(e -> e.lower != NONE).toArray(Entry[]::new);
+            Arrays.sort(uppers, Comparator.comparingLong(e -> e.upper));
+            Arrays.sort(lowers, Comparator.comparingLong(e -> e.lower));
+            int count = (int) entries.stream().filter(e -> e.upper != NONE || e.lower != NONE).count();
+            return new StockTargets(uppers, lowers, count);
+        }
+    }
+}
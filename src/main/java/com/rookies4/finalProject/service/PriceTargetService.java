@@ -19,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 // 목표가 관리 서비스
@@ -31,8 +32,11 @@ public class PriceTargetService {
     private final PriceTargetRepository priceTargetRepository;
     private final StockRepository stockRepository;
     private final UserRepository userRepository;
+    private final PriceTargetIndex priceTargetIndex;
+    private final PriceTargetTriggerWriter priceTargetTriggerWriter;
 
     private static final int ALERT_COOLDOWN_MINUTES = 30;
+    private static final long ALERT_COOLDOWN_MILLIS = TimeUnit.MINUTES.toMillis(ALERT_COOLDOWN_MINUTES);
 
     // 상한가 설정 (1개만 허용, 기존 것 있으면 덮어쓰기)
     public PriceTargetDTO.PriceTargetResponse setUpperTarget(PriceTargetDTO.SetTargetRequest request) {
@@ -70,6 +74,7 @@ public class PriceTargetService {
         }
 
         PriceTarget saved = priceTargetRepository.save(priceTarget);
+        priceTargetIndex.putAfterCommit(saved);
 
         return PriceTargetDTO.PriceTargetResponse.fromEntity(saved);
     }
@@ -110,6 +115,7 @@ public class PriceTargetService {
         }
 
         PriceTarget saved = priceTargetRepository.save(priceTarget);
+        priceTargetIndex.putAfterCommit(saved);
 
         return PriceTargetDTO.PriceTargetResponse.fromEntity(saved);
     }
@@ -134,10 +140,11 @@ public class PriceTargetService {
         // 상한가와 하한가 모두 없으면 레코드 삭제
         if (priceTarget.getLowerTarget() == null) {
             priceTargetRepository.delete(priceTarget);
+            priceTargetIndex.removeAfterCommit(priceTarget.getId());
             log.info("Price target deleted (both targets removed) - UserId: {}, StockCode: {}",
                     user.getId(), stockCode);
         } else {
-            priceTargetRepository.save(priceTarget);
+            priceTargetIndex.putAfterCommit(priceTargetRepository.save(priceTarget));
         }
     }
 
@@ -161,10 +168,11 @@ public class PriceTargetService {
         // 상한가와 하한가 모두 없으면 레코드 삭제
         if (priceTarget.getUpperTarget() == null) {
             priceTargetRepository.delete(priceTarget);
+            priceTargetIndex.removeAfterCommit(priceTarget.getId());
             log.info("Price target deleted (both targets removed) - UserId: {}, StockCode: {}",
                     user.getId(), stockCode);
         } else {
-            priceTargetRepository.save(priceTarget);
+            priceTargetIndex.putAfterCommit(priceTargetRepository.save(priceTarget));
         }
     }
 
@@ -214,27 +222,59 @@ public class PriceTargetService {
     }
 
     // 실시간 체결가 수신 시 목표가 도달 여부 판단
-    public List<PriceTarget> evaluate(String stockCode, BigDecimal currentPrice) {
-        if (stockCode == null || currentPrice == null) {
+    public List<TargetHit> evaluate(String stockCode, BigDecimal currentPrice) {
+        return evaluate(stockCode, currentPrice, currentPrice);
+    }
+
+    /**
+     * 가격 구간 기준 목표가 도달 여부 판단
+     * 여러 체결을 합쳐서 처리할 때, 상한 목표가는 구간 고가로 / 하한 목표가는 구간 저가로 판단하여
+     * 중간에 지나간 가격의 돌파도 놓치지 않습니다.
+     * 판단은 메모리 인덱스({@link PriceTargetIndex})에서 끝내고 알림 상태 저장은 {@link PriceTargetTriggerWriter} 로 넘깁니다.
+     * (읽기 전용 트랜잭션 - 인덱스 적재 전 DB 로 읽은 엔티티를 바꿔도 여기서 바로 UPDATE 하지 않음)
+     *
+     * @return 이번 구간에서 새로 도달한 (목표가, 상한/하한) - 목표가 하나의 양쪽이 모두 도달하면 2건, 같은 쪽은 1건만
+     */
+    @Transactional(readOnly = true)
+    public List<TargetHit> evaluate(String stockCode, BigDecimal lowPrice, BigDecimal highPrice) {
+        if (stockCode == null || lowPrice == null || highPrice == null) {
             return List.of();
         }
 
-        List<PriceTarget> targets =
-                priceTargetRepository.findByStockCodeAndEnabled(stockCode);
+        List<PriceTarget> targets;
+        if (priceTargetIndex.isLoaded()) {
+            targets = priceTargetIndex.findCrossed(stockCode, lowPrice, highPrice,
+                    System.currentTimeMillis(), ALERT_COOLDOWN_MILLIS);
+            if (targets.isEmpty()) {
+                return List.of();
+            }
+        } else {
+            // 인덱스 적재 전 (기동 직후 / 적재 실패)
+            targets = priceTargetRepository.findByStockCodeAndEnabled(stockCode);
+        }
 
-        List<PriceTarget> reachedTargets = new ArrayList<>();
+        List<TargetHit> hits = new ArrayList<>();
         LocalDateTime now = LocalDateTime.now();
 
         for (PriceTarget target : targets) {
-            if (checkUpperTarget(target, currentPrice, now)) {
-                reachedTargets.add(target);
+            if (checkUpperTarget(target, highPrice, now)) {
+                hits.add(new TargetHit(target, true, highPrice, now));
             }
-            if (checkLowerTarget(target, currentPrice, now)) {
-                reachedTargets.add(target);
+            if (checkLowerTarget(target, lowPrice, now)) {
+                hits.add(new TargetHit(target, false, lowPrice, now));
             }
         }
 
-        return reachedTargets;
+        return hits;
+    }
+
+    /**
+     * 목표가 도달 1건 - 알림은 저장된 알림 상태가 아니라 이 값으로 보냄
+     *
+     * @param upper        상한 도달이면 true, 하한 도달이면 false
+     * @param currentPrice 판단에 쓴 가격 (상한은 구간 고가, 하한은 구간 저가)
+     */
+    public record TargetHit(PriceTarget target, boolean upper, BigDecimal currentPrice, LocalDateTime triggeredAt) {
     }
 
     private boolean checkUpperTarget(
@@ -255,7 +295,8 @@ public class PriceTargetService {
 
         target.setUpperTriggered(true);
         target.setUpperTriggeredAt(now);
-        priceTargetRepository.save(target);
+        priceTargetIndex.markTriggered(target.getId(), true, now);
+        priceTargetTriggerWriter.record(target.getId(), true, now);
         return true;
     }
 
@@ -277,7 +318,8 @@ public class PriceTargetService {
 
         target.setLowerTriggered(true);
         target.setLowerTriggeredAt(now);
-        priceTargetRepository.save(target);
+        priceTargetIndex.markTriggered(target.getId(), false, now);
+        priceTargetTriggerWriter.record(target.getId(), false, now);
         return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.rookies4.finalProject.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목표가 알림 상태(upper/lower_triggered, *_triggered_at) / 알림 규칙 알림 시각(alert_rule.triggered_at) 지연 저장
+ *
+ * <p>알림 판단은 메모리({@link PriceTargetIndex})에서 끝내고, 알림 상태 저장은 여기 모아 두었다가
+ * 짧은 주기로 JDBC batch UPDATE 합니다. 큰 변동으로 수백 건이 한 번에 돌파해도
+ * Kafka 리스너 스레드가 행 단위 UPDATE 를 기다리지 않습니다.</p>
+ *
+ * <p>같은 목표가가 주기 안에 여러 번 기록되면 마지막 시각만 저장합니다.
+ * 사용자가 목표가를 다시 설정해 알림 상태를 초기화한 뒤(updated_at 이 더 최근)라면 덮어쓰지 않습니다.</p>
+ *
+ * <p>저장은 전용 스레드(price-target-trigger-writer)에서 합니다. 공용 @Scheduled 스레드에서 하면 DB 가 느린 동안
+ * 관심 종목 전송, 느린 세션 점검 등 다른 주기 작업이 모두 밀립니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceTargetTriggerWriter {
+
+    private static final String UPDATE_UPPER_SQL =
+            "UPDATE price_target SET upper_triggered = true, upper_triggered_at = ? " +
+            "WHERE id = ? AND (updated_at IS NULL OR updated_at <= ?)";
+    private static final String UPDATE_LOWER_SQL =
+            "UPDATE price_target SET lower_triggered = true, lower_triggered_at = ? " +
+            "WHERE id = ? AND (updated_at IS NULL OR updated_at <= ?)";
+    private static final String UPDATE_RULE_SQL =
+            "UPDATE alert_rule SET triggered_at = ? " +
+            "WHERE id = ? AND (updated_at IS NULL OR updated_at <= ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${price-target.trigger-flush.batch-size:500}")
+    private int batchSize;
+
+    @Value("${price-target.trigger-flush.interval-ms:1000}")
+    private long flushIntervalMillis;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "price-target-trigger-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, LocalDateTime> pendingUpper = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingLower = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingRule = new ConcurrentHashMap<>();
+
+    /**
+     * 알림 상태 기록 (메모리에만 쌓고 바로 반환)
+     */
+    public void record(Long targetId, boolean upper, LocalDateTime triggeredAt) {
+        (upper ? pendingUpper : pendingLower).put(targetId, triggeredAt);
+    }
+
+    /**
+     * 알림 규칙({@link AlertRuleEngine}) 알림 시각 기록
+     */
+    public void recordRule(Long ruleId, LocalDateTime triggeredAt) {
+        pendingRule.put(ruleId, triggeredAt);
+    }
+
+    public int pendingCount() {
+        return pendingUpper.size() + pendingLower.size() + pendingRule.size();
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void flush() {
+        flush(pendingUpper, UPDATE_UPPER_SQL, "upper");
+        flush(pendingLower, UPDATE_LOWER_SQL, "lower");
+        flush(pendingRule, UPDATE_RULE_SQL, "rule");
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        // 진행 중인 주기 저장이 끝난 뒤 남은 값 저장
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushIntervalMillis + 5_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flush(Map<Long, LocalDateTime> pending, String sql, String side) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 꺼내는 사이 새로 들어온 값은 남겨 다음 주기에 저장
+        List<Object[]> args = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                Timestamp triggeredAt = Timestamp.valueOf(entry.getValue());
+                args.add(new Object[]{triggeredAt, entry.getKey(), triggeredAt});
+            }
+        }
+
+        try {
+            for (int from = 0; from < args.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(args.size(), from + batchSize)));
+            }
+            log.debug("[PriceTarget] {} 알림 상태 {}건 저장", side, args.size());
+        } catch (Exception e) {
+            // 실패분은 더 최근 값이 없을 때만 되돌려 다음 주기에 재시도
+            for (Object[] arg : args) {
+                pending.putIfAbsent((Long) arg[1], ((Timestamp) arg[0]).toLocalDateTime());
+            }
+            log.warn("[PriceTarget] {} 알림 상태 저장 실패 - {}건 재시도 예정: {}", side, args.size(), e.getMessage());
+        }
+    }
+}
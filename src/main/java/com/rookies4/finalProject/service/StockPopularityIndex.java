@@ -0,0 +1,126 @@
+package com.rookies4.finalProject.service;
+
+import com.rookies4.finalProject.dto.StockPopularityDTO;
+import com.rookies4.finalProject.websocket.StompSubscriptionRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 종목 인기 지표 (읽기 전용 모델)
+ *
+ * <p>종목별 구독 수 / 관심 등록 수 / 실시간 구독 수를 메모리에 들고 있다가 바뀔 때마다 순위를 갱신합니다.
+ * 종목 상세 / 목록 화면에서 구독 수, 관심 등록 수를 볼 때 엔티티 컬렉션을 불러오지 않습니다.</p>
+ * <ul>
+ *   <li>구독 / 관심 등록 수 : {@link ActiveStockSet} 이 기동 시 집계로 적재하고 커밋마다 알려주는 값</li>
+ *   <li>실시간 구독 수 : {@link StompSubscriptionRegistry} 가 구독 1건 증감마다 알려주는 값</li>
+ *   <li>순위 : 점수(세 값의 합) 내림차순 정렬 집합 - 값이 바뀐 종목만 빼고 다시 넣음 (O(log n)),
+ *       상위 N 개 조회는 앞에서부터 N 개만 읽음</li>
+ * </ul>
+ * <p>구독 / 관심 등록 수는 {@link #isLoaded()} 전에는 0 이므로 호출 측은 DB 조회로 처리합니다.</p>
+ */
+@Component
+public class StockPopularityIndex {
+
+    private static final int SUBSCRIPTION = 0;
+    private static final int INTEREST = 1;
+    private static final int VIEWER = 2;
+
+    // 점수 내림차순 → 실시간 구독 수 내림차순 → 종목코드
+    private static final Comparator<Ranked> ORDER = Comparator.comparingLong(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::viewers).reversed())
+            .thenComparing(Ranked::stockCode);
+
+    private final ActiveStockSet activeStockSet;
+
+    // 종목코드 → [구독 수, 관심 등록 수, 실시간 구독 수] (모두 0 이면 제거)
+    private final Map<String, long[]> counts = new HashMap<>();
+    private final Map<String, Ranked> rankedByStock = new HashMap<>();
+    private final TreeSet<Ranked> ranking = new TreeSet<>(ORDER);
+
+    public StockPopularityIndex(ActiveStockSet activeStockSet,
+                                StompSubscriptionRegistry subscriptionRegistry,
+                                MeterRegistry meterRegistry) {
+        this.activeStockSet = activeStockSet;
+        activeStockSet.addCountListener(this::durableCountsChanged);
+        subscriptionRegistry.addCountListener(this::viewersChanged);
+        Gauge.builder("stock.popularity.stocks", this, StockPopularityIndex::size)
+                .description("인기 지표를 집계 중인 종목 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isLoaded() {
+        return activeStockSet.isLoaded();
+    }
+
+    public synchronized int size() {
+        return counts.size();
+    }
+
+    public synchronized StockPopularityDTO.PopularityResponse get(String stockCode) {
+        long[] value = counts.get(stockCode);
+        return toResponse(stockCode, value == null ? new long[3] : value);
+    }
+
+    /**
+     * 점수 상위 limit 개 (점수 0 인 종목은 순위에 없음)
+     */
+    public synchronized List<StockPopularityDTO.PopularityResponse> top(int limit) {
+        List<StockPopularityDTO.PopularityResponse> result = new ArrayList<>(Math.min(Math.max(limit, 0), ranking.size()));
+        Iterator<Ranked> iterator = ranking.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            String stockCode = iterator.next().stockCode();
+            result.add(toResponse(stockCode, counts.get(stockCode)));
+        }
+        return result;
+    }
+
+    private synchronized void durableCountsChanged(String stockCode, long[] durable) {
+        long[] value = counts.computeIfAbsent(stockCode, code -> new long[3]);
+        value[SUBSCRIPTION] = durable[0];
+        value[INTEREST] = durable[1];
+        rerank(stockCode, value);
+    }
+
+    private synchronized void viewersChanged(String stockCode, int delta) {
+        long[] value = counts.computeIfAbsent(stockCode, code -> new long[3]);
+        value[VIEWER] = Math.max(0, value[VIEWER] + delta);
+        rerank(stockCode, value);
+    }
+
+    private void rerank(String stockCode, long[] value) {
+        Ranked previous = rankedByStock.remove(stockCode);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        long score = value[SUBSCRIPTION] + value[INTEREST] + value[VIEWER];
+        if (score == 0) {
+            counts.remove(stockCode);
+            return;
+        }
+        Ranked ranked = new Ranked(stockCode, score, value[VIEWER]);
+        rankedByStock.put(stockCode, ranked);
+        ranking.add(ranked);
+    }
+
+    private static StockPopularityDTO.PopularityResponse toResponse(String stockCode, long[] value) {
+        return StockPopularityDTO.PopularityResponse.builder()
+                .stockCode(stockCode)
+                .subscriberCount(value[SUBSCRIPTION])
+                .interestCount(value[INTEREST])
+                .viewerCount(value[VIEWER])
+                .score(value[SUBSCRIPTION] + value[INTEREST] + value[VIEWER])
+                .build();
+    }
+
+    private record Ranked(String stockCode, long score, long viewers) {
+    }
+}
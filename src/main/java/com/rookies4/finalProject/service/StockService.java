@@ -2,6 +2,7 @@ package com.rookies4.finalProject.service;
 
 import com.rookies4.finalProject.domain.entity.Stock;
 import com.rookies4.finalProject.dto.StockDTO;
+import com.rookies4.finalProject.dto.StockPopularityDTO;
 import com.rookies4.finalProject.exception.BusinessException;
 import com.rookies4.finalProject.exception.ErrorCode;
 import com.rookies4.finalProject.repository.StockRepository;
@@ -11,6 +12,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,6 +23,9 @@ import java.util.stream.Collectors;
 public class StockService {
 
     private final StockRepository stockRepository;
+    private final StockPopularityIndex stockPopularityIndex;
+
+    private static final int MAX_POPULAR_LIMIT = 100;
 
     //1. 주식 기본 정보 삽입
     @Transactional
@@ -44,7 +50,7 @@ public class StockService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.TICKER_NOT_FOUND));
         
         log.info("[Stock] 종목 정보 조회 성공 - StockCode: {}, StockName: {}", stockCode, stock.getName());
-        return StockDTO.StockResponse.fromEntity(stock);
+        return withPopularity(StockDTO.StockResponse.fromEntity(stock));
     }
 
     @Transactional(readOnly = true)
@@ -52,11 +58,46 @@ public class StockService {
         List<StockDTO.StockResponse> results = stockRepository.findByNameContainingIgnoreCaseOrStockCodeContaining(keyword, keyword)
                 .stream()
                 .map(StockDTO.StockResponse::fromEntity)
+                .map(this::withPopularity)
                 .collect(Collectors.toList());
         
         log.info("[Stock] 종목 검색 성공 - Keyword: {}, Count: {}", keyword, results.size());
         return results;
     }
 
-}
+    //3. 인기 종목 조회 (구독 + 관심 등록 + 실시간 구독 수 순)
+    @Transactional(readOnly = true)
+    public List<StockDTO.StockResponse> getPopularStocks(int limit) {
+        List<StockPopularityDTO.PopularityResponse> top = stockPopularityIndex.top(Math.min(Math.max(limit, 1), MAX_POPULAR_LIMIT));
+        Map<String, Stock> stocks = stockRepository.findAllById(
+                        top.stream().map(StockPopularityDTO.PopularityResponse::getStockCode).toList())
+                .stream()
+                .collect(Collectors.toMap(Stock::getStockCode, Function.identity()));
+
+        // 종목 테이블에 없는 코드는 제외
+        List<StockDTO.StockResponse> results = top.stream()
+                .filter(popularity -> stocks.containsKey(popularity.getStockCode()))
+                .map(popularity -> {
+                    StockDTO.StockResponse response = StockDTO.StockResponse.fromEntity(stocks.get(popularity.getStockCode()));
+                    response.setPopularity(popularity);
+                    return response;
+                })
+                .collect(Collectors.toList());
+
+        log.info("[Stock] 인기 종목 조회 성공 - Limit: {}, Count: {}", limit, results.size());
+        return results;
+    }
+
+    //4. 종목 인기 지표 조회
+    public StockPopularityDTO.PopularityResponse getPopularity(String stockCode) {
+        return stockPopularityIndex.get(stockCode);
+    }
 
+    // 인기 지표 적재 전에는 비워 둠 (구독 / 관심 등록 수가 0 으로 보이지 않도록)
+    private StockDTO.StockResponse withPopularity(StockDTO.StockResponse response) {
+        if (stockPopularityIndex.isLoaded()) {
+            response.setPopularity(stockPopularityIndex.get(response.getStockCode()));
+        }
+        return response;
+    }
+}
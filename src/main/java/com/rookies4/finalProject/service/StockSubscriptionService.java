@@ -3,8 +3,9 @@ package com.rookies4.finalProject.service;
 import com.rookies4.finalProject.domain.entity.Stock;
 import com.rookies4.finalProject.domain.entity.StockSubscription;
 import com.rookies4.finalProject.domain.entity.User;
+import com.rookies4.finalProject.dto.ActiveStockDTO;
+import com.rookies4.finalProject.dto.SlotAllocationDTO;
 import com.rookies4.finalProject.dto.StockSubscriptionDTO;
-import com.rookies4.finalProject.dto.kafka.SubscriptionEventDTO;
 import com.rookies4.finalProject.exception.BusinessException;
 import com.rookies4.finalProject.exception.ErrorCode;
 import com.rookies4.finalProject.repository.InterestStockRepository; // [추가]
@@ -12,7 +13,7 @@ import com.rookies4.finalProject.repository.StockRepository;
 import com.rookies4.finalProject.repository.StockSubscriptionRepository;
 import com.rookies4.finalProject.repository.UserRepository;
 import com.rookies4.finalProject.security.SecurityUtil;
-import com.rookies4.finalProject.service.kafka.SubscriptionEventProducer;
+import com.rookies4.finalProject.websocket.KisSlotAllocator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,7 +27,7 @@ import java.util.stream.Stream; // [추가]
 /**
  * 종목 구독 서비스
  * 사용자가 조회 중인(구독 중인) 종목을 관리합니다.
- * 구독/해지 시 Kafka 이벤트를 발행하여 StockCollector에게 알립니다.
+ * 구독/해지 시 KIS 슬롯 배분(KisSlotAllocator)을 거쳐 StockCollector에게 알립니다.
  */
 @Slf4j
 @Service
@@ -38,7 +39,9 @@ public class StockSubscriptionService {
     private final InterestStockRepository interestStockRepository; // [추가] 관심 종목 Repo 주입
     private final StockRepository stockRepository;
     private final UserRepository userRepository;
-    private final SubscriptionEventProducer subscriptionEventProducer;
+    private final ActiveStockSet activeStockSet;
+    private final StockPopularityIndex stockPopularityIndex;
+    private final KisSlotAllocator kisSlotAllocator;
 
     // ... (subscribe, unsubscribe 메서드 기존과 동일) ...
 
@@ -68,18 +71,12 @@ public class StockSubscriptionService {
                     .build();
 
             saved = stockSubscriptionRepository.save(subscription);
+            activeStockSet.subscriptionAddedAfterCommit(stockCode);
             log.info("[StockSubscription] 관심 종목(INTEREST) 저장 완료 - User: {}, Stock: {}", user.getId(), stockCode);
         }
 
-        SubscriptionEventDTO event = SubscriptionEventDTO.builder()
-                .userId(user.getId())
-                .stockCode(stockCode)
-                .eventType(SubscriptionEventDTO.EventType.SUBSCRIBE)
-                .subType(type != null ? type : "VIEW")
-                .timestamp(LocalDateTime.now())
-                .build();
-
-        subscriptionEventProducer.sendSubscriptionEvent(event);
+        // 수집기 등록은 슬롯 배분을 거쳐서만 (빈 슬롯이 없으면 REST 폴링 배분)
+        kisSlotAllocator.requestAfterCommit(stockCode);
 
         if (saved != null) {
             return StockSubscriptionDTO.SubscriptionResponse.fromEntity(saved);
@@ -101,17 +98,12 @@ public class StockSubscriptionService {
         stockSubscriptionRepository.findByUserAndStock(user, stock)
                 .ifPresent(subscription -> {
                     stockSubscriptionRepository.delete(subscription);
+                    activeStockSet.subscriptionRemovedAfterCommit(stockCode);
                     log.info("[StockSubscription] DB 구독 정보 삭제 완료 - User: {}, Stock: {}", user.getId(), stockCode);
                 });
 
-        SubscriptionEventDTO event = SubscriptionEventDTO.builder()
-                .userId(user.getId())
-                .stockCode(stockCode)
-                .eventType(SubscriptionEventDTO.EventType.UNSUBSCRIBE)
-                .timestamp(LocalDateTime.now())
-                .build();
-
-        subscriptionEventProducer.sendSubscriptionEvent(event);
+        // 다른 수요(시청자 / 관심 / 목표가)가 없을 때만 유예 뒤 해지
+        kisSlotAllocator.releaseAfterCommit(stockCode);
     }
 
     @Transactional(readOnly = true)
@@ -126,15 +118,23 @@ public class StockSubscriptionService {
 
     @Transactional(readOnly = true)
     public long getSubscriberCount(String stockCode) {
-        return stockSubscriptionRepository.findByStock_StockCode(stockCode).size();
+        if (stockPopularityIndex.isLoaded()) {
+            return stockPopularityIndex.get(stockCode).getSubscriberCount();
+        }
+        return stockSubscriptionRepository.countByStock_StockCode(stockCode);
     }
 
     /**
      * [수정됨] 모든 활성 종목 코드 목록 조회 (Collector 초기화용)
      * StockSubscription(구독) 테이블과 InterestStock(관심) 테이블의 합집합을 반환합니다.
+     * 메모리 활성 종목 집합(ActiveStockSet)이 적재된 뒤에는 DB 를 조회하지 않습니다. (다중 노드 모드는 항상 DB 조회)
      */
     @Transactional(readOnly = true)
     public List<String> getAllActiveStockCodes() {
+        if (activeStockSet.isAuthoritative()) {
+            return activeStockSet.stockCodes();
+        }
+
         // 1. 구독 테이블(StockSubscription)에서 조회
         List<String> subscribedCodes = stockSubscriptionRepository.findAllSubscribedStockCodes();
 
@@ -152,6 +152,34 @@ public class StockSubscriptionService {
         return activeCodes;
     }
 
+    /**
+     * 활성 종목 변경분 조회 (Collector 재동기화용)
+     * epoch / since 는 직전 응답의 값 - 처음이거나 변경 기록으로 설명할 수 없으면 전체 목록을 반환합니다.
+     */
+    @Transactional(readOnly = true)
+    public ActiveStockDTO.DeltaResponse getActiveStockDelta(String epoch, Long since) {
+        if (!activeStockSet.isAuthoritative()) {
+            return ActiveStockDTO.DeltaResponse.builder()
+                    .version(0L)
+                    .full(true)
+                    .stockCodes(getAllActiveStockCodes())
+                    .build();
+        }
+        if (epoch == null || since == null) {
+            return activeStockSet.snapshot();
+        }
+        return activeStockSet.delta(epoch, since);
+    }
+
+    /**
+     * KIS 실시간 등록 슬롯 배분 조회 (Collector용)
+     * streaming 은 실시간 등록, polling 은 REST 폴링으로 받아야 하는 종목입니다.
+     */
+    @Transactional(readOnly = true)
+    public SlotAllocationDTO.AllocationResponse getSlotAllocation() {
+        return kisSlotAllocator.plan();
+    }
+
     private User getCurrentUser() {
         Long currentUserId = SecurityUtil.getCurrentUserId();
         if (currentUserId == null) {
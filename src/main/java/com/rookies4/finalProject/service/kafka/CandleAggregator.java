@@ -0,0 +1,171 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.KisPeriodStockDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실시간 체결(STOCK_TICK)로 만드는 분봉(OHLCV) 집계기
+ *
+ * <p>스트리밍 중인 종목은 KIS 분봉 조회(inquire-time-itemchartprice) 대신 이 집계 결과로 차트를 응답합니다.
+ * 구독한 지 얼마 안 됐거나 체결이 끊긴 종목(cold)은 null 을 돌려주고 호출 측이 KIS 로 조회합니다.</p>
+ * <p>체결이 없던 분은 직전 종가로 채우므로, 구독자가 없어 이 노드가 체결을 건너뛴 종목은 {@link #markCold(String)} 로
+ * 집계를 버립니다. 건너뛴 구간을 거래 없는 구간으로 채워 응답하지 않고, 다시 받기 시작하면 처음부터 집계합니다.</p>
+ */
+@Component
+public class CandleAggregator {
+
+    // 지원하는 분봉 간격 (분)
+    public static final int[] INTERVALS = {1, 3, 5, 10, 30, 60};
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int MARKET_OPEN_MINUTE = 9 * 60;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final Map<String, CandleSeries> seriesByStock = new ConcurrentHashMap<>();
+
+    // 간격별 보관 봉 수 (1분봉 기준 하루 정규장 390개)
+    private final int capacity;
+
+    // 이 시간(분) 이상 연속으로 받은 종목만 집계 결과로 응답 (장 시작부터 받았으면 바로 응답)
+    private final int warmMinMinutes;
+
+    // 마지막 체결 이후 이 시간이 지나면 스트림이 끊긴 것으로 보고 KIS 로 조회
+    private final long warmMaxIdleMillis;
+
+    // 틱마다 LocalDate 를 만들지 않도록 분 단위로 캐시
+    private volatile long cachedEpochMinute = -1;
+    private volatile LocalDate cachedDate;
+
+    public CandleAggregator(@Value("${candle.capacity:400}") int capacity,
+                            @Value("${candle.warm-min-minutes:30}") int warmMinMinutes,
+                            @Value("${candle.warm-max-idle-ms:600000}") long warmMaxIdleMillis) {
+        this.capacity = capacity;
+        this.warmMinMinutes = warmMinMinutes;
+        this.warmMaxIdleMillis = warmMaxIdleMillis;
+    }
+
+    public static boolean isSupportedInterval(int interval) {
+        return indexOf(interval) >= 0;
+    }
+
+    /**
+     * 체결 1건 반영 (Kafka 리스너 스레드에서 호출)
+     */
+    public void onTick(StockTickDTO tick) {
+        if (tick.getStockCode() == null || tick.getCurrentPrice() == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int minuteOfDay = parseMinuteOfDay(tick.getTickTime());
+        if (minuteOfDay < 0) {
+            minuteOfDay = currentMinuteOfDay();
+        }
+        long cumulativeVolume = tick.getVolume() != null ? tick.getVolume().longValue() : -1;
+
+        seriesByStock.computeIfAbsent(tick.getStockCode(), code -> new CandleSeries(INTERVALS, capacity))
+                .onTick(today(now), minuteOfDay, tick.getCurrentPrice().longValue(), cumulativeVolume, now);
+    }
+
+    /**
+     * 체결을 건너뛴 종목의 집계 버림 (Kafka 리스너 스레드에서 호출 - 집계가 없으면 아무것도 하지 않음)
+     */
+    public void markCold(String stockCode) {
+        seriesByStock.remove(stockCode);
+    }
+
+    /**
+     * 집계된 분봉 조회 (시간 오름차순)
+     *
+     * @return 스트리밍 중인(warm) 종목이 아니면 null
+     */
+    public List<KisPeriodStockDTO.ChartData> getBars(String stockCode, int interval) {
+        int index = indexOf(interval);
+        CandleSeries series = seriesByStock.get(stockCode);
+        if (index < 0 || series == null || !isWarm(series)) {
+            return null;
+        }
+
+        String date = series.date().format(DATE_FORMAT);
+        long[][] bars = series.bars(index);
+        List<KisPeriodStockDTO.ChartData> result = new ArrayList<>(bars.length);
+        for (long[] bar : bars) {
+            result.add(KisPeriodStockDTO.ChartData.builder()
+                    .time(formatTime(date, (int) bar[0]))
+                    .open(bar[1])
+                    .high(bar[2])
+                    .low(bar[3])
+                    .price(bar[4])
+                    .volume(bar[5])
+                    .build());
+        }
+        return result;
+    }
+
+    private boolean isWarm(CandleSeries series) {
+        long now = System.currentTimeMillis();
+        if (!today(now).equals(series.date()) || now - series.lastTickAt() > warmMaxIdleMillis) {
+            return false;
+        }
+        int firstMinute = series.firstMinute();
+        return firstMinute <= MARKET_OPEN_MINUTE || currentMinuteOfDay() - firstMinute >= warmMinMinutes;
+    }
+
+    private int currentMinuteOfDay() {
+        LocalTime time = LocalTime.now(KST);
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private LocalDate today(long now) {
+        long epochMinute = now / 60_000L;
+        if (epochMinute != cachedEpochMinute) {
+            cachedDate = LocalDate.now(KST);
+            cachedEpochMinute = epochMinute;
+        }
+        return cachedDate;
+    }
+
+    private static int indexOf(int interval) {
+        for (int i = 0; i < INTERVALS.length; i++) {
+            if (INTERVALS[i] == interval) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // "HHmmss" → 분 단위 (형식이 다르면 -1)
+    private int parseMinuteOfDay(String tickTime) {
+        if (tickTime == null || tickTime.length() != 6) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = tickTime.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        int hour = value / 100;
+        int minute = value % 100;
+        return hour > 23 || minute > 59 ? -1 : hour * 60 + minute;
+    }
+
+    // KIS 분봉 응답과 같은 형식 ("2024-05-21 12:30:00")
+    private String formatTime(String date, int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        return date + " " + (hour < 10 ? "0" : "") + hour + ":" + (minute < 10 ? "0" : "") + minute + ":00";
+    }
+}
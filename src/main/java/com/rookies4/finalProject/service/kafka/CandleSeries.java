@@ -0,0 +1,169 @@
+package com.rookies4.finalProject.service.kafka;
+
+import java.time.LocalDate;
+
+/**
+ * 한 종목의 당일 분봉 시계열 (1/3/5/10/30/60분)
+ *
+ * <p>분봉 간격마다 고정 크기 링 버퍼를 primitive 배열로 두고 체결이 들어올 때마다 마지막 봉을 갱신합니다.
+ * 거래량은 누적 거래량(ACML_VOL)의 증가분으로 계산합니다.</p>
+ *
+ * <p>Kafka 리스너 스레드(쓰기)와 차트 조회 스레드(읽기)가 함께 접근하므로 메서드 단위로 동기화합니다.</p>
+ */
+class CandleSeries {
+
+    private final int[] intervals;
+    private final Ring[] rings;
+
+    private LocalDate date;
+    private int firstMinute = -1; // 당일 처음 체결을 받은 분 (minute of day)
+    private long lastCumulativeVolume = -1;
+    private volatile long lastTickAt;
+
+    CandleSeries(int[] intervals, int capacity) {
+        this.intervals = intervals;
+        this.rings = new Ring[intervals.length];
+        for (int i = 0; i < intervals.length; i++) {
+            rings[i] = new Ring(capacity);
+        }
+    }
+
+    /**
+     * 체결 1건 반영
+     *
+     * @param minuteOfDay      체결 시각 (분 단위, 0 ~ 1439)
+     * @param price            체결가
+     * @param cumulativeVolume 누적 거래량 (없으면 음수)
+     */
+    synchronized void onTick(LocalDate tradingDate, int minuteOfDay, long price, long cumulativeVolume, long now) {
+        if (!tradingDate.equals(date)) {
+            reset(tradingDate);
+        }
+        if (firstMinute < 0) {
+            firstMinute = minuteOfDay;
+        }
+
+        // 처음 받은 체결의 누적 거래량은 기준값으로만 사용 (그 이전 거래량은 알 수 없음)
+        long volume = 0;
+        if (cumulativeVolume >= 0) {
+            if (lastCumulativeVolume >= 0 && cumulativeVolume > lastCumulativeVolume) {
+                volume = cumulativeVolume - lastCumulativeVolume;
+            }
+            lastCumulativeVolume = Math.max(lastCumulativeVolume, cumulativeVolume);
+        }
+
+        for (int i = 0; i < intervals.length; i++) {
+            rings[i].update(minuteOfDay - minuteOfDay % intervals[i], price, volume);
+        }
+        lastTickAt = now;
+    }
+
+    /**
+     * index 번째 간격의 봉 목록 (시간 오름차순, 체결이 없던 구간은 직전 종가로 채움)
+     *
+     * @return [시작 분, 시가, 고가, 저가, 종가, 거래량] 배열 목록
+     */
+    synchronized long[][] bars(int index) {
+        return rings[index].toArray(intervals[index]);
+    }
+
+    synchronized LocalDate date() {
+        return date;
+    }
+
+    synchronized int firstMinute() {
+        return firstMinute;
+    }
+
+    long lastTickAt() {
+        return lastTickAt;
+    }
+
+    private void reset(LocalDate tradingDate) {
+        date = tradingDate;
+        firstMinute = -1;
+        lastCumulativeVolume = -1;
+        for (Ring ring : rings) {
+            ring.clear();
+        }
+    }
+
+    /**
+     * 한 간격의 봉 링 버퍼 (가득 차면 가장 오래된 봉부터 덮어씀)
+     */
+    private static final class Ring {
+
+        private final int[] start;
+        private final long[] open;
+        private final long[] high;
+        private final long[] low;
+        private final long[] close;
+        private final long[] volume;
+
+        private int head; // 가장 최근 봉 위치
+        private int size;
+
+        Ring(int capacity) {
+            start = new int[capacity];
+            open = new long[capacity];
+            high = new long[capacity];
+            low = new long[capacity];
+            close = new long[capacity];
+            volume = new long[capacity];
+        }
+
+        void update(int barStart, long price, long tickVolume) {
+            if (size > 0 && start[head] == barStart) {
+                if (price > high[head]) high[head] = price;
+                if (price < low[head]) low[head] = price;
+                close[head] = price;
+                volume[head] += tickVolume;
+                return;
+            }
+            if (size > 0 && barStart < start[head]) {
+                // 늦게 도착한 체결 - 이미 지나간 봉은 고치지 않고 거래량만 현재 봉에 반영
+                volume[head] += tickVolume;
+                return;
+            }
+
+            head = size == 0 ? 0 : (head + 1) % start.length;
+            size = Math.min(size + 1, start.length);
+            start[head] = barStart;
+            open[head] = price;
+            high[head] = price;
+            low[head] = price;
+            close[head] = price;
+            volume[head] = tickVolume;
+        }
+
+        long[][] toArray(int interval) {
+            if (size == 0) {
+                return new long[0][];
+            }
+            int capacity = start.length;
+            int oldest = (head - size + 1 + capacity) % capacity;
+            int span = (start[head] - start[oldest]) / interval + 1;
+
+            long[][] result = new long[span][];
+            int count = 0;
+            for (int n = 0; n < size; n++) {
+                int i = (oldest + n) % capacity;
+                // 체결이 없던 구간은 직전 종가로 평평한 봉을 채움
+                if (count > 0) {
+                    long[] previous = result[count - 1];
+                    long previousClose = previous[4];
+                    for (long gapStart = previous[0] + interval; gapStart < start[i]; gapStart += interval) {
+                        result[count++] = new long[]{gapStart, previousClose, previousClose, previousClose, previousClose, 0};
+                    }
+                }
+                result[count++] = new long[]{start[i], open[i], high[i], low[i], close[i], volume[i]};
+            }
+            return result;
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+    }
+}
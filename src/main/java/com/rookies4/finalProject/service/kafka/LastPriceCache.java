@@ -0,0 +1,135 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import com.rookies4.finalProject.util.StripedExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 마지막 체결가 캐시 (stock-last-price 토픽)
+ *
+ * <p>정상 모드에서 전송한 마지막 체결을 메모리에 두고, 로그 압축(compact) 토픽인
+ * stock-last-price 에 종목코드 키로 기록합니다. (기록은 목표가 판단 담당 리스너에서만 하므로 다중 노드에서도 한 번)
+ * 새로 뜬 노드는 이 토픽을 처음부터 읽어
+ * ({@link LastPriceCacheLoader}) stock-ticks 전체를 다시 읽지 않고도 마지막 가격을 가지고 시작합니다.</p>
+ *
+ * <p>새 구독자에게는 캐시된 마지막 체결을 그 구독에만 바로 보내 첫 체결이 올 때까지 빈 화면이 되지 않게 합니다.
+ * 이 노드에서 전송한 체결은 전송할 때 만든 JSON 바이트를 같이 두고 다시 쓰므로 재전송 때 직렬화하지 않습니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LastPriceCache {
+
+    public static final String TOPIC = "stock-last-price";
+
+    private static final byte[] BINARY_V1 = TickBinaryCodec.CONTENT_TYPE_BINARY_V1.getBytes(StandardCharsets.US_ASCII);
+
+    private final KafkaTemplate<String, byte[]> stockLastPriceKafkaTemplate;
+    private final TickBinaryCodec tickBinaryCodec;
+    private final StockTickMessageReader stockTickMessageReader;
+    private final StompFramePublisher stompFramePublisher;
+    private final StripedExecutor tickDispatchExecutor;
+
+    private final Map<String, StockTickDTO> lastTicks = new ConcurrentHashMap<>();
+    // 마지막 체결의 직렬화 결과 (기동 시 적재한 체결은 처음 재전송할 때 만듦)
+    private final Map<String, StompFramePublisher.Encoded> lastFrames = new ConcurrentHashMap<>();
+
+    public StockTickDTO get(String stockCode) {
+        return lastTicks.get(stockCode);
+    }
+
+    public int size() {
+        return lastTicks.size();
+    }
+
+    /**
+     * 이 노드에서 전송한 마지막 체결 반영 (stripe 실행기 스레드에서 호출)
+     */
+    public void put(StockTickDTO tick, StompFramePublisher.Encoded encoded) {
+        lastTicks.put(tick.getStockCode(), tick);
+        lastFrames.put(tick.getStockCode(), encoded);
+    }
+
+    /**
+     * 관심 종목 필터가 건너뛴 종목의 마지막 체결 반영 (전송하지 않았으므로 직렬화 결과는 다음 재전송 때 만듦)
+     */
+    public void refresh(StockTickDTO tick) {
+        lastTicks.put(tick.getStockCode(), tick);
+        lastFrames.remove(tick.getStockCode());
+    }
+
+    /**
+     * stock-last-price 기록 - 다중 노드에서도 한 번만 기록되도록 목표가 판단 담당 리스너에서 호출
+     */
+    public void record(StockTickDTO tick) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(TOPIC, tick.getStockCode(), tickBinaryCodec.encode(tick));
+        record.headers().add(TickBinaryCodec.CONTENT_TYPE_HEADER, BINARY_V1);
+        stockLastPriceKafkaTemplate.send(record).whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.warn("[Kafka][LastPrice] 기록 실패 - stockCode={}, error={}", tick.getStockCode(), ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 구독 직후 캐시된 마지막 체결을 새 구독에만 전송 (같은 종목 처리 순서에 맞춰 stripe 로 넘김)
+     */
+    public void publishCached(String stockCode, String sessionId, String subscriptionId) {
+        tickDispatchExecutor.execute(stockCode, () -> {
+            StompFramePublisher.Encoded encoded = getEncoded(stockCode);
+            if (encoded != null) {
+                stompFramePublisher.sendToSubscriber(sessionId, subscriptionId,
+                        StockTickConsumer.REALTIME_PRICE_PREFIX + stockCode, encoded);
+            }
+        });
+    }
+
+    /**
+     * 마지막 체결의 직렬화 결과 (없으면 이때 만들어 둠) - 캐시된 체결이 없으면 null
+     */
+    public StompFramePublisher.Encoded getEncoded(String stockCode) {
+        StompFramePublisher.Encoded encoded = lastFrames.get(stockCode);
+        if (encoded == null) {
+            StockTickDTO tick = lastTicks.get(stockCode);
+            if (tick == null) {
+                return null;
+            }
+            encoded = stompFramePublisher.encode(tick);
+            lastFrames.put(stockCode, encoded);
+        }
+        return encoded;
+    }
+
+    /**
+     * stock-last-price 레코드 1건 적재 (기동 시 {@link LastPriceCacheLoader} 에서 호출)
+     * 값이 없는 레코드(tombstone)는 캐시에서 제거합니다.
+     */
+    void load(String stockCode, Headers headers, byte[] value) {
+        if (stockCode == null) {
+            return;
+        }
+        lastFrames.remove(stockCode);
+        if (value == null) {
+            lastTicks.remove(stockCode);
+            return;
+        }
+        try {
+            StockTickDTO tick = new StockTickDTO();
+            if (stockTickMessageReader.read(headers, value, tick, new OrderBookDTO()) == TickMessageType.STOCK_TICK) {
+                lastTicks.put(stockCode, tick);
+            }
+        } catch (Exception e) {
+            log.warn("[Kafka][LastPrice] 적재 실패 - stockCode={}, error={}", stockCode, e.getMessage());
+        }
+    }
+}
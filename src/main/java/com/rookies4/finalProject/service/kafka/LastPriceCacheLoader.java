@@ -0,0 +1,113 @@
+package com.rookies4.finalProject.service.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 기동 시 stock-last-price 토픽을 처음부터 읽어 {@link LastPriceCache} 를 채움
+ *
+ * <p>Kafka 리스너 컨테이너보다 먼저 시작되도록 phase 를 낮게 두어,
+ * stock-ticks 소비가 시작될 때는 이미 종목별 마지막 가격을 가지고 있게 합니다.
+ * 토픽이 없거나 제한 시간 안에 다 읽지 못해도 기동은 계속합니다. (캐시는 체결이 들어오면서 채워짐)</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LastPriceCacheLoader implements SmartLifecycle {
+
+    private final ConsumerFactory<String, byte[]> stockTickConsumerFactory;
+    private final LastPriceCache lastPriceCache;
+
+    @Value("${kafka.last-price.load-timeout-ms:10000}")
+    private long loadTimeoutMillis;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            int loaded = load();
+            log.info("[Kafka][LastPrice] 캐시 적재 완료 - records={}, stocks={}, {}ms",
+                    loaded, lastPriceCache.size(), System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.warn("[Kafka][LastPrice] 캐시 적재 실패 - 빈 캐시로 시작합니다. error={}", e.getMessage());
+        }
+        running = true;
+    }
+
+    private int load() {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "2000");
+
+        try (Consumer<String, byte[]> consumer =
+                     stockTickConsumerFactory.createConsumer(null, "last-price-loader", null, overrides)) {
+            List<PartitionInfo> infos = consumer.partitionsFor(LastPriceCache.TOPIC, Duration.ofSeconds(5));
+            if (infos == null || infos.isEmpty()) {
+                return 0;
+            }
+            List<TopicPartition> partitions = infos.stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            int loaded = 0;
+            long deadline = System.currentTimeMillis() + loadTimeoutMillis;
+            while (!reachedEnd(consumer, endOffsets)) {
+                if (System.currentTimeMillis() > deadline) {
+                    log.warn("[Kafka][LastPrice] 적재 제한 시간 초과 - 읽은 만큼만 사용합니다.");
+                    break;
+                }
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(200))) {
+                    lastPriceCache.load(record.key(), record.headers(), record.value());
+                    loaded++;
+                }
+            }
+            return loaded;
+        }
+    }
+
+    private boolean reachedEnd(Consumer<String, byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (consumer.position(end.getKey()) < end.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 리스너 컨테이너(DEFAULT_PHASE)보다 먼저 시작
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE - 100;
+    }
+}
@@ -0,0 +1,100 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.OrderBookDeltaDTO;
+import com.rookies4.finalProject.util.StripedExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 호가 STOMP 전송 (/topic/stock-order-book/{stockCode})
+ *
+ * <p>매 호가마다 10단계 전체를 보내지 않고 {@link OrderBookStateStore} 와 비교해
+ * 바뀐 단계만 ORDER_BOOK_DELTA 로 보냅니다. 전체 스냅샷(ORDER_BOOK)은 다음 경우에만 보냅니다.</p>
+ * <ul>
+ *   <li>종목의 첫 호가 / 바뀐 단계가 많아 델타가 스냅샷보다 이득이 없을 때</li>
+ *   <li>새 구독자가 들어왔을 때 - 그 구독에만 ({@link #publishSnapshot(String, String, String)})</li>
+ *   <li>주기 재동기화 - 델타를 놓친 클라이언트 복구용</li>
+ * </ul>
+ *
+ * <p>종목별 상태 접근은 모두 호가 전용 stripe 실행기(orderBookDispatchExecutor) 위에서 이뤄지므로 별도 잠금이 없습니다.
+ * 이 실행기는 밀리면 오래된 델타부터 버리지만(상태 반영도 함께 건너뛰므로 이후 델타는 전송한 상태 기준으로 계속 맞음),
+ * 새 구독자 스냅샷은 그 구독이 받을 첫 상태라 버리지 않습니다. 주기 재동기화는 공용 @Scheduled 스레드에서 넘기므로
+ * 일반 작업으로 넘깁니다 - 밀려서 버려져도 dirty 표시가 남아 다음 주기에 다시 보내고, 가득 찬 stripe 에서
+ * 스케줄러 스레드가 멈춰 다른 주기 작업까지 막히지 않습니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderBookPublisher {
+
+    private static final String DESTINATION_PREFIX = "/topic/stock-order-book/";
+
+    private final OrderBookStateStore orderBookStateStore;
+    private final StompFramePublisher stompFramePublisher;
+    private final StripedExecutor orderBookDispatchExecutor;
+
+    // 바뀐 단계가 이 값을 넘으면 델타 대신 스냅샷 전송
+    @Value("${orderbook.delta.max-levels:12}")
+    private int maxDeltaLevels;
+
+    // 이 시간 동안 호가가 없던 종목 상태는 정리
+    @Value("${orderbook.state-ttl-ms:600000}")
+    private long stateTtlMillis;
+
+    /**
+     * 호가 반영 후 델타/스냅샷 전송 - 호가 stripe 실행기 스레드에서 호출
+     */
+    public void publish(OrderBookDTO orderBook) {
+        OrderBookDeltaDTO delta = orderBookStateStore.apply(orderBook);
+        if (delta == null) {
+            return; // 바뀐 단계 없음
+        }
+
+        String stockCode = orderBook.getStockCode();
+        if (delta.getSeq() == 1 || delta.changedLevels() > maxDeltaLevels) {
+            sendSnapshot(stockCode);
+        } else {
+            stompFramePublisher.send(DESTINATION_PREFIX + stockCode, delta);
+        }
+    }
+
+    /**
+     * 구독 직후 전체 스냅샷을 새 구독에만 전송 (같은 종목 처리 순서에 맞춰 stripe 로 넘김 - 밀려도 버리지 않음)
+     */
+    public void publishSnapshot(String stockCode, String sessionId, String subscriptionId) {
+        orderBookDispatchExecutor.executeNoDrop(stockCode, () -> {
+            OrderBookDTO snapshot = orderBookStateStore.snapshot(stockCode);
+            if (snapshot != null) {
+                stompFramePublisher.sendToSubscriber(sessionId, subscriptionId, DESTINATION_PREFIX + stockCode,
+                        stompFramePublisher.encode(snapshot));
+            }
+        });
+    }
+
+    /**
+     * 주기 재동기화: 직전 주기 이후 바뀐 종목만 스냅샷 재전송, 오래 조용한 종목 상태는 정리 (밀리면 버리고 다음 주기에)
+     */
+    @Scheduled(fixedDelayString = "${orderbook.resync-interval-ms:30000}")
+    public void resync() {
+        for (String stockCode : orderBookStateStore.stockCodes()) {
+            orderBookDispatchExecutor.execute(stockCode, () -> {
+                if (orderBookStateStore.evictIfIdle(stockCode, stateTtlMillis)) {
+                    log.debug("[OrderBook] 유휴 종목 상태 정리 - stockCode={}", stockCode);
+                } else if (orderBookStateStore.clearDirty(stockCode)) {
+                    sendSnapshot(stockCode);
+                }
+            });
+        }
+    }
+
+    private void sendSnapshot(String stockCode) {
+        OrderBookDTO snapshot = orderBookStateStore.snapshot(stockCode);
+        if (snapshot != null) {
+            stompFramePublisher.send(DESTINATION_PREFIX + stockCode, snapshot);
+        }
+    }
+}
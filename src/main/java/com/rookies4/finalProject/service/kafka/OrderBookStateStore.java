@@ -0,0 +1,213 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.OrderBookDeltaDTO;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 호가 상태 저장소
+ *
+ * <p>호가 10단계를 primitive 배열(가격은 소수 2자리 고정소수점)로 들고 있다가
+ * 새 호가가 들어오면 제자리에서 갱신하고 바뀐 단계만 {@link OrderBookDeltaDTO} 로 돌려줍니다.</p>
+ *
+ * <p>한 종목의 상태는 한 스레드에서만 다뤄야 합니다.
+ * ({@link OrderBookPublisher} 가 종목코드 stripe 실행기 위에서만 호출)</p>
+ */
+@Component
+public class OrderBookStateStore {
+
+    // KIS 실시간 호가는 매도/매수 각 10단계
+    static final int MAX_DEPTH = 10;
+
+    private static final int PRICE_SCALE = 2;
+    private static final long NULL_VALUE = Long.MIN_VALUE;
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    /**
+     * 새 호가를 상태에 반영하고 변경분을 반환
+     *
+     * @return 바뀐 단계가 없으면 null, 처음 들어온 종목이면 모든 단계가 담긴 seq = 1 델타
+     */
+    public OrderBookDeltaDTO apply(OrderBookDTO orderBook) {
+        String stockCode = orderBook.getStockCode();
+        State state = states.computeIfAbsent(stockCode, code -> new State());
+
+        List<OrderBookDeltaDTO.Level> askChanges = applySide(state.askPrices, state.askQtys, state.askDepth, orderBook.getAsks());
+        state.askDepth = depthOf(orderBook.getAsks());
+        List<OrderBookDeltaDTO.Level> bidChanges = applySide(state.bidPrices, state.bidQtys, state.bidDepth, orderBook.getBids());
+        state.bidDepth = depthOf(orderBook.getBids());
+
+        long totalAskQty = toLong(orderBook.getTotalAskQty());
+        long totalBidQty = toLong(orderBook.getTotalBidQty());
+        boolean totalAskChanged = totalAskQty != state.totalAskQty;
+        boolean totalBidChanged = totalBidQty != state.totalBidQty;
+        state.totalAskQty = totalAskQty;
+        state.totalBidQty = totalBidQty;
+
+        state.lastUpdatedAt = System.currentTimeMillis();
+        if (askChanges == null && bidChanges == null && !totalAskChanged && !totalBidChanged) {
+            return null;
+        }
+
+        state.seq++;
+        state.dirty = true;
+        return OrderBookDeltaDTO.builder()
+                .type(OrderBookDeltaDTO.TYPE)
+                .stockCode(stockCode)
+                .seq(state.seq)
+                .asks(askChanges)
+                .bids(bidChanges)
+                .totalAskQty(totalAskChanged ? orderBook.getTotalAskQty() : null)
+                .totalBidQty(totalBidChanged ? orderBook.getTotalBidQty() : null)
+                .build();
+    }
+
+    /**
+     * 현재 상태의 전체 스냅샷 (상태가 없으면 null)
+     */
+    public OrderBookDTO snapshot(String stockCode) {
+        State state = states.get(stockCode);
+        if (state == null || state.seq == 0) {
+            return null;
+        }
+        return OrderBookDTO.builder()
+                .type("ORDER_BOOK")
+                .stockCode(stockCode)
+                .asks(toItems(state.askPrices, state.askQtys, state.askDepth))
+                .bids(toItems(state.bidPrices, state.bidQtys, state.bidDepth))
+                .totalAskQty(fromLong(state.totalAskQty))
+                .totalBidQty(fromLong(state.totalBidQty))
+                .seq(state.seq)
+                .build();
+    }
+
+    /**
+     * 마지막 주기 재동기화 이후 바뀐 적이 있는지 확인하고 표시를 지움
+     */
+    public boolean clearDirty(String stockCode) {
+        State state = states.get(stockCode);
+        if (state == null || !state.dirty) {
+            return false;
+        }
+        state.dirty = false;
+        return true;
+    }
+
+    /**
+     * idleMillis 동안 갱신이 없던 종목 상태 제거
+     */
+    public boolean evictIfIdle(String stockCode, long idleMillis) {
+        State state = states.get(stockCode);
+        if (state != null && System.currentTimeMillis() - state.lastUpdatedAt > idleMillis) {
+            states.remove(stockCode, state);
+            return true;
+        }
+        return false;
+    }
+
+    public Set<String> stockCodes() {
+        return states.keySet();
+    }
+
+    // ------------------------------------------------------------------
+
+    // 한쪽(매도/매수) 호가를 제자리에서 갱신하고 바뀐 단계 목록 반환 (변화 없으면 null)
+    private List<OrderBookDeltaDTO.Level> applySide(long[] prices, long[] qtys, int previousDepth,
+                                                    List<OrderBookDTO.OrderItem> items) {
+        int depth = depthOf(items);
+        List<OrderBookDeltaDTO.Level> changes = null;
+
+        for (int i = 0; i < depth; i++) {
+            OrderBookDTO.OrderItem item = items.get(i);
+            long price = toScaled(item.getPrice());
+            long qty = toLong(item.getQty());
+            if (i < previousDepth && prices[i] == price && qtys[i] == qty) {
+                continue;
+            }
+            prices[i] = price;
+            qtys[i] = qty;
+            if (changes == null) {
+                changes = new ArrayList<>(4);
+            }
+            changes.add(new OrderBookDeltaDTO.Level(i, item.getPrice(), item.getQty()));
+        }
+
+        // 단계 수가 줄었으면 사라진 단계 표시 (가격/잔량 없음)
+        for (int i = depth; i < previousDepth; i++) {
+            prices[i] = NULL_VALUE;
+            qtys[i] = NULL_VALUE;
+            if (changes == null) {
+                changes = new ArrayList<>(4);
+            }
+            changes.add(new OrderBookDeltaDTO.Level(i, null, null));
+        }
+        return changes;
+    }
+
+    private List<OrderBookDTO.OrderItem> toItems(long[] prices, long[] qtys, int depth) {
+        List<OrderBookDTO.OrderItem> items = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++) {
+            items.add(new OrderBookDTO.OrderItem(fromScaled(prices[i]), fromLong(qtys[i])));
+        }
+        return items;
+    }
+
+    private int depthOf(List<OrderBookDTO.OrderItem> items) {
+        return items == null ? 0 : Math.min(items.size(), MAX_DEPTH);
+    }
+
+    private long toScaled(BigDecimal value) {
+        if (value == null) {
+            return NULL_VALUE;
+        }
+        return value.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    // 불필요한 소수부 0은 제거 (JSON 직렬화 시 71500.00 대신 71500 으로 나가도록)
+    private BigDecimal fromScaled(long value) {
+        if (value == NULL_VALUE) {
+            return null;
+        }
+        BigDecimal result = BigDecimal.valueOf(value, PRICE_SCALE).stripTrailingZeros();
+        return result.scale() < 0 ? result.setScale(0) : result;
+    }
+
+    private long toLong(Long value) {
+        return value == null ? NULL_VALUE : value;
+    }
+
+    private Long fromLong(long value) {
+        return value == NULL_VALUE ? null : value;
+    }
+
+    private static final class State {
+
+        private final long[] askPrices = new long[MAX_DEPTH];
+        private final long[] askQtys = new long[MAX_DEPTH];
+        private final long[] bidPrices = new long[MAX_DEPTH];
+        private final long[] bidQtys = new long[MAX_DEPTH];
+        private int askDepth;
+        private int bidDepth;
+
+        private long totalAskQty = NULL_VALUE;
+        private long totalBidQty = NULL_VALUE;
+
+        // 마지막으로 내보낸 델타/스냅샷 순번 (0 = 아직 없음)
+        private long seq;
+
+        // 주기 재동기화 이후 변경 여부
+        private boolean dirty;
+
+        // 유휴 종목 정리용 (ms)
+        private volatile long lastUpdatedAt;
+    }
+}
@@ -0,0 +1,61 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.config.KafkaConfig;
+import com.rookies4.finalProject.dto.kafka.PriceAlertMessageDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 목표가 알림 전송 (/topic/price-alert/{userId})
+ *
+ * <p>단일 노드에서는 바로 STOMP 로 보냅니다.
+ * 다중 노드(broadcast) 모드에서는 알림을 판단한 노드와 사용자가 연결된 노드가 다를 수 있으므로
+ * price-alerts 토픽에 기록하고, 모든 노드가 노드별 그룹으로 받아 자기 구독자에게 보냅니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceAlertRelay {
+
+    public static final String TOPIC = "price-alerts";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final KafkaTemplate<String, PriceAlertMessageDTO> priceAlertKafkaTemplate;
+
+    @Value("${kafka.stock-ticks.broadcast.enabled:false}")
+    private boolean broadcastEnabled;
+
+    public void send(PriceAlertMessageDTO payload) {
+        if (!broadcastEnabled) {
+            sendLocal(payload);
+            return;
+        }
+        priceAlertKafkaTemplate.send(TOPIC, String.valueOf(payload.getUserId()), payload).whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.error("[Kafka][PriceAlert] 중계 실패 - alertId={}", payload.getAlertId(), ex);
+            }
+        });
+    }
+
+    @KafkaListener(
+            id = "priceAlertRelay",
+            topics = TOPIC,
+            groupId = "be-price-alerts-" + KafkaConfig.INSTANCE_ID,
+            containerFactory = "priceAlertKafkaListenerContainerFactory",
+            autoStartup = "${kafka.stock-ticks.broadcast.enabled:false}"
+    )
+    public void relay(PriceAlertMessageDTO payload) {
+        if (payload != null) {
+            sendLocal(payload);
+        }
+    }
+
+    private void sendLocal(PriceAlertMessageDTO payload) {
+        messagingTemplate.convertAndSend("/topic/price-alert/" + payload.getUserId(), payload);
+    }
+}
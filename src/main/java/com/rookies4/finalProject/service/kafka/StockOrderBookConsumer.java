@@ -0,0 +1,39 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.config.KafkaConfig;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 호가 전용 토픽(stock-order-book) 리스너
+ *
+ * <p>수집기가 호가를 stock-ticks 와 다른 토픽으로 보내면 이 리스너가 별도 컨테이너
+ * (kafka.order-book.concurrency)로 받아, 호가가 몰려도 체결/목표가 리스너의 poll 이 밀리지 않습니다.
+ * 호가는 전송만 하므로 노드별 그룹(be-stock-order-book-{instance-id})으로 모든 파티션을 받고 offset 은 커밋하지 않습니다.</p>
+ *
+ * <p>호가가 stock-ticks 에 섞여 오는 경우에도 STOMP 전송은 호가 전용 실행기에서 처리됩니다. ({@link StockTickConsumer})
+ * (kafka.order-book.dedicated-topic=true 일 때만 시작)</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class StockOrderBookConsumer {
+
+    public static final String TOPIC = "stock-order-book";
+
+    private final StockTickConsumer stockTickConsumer;
+
+    @KafkaListener(
+            id = "stockOrderBook",
+            topics = TOPIC,
+            groupId = "be-stock-order-book-" + KafkaConfig.INSTANCE_ID,
+            containerFactory = "orderBookKafkaListenerContainerFactory",
+            autoStartup = "${kafka.order-book.dedicated-topic:false}"
+    )
+    public void consumeOrderBook(List<ConsumerRecord<String, byte[]>> records) {
+        stockTickConsumer.process(records, TickRole.ORDER_BOOK_LANE);
+    }
+}
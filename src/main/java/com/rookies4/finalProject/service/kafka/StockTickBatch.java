@@ -0,0 +1,95 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * poll 한 번에 들어온 메시지를 종목별로 합치는(conflation) 버퍼
+ *
+ * <p>STOMP 전송은 종목별 마지막 체결/호가만 하면 되고,
+ * 목표가 판단은 배치 안의 고가/저가로 하면 중간에 지나간 가격도 놓치지 않습니다.
+ * 따라서 하위 처리량은 틱 수가 아니라 배치 안의 종목 수에 비례합니다.</p>
+ *
+ * <p>offer* 메서드는 DTO를 복사하지 않고 그대로 보관하며,
+ * 다음 디코딩에 재사용할 DTO(밀려난 이전 DTO 또는 새 DTO)를 돌려줍니다.</p>
+ */
+class StockTickBatch {
+
+    private final Map<String, Entry> entries;
+
+    StockTickBatch(int expectedRecords) {
+        this.entries = new LinkedHashMap<>(Math.max(16, expectedRecords));
+    }
+
+    StockTickDTO offerTick(StockTickDTO tick) {
+        return offerTick(tick, -1, 0L);
+    }
+
+    StockTickDTO offerTick(StockTickDTO tick, int partition, long recordTimestamp) {
+        Entry entry = entries.computeIfAbsent(tick.getStockCode(), Entry::new);
+        StockTickDTO previous = entry.latestTick;
+        entry.partition = partition;
+        entry.latestTick = tick;
+        entry.latestTickTimestamp = recordTimestamp;
+        entry.tickCount++;
+
+        BigDecimal price = tick.getCurrentPrice();
+        if (price != null) {
+            if (entry.high == null || price.compareTo(entry.high) > 0) {
+                entry.high = price;
+            }
+            if (entry.low == null || price.compareTo(entry.low) < 0) {
+                entry.low = price;
+            }
+        }
+        return previous != null ? previous : new StockTickDTO();
+    }
+
+    OrderBookDTO offerOrderBook(OrderBookDTO orderBook, int partition) {
+        Entry entry = entries.computeIfAbsent(orderBook.getStockCode(), Entry::new);
+        OrderBookDTO previous = entry.latestOrderBook;
+        entry.partition = partition;
+        entry.latestOrderBook = orderBook;
+        return previous != null ? previous : new OrderBookDTO();
+    }
+
+    Collection<Entry> entries() {
+        return entries.values();
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    @Getter
+    static class Entry {
+
+        private final String stockCode;
+
+        // 마지막으로 들어온 레코드의 파티션 (catch-up 모드 판단용)
+        private int partition = -1;
+
+        // 배치 안의 마지막 체결 / 호가 (없으면 null)
+        private StockTickDTO latestTick;
+        private OrderBookDTO latestOrderBook;
+
+        // 마지막 체결 레코드의 Kafka timestamp (지연 지표용, 없으면 0)
+        private long latestTickTimestamp;
+
+        // 배치 안에서 관측된 체결가 고가/저가
+        private BigDecimal high;
+        private BigDecimal low;
+
+        private int tickCount;
+
+        Entry(String stockCode) {
+            this.stockCode = stockCode;
+        }
+    }
+}
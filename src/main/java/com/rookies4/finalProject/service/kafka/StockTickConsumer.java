@@ -1,224 +1,406 @@
 package com.rookies4.finalProject.service.kafka;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rookies4.finalProject.domain.entity.PriceTarget;
 import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
 import com.rookies4.finalProject.dto.kafka.PriceAlertMessageDTO;
 import com.rookies4.finalProject.dto.kafka.PriceAlertMessageDTO.AlertType;
 import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import com.rookies4.finalProject.service.AlertRuleEngine;
 import com.rookies4.finalProject.service.PriceTargetService;
+import com.rookies4.finalProject.util.StripedExecutor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * stock-ticks 공유 그룹(be-stock-ticks) 리스너
+ *
+ * <p>이 그룹은 단일 노드(FULL) / 다중 노드(ALERTS_ONLY) 모두 목표가를 판단하므로 재기동 후에도 커밋된 offset 부터 이어 읽습니다.
+ * (내려가 있던 동안의 체결도 판단해야 함 - 밀린 구간의 전송은 catch-up 모드가 마지막 값만 보냄)
+ * 최신 offset 부터 읽는 것은 전송만 하는 노드별 그룹({@link StockTickFanoutConsumer})뿐입니다.</p>
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class StockTickConsumer {
+public class StockTickConsumer implements ConsumerSeekAware {
+
+    static final String REALTIME_PRICE_PREFIX = "/topic/realtime-price/";
 
     private final PriceTargetService priceTargetService;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final ObjectMapper objectMapper;
+    private final AlertRuleEngine alertRuleEngine;
+    private final StompFramePublisher stompFramePublisher;
+    private final StockTickMessageReader stockTickMessageReader;
+    private final StripedExecutor tickDispatchExecutor;
+    private final StripedExecutor orderBookDispatchExecutor;
+    private final TickMetrics tickMetrics;
+    private final OrderBookPublisher orderBookPublisher;
+    private final CandleAggregator candleAggregator;
+    private final TickCatchUpTracker catchUpTracker;
+    private final LastPriceCache lastPriceCache;
+    private final PriceAlertRelay priceAlertRelay;
+    private final TickInterestFilter tickInterestFilter;
+    private final WatchlistTickRouter watchlistTickRouter;
+
+    // 다중 노드 모드: 이 그룹은 목표가 판단만 하고, 전송은 노드별 그룹(StockTickFanoutConsumer)이 담당
+    @Value("${kafka.stock-ticks.broadcast.enabled:false}")
+    private boolean broadcastEnabled;
 
     @KafkaListener(
             topics = "stock-ticks",
             groupId = "be-stock-ticks",
             containerFactory = "stockTickKafkaListenerContainerFactory"
     )
-    public void consumeStockData(String message) {
-        try {
-            Map<String, Object> data = objectMapper.readValue(message, Map.class);
-            String type = asString(data.get("type"));
-
-            if (type == null) {
-                // type이 없으면 메시지 내용을 보고 추론하거나 로그 남기기
-                log.debug("[Kafka] type missing: {}", data);
-                return;
-            }
+    public void consumeStockData(List<ConsumerRecord<String, byte[]>> records, Consumer<?, ?> consumer) {
+        process(records, broadcastEnabled ? TickRole.ALERTS_ONLY : TickRole.FULL, consumer);
+    }
 
-            switch (type) {
-                case "STOCK_TICK" -> handleStockTick(data);
-                case "ORDER_BOOK" -> handleOrderBook(data);
-                default -> log.debug("[Kafka] ignored type={}", type);
-            }
-        } catch (Exception e) {
-            log.error("[Kafka] 메시지 파싱 실패: {}", message, e);
+    /**
+     * 리밸런스로 넘겨준 파티션의 catch-up 상태 정리 (전송도 하는 단일 노드 모드만 - 다중 노드에서는 노드별 그룹이 관리)
+     */
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        if (!broadcastEnabled) {
+            catchUpTracker.revoke(partitions.stream().map(TopicPartition::partition).toList());
         }
     }
 
-    private void handleStockTick(Map<String, Object> data) {
-        // [디버깅용] 실제 들어오는 키 확인을 위해 로그 레벨을 info로 유지하거나 더 자세히 출력
-        log.info("[Kafka][STOCK_TICK] raw={}", data);
+    /**
+     * catch-up 중 레코드가 끊긴 파티션(장 마감 등)을 정상 모드로 돌리고 보관했던 마지막 값 전송
+     */
+    @Scheduled(fixedDelayString = "${kafka.stock-ticks.catch-up.quiet-check-ms:1000}")
+    public void releaseQuietPartitions() {
+        for (Integer partition : catchUpTracker.exitQuiet(System.currentTimeMillis())) {
+            publishHeld(partition);
+        }
+    }
 
-        try {
-            StockTickDTO tick = toStockTickDTO(data);
-            String stockCode = tick.getStockCode();
+    void process(List<ConsumerRecord<String, byte[]>> records, TickRole role) {
+        process(records, role, null);
+    }
 
-            if (stockCode == null) {
-                log.warn("[Kafka][STOCK_TICK] stockCode missing (parsed null). Raw data: {}", data);
-                return;
+    /**
+     * poll 한 번의 레코드 처리 - role 에 따라 STOMP 전송 / 목표가 판단 범위가 달라짐
+     *
+     * <p>종목별 처리는 stripe 실행기에서 병렬로 돌지만, 목표가 / 알림 규칙 판단이 들어간 작업은 모두 끝날 때까지
+     * 기다린 뒤 반환합니다. 리스너가 반환해야 offset 이 커밋되므로 판단은 at-least-once 입니다
+     * (판단 도중 죽으면 재기동 후 같은 배치를 다시 판단 - 쿨다운으로 중복 알림은 막히지만 알림 상태 저장 전에 죽으면
+     * 한 번 더 갈 수 있음). 전송만 하는 작업은 기다리지 않습니다 (밀린 시세는 다시 보내도 의미가 없음).</p>
+     *
+     * <p>consumer 가 있으면 파티션별 offset 지연으로 catch-up 모드를 갱신합니다 (없으면 현재 모드 유지).</p>
+     */
+    void process(List<ConsumerRecord<String, byte[]>> records, TickRole role, Consumer<?, ?> consumer) {
+        StockTickBatch batch = new StockTickBatch(records.size());
+        List<CompletableFuture<Void>> evaluations = new ArrayList<>();
+
+        // 디코딩용 DTO - 배치에 보관되면 batch 가 돌려준 DTO로 교체하여 재사용
+        StockTickDTO tick = new StockTickDTO();
+        OrderBookDTO orderBook = new OrderBookDTO();
+
+        // 이번 배치에 들어온 파티션 (catch-up 모드 판단용)
+        Set<TopicPartition> partitions = new HashSet<>(8);
+        // 관심 종목 필터가 건너뛴 레코드 (마지막 체결가 갱신용)
+        List<ConsumerRecord<String, byte[]>> skipped = new ArrayList<>();
+
+        for (ConsumerRecord<String, byte[]> record : records) {
+            if (record.value() == null) {
+                continue;
             }
 
-            sendRealtimePrice(stockCode, tick);
-            evaluatePriceTargetAndNotify(stockCode, tick.getCurrentPrice());
+            tickMetrics.updateConsumerLag(record.topic(), record.partition(), record.timestamp());
+            partitions.add(new TopicPartition(record.topic(), record.partition()));
+
+            // 이 노드에 구독자도 목표가도 없는 종목은 디코딩 전에 건너뜀
+            // (분봉 집계 리스너가 건너뛴 종목은 분봉이 끊기므로 집계를 버림 - 빈 구간을 평평한 봉으로 채워 응답하지 않도록)
+            // (마지막 체결가는 배치 끝에 종목별 1건만 디코딩해 갱신 - refreshSkippedLastPrices)
+            if (!tickInterestFilter.accepts(record.key(), role)) {
+                if (role.aggregatesCandles()) {
+                    candleAggregator.markCold(record.key());
+                }
+                if (role.keepsLastPrice()) {
+                    skipped.add(record);
+                }
+                continue;
+            }
 
-        } catch (Exception e) {
-            log.error("[Kafka][STOCK_TICK] 처리 실패", e);
+            try {
+                long decodeStart = System.nanoTime();
+                TickMessageType type = stockTickMessageReader.read(record.headers(), record.value(), tick, orderBook);
+                tickMetrics.recordDecode(System.nanoTime() - decodeStart);
+
+                switch (type) {
+                    case STOCK_TICK -> tick = collectStockTick(batch, record, tick, role);
+                    case ORDER_BOOK -> orderBook = collectOrderBook(batch, record, orderBook);
+                    default -> log.debug("[Kafka] type missing or ignored: {}", describe(record));
+                }
+            } catch (Exception e) {
+                log.error("[Kafka] 메시지 파싱 실패: {}", describe(record), e);
+            }
         }
-    }
-
-    private void handleOrderBook(Map<String, Object> data) {
-        log.info("[Kafka][ORDER_BOOK] raw={}", data);
 
-        try {
-            OrderBookDTO orderBook = toOrderBookDTO(data);
-            String stockCode = orderBook.getStockCode();
+        refreshSkippedLastPrices(skipped, role);
 
-            if (stockCode == null) {
-                log.warn("[Kafka][ORDER_BOOK] stockCode missing. Raw data: {}", data);
-                return;
+        // 목표가 판단만 하는 그룹: 전송이 없으므로 catch-up 모드도 필요 없음
+        if (!role.publishes()) {
+            for (StockTickBatch.Entry entry : batch.entries()) {
+                tickMetrics.countTicks(entry.getStockCode(), entry.getTickCount());
+                evaluations.add(tickDispatchExecutor.submit(entry.getStockCode(), () -> evaluate(entry)));
             }
-            sendOrderBook(stockCode, orderBook);
+            awaitEvaluations(evaluations);
+            return;
+        }
 
-        } catch (Exception e) {
-            log.error("[Kafka][ORDER_BOOK] 처리 실패", e);
+        // 파티션별 offset 지연으로 catch-up 모드 갱신 - 정상 모드로 돌아온 파티션은 보류했던 마지막 값부터 전송
+        // (호가 전용 토픽 리스너는 stock-ticks 파티션과 번호가 겹치므로 판단하지 않음)
+        if (role.tracksCatchUp() && consumer != null) {
+            long now = System.currentTimeMillis();
+            for (TopicPartition partition : partitions) {
+                OptionalLong lag = consumer.currentLag(partition);
+                if (lag.isPresent() && catchUpTracker.update(partition.partition(), lag.getAsLong(), now)) {
+                    publishHeld(partition.partition());
+                }
+            }
         }
-    }
 
-    // ------------------------------------------------------------------
-    // DTO 변환 로직 (한글/영어/약어 키 모두 대응하도록 수정)
-    // ------------------------------------------------------------------
-    private StockTickDTO toStockTickDTO(Map<String, Object> data) {
-        return StockTickDTO.builder()
-                .type("STOCK_TICK")
-                .stockCode(findString(data, "stockCode", "code", "mkscShrnIscd"))
-                .tickTime(findString(data, "tickTime", "time", "stckCntgHour")) // 영어 키 우선 확인
+        // 체결 레인: 종목별 처리는 종목코드 stripe 로 넘겨 병렬 처리 (같은 종목은 순서 유지)
+        for (StockTickBatch.Entry entry : batch.entries()) {
+            tickMetrics.countTicks(entry.getStockCode(), entry.getTickCount());
+            if (isCatchingUp(role, entry)) {
+                // catch-up 중: 지난 시세/호가는 보내지 않고 마지막 값만 보관, 목표가 판단은 계속
+                catchUpTracker.hold(entry);
+                if (role.evaluates() && entry.getLatestTick() != null) {
+                    evaluations.add(tickDispatchExecutor.submit(entry.getStockCode(), () -> evaluate(entry)));
+                }
+            } else if (entry.getLatestTick() != null) {
+                if (role.evaluates()) {
+                    evaluations.add(tickDispatchExecutor.submit(entry.getStockCode(), () -> dispatch(entry, role)));
+                } else {
+                    tickDispatchExecutor.execute(entry.getStockCode(), () -> dispatch(entry, role));
+                }
+            }
+        }
 
-                // 가격 관련 필드 (영어 이름 or KIS 약어)
-                .currentPrice(findBigDecimal(data, "currentPrice", "price", "stckPrpr"))
-                .diff(findBigDecimal(data, "diff", "changeAmount", "prdyVrss"))
-                .diffRate(findBigDecimal(data, "diffRate", "changeRate", "prdyCtrt"))
+        // 호가 레인: 체결을 모두 넘긴 뒤 별도 실행기로 - 밀리면 호가만 버려지고 체결/목표가는 영향 없음
+        for (StockTickBatch.Entry entry : batch.entries()) {
+            OrderBookDTO latestOrderBook = entry.getLatestOrderBook();
+            if (latestOrderBook != null && !isCatchingUp(role, entry)) {
+                orderBookDispatchExecutor.execute(entry.getStockCode(), () -> publishOrderBook(latestOrderBook));
+            }
+        }
 
-                // 거래량 관련
-                .volume(findBigDecimal(data, "volume", "acmlVol"))
-                .tradingValue(findBigDecimal(data, "tradingValue", "acmlTrPbmn"))
-                .build();
+        awaitEvaluations(evaluations);
     }
 
-    private OrderBookDTO toOrderBookDTO(Map<String, Object> data) {
-        // asks, bids가 "ask", "bid" 단수형일 수도 있고 복수형일 수도 있음
-        List<OrderBookDTO.OrderItem> asks = buildOrderItems(data, "asks", "ask");
-        List<OrderBookDTO.OrderItem> bids = buildOrderItems(data, "bids", "bid");
-
-        return OrderBookDTO.builder()
-                .type("ORDER_BOOK")
-                .stockCode(findString(data, "stockCode", "code"))
-                .asks(asks)
-                .bids(bids)
-                .totalAskQty(findLong(data, "totalAskQty", "total_ask_qty"))
-                .totalBidQty(findLong(data, "totalBidQty", "total_bid_qty"))
-                .build();
+    // 배치의 판단 작업이 모두 끝날 때까지 대기 (stripe 가 멈추면 max.poll.interval 초과로 리밸런스 - 다른 노드가 이어받음)
+    private void awaitEvaluations(List<CompletableFuture<Void>> evaluations) {
+        if (!evaluations.isEmpty()) {
+            CompletableFuture.allOf(evaluations.toArray(CompletableFuture[]::new)).join();
+        }
     }
 
-    // ------------------------------------------------------------------
-    // 유틸리티 메소드 (여러 키 중 하나라도 있으면 반환)
-    // ------------------------------------------------------------------
-
-    private String findString(Map<String, Object> data, String... keys) {
-        for (String key : keys) {
-            if (data.containsKey(key) && data.get(key) != null) {
-                return String.valueOf(data.get(key));
+    /**
+     * 관심 종목 필터가 건너뛴 종목도 마지막 체결가는 갱신 - 종목별로 배치의 마지막 체결 1건만 디코딩
+     *
+     * <p>stock-last-price 토픽(목표가 판단 담당)과 새 구독자용 스냅샷(전송 담당)이 목표가/구독자가 없는 동안 멈춰 있다가
+     * 오래된 가격을 내주지 않도록 합니다. 같은 종목 처리 순서에 맞춰 stripe 로 넘깁니다.</p>
+     */
+    private void refreshSkippedLastPrices(List<ConsumerRecord<String, byte[]>> skipped, TickRole role) {
+        if (skipped.isEmpty()) {
+            return;
+        }
+        Set<String> refreshed = new HashSet<>();
+        StockTickDTO tick = new StockTickDTO();
+        OrderBookDTO orderBook = new OrderBookDTO();
+        for (int i = skipped.size() - 1; i >= 0; i--) {
+            ConsumerRecord<String, byte[]> record = skipped.get(i);
+            if (refreshed.contains(record.key())) {
+                continue;
+            }
+            try {
+                if (stockTickMessageReader.read(record.headers(), record.value(), tick, orderBook) != TickMessageType.STOCK_TICK
+                        || tick.getStockCode() == null) {
+                    continue;
+                }
+            } catch (Exception e) {
+                log.debug("[Kafka][LastPrice] 건너뛴 레코드 파싱 실패: {}", describe(record));
+                continue;
             }
+            refreshed.add(record.key());
+            StockTickDTO latest = tick;
+            tick = new StockTickDTO();
+            tickDispatchExecutor.execute(latest.getStockCode(), () -> keepLastPrice(latest, role));
         }
-        return null;
     }
 
-    private BigDecimal findBigDecimal(Map<String, Object> data, String... keys) {
-        for (String key : keys) {
-            Object val = data.get(key);
-            if (val != null) {
-                try {
-                    return new BigDecimal(String.valueOf(val));
-                } catch (NumberFormatException ignored) {}
+    private void keepLastPrice(StockTickDTO tick, TickRole role) {
+        try {
+            if (role.evaluates()) {
+                lastPriceCache.record(tick);
+            }
+            if (role.publishes()) {
+                lastPriceCache.refresh(tick);
             }
+        } catch (Exception e) {
+            log.warn("[Kafka][LastPrice] 갱신 실패 - stockCode={}", tick.getStockCode(), e);
         }
-        return null; // 못 찾으면 null 반환
     }
 
-    private Long findLong(Map<String, Object> data, String... keys) {
-        for (String key : keys) {
-            Object val = data.get(key);
-            if (val != null) {
-                try {
-                    return Long.parseLong(String.valueOf(val));
-                } catch (NumberFormatException ignored) {}
+    // catch-up 동안 보관했던 파티션의 종목별 마지막 체결 / 호가 전송
+    private void publishHeld(int partition) {
+        for (TickCatchUpTracker.Held held : catchUpTracker.release(partition)) {
+            if (held.getLatestTick() != null) {
+                tickDispatchExecutor.execute(held.getStockCode(), () ->
+                        publishTick(held.getStockCode(), held.getLatestTick(), held.getLatestTickTimestamp()));
+            }
+            if (held.getLatestOrderBook() != null) {
+                orderBookDispatchExecutor.execute(held.getStockCode(), () -> publishOrderBook(held.getLatestOrderBook()));
             }
         }
-        return null;
     }
 
-    // 호가 리스트 추출 (복수 키 지원)
-    private List<OrderBookDTO.OrderItem> buildOrderItems(Map<String, Object> data, String... keys) {
-        Object rawList = null;
-        for (String key : keys) {
-            if (data.containsKey(key)) {
-                rawList = data.get(key);
-                break;
-            }
+    private boolean isCatchingUp(TickRole role, StockTickBatch.Entry entry) {
+        return role.tracksCatchUp() && catchUpTracker.isCatchingUp(entry.getPartition());
+    }
+
+    private StockTickDTO collectStockTick(StockTickBatch batch, ConsumerRecord<String, byte[]> record, StockTickDTO tick,
+                                          TickRole role) {
+        if (log.isDebugEnabled() && tickMetrics.sampleLog()) {
+            log.debug("[Kafka][STOCK_TICK] (sampled) {}", tick);
         }
 
-        if (rawList == null) {
-            return List.of();
+        if (tick.getStockCode() == null) {
+            log.warn("[Kafka][STOCK_TICK] stockCode missing (parsed null). Record: {}", describe(record));
+            return tick;
+        }
+        // 분봉은 conflation 전 모든 체결로 집계 (분봉 차트는 노드별 메모리에서 응답하므로 전송 담당 리스너가 집계)
+        if (role.aggregatesCandles()) {
+            candleAggregator.onTick(tick);
         }
+        return batch.offerTick(tick, record.partition(), record.timestamp());
+    }
 
-        List<Map<String, Object>> items = objectMapper.convertValue(
-                rawList, new TypeReference<List<Map<String, Object>>>() {}
-        );
+    private OrderBookDTO collectOrderBook(StockTickBatch batch, ConsumerRecord<String, byte[]> record, OrderBookDTO orderBook) {
+        if (log.isDebugEnabled() && tickMetrics.sampleLog()) {
+            log.debug("[Kafka][ORDER_BOOK] (sampled) {}", orderBook);
+        }
 
-        if (items == null) return List.of();
+        if (orderBook.getStockCode() == null) {
+            log.warn("[Kafka][ORDER_BOOK] stockCode missing. Record: {}", describe(record));
+            return orderBook;
+        }
+        return batch.offerOrderBook(orderBook, record.partition());
+    }
 
-        return items.stream()
-                .map(item -> new OrderBookDTO.OrderItem(
-                        findBigDecimal(item, "price", "p", "askp", "bidp"), // 호가 가격 키 후보
-                        findLong(item, "qty", "quantity", "volume", "v", "askpRsqn", "bidpRsqn") // 호가 잔량 키 후보
-                ))
-                .toList();
+    // 로그용 레코드 요약 (바이너리 값은 그대로 찍지 않음)
+    private String describe(ConsumerRecord<String, byte[]> record) {
+        return record.topic() + "-" + record.partition() + "@" + record.offset() + " key=" + record.key()
+                + " bytes=" + record.value().length;
     }
 
-    private void sendRealtimePrice(String stockCode, StockTickDTO tick) {
-        messagingTemplate.convertAndSend("/topic/realtime-price/" + stockCode, tick);
+    // 종목별로 합쳐진 체결 처리: 마지막 체결만 전송, 목표가는 배치 고가/저가로 판단
+    private void dispatch(StockTickBatch.Entry entry, TickRole role) {
+        publishTick(entry.getStockCode(), entry.getLatestTick(), entry.getLatestTickTimestamp());
+        if (role.evaluates()) {
+            evaluate(entry);
+        }
     }
 
-    private void sendOrderBook(String stockCode, OrderBookDTO orderBook) {
-        messagingTemplate.convertAndSend("/topic/stock-order-book/" + stockCode, orderBook);
+    private void publishTick(String stockCode, StockTickDTO tick, long tickTimestamp) {
+        try {
+            StompFramePublisher.Encoded encoded = sendRealtimePrice(stockCode, tick);
+            tickMetrics.recordLatency(tick.getTickTime(), tickTimestamp);
+            lastPriceCache.put(tick, encoded);
+            watchlistTickRouter.offer(stockCode, encoded);
+        } catch (Exception e) {
+            log.error("[Kafka][STOCK_TICK] 전송 실패 - stockCode={}", stockCode, e);
+        }
     }
 
-    // 목표가 알림 로직 (기존 유지)
-    private void evaluatePriceTargetAndNotify(String stockCode, BigDecimal currentPrice) {
-        if (currentPrice == null) return;
-        List<PriceTarget> reachedTargets = priceTargetService.evaluate(stockCode, currentPrice);
-        for (PriceTarget target : reachedTargets) {
-            if (target.getUpperTriggered() == Boolean.TRUE && target.getUpperTriggeredAt() != null) {
-                sendPriceAlert(buildAlertPayload(target, currentPrice, AlertType.UPPER));
-            }
-            if (target.getLowerTriggered() == Boolean.TRUE && target.getLowerTriggeredAt() != null) {
-                sendPriceAlert(buildAlertPayload(target, currentPrice, AlertType.LOWER));
-            }
+    // 바뀐 호가 단계만 델타로 전송 (OrderBookPublisher 참고) - 호가 레인 스레드에서 호출
+    private void publishOrderBook(OrderBookDTO orderBook) {
+        try {
+            long start = System.nanoTime();
+            orderBookPublisher.publish(orderBook);
+            tickMetrics.recordSend(TickMessageType.ORDER_BOOK, System.nanoTime() - start);
+        } catch (Exception e) {
+            log.error("[Kafka][ORDER_BOOK] 처리 실패 - stockCode={}", orderBook.getStockCode(), e);
+        }
+    }
+
+    // 목표가 판단 + stock-last-price 기록 (클러스터 전체에서 한 번만 일어나야 하는 처리)
+    private void evaluate(StockTickBatch.Entry entry) {
+        if (entry.getLatestTick() == null) {
+            return;
+        }
+        String stockCode = entry.getStockCode();
+        try {
+            lastPriceCache.record(entry.getLatestTick());
+        } catch (Exception e) {
+            log.warn("[Kafka][LastPrice] 기록 실패 - stockCode={}", stockCode, e);
+        }
+        try {
+            long evaluateStart = System.nanoTime();
+            evaluatePriceTargetAndNotify(stockCode, entry.getLow(), entry.getHigh());
+            tickMetrics.recordPriceTargetEvaluation(System.nanoTime() - evaluateStart);
+        } catch (Exception e) {
+            log.error("[Kafka][STOCK_TICK] 목표가 판단 실패 - stockCode={}", stockCode, e);
+        }
+        try {
+            evaluateAlertRulesAndNotify(entry);
+        } catch (Exception e) {
+            log.error("[Kafka][STOCK_TICK] 알림 규칙 판단 실패 - stockCode={}", stockCode, e);
         }
     }
 
+    // 체결 1건은 한 번만 직렬화 - 같은 바이트를 새 구독자용 재전송(LastPriceCache)에도 씀
+    private StompFramePublisher.Encoded sendRealtimePrice(String stockCode, StockTickDTO tick) {
+        long start = System.nanoTime();
+        StompFramePublisher.Encoded encoded = stompFramePublisher.send(REALTIME_PRICE_PREFIX + stockCode, tick);
+        tickMetrics.recordSend(TickMessageType.STOCK_TICK, System.nanoTime() - start);
+        return encoded;
+    }
+
+    // 목표가 알림 로직 - 상한은 배치 고가, 하한은 배치 저가 기준
+    private void evaluatePriceTargetAndNotify(String stockCode, BigDecimal low, BigDecimal high) {
+        if (low == null || high == null) return;
+        // 이번 배치에서 도달한 쪽만 알림 (저장된 알림 상태는 이전 알림의 흔적일 수 있음)
+        for (PriceTargetService.TargetHit hit : priceTargetService.evaluate(stockCode, low, high)) {
+            sendPriceAlert(buildAlertPayload(hit));
+        }
+    }
+
+    // 알림 규칙(등락률/N일 신고가/거래량/트레일링 스탑) - 목표가 알림과 같은 경로로 전송
+    private void evaluateAlertRulesAndNotify(StockTickBatch.Entry entry) {
+        List<AlertRuleEngine.FiredRule> firedRules = alertRuleEngine.evaluate(
+                entry.getStockCode(), entry.getLow(), entry.getHigh(), entry.getLatestTick(), System.currentTimeMillis());
+        for (AlertRuleEngine.FiredRule fired : firedRules) {
+            sendPriceAlert(buildRuleAlertPayload(fired));
+        }
+    }
+
+    // 다중 노드 모드에서는 사용자가 붙어 있는 노드를 모르므로 price-alerts 토픽으로 모든 노드에 중계
     private void sendPriceAlert(PriceAlertMessageDTO payload) {
-        messagingTemplate.convertAndSend("/topic/price-alert/" + payload.getUserId(), payload);
+        priceAlertRelay.send(payload);
     }
 
-    private PriceAlertMessageDTO buildAlertPayload(PriceTarget target, BigDecimal currentPrice, AlertType alertType) {
+    private PriceAlertMessageDTO buildAlertPayload(PriceTargetService.TargetHit hit) {
+        PriceTarget target = hit.target();
+        AlertType alertType = hit.upper() ? AlertType.UPPER : AlertType.LOWER;
         return PriceAlertMessageDTO.builder()
                 .alertId(target.getUser().getId() + "-" + target.getStock().getStockCode() + "-" + alertType.name() + "-" + System.currentTimeMillis())
                 .userId(target.getUser().getId())
@@ -226,10 +408,24 @@ public class StockTickConsumer {
                 .stockName(target.getStock().getName())
                 .alertType(alertType)
                 .targetPrice(alertType == AlertType.UPPER ? target.getUpperTarget() : target.getLowerTarget())
-                .currentPrice(currentPrice)
-                .triggeredAt(alertType == AlertType.UPPER ? target.getUpperTriggeredAt() : target.getLowerTriggeredAt())
+                .currentPrice(hit.currentPrice())
+                .triggeredAt(hit.triggeredAt())
                 .build();
     }
 
-    private String asString(Object v) { return v == null ? null : String.valueOf(v); }
+    private PriceAlertMessageDTO buildRuleAlertPayload(AlertRuleEngine.FiredRule fired) {
+        AlertType alertType = AlertType.valueOf(fired.ruleType().name());
+        return PriceAlertMessageDTO.builder()
+                .alertId(fired.userId() + "-" + fired.stockCode() + "-" + alertType.name() + "-" + fired.ruleId() + "-" + System.currentTimeMillis())
+                .userId(fired.userId())
+                .stockCode(fired.stockCode())
+                .stockName(fired.stockName())
+                .alertType(alertType)
+                .ruleId(fired.ruleId())
+                .threshold(fired.threshold())
+                .targetPrice(fired.targetPrice())
+                .currentPrice(fired.currentPrice())
+                .triggeredAt(fired.triggeredAt())
+                .build();
+    }
 }
\ No newline at end of file
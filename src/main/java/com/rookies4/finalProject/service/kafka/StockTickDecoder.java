@@ -0,0 +1,384 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * stock-ticks 메시지 스트리밍 디코더
+ *
+ * <p>JsonParser 로 메시지를 한 번만 훑으면서 StockTickDTO / OrderBookDTO 에 값을 바로 채웁니다.
+ * 중간 Map 을 만들지 않고, 숫자도 String.valueOf 를 거치지 않고 토큰에서 바로 읽습니다.</p>
+ *
+ * <p>같은 필드가 여러 키 이름(stockCode / code / mkscShrnIscd 등)으로 올 수 있으므로
+ * 키마다 우선순위(rank)를 두고, 기존 Map 기반 파싱과 동일하게 앞선 키의 값이 이깁니다.</p>
+ *
+ * <p>디코더 자체는 상태가 없어 여러 스레드에서 공유해도 되지만,
+ * 넘겨받은 DTO(호가 리스트 포함)는 재사용되므로 호출자가 스레드별로 관리해야 합니다.</p>
+ */
+@Component
+public class StockTickDecoder {
+
+    private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+    // 필드 인덱스 (rank 배열 위치)
+    private static final int CODE = 0;
+    private static final int TICK_TIME = 1;
+    private static final int CURRENT_PRICE = 2;
+    private static final int DIFF = 3;
+    private static final int DIFF_RATE = 4;
+    private static final int VOLUME = 5;
+    private static final int TRADING_VALUE = 6;
+    private static final int ASKS = 7;
+    private static final int BIDS = 8;
+    private static final int TOTAL_ASK_QTY = 9;
+    private static final int TOTAL_BID_QTY = 10;
+    private static final int FIELD_COUNT = 11;
+
+    private record Alias(int field, int rank) {}
+
+    // 한글 약어(KIS) / 영어 키 모두 대응 - rank 가 낮을수록 우선
+    private static final Map<String, Alias> ALIASES = Map.ofEntries(
+            Map.entry("stockCode", new Alias(CODE, 0)),
+            Map.entry("code", new Alias(CODE, 1)),
+            Map.entry("mkscShrnIscd", new Alias(CODE, 2)),
+
+            Map.entry("tickTime", new Alias(TICK_TIME, 0)),
+            Map.entry("time", new Alias(TICK_TIME, 1)),
+            Map.entry("stckCntgHour", new Alias(TICK_TIME, 2)),
+
+            Map.entry("currentPrice", new Alias(CURRENT_PRICE, 0)),
+            Map.entry("price", new Alias(CURRENT_PRICE, 1)),
+            Map.entry("stckPrpr", new Alias(CURRENT_PRICE, 2)),
+
+            Map.entry("diff", new Alias(DIFF, 0)),
+            Map.entry("changeAmount", new Alias(DIFF, 1)),
+            Map.entry("prdyVrss", new Alias(DIFF, 2)),
+
+            Map.entry("diffRate", new Alias(DIFF_RATE, 0)),
+            Map.entry("changeRate", new Alias(DIFF_RATE, 1)),
+            Map.entry("prdyCtrt", new Alias(DIFF_RATE, 2)),
+
+            Map.entry("volume", new Alias(VOLUME, 0)),
+            Map.entry("acmlVol", new Alias(VOLUME, 1)),
+
+            Map.entry("tradingValue", new Alias(TRADING_VALUE, 0)),
+            Map.entry("acmlTrPbmn", new Alias(TRADING_VALUE, 1)),
+
+            // asks, bids 가 "ask", "bid" 단수형일 수도 있음
+            Map.entry("asks", new Alias(ASKS, 0)),
+            Map.entry("ask", new Alias(ASKS, 1)),
+            Map.entry("bids", new Alias(BIDS, 0)),
+            Map.entry("bid", new Alias(BIDS, 1)),
+
+            Map.entry("totalAskQty", new Alias(TOTAL_ASK_QTY, 0)),
+            Map.entry("total_ask_qty", new Alias(TOTAL_ASK_QTY, 1)),
+            Map.entry("totalBidQty", new Alias(TOTAL_BID_QTY, 0)),
+            Map.entry("total_bid_qty", new Alias(TOTAL_BID_QTY, 1))
+    );
+
+    private final JsonFactory jsonFactory;
+
+    public StockTickDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public TickMessageType decode(String message, StockTickDTO tick, OrderBookDTO orderBook) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(message)) {
+            return decode(parser, tick, orderBook);
+        }
+    }
+
+    public TickMessageType decode(byte[] message, StockTickDTO tick, OrderBookDTO orderBook) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(message)) {
+            return decode(parser, tick, orderBook);
+        }
+    }
+
+    private TickMessageType decode(JsonParser p, StockTickDTO tick, OrderBookDTO orderBook) throws IOException {
+        resetTick(tick);
+        List<OrderBookDTO.OrderItem> askBuffer = orderBook.getAsks();
+        List<OrderBookDTO.OrderItem> bidBuffer = orderBook.getBids();
+        resetOrderBook(orderBook);
+
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            return TickMessageType.UNKNOWN;
+        }
+
+        int[] ranks = new int[FIELD_COUNT];
+        Arrays.fill(ranks, NOT_FOUND);
+        String type = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+
+            if ("type".equals(name)) {
+                type = readText(p);
+            } else {
+                Alias alias = ALIASES.get(name);
+                if (alias != null && alias.rank() < ranks[alias.field()]) {
+                    if (assign(p, alias.field(), tick, orderBook, askBuffer, bidBuffer)) {
+                        ranks[alias.field()] = alias.rank();
+                    }
+                }
+            }
+            // 처리하지 않은 객체/배열 값은 건너뜀 (스칼라 값이면 아무 일도 하지 않음)
+            p.skipChildren();
+        }
+
+        TickMessageType messageType = TickMessageType.of(type);
+        if (messageType == TickMessageType.STOCK_TICK) {
+            tick.setType(type);
+        } else if (messageType == TickMessageType.ORDER_BOOK) {
+            orderBook.setType(type);
+            if (ranks[ASKS] == NOT_FOUND) {
+                orderBook.setAsks(emptyLevels(askBuffer));
+            }
+            if (ranks[BIDS] == NOT_FOUND) {
+                orderBook.setBids(emptyLevels(bidBuffer));
+            }
+        }
+        return messageType;
+    }
+
+    // 값을 읽어 유효할 때만 필드에 반영하고, 반영했는지 반환
+    // (null / 숫자가 아닌 값은 앞서 읽은 우선순위 낮은 키의 값을 지우지 않음)
+    private boolean assign(JsonParser p, int field, StockTickDTO tick, OrderBookDTO orderBook,
+                           List<OrderBookDTO.OrderItem> askBuffer,
+                           List<OrderBookDTO.OrderItem> bidBuffer) throws IOException {
+        switch (field) {
+            case CODE -> {
+                String code = readText(p);
+                if (code == null) return false;
+                tick.setStockCode(code);
+                orderBook.setStockCode(code);
+                return true;
+            }
+            case TICK_TIME -> {
+                String tickTime = readText(p);
+                if (tickTime == null) return false;
+                tick.setTickTime(tickTime);
+                return true;
+            }
+            case CURRENT_PRICE -> {
+                BigDecimal value = readDecimal(p);
+                if (value == null) return false;
+                tick.setCurrentPrice(value);
+                return true;
+            }
+            case DIFF -> {
+                BigDecimal value = readDecimal(p);
+                if (value == null) return false;
+                tick.setDiff(value);
+                return true;
+            }
+            case DIFF_RATE -> {
+                BigDecimal value = readDecimal(p);
+                if (value == null) return false;
+                tick.setDiffRate(value);
+                return true;
+            }
+            case VOLUME -> {
+                BigDecimal value = readDecimal(p);
+                if (value == null) return false;
+                tick.setVolume(value);
+                return true;
+            }
+            case TRADING_VALUE -> {
+                BigDecimal value = readDecimal(p);
+                if (value == null) return false;
+                tick.setTradingValue(value);
+                return true;
+            }
+            case ASKS -> {
+                if (p.currentToken() != JsonToken.START_ARRAY) return false;
+                orderBook.setAsks(readLevels(p, askBuffer));
+                return true;
+            }
+            case BIDS -> {
+                if (p.currentToken() != JsonToken.START_ARRAY) return false;
+                orderBook.setBids(readLevels(p, bidBuffer));
+                return true;
+            }
+            case TOTAL_ASK_QTY -> {
+                Long value = readLong(p);
+                if (value == null) return false;
+                orderBook.setTotalAskQty(value);
+                return true;
+            }
+            case TOTAL_BID_QTY -> {
+                Long value = readLong(p);
+                if (value == null) return false;
+                orderBook.setTotalBidQty(value);
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    // 호가 리스트 읽기 - 넘겨받은 리스트와 OrderItem 을 가능한 한 재사용
+    private List<OrderBookDTO.OrderItem> readLevels(JsonParser p, List<OrderBookDTO.OrderItem> buffer) throws IOException {
+        List<OrderBookDTO.OrderItem> levels = buffer instanceof ArrayList ? buffer : new ArrayList<>(10);
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            levels.clear();
+            return levels;
+        }
+
+        int count = 0;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            OrderBookDTO.OrderItem item;
+            if (count < levels.size()) {
+                item = levels.get(count);
+            } else {
+                item = new OrderBookDTO.OrderItem();
+                levels.add(item);
+            }
+            readLevel(p, item);
+            count++;
+        }
+        if (levels.size() > count) {
+            levels.subList(count, levels.size()).clear();
+        }
+        return levels;
+    }
+
+    // 호가 한 단계 읽기 (가격/잔량 키 후보 중 앞선 키 우선)
+    private void readLevel(JsonParser p, OrderBookDTO.OrderItem item) throws IOException {
+        item.setPrice(null);
+        item.setQty(null);
+        int priceRank = NOT_FOUND;
+        int qtyRank = NOT_FOUND;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+
+            int rank = levelPriceRank(name);
+            if (rank < priceRank) {
+                BigDecimal price = readDecimal(p);
+                if (price != null) {
+                    item.setPrice(price);
+                    priceRank = rank;
+                }
+            } else {
+                rank = levelQtyRank(name);
+                if (rank < qtyRank) {
+                    Long qty = readLong(p);
+                    if (qty != null) {
+                        item.setQty(qty);
+                        qtyRank = rank;
+                    }
+                }
+            }
+            p.skipChildren();
+        }
+    }
+
+    private int levelPriceRank(String name) {
+        return switch (name) {
+            case "price" -> 0;
+            case "p" -> 1;
+            case "askp" -> 2;
+            case "bidp" -> 3;
+            default -> NOT_FOUND;
+        };
+    }
+
+    private int levelQtyRank(String name) {
+        return switch (name) {
+            case "qty" -> 0;
+            case "quantity" -> 1;
+            case "volume" -> 2;
+            case "v" -> 3;
+            case "askpRsqn" -> 4;
+            case "bidpRsqn" -> 5;
+            default -> NOT_FOUND;
+        };
+    }
+
+    // ------------------------------------------------------------------
+    // 토큰 값 읽기
+    // ------------------------------------------------------------------
+
+    private String readText(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == null || token == JsonToken.VALUE_NULL || token.isStructStart()) {
+            return null;
+        }
+        return p.getText();
+    }
+
+    private BigDecimal readDecimal(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return p.getDecimalValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return new BigDecimal(p.getText());
+            } catch (NumberFormatException ignored) {}
+        }
+        return null;
+    }
+
+    private Long readLong(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            return p.getLongValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(p.getText());
+            } catch (NumberFormatException ignored) {}
+        }
+        return null;
+    }
+
+    // ------------------------------------------------------------------
+    // 재사용 DTO 초기화
+    // ------------------------------------------------------------------
+
+    private void resetTick(StockTickDTO tick) {
+        tick.setType(null);
+        tick.setStockCode(null);
+        tick.setTickTime(null);
+        tick.setCurrentPrice(null);
+        tick.setDiff(null);
+        tick.setDiffRate(null);
+        tick.setVolume(null);
+        tick.setTradingValue(null);
+    }
+
+    private void resetOrderBook(OrderBookDTO orderBook) {
+        orderBook.setType(null);
+        orderBook.setStockCode(null);
+        orderBook.setTotalAskQty(null);
+        orderBook.setTotalBidQty(null);
+    }
+
+    private List<OrderBookDTO.OrderItem> emptyLevels(List<OrderBookDTO.OrderItem> buffer) {
+        if (buffer instanceof ArrayList) {
+            buffer.clear();
+            return buffer;
+        }
+        return List.of();
+    }
+}
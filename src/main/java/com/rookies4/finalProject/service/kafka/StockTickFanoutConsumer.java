@@ -0,0 +1,68 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.config.KafkaConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 다중 노드(broadcast) 모드의 노드별 stock-ticks 리스너
+ *
+ * <p>STOMP simple broker 는 구독 정보를 노드 안에만 가지고 있으므로,
+ * 각 노드가 자기만의 그룹(be-stock-ticks-fanout-{instance-id})으로 모든 파티션을 받아 자기 구독자에게 전송합니다.
+ * 목표가 판단은 공유 그룹({@link StockTickConsumer}) 쪽에서 클러스터 전체에 한 번만 합니다.</p>
+ *
+ * <p>실시간 시세만 다루므로 offset 을 커밋하지 않고 할당받을 때마다 최신 offset 으로 이동합니다.
+ * (지난 시세는 다시 보내도 의미가 없음 - 마지막 가격은 LastPriceCache 로 복구, kafka.stock-ticks.broadcast.enabled=true 일 때만 시작)</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockTickFanoutConsumer implements ConsumerSeekAware {
+
+    private final StockTickConsumer stockTickConsumer;
+    private final TickCatchUpTracker catchUpTracker;
+
+    @Value("${kafka.stock-ticks.start-from-latest:true}")
+    private boolean startFromLatest;
+
+    @KafkaListener(
+            id = "stockTickFanout",
+            topics = "stock-ticks",
+            groupId = "be-stock-ticks-fanout-" + KafkaConfig.INSTANCE_ID,
+            containerFactory = "stockTickFanoutKafkaListenerContainerFactory",
+            autoStartup = "${kafka.stock-ticks.broadcast.enabled:false}"
+    )
+    public void consumeStockData(List<ConsumerRecord<String, byte[]>> records, Consumer<?, ?> consumer) {
+        stockTickConsumer.process(records, TickRole.PUSH_ONLY, consumer);
+    }
+
+    /**
+     * 백로그 재생 대신 최신 offset 으로 이동 (전송 전용 그룹만 - 목표가 판단 그룹은 커밋된 offset 부터 이어 읽음)
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (startFromLatest && !assignments.isEmpty()) {
+            log.info("[Kafka] 노드별 전송 그룹 파티션을 최신 offset 으로 이동: {}", assignments.keySet());
+            callback.seekToEnd(assignments.keySet());
+        }
+    }
+
+    /**
+     * 리밸런스로 넘겨준 파티션의 catch-up 상태 정리
+     */
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        catchUpTracker.revoke(partitions.stream().map(TopicPartition::partition).toList());
+    }
+}
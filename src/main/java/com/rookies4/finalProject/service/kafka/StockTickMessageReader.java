@@ -0,0 +1,44 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * stock-ticks 레코드 값 디코딩 진입점
+ *
+ * <p>content-type 헤더를 보고 바이너리(v1) / JSON 디코더를 선택합니다.
+ * 헤더가 없는 기존 JSON 프로듀서도 그대로 동작하며(마이그레이션 기간),
+ * 헤더가 없더라도 바이너리 magic byte 로 시작하면 바이너리로 처리합니다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class StockTickMessageReader {
+
+    private static final byte[] BINARY_V1 = TickBinaryCodec.CONTENT_TYPE_BINARY_V1.getBytes(StandardCharsets.US_ASCII);
+
+    private final StockTickDecoder stockTickDecoder;
+    private final TickBinaryCodec tickBinaryCodec;
+
+    public TickMessageType read(Headers headers, byte[] value, StockTickDTO tick, OrderBookDTO orderBook) throws IOException {
+        if (isBinary(headers, value)) {
+            return tickBinaryCodec.decode(value, tick, orderBook);
+        }
+        return stockTickDecoder.decode(value, tick, orderBook);
+    }
+
+    private boolean isBinary(Headers headers, byte[] value) {
+        Header contentType = headers != null ? headers.lastHeader(TickBinaryCodec.CONTENT_TYPE_HEADER) : null;
+        if (contentType != null) {
+            return Arrays.equals(BINARY_V1, contentType.value());
+        }
+        return tickBinaryCodec.isBinary(value);
+    }
+}
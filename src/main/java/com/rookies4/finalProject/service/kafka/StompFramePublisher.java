@@ -0,0 +1,83 @@
+package com.rookies4.finalProject.service.kafka;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 한 번 직렬화한 STOMP payload 를 여러 목적지/재전송에 그대로 쓰는 전송기
+ *
+ * <p>{@code convertAndSend(destination, dto)} 는 호출할 때마다 DTO 를 JSON 으로 다시 만듭니다.
+ * 여기서는 브로커와 같은 메시지 컨버터로 한 번만 바이트로 만들고({@link #encode(Object)}),
+ * 목적지마다 헤더만 새로 붙여 같은 바이트 배열을 보냅니다. 브로커도 구독 세션마다 payload 를 복사하지 않고 공유합니다.</p>
+ * <ul>
+ *   <li>체결 : /topic/realtime-price/{code} 전송 + 새 구독자용 마지막 체결 재전송({@link LastPriceCache})</li>
+ *   <li>호가 : 델타 / 스냅샷</li>
+ * </ul>
+ * <p>새 구독자용 초기 값은 {@link #sendToSubscriber} 로 그 구독 하나에만 보냅니다.</p>
+ */
+@Component
+public class StompFramePublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    // 브로커를 거치지 않고 세션으로 바로 나가는 채널 (@SubscribeMapping 응답과 같은 경로)
+    private final MessageChannel clientOutboundChannel;
+
+    public StompFramePublisher(SimpMessagingTemplate messagingTemplate,
+                               @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel) {
+        this.messagingTemplate = messagingTemplate;
+        this.clientOutboundChannel = clientOutboundChannel;
+    }
+
+    /**
+     * payload 를 브로커 메시지 컨버터(JSON)로 한 번 직렬화
+     */
+    public Encoded encode(Object payload) {
+        Message<?> message = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (message == null || !(message.getPayload() instanceof byte[] bytes)) {
+            throw new MessageConversionException("STOMP payload 직렬화 실패: " + payload.getClass().getName());
+        }
+        return new Encoded(bytes, message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    }
+
+    /**
+     * 직렬화된 payload 전송 - 목적지마다 헤더만 새로 만들고 바이트 배열은 공유
+     */
+    public void send(String destination, Encoded encoded) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setHeader(MessageHeaders.CONTENT_TYPE, encoded.contentType());
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(encoded.bytes(), accessor.getMessageHeaders()));
+    }
+
+    public Encoded send(String destination, Object payload) {
+        Encoded encoded = encode(payload);
+        send(destination, encoded);
+        return encoded;
+    }
+
+    /**
+     * 구독 하나에만 전송 - 토픽의 다른 구독자에게는 가지 않음 (새 구독자용 마지막 체결 / 호가 스냅샷)
+     */
+    public void sendToSubscriber(String sessionId, String subscriptionId, String destination, Encoded encoded) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        accessor.setHeader(MessageHeaders.CONTENT_TYPE, encoded.contentType());
+        clientOutboundChannel.send(MessageBuilder.createMessage(encoded.bytes(), accessor.getMessageHeaders()));
+    }
+
+    /**
+     * 직렬화된 STOMP payload (불변 - 바이트 배열을 고치지 말 것)
+     */
+    public record Encoded(byte[] bytes, Object contentType) {
+    }
+}
@@ -1,33 +1,90 @@
 package com.rookies4.finalProject.service.kafka;
 
 import com.rookies4.finalProject.dto.kafka.SubscriptionEventDTO;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * subscription-events 발행 (수집기 구독 요청)
+ *
+ * <p>호출 스레드(HTTP 요청, STOMP 이벤트)는 메모리 대기열에 넣고 바로 돌아갑니다. 브로커가 느려도
+ * 구독 API / WebSocket 이벤트 처리가 멈추지 않고, 전송 실패는 예외 대신 지표와 로그로 남깁니다.</p>
+ * <ul>
+ *   <li>같은 사용자 + 종목의 SUBSCRIBE / UNSUBSCRIBE 가 대기 시간(coalesce-window-ms) 안에 이어지면 둘 다 보내지 않음</li>
+ *   <li>같은 종류가 이어지면 마지막 이벤트 하나만 보냄</li>
+ *   <li>대기 시간이 지난 이벤트를 flush 주기마다 한 번에 전송 (종목코드 키 - 종목별 순서 유지, 멱등 producer)</li>
+ *   <li>대기열이 가득 차면 새 이벤트를 버림 (stock.subscription.events{result=dropped})</li>
+ * </ul>
+ * <p>전송은 전용 스레드(subscription-events-sender)에서 합니다. 브로커 메타데이터를 못 받으면 send 가
+ * max.block.ms 동안 멈추는데, 공용 @Scheduled 스레드에서 보내면 그동안 다른 주기 작업이 모두 밀립니다.
+ * 한 건이라도 전송 요청 자체가 실패하면 그 주기는 멈추고 남은 이벤트를 대기열 앞에 되돌려 다음 주기에 다시 보냅니다.</p>
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class SubscriptionEventProducer {
 
+    private static final String TOPIC = "subscription-events";
+
     // KafkaConfig에서 빈 이름이 'subscriptionEventKafkaTemplate'이므로 명시적으로 주입받는 것이 안전합니다.
-    // (현재는 타입 매칭으로 잘 될 수도 있지만, 확실하게 하기 위함)
     private final KafkaTemplate<String, SubscriptionEventDTO> subscriptionEventKafkaTemplate;
+    private final long coalesceWindowMillis;
+    private final int queueCapacity;
+    private final long flushIntervalMillis;
 
-    private static final String TOPIC = "subscription-events";
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "subscription-events-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 사용자 + 종목 → 대기 중인 이벤트 (넣은 순서 = 대기 시작 순서)
+    private final LinkedHashMap<String, Pending> pending = new LinkedHashMap<>();
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter cancelledCounter;
+    private final Counter droppedCounter;
+
+    public SubscriptionEventProducer(KafkaTemplate<String, SubscriptionEventDTO> subscriptionEventKafkaTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${subscription-events.coalesce-window-ms:200}") long coalesceWindowMillis,
+                                     @Value("${subscription-events.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${subscription-events.flush-interval-ms:100}") long flushIntervalMillis) {
+        this.subscriptionEventKafkaTemplate = subscriptionEventKafkaTemplate;
+        this.coalesceWindowMillis = coalesceWindowMillis;
+        this.queueCapacity = queueCapacity;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.sentCounter = eventCounter(meterRegistry, "sent");
+        this.failedCounter = eventCounter(meterRegistry, "failed");
+        this.cancelledCounter = eventCounter(meterRegistry, "cancelled");
+        this.droppedCounter = eventCounter(meterRegistry, "dropped");
+        Gauge.builder("stock.subscription.events.pending", this, SubscriptionEventProducer::pendingCount)
+                .description("전송 대기 중인 구독 이벤트 수")
+                .register(meterRegistry);
+    }
 
     public void sendSubscriptionEvent(SubscriptionEventDTO event) {
-        publishEvent(event);
+        enqueue(event);
     }
 
     public void publishSubscribeEvent(Long userId, String stockCode) {
-        log.info("▶️ [Backend] Publishing SUBSCRIBE event for: {}", stockCode); // [디버깅 로그]
         SubscriptionEventDTO event = SubscriptionEventDTO.builder()
                 .eventType(SubscriptionEventDTO.EventType.SUBSCRIBE)
                 .subType("VIEW") // 기본값 명시
@@ -35,11 +92,10 @@ public class SubscriptionEventProducer {
                 .stockCode(stockCode)
                 .timestamp(LocalDateTime.now())
                 .build();
-        publishEvent(event);
+        enqueue(event);
     }
 
     public void publishUnsubscribeEvent(Long userId, String stockCode) {
-        log.info("▶️ [Backend] Publishing UNSUBSCRIBE event for: {}", stockCode); // [디버깅 로그]
         SubscriptionEventDTO event = SubscriptionEventDTO.builder()
                 .eventType(SubscriptionEventDTO.EventType.UNSUBSCRIBE)
                 .subType("VIEW")
@@ -47,25 +103,138 @@ public class SubscriptionEventProducer {
                 .stockCode(stockCode)
                 .timestamp(LocalDateTime.now())
                 .build();
-        publishEvent(event);
+        enqueue(event);
+    }
+
+    public int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        sender.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
     }
 
-    private void publishEvent(SubscriptionEventDTO event) {
+    /**
+     * 대기 시간이 지난 이벤트 전송 (전송 요청이 실패하면 남은 이벤트는 다음 주기로)
+     */
+    public void flush() {
+        requeue(send(drain(System.currentTimeMillis() - coalesceWindowMillis)));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        sender.shutdown();
         try {
-            log.info("🚀 [Kafka] Sending message to topic '{}': {}", TOPIC, event);
+            sender.awaitTermination(flushIntervalMillis + 5_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Pending> unsent = send(drain(Long.MAX_VALUE));
+        if (!unsent.isEmpty()) {
+            failedCounter.increment(unsent.size());
+            log.warn("[Kafka] 종료 중 구독 이벤트 {}건 전송 못함", unsent.size());
+        }
+        subscriptionEventKafkaTemplate.flush();
+    }
+
+    private void enqueue(SubscriptionEventDTO event) {
+        String key = key(event);
+        synchronized (pending) {
+            Pending previous = pending.remove(key);
+            if (previous != null && previous.event().getEventType() != event.getEventType()) {
+                // 반대 이벤트끼리 상쇄 - 수집기 입장에서는 아무 일도 없던 것과 같음
+                cancelledCounter.increment(2);
+                log.debug("[Kafka] 구독 이벤트 상쇄 - userId={}, stockCode={}", event.getUserId(), event.getStockCode());
+                return;
+            }
+            if (previous == null && pending.size() >= queueCapacity) {
+                droppedCounter.increment();
+                log.warn("[Kafka] 구독 이벤트 대기열 가득 참 - 버림: {} {}", event.getEventType(), event.getStockCode());
+                return;
+            }
+            pending.put(key, new Pending(event, System.currentTimeMillis()));
+        }
+    }
 
-            // [수정] 동기식 전송으로 변경 (최대 3초 대기)
-            // 에러가 있다면 여기서 즉시 Exception이 터져서 로그에 찍힘
-            SendResult<String, SubscriptionEventDTO> result = subscriptionEventKafkaTemplate
-                    .send(TOPIC, event.getStockCode(), event)
-                    .get(3, TimeUnit.SECONDS);
+    // queuedBefore 이전에 들어온 이벤트를 꺼냄 (넣은 순서대로라 처음 만나는 새 이벤트에서 멈춤)
+    private List<Pending> drain(long queuedBefore) {
+        List<Pending> events = new ArrayList<>();
+        synchronized (pending) {
+            Iterator<Map.Entry<String, Pending>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Pending next = iterator.next().getValue();
+                if (next.queuedAt() > queuedBefore) {
+                    break;
+                }
+                events.add(next);
+                iterator.remove();
+            }
+        }
+        return events;
+    }
 
-            log.info("✅ [Kafka] Sent successfully! Offset: {}", result.getRecordMetadata().offset());
+    // 순서대로 전송 요청 - 요청 자체가 실패하면(메타데이터 대기 시간 초과 등) 멈추고 보내지 못한 이벤트를 돌려줌
+    private List<Pending> send(List<Pending> events) {
+        for (int i = 0; i < events.size(); i++) {
+            SubscriptionEventDTO event = events.get(i).event();
+            try {
+                subscriptionEventKafkaTemplate.send(TOPIC, event.getStockCode(), event).whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        failedCounter.increment();
+                        log.warn("[Kafka] 구독 이벤트 전송 실패 - {} {}: {}", event.getEventType(), event.getStockCode(), ex.getMessage());
+                    } else {
+                        sentCounter.increment();
+                    }
+                });
+            } catch (Exception e) {
+                log.warn("[Kafka] 구독 이벤트 전송 요청 실패 - 남은 {}건은 다음 주기에 재시도: {}", events.size() - i, e.getMessage());
+                return events.subList(i, events.size());
+            }
+        }
+        if (!events.isEmpty()) {
+            log.debug("[Kafka] 구독 이벤트 {}건 전송", events.size());
+        }
+        return List.of();
+    }
 
-        } catch (Exception e) {
-            log.error("❌ [Kafka] Failed to send message: {}", e.getMessage());
-            e.printStackTrace(); // 콘솔에 에러 스택 트레이스 출력
-            throw new RuntimeException("Kafka 전송 실패: " + e.getMessage());
+    // 보내지 못한 이벤트를 대기열 앞에 되돌림 (그 사이 같은 사용자 + 종목의 새 이벤트가 들어왔으면 enqueue 와 같이 합침)
+    private void requeue(List<Pending> unsent) {
+        if (unsent.isEmpty()) {
+            return;
+        }
+        synchronized (pending) {
+            LinkedHashMap<String, Pending> merged = new LinkedHashMap<>();
+            for (Pending value : unsent) {
+                merged.put(key(value.event()), value);
+            }
+            for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+                Pending older = merged.get(entry.getKey());
+                if (older != null && older.event().getEventType() != entry.getValue().event().getEventType()) {
+                    merged.remove(entry.getKey());
+                    cancelledCounter.increment(2);
+                } else {
+                    merged.put(entry.getKey(), entry.getValue());
+                }
+            }
+            pending.clear();
+            pending.putAll(merged);
         }
     }
-}
\ No newline at end of file
+
+    private static String key(SubscriptionEventDTO event) {
+        return event.getUserId() + ":" + event.getStockCode();
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("stock.subscription.events")
+                .description("subscription-events 발행 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Pending(SubscriptionEventDTO event, long queuedAt) {
+    }
+}
@@ -0,0 +1,276 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * stock-ticks 바이너리 포맷(v1) 인코더/디코더
+ *
+ * <p>JSON 대신 고정 레이아웃으로 숫자 필드를 기록합니다. (big-endian)</p>
+ * <pre>
+ * 공통 헤더 : magic(1) version(1) type(1) code(packed)
+ * STOCK_TICK: tickTime(packed) currentPrice(8) diff(8) diffRate(8) volume(8) tradingValue(8)
+ * ORDER_BOOK: askCount(1) bidCount(1) [price(8) qty(8)] x (askCount + bidCount) totalAskQty(8) totalBidQty(8)
+ * </pre>
+ *
+ * <ul>
+ *   <li>packed: 6자리 숫자 문자열(종목코드 005930, 시각 091502)은 int 4바이트로 저장.
+ *       그 외 문자열은 -1 + 길이(2) + UTF-8 바이트, null 은 -2</li>
+ *   <li>가격(현재가/전일대비/호가)은 소수 2자리, 등락률은 소수 4자리 scaled long 으로 저장</li>
+ *   <li>null 숫자는 Long.MIN_VALUE 로 저장</li>
+ * </ul>
+ *
+ * <p>레이아웃을 바꿀 때는 VERSION 을 올리고 이전 버전 디코딩을 유지해야 합니다.</p>
+ */
+@Component
+public class TickBinaryCodec {
+
+    // Kafka 레코드 헤더: 값의 인코딩 방식 (헤더가 없으면 JSON 으로 간주)
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String CONTENT_TYPE_JSON = "application/json";
+    public static final String CONTENT_TYPE_BINARY_V1 = "application/x-stock-tick-v1";
+
+    static final byte MAGIC = (byte) 0xEB;
+    static final byte VERSION = 1;
+
+    private static final byte TYPE_STOCK_TICK = 1;
+    private static final byte TYPE_ORDER_BOOK = 2;
+
+    private static final int PRICE_SCALE = 2;
+    private static final int RATE_SCALE = 4;
+
+    private static final int PACKED_STRING = -1;
+    private static final int PACKED_NULL = -2;
+    private static final long NULL_NUMBER = Long.MIN_VALUE;
+
+    private static final int HEADER_SIZE = 3;
+    private static final int STOCK_TICK_SIZE = HEADER_SIZE + 4 + 4 + 5 * 8;
+    private static final int MAX_LEVELS = 255;
+
+    /**
+     * 바이너리 포맷 여부 (헤더가 없는 레코드 판별용 - JSON 은 '{' 나 공백으로 시작)
+     */
+    public boolean isBinary(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    // ------------------------------------------------------------------
+    // 인코딩
+    // ------------------------------------------------------------------
+
+    public byte[] encode(StockTickDTO tick) {
+        ByteBuffer buf = ByteBuffer.allocate(STOCK_TICK_SIZE
+                + extraPackedSize(tick.getStockCode()) + extraPackedSize(tick.getTickTime()));
+        writeHeader(buf, TYPE_STOCK_TICK, tick.getStockCode());
+        writePacked(buf, tick.getTickTime());
+        buf.putLong(toScaledLong(tick.getCurrentPrice(), PRICE_SCALE));
+        buf.putLong(toScaledLong(tick.getDiff(), PRICE_SCALE));
+        buf.putLong(toScaledLong(tick.getDiffRate(), RATE_SCALE));
+        buf.putLong(toScaledLong(tick.getVolume(), 0));
+        buf.putLong(toScaledLong(tick.getTradingValue(), 0));
+        return buf.array();
+    }
+
+    public byte[] encode(OrderBookDTO orderBook) {
+        List<OrderBookDTO.OrderItem> asks = orderBook.getAsks() != null ? orderBook.getAsks() : List.of();
+        List<OrderBookDTO.OrderItem> bids = orderBook.getBids() != null ? orderBook.getBids() : List.of();
+        if (asks.size() > MAX_LEVELS || bids.size() > MAX_LEVELS) {
+            throw new IllegalArgumentException("Too many order book levels: " + asks.size() + "/" + bids.size());
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE + 4 + extraPackedSize(orderBook.getStockCode())
+                + 2 + (asks.size() + bids.size()) * 16 + 16);
+        writeHeader(buf, TYPE_ORDER_BOOK, orderBook.getStockCode());
+        buf.put((byte) asks.size());
+        buf.put((byte) bids.size());
+        writeLevels(buf, asks);
+        writeLevels(buf, bids);
+        buf.putLong(orderBook.getTotalAskQty() != null ? orderBook.getTotalAskQty() : NULL_NUMBER);
+        buf.putLong(orderBook.getTotalBidQty() != null ? orderBook.getTotalBidQty() : NULL_NUMBER);
+        return buf.array();
+    }
+
+    private void writeHeader(ByteBuffer buf, byte type, String stockCode) {
+        buf.put(MAGIC);
+        buf.put(VERSION);
+        buf.put(type);
+        writePacked(buf, stockCode);
+    }
+
+    private void writeLevels(ByteBuffer buf, List<OrderBookDTO.OrderItem> levels) {
+        for (OrderBookDTO.OrderItem level : levels) {
+            buf.putLong(toScaledLong(level.getPrice(), PRICE_SCALE));
+            buf.putLong(level.getQty() != null ? level.getQty() : NULL_NUMBER);
+        }
+    }
+
+    private void writePacked(ByteBuffer buf, String value) {
+        if (value == null) {
+            buf.putInt(PACKED_NULL);
+            return;
+        }
+        int packed = packDigits(value);
+        if (packed >= 0) {
+            buf.putInt(packed);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buf.putInt(PACKED_STRING);
+        buf.putShort((short) bytes.length);
+        buf.put(bytes);
+    }
+
+    private int extraPackedSize(String value) {
+        if (value == null || packDigits(value) >= 0) {
+            return 0;
+        }
+        int length = value.getBytes(StandardCharsets.UTF_8).length;
+        if (length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Value too long: " + length);
+        }
+        return 2 + length;
+    }
+
+    // 6자리 숫자 문자열만 int 로 압축 (앞자리 0 은 디코딩 시 복원)
+    private int packDigits(String value) {
+        if (value.length() != 6) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = 0; i < 6; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private long toScaledLong(BigDecimal value, int scale) {
+        if (value == null) {
+            return NULL_NUMBER;
+        }
+        return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // ------------------------------------------------------------------
+    // 디코딩
+    // ------------------------------------------------------------------
+
+    /**
+     * 바이너리 메시지를 넘겨받은 DTO에 채워 넣고 메시지 타입을 반환
+     */
+    public TickMessageType decode(byte[] data, StockTickDTO tick, OrderBookDTO orderBook) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Not a binary stock-ticks message");
+        }
+        ByteBuffer buf = ByteBuffer.wrap(data);
+        buf.get(); // magic
+        byte version = buf.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary version: " + version);
+        }
+
+        try {
+            byte type = buf.get();
+            String stockCode = readPacked(buf);
+            return switch (type) {
+                case TYPE_STOCK_TICK -> {
+                    readStockTick(buf, stockCode, tick);
+                    yield TickMessageType.STOCK_TICK;
+                }
+                case TYPE_ORDER_BOOK -> {
+                    readOrderBook(buf, stockCode, orderBook);
+                    yield TickMessageType.ORDER_BOOK;
+                }
+                default -> TickMessageType.UNKNOWN;
+            };
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated binary stock-ticks message", e);
+        }
+    }
+
+    private void readStockTick(ByteBuffer buf, String stockCode, StockTickDTO tick) {
+        tick.setType(TickMessageType.STOCK_TICK.name());
+        tick.setStockCode(stockCode);
+        tick.setTickTime(readPacked(buf));
+        tick.setCurrentPrice(fromScaledLong(buf.getLong(), PRICE_SCALE));
+        tick.setDiff(fromScaledLong(buf.getLong(), PRICE_SCALE));
+        tick.setDiffRate(fromScaledLong(buf.getLong(), RATE_SCALE));
+        tick.setVolume(fromScaledLong(buf.getLong(), 0));
+        tick.setTradingValue(fromScaledLong(buf.getLong(), 0));
+    }
+
+    private void readOrderBook(ByteBuffer buf, String stockCode, OrderBookDTO orderBook) {
+        int askCount = buf.get() & 0xFF;
+        int bidCount = buf.get() & 0xFF;
+
+        orderBook.setType(TickMessageType.ORDER_BOOK.name());
+        orderBook.setStockCode(stockCode);
+        orderBook.setAsks(readLevels(buf, askCount, orderBook.getAsks()));
+        orderBook.setBids(readLevels(buf, bidCount, orderBook.getBids()));
+        orderBook.setTotalAskQty(nullableLong(buf.getLong()));
+        orderBook.setTotalBidQty(nullableLong(buf.getLong()));
+    }
+
+    // 넘겨받은 리스트와 OrderItem 을 가능한 한 재사용
+    private List<OrderBookDTO.OrderItem> readLevels(ByteBuffer buf, int count, List<OrderBookDTO.OrderItem> buffer) {
+        List<OrderBookDTO.OrderItem> levels = buffer instanceof ArrayList ? buffer : new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderBookDTO.OrderItem item;
+            if (i < levels.size()) {
+                item = levels.get(i);
+            } else {
+                item = new OrderBookDTO.OrderItem();
+                levels.add(item);
+            }
+            item.setPrice(fromScaledLong(buf.getLong(), PRICE_SCALE));
+            item.setQty(nullableLong(buf.getLong()));
+        }
+        if (levels.size() > count) {
+            levels.subList(count, levels.size()).clear();
+        }
+        return levels;
+    }
+
+    private String readPacked(ByteBuffer buf) {
+        int packed = buf.getInt();
+        if (packed == PACKED_NULL) {
+            return null;
+        }
+        if (packed == PACKED_STRING) {
+            byte[] bytes = new byte[buf.getShort()];
+            buf.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        char[] digits = new char[6];
+        for (int i = 5; i >= 0; i--) {
+            digits[i] = (char) ('0' + packed % 10);
+            packed /= 10;
+        }
+        return new String(digits);
+    }
+
+    // 불필요한 소수부 0은 제거 (JSON 직렬화 시 71500.00 대신 71500 으로 나가도록)
+    private BigDecimal fromScaledLong(long value, int scale) {
+        if (value == NULL_NUMBER) {
+            return null;
+        }
+        BigDecimal result = BigDecimal.valueOf(value, scale).stripTrailingZeros();
+        return result.scale() < 0 ? result.setScale(0) : result;
+    }
+
+    private Long nullableLong(long value) {
+        return value == NULL_NUMBER ? null : value;
+    }
+}
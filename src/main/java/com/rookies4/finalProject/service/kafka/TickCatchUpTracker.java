@@ -0,0 +1,168 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 파티션별 catch-up 모드 판단 및 전송 보류 버퍼
+ *
+ * <p>재시작/GC 정지 등으로 쌓인 백로그를 처리하는 동안(offset 지연 &gt; enter-lag-records)에는
+ * 지난 시세를 STOMP 로 다시 보내지 않고 종목별 마지막 체결/호가만 보관합니다.
+ * 목표가 판단은 catch-up 중에도 배치 고가/저가로 계속 하므로 지나간 가격도 놓치지 않습니다.</p>
+ *
+ * <p>지연은 컨슈머 offset 지연(파티션 끝 offset - 현재 위치, 레코드 수)으로 판단합니다.
+ * 레코드 timestamp 는 수집기 시계 기준이라 서버와 시계가 어긋나면 catch-up 에서 빠져나오지 못하거나 아예 들어가지 못합니다.</p>
+ *
+ * <p>지연이 exit-lag-records 아래로 내려오면 정상 모드로 돌아가고, 보관한 마지막 값만 한 번 전송합니다.
+ * (두 임계값 사이에서는 현재 모드 유지 - 경계에서 모드가 흔들리지 않도록)
+ * 장 마감 등으로 catch-up 중인 파티션에 레코드가 끊기면 quiet-ms 뒤 정상 모드로 돌리고 보관 값을 내보냅니다({@link #exitQuiet(long)}).
+ * 리밸런스로 넘겨준 파티션의 상태는 버립니다({@link #revoke(Collection)} - 새로 받은 쪽이 커밋된 offset 부터 다시 판단).</p>
+ *
+ * <p>한 파티션은 한 리스너 스레드에만 할당되므로 파티션별 보관 값은 해당 리스너 스레드에서만 갱신됩니다.</p>
+ */
+@Slf4j
+@Component
+public class TickCatchUpTracker implements MeterBinder {
+
+    private final long enterLagRecords;
+    private final long exitLagRecords;
+    private final long quietMillis;
+
+    // catch-up 중인 파티션
+    private final Set<Integer> catchingUp = ConcurrentHashMap.newKeySet();
+
+    // 파티션별 마지막 지연 갱신 시각 (레코드가 끊긴 파티션 판단용)
+    private final Map<Integer, Long> lastUpdated = new ConcurrentHashMap<>();
+
+    // 전송을 보류한 종목별 마지막 값
+    private final Map<String, Held> held = new ConcurrentHashMap<>();
+
+    public TickCatchUpTracker(@Value("${kafka.stock-ticks.catch-up.enter-lag-records:2000}") long enterLagRecords,
+                              @Value("${kafka.stock-ticks.catch-up.exit-lag-records:200}") long exitLagRecords,
+                              @Value("${kafka.stock-ticks.catch-up.quiet-ms:3000}") long quietMillis) {
+        this.enterLagRecords = enterLagRecords;
+        this.exitLagRecords = Math.min(exitLagRecords, enterLagRecords);
+        this.quietMillis = quietMillis;
+    }
+
+    /**
+     * 파티션의 offset 지연(레코드 수)으로 모드 갱신
+     *
+     * @return 이번에 catch-up 에서 정상 모드로 돌아왔으면 true
+     */
+    public boolean update(int partition, long lagRecords, long now) {
+        lastUpdated.put(partition, now);
+        if (lagRecords > enterLagRecords) {
+            if (catchingUp.add(partition)) {
+                log.warn("[Kafka][CatchUp] partition={} catch-up 시작 - lag={} records", partition, lagRecords);
+            }
+            return false;
+        }
+        if (lagRecords < exitLagRecords && catchingUp.remove(partition)) {
+            log.info("[Kafka][CatchUp] partition={} catch-up 종료 - lag={} records", partition, lagRecords);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * quiet-ms 동안 지연 갱신이 없던 catch-up 파티션을 정상 모드로 돌림
+     *
+     * @return 정상 모드로 돌린 파티션 (보관 값은 {@link #release(int)} 로 꺼내 전송)
+     */
+    public List<Integer> exitQuiet(long now) {
+        List<Integer> exited = new ArrayList<>();
+        for (Integer partition : catchingUp) {
+            if (now - lastUpdated.getOrDefault(partition, 0L) >= quietMillis && catchingUp.remove(partition)) {
+                log.info("[Kafka][CatchUp] partition={} catch-up 종료 - {}ms 동안 레코드 없음", partition, quietMillis);
+                exited.add(partition);
+            }
+        }
+        return exited;
+    }
+
+    /**
+     * 리밸런스로 넘겨준 파티션의 모드 / 보관 값 정리
+     */
+    public void revoke(Collection<Integer> partitions) {
+        for (Integer partition : partitions) {
+            catchingUp.remove(partition);
+            lastUpdated.remove(partition);
+            release(partition);
+        }
+    }
+
+    public boolean isCatchingUp(int partition) {
+        return catchingUp.contains(partition);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stock.tick.catch-up.partitions", catchingUp, Set::size)
+                .description("catch-up 모드인 파티션 수")
+                .register(registry);
+        Gauge.builder("stock.tick.catch-up.held", held, Map::size)
+                .description("catch-up 중 전송을 보류한 종목 수")
+                .register(registry);
+    }
+
+    /**
+     * 전송 대신 마지막 값 보관 (새 값이 있는 항목만 덮어씀)
+     */
+    void hold(StockTickBatch.Entry entry) {
+        Held value = held.computeIfAbsent(entry.getStockCode(), code -> new Held(code, entry.getPartition()));
+        if (entry.getLatestTick() != null) {
+            value.latestTick = entry.getLatestTick();
+            value.latestTickTimestamp = entry.getLatestTickTimestamp();
+        }
+        if (entry.getLatestOrderBook() != null) {
+            value.latestOrderBook = entry.getLatestOrderBook();
+        }
+    }
+
+    /**
+     * 파티션의 보관 값을 꺼내고 비움 (정상 모드 복귀 시 한 번 전송용)
+     */
+    List<Held> release(int partition) {
+        List<Held> released = new ArrayList<>();
+        for (Iterator<Held> it = held.values().iterator(); it.hasNext(); ) {
+            Held value = it.next();
+            if (value.partition == partition) {
+                released.add(value);
+                it.remove();
+            }
+        }
+        return released;
+    }
+
+    @Getter
+    static class Held {
+
+        private final String stockCode;
+        private final int partition;
+
+        private StockTickDTO latestTick;
+        private long latestTickTimestamp;
+        private OrderBookDTO latestOrderBook;
+
+        Held(String stockCode, int partition) {
+            this.stockCode = stockCode;
+            this.partition = partition;
+        }
+    }
+}
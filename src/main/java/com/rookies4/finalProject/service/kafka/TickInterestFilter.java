@@ -0,0 +1,96 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.service.AlertRuleEngine;
+import com.rookies4.finalProject.service.PriceTargetIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 관심 종목 사전 필터 (디코딩 전 레코드 key 로 판단)
+ *
+ * <p>수집기는 다른 consumer 용 종목까지 stock-ticks 로 보내므로, 이 노드에 STOMP 구독자도
+ * 활성 목표가/알림 규칙도 없는 종목의 레코드는 JSON/바이너리 디코딩 전에 건너뜁니다.</p>
+ * <ul>
+ *   <li>구독 종목 : {@code StompSubscriptionEventListener} 가 구독자 0 → 1 / 1 → 0 일 때 반영 (노드 로컬)</li>
+ *   <li>목표가 종목 : 목표가 메모리 인덱스({@link PriceTargetIndex})에 활성 목표가가 있는 종목</li>
+ *   <li>알림 규칙 종목 : 알림 규칙 엔진({@link AlertRuleEngine})에 활성 규칙이 있는 종목</li>
+ * </ul>
+ *
+ * <p>목표가 인덱스/알림 규칙을 적재하기 전에는 목표가 판단 쪽 레코드를 모두 통과시킵니다.
+ * key 가 없는 레코드도 판단할 수 없으므로 통과시킵니다.
+ * 지표: stock.tick.interest (result = hit / miss)</p>
+ */
+@Component
+public class TickInterestFilter {
+
+    private final PriceTargetIndex priceTargetIndex;
+    private final AlertRuleEngine alertRuleEngine;
+    private final boolean enabled;
+
+    private final Set<String> watchedStocks = ConcurrentHashMap.newKeySet();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public TickInterestFilter(PriceTargetIndex priceTargetIndex,
+                              AlertRuleEngine alertRuleEngine,
+                              MeterRegistry registry,
+                              @Value("${kafka.stock-ticks.interest-filter.enabled:true}") boolean enabled) {
+        this.priceTargetIndex = priceTargetIndex;
+        this.alertRuleEngine = alertRuleEngine;
+        this.enabled = enabled;
+        this.hits = interestCounter(registry, "hit");
+        this.misses = interestCounter(registry, "miss");
+        Gauge.builder("stock.tick.interest.stocks", watchedStocks, Set::size)
+                .description("이 노드에 STOMP 구독자가 있는 종목 수")
+                .tag("source", "subscription")
+                .register(registry);
+        Gauge.builder("stock.tick.interest.stocks", priceTargetIndex, index -> index.stockCodes().size())
+                .description("활성 목표가가 있는 종목 수")
+                .tag("source", "price-target")
+                .register(registry);
+        Gauge.builder("stock.tick.interest.stocks", alertRuleEngine, engine -> engine.stockCodes().size())
+                .description("활성 알림 규칙이 있는 종목 수")
+                .tag("source", "alert-rule")
+                .register(registry);
+    }
+
+    private static Counter interestCounter(MeterRegistry registry, String result) {
+        return Counter.builder("stock.tick.interest")
+                .description("관심 종목 사전 필터 결과 (miss 는 디코딩 전에 건너뛴 레코드)")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 레코드 key(종목코드)로 처리 여부 판단 - 리스너 스레드에서 디코딩 전에 호출
+     */
+    boolean accepts(String stockCode, TickRole role) {
+        if (!enabled || stockCode == null) {
+            return true;
+        }
+        boolean interested = (role.publishes() && watchedStocks.contains(stockCode))
+                || (role.evaluates() && isTargeted(stockCode));
+        (interested ? hits : misses).increment();
+        return interested;
+    }
+
+    private boolean isTargeted(String stockCode) {
+        return !priceTargetIndex.isLoaded() || priceTargetIndex.hasTargets(stockCode)
+                || !alertRuleEngine.isLoaded() || alertRuleEngine.hasRules(stockCode);
+    }
+
+    public void watch(String stockCode) {
+        watchedStocks.add(stockCode);
+    }
+
+    public void unwatch(String stockCode) {
+        watchedStocks.remove(stockCode);
+    }
+}
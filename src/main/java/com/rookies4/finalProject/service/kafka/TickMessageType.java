@@ -0,0 +1,24 @@
+package com.rookies4.finalProject.service.kafka;
+
+/**
+ * stock-ticks 토픽으로 들어오는 메시지 타입
+ */
+public enum TickMessageType {
+
+    STOCK_TICK,
+    ORDER_BOOK,
+
+    // type 필드가 없거나 처리 대상이 아닌 메시지
+    UNKNOWN;
+
+    public static TickMessageType of(String type) {
+        if (type == null) {
+            return UNKNOWN;
+        }
+        return switch (type) {
+            case "STOCK_TICK" -> STOCK_TICK;
+            case "ORDER_BOOK" -> ORDER_BOOK;
+            default -> UNKNOWN;
+        };
+    }
+}
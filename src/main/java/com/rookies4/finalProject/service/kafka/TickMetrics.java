@@ -0,0 +1,182 @@
+package com.rookies4.finalProject.service.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 틱 처리 경로 지표 (Micrometer)
+ *
+ * <ul>
+ *   <li>stock.tick.decode : 레코드 1건 디코딩 시간</li>
+ *   <li>stock.tick.stomp.send : STOMP 전송 시간 (type = STOCK_TICK / ORDER_BOOK)</li>
+ *   <li>stock.tick.price-target.evaluate : 목표가 판단 + 알림 전송 시간</li>
+ *   <li>stock.tick.latency : 체결 시각(tickTime, 거래소 기준) → STOMP 전송까지 지연 (source = exchange)
+ *       / Kafka 레코드 timestamp → 전송까지 지연 (source = kafka)</li>
+ *   <li>stock.tick.count : 종목별 체결 틱 수 (rate 로 종목별 초당 틱 수 확인)</li>
+ *   <li>stock.tick.consumer.lag : 파티션별 마지막 레코드의 시간 지연(ms)</li>
+ * </ul>
+ *
+ * <p>Kafka 브로커 기준 offset lag 은 consumer factory 에 연결된 클라이언트 지표
+ * (kafka.consumer.fetch.manager.records.lag*) 로 함께 노출됩니다.</p>
+ */
+@Component
+public class TickMetrics {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    // tickTime 이 이 값보다 오래되면(자정 경계, 장 종료 후 재전송 등) 지연으로 보지 않음
+    private static final long MAX_EXCHANGE_LATENCY_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final MeterRegistry registry;
+
+    private final Timer decodeTimer;
+    private final Timer tickSendTimer;
+    private final Timer orderBookSendTimer;
+    private final Timer priceTargetTimer;
+    private final Timer exchangeLatency;
+    private final Timer kafkaLatency;
+
+    private final Map<String, Counter> tickCounters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> partitionLagMs = new ConcurrentHashMap<>();
+
+    private final AtomicLong logSequence = new AtomicLong();
+    private final long logSampleRate;
+
+    public TickMetrics(MeterRegistry registry,
+                       @Value("${kafka.stock-ticks.log-sample-rate:1000}") long logSampleRate) {
+        this.registry = registry;
+        this.logSampleRate = Math.max(1, logSampleRate);
+
+        this.decodeTimer = Timer.builder("stock.tick.decode")
+                .description("stock-ticks 레코드 디코딩 시간")
+                .register(registry);
+        this.tickSendTimer = sendTimer(TickMessageType.STOCK_TICK);
+        this.orderBookSendTimer = sendTimer(TickMessageType.ORDER_BOOK);
+        this.priceTargetTimer = Timer.builder("stock.tick.price-target.evaluate")
+                .description("목표가 판단 및 알림 전송 시간")
+                .register(registry);
+        this.exchangeLatency = latencyTimer("exchange");
+        this.kafkaLatency = latencyTimer("kafka");
+    }
+
+    private Timer sendTimer(TickMessageType type) {
+        return Timer.builder("stock.tick.stomp.send")
+                .description("STOMP 브로커 전송 시간")
+                .tag("type", type.name())
+                .register(registry);
+    }
+
+    private Timer latencyTimer(String source) {
+        return Timer.builder("stock.tick.latency")
+                .description("틱 발생 시각부터 STOMP 전송까지의 지연")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(registry);
+    }
+
+    public void recordDecode(long elapsedNanos) {
+        decodeTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSend(TickMessageType type, long elapsedNanos) {
+        (type == TickMessageType.ORDER_BOOK ? orderBookSendTimer : tickSendTimer)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPriceTargetEvaluation(long elapsedNanos) {
+        priceTargetTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 전송 완료 시점 기준 지연 기록
+     *
+     * @param tickTime        체결 시각 (HHmmss, 한국 시간)
+     * @param recordTimestamp Kafka 레코드 timestamp (epoch ms, 없으면 0 이하)
+     */
+    public void recordLatency(String tickTime, long recordTimestamp) {
+        long nowMs = System.currentTimeMillis();
+        if (recordTimestamp > 0 && nowMs >= recordTimestamp) {
+            kafkaLatency.record(nowMs - recordTimestamp, TimeUnit.MILLISECONDS);
+        }
+
+        int tickSecondOfDay = parseSecondOfDay(tickTime);
+        if (tickSecondOfDay >= 0) {
+            long nowMsOfDay = LocalTime.now(KST).toNanoOfDay() / 1_000_000L;
+            long latencyMs = nowMsOfDay - tickSecondOfDay * 1000L;
+            if (latencyMs >= 0 && latencyMs <= MAX_EXCHANGE_LATENCY_MS) {
+                exchangeLatency.record(latencyMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    public void countTicks(String stockCode, int count) {
+        tickCounters.computeIfAbsent(stockCode, code -> Counter.builder("stock.tick.count")
+                        .description("종목별 수신 체결 틱 수")
+                        .tag("stockCode", code)
+                        .register(registry))
+                .increment(count);
+    }
+
+    /**
+     * 파티션별 시간 지연 갱신 (레코드 timestamp 기준)
+     */
+    public void updateConsumerLag(String topic, int partition, long recordTimestamp) {
+        if (recordTimestamp <= 0) {
+            return;
+        }
+        long lagMs = Math.max(0, System.currentTimeMillis() - recordTimestamp);
+        partitionLagMs.computeIfAbsent(topic + "-" + partition, key -> {
+            AtomicLong holder = new AtomicLong();
+            Gauge.builder("stock.tick.consumer.lag", holder, AtomicLong::get)
+                    .description("파티션별 마지막 레코드의 시간 지연")
+                    .baseUnit("milliseconds")
+                    .tag("topic", topic)
+                    .tag("partition", String.valueOf(partition))
+                    .register(registry);
+            return holder;
+        }).set(lagMs);
+    }
+
+    /**
+     * 샘플링 로그 여부 (logSampleRate 건마다 1건)
+     */
+    public boolean sampleLog() {
+        return logSequence.incrementAndGet() % logSampleRate == 0;
+    }
+
+    // "HHmmss" → 초 단위 (형식이 다르면 -1)
+    private int parseSecondOfDay(String tickTime) {
+        if (tickTime == null || tickTime.length() != 6) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < 6; i++) {
+            char c = tickTime.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        int hour = value / 10000;
+        int minute = value / 100 % 100;
+        int second = value % 100;
+        if (hour > 23 || minute > 59 || second > 59) {
+            return -1;
+        }
+        return hour * 3600 + minute * 60 + second;
+    }
+}
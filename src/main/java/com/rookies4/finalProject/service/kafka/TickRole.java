@@ -0,0 +1,56 @@
+package com.rookies4.finalProject.service.kafka;
+
+/**
+ * stock-ticks 리스너가 맡는 처리 범위
+ *
+ * <ul>
+ *   <li>FULL : 단일 노드 - STOMP 전송과 목표가 판단 모두</li>
+ *   <li>ALERTS_ONLY : 다중 노드의 공유 그룹(be-stock-ticks) - 목표가 판단과 마지막 가격 기록만 (클러스터 전체에서 한 번)</li>
+ *   <li>PUSH_ONLY : 다중 노드의 노드별 그룹 - 모든 파티션을 받아 자기 노드 구독자에게 전송만</li>
+ *   <li>ORDER_BOOK_LANE : 호가 전용 토픽 리스너 - 전송만, catch-up 판단은 stock-ticks 파티션 기준이므로 하지 않음</li>
+ * </ul>
+ * <p>분봉은 노드별 메모리에서 응답하므로 stock-ticks 를 받아 전송하는 리스너(FULL / PUSH_ONLY)가 집계합니다.
+ * 마지막 체결가(stock-last-price 기록 / 새 구독자 스냅샷)는 stock-ticks 를 받는 리스너가 관심 종목 필터와 무관하게 갱신합니다.</p>
+ */
+enum TickRole {
+
+    FULL(true, true, true, true, true),
+    ALERTS_ONLY(false, true, false, false, true),
+    PUSH_ONLY(true, false, true, true, true),
+    ORDER_BOOK_LANE(true, false, false, false, false);
+
+    private final boolean publishes;
+    private final boolean evaluates;
+    private final boolean tracksCatchUp;
+    private final boolean aggregatesCandles;
+    private final boolean keepsLastPrice;
+
+    TickRole(boolean publishes, boolean evaluates, boolean tracksCatchUp, boolean aggregatesCandles,
+             boolean keepsLastPrice) {
+        this.publishes = publishes;
+        this.evaluates = evaluates;
+        this.tracksCatchUp = tracksCatchUp;
+        this.aggregatesCandles = aggregatesCandles;
+        this.keepsLastPrice = keepsLastPrice;
+    }
+
+    boolean publishes() {
+        return publishes;
+    }
+
+    boolean evaluates() {
+        return evaluates;
+    }
+
+    boolean tracksCatchUp() {
+        return tracksCatchUp;
+    }
+
+    boolean aggregatesCandles() {
+        return aggregatesCandles;
+    }
+
+    boolean keepsLastPrice() {
+        return keepsLastPrice;
+    }
+}
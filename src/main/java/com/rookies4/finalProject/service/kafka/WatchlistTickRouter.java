@@ -0,0 +1,249 @@
+package com.rookies4.finalProject.service.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 관심 종목 묶음 스트림 (/user/queue/ticks)
+ *
+ * <p>종목마다 /topic/realtime-price/{code} 를 따로 구독하면 관심 종목 50개짜리 화면이 구독 50개, 프레임 50개가 됩니다.
+ * 여기서는 세션당 목적지 하나만 구독하고(/user/queue/ticks), 받을 종목은 앱 메시지(/app/watchlist/add, remove)로
+ * 세션 필터에 넣고 뺍니다.</p>
+ * <ul>
+ *   <li>종목 → 세션 역색인으로 체결을 받을 세션만 찾음 (세션 전체를 훑지 않음)</li>
+ *   <li>체결은 종목별 마지막 값만 모아 두었다가 flush 주기마다 세션당 프레임 1개(JSON 배열)로 전송</li>
+ *   <li>배열 원소는 실시간 시세 전송 때 만든 JSON 바이트를 그대로 이어 붙임 (종목당 직렬화 한 번)</li>
+ * </ul>
+ *
+ * <p>Principal 없이 JWT 를 세션 속성으로만 확인하므로 사용자 단위가 아니라 세션 단위 목적지
+ * (/queue/ticks-user{sessionId}) 로 보냅니다. 클라이언트가 /user/queue/ticks 를 구독하면 같은 목적지로 풀립니다.</p>
+ *
+ * <p>종료한 세션은 잠시 표시(tombstone)를 남겨, 종료 이벤트보다 늦게 처리된 add 가 세션 필터를 다시 만들어
+ * 끊긴 세션용 프레임을 계속 만드는 일이 없도록 합니다.</p>
+ */
+@Slf4j
+@Component
+public class WatchlistTickRouter {
+
+    public static final String USER_DESTINATION = "/user/queue/ticks";
+    static final String SESSION_DESTINATION_PREFIX = "/queue/ticks-user";
+    // 종료한 세션 표시 유지 시간 (그 사이 늦게 도착한 add 무시)
+    private static final long CLOSED_SESSION_TTL_MS = 60_000L;
+
+    private final StompFramePublisher stompFramePublisher;
+    private final LastPriceCache lastPriceCache;
+    private final int maxStocksPerSession;
+
+    // 종목 → 세션 (역색인), 세션 → 종목
+    private final Map<String, Set<String>> sessionsByStock = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> stocksBySession = new ConcurrentHashMap<>();
+    // 종료한 세션 → 종료 시각
+    private final Map<String, Long> closedSessions = new ConcurrentHashMap<>();
+
+    // 다음 flush 에 보낼 종목별 마지막 체결 (직렬화 결과)
+    private final ConcurrentHashMap<String, StompFramePublisher.Encoded> pending = new ConcurrentHashMap<>();
+
+    private final Counter frameCounter;
+    private final Counter tickCounter;
+
+    public WatchlistTickRouter(StompFramePublisher stompFramePublisher,
+                               LastPriceCache lastPriceCache,
+                               MeterRegistry meterRegistry,
+                               @Value("${watchlist.max-stocks-per-session:100}") int maxStocksPerSession) {
+        this.stompFramePublisher = stompFramePublisher;
+        this.lastPriceCache = lastPriceCache;
+        this.maxStocksPerSession = maxStocksPerSession;
+        this.frameCounter = Counter.builder("stock.watchlist.frames")
+                .description("관심 종목 스트림으로 보낸 프레임 수")
+                .register(meterRegistry);
+        this.tickCounter = Counter.builder("stock.watchlist.ticks")
+                .description("관심 종목 스트림 프레임에 담긴 체결 수")
+                .register(meterRegistry);
+        Gauge.builder("stock.watchlist.sessions", stocksBySession, Map::size)
+                .description("관심 종목 스트림을 쓰는 세션 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 세션 필터에 종목 추가 - 새로 추가된 종목만 반환 (세션당 최대 종목 수를 넘는 종목은 무시)
+     * 추가된 종목의 캐시된 마지막 체결은 바로 한 프레임으로 보냅니다.
+     */
+    public List<String> add(String sessionId, Collection<String> stockCodes) {
+        Set<String> stocks = stocksBySession.compute(sessionId, (k, existing) -> existing != null ? existing
+                : closedSessions.containsKey(k) ? null : ConcurrentHashMap.newKeySet());
+        if (stocks == null) {
+            return List.of(); // 이미 종료한 세션
+        }
+        List<String> added = new ArrayList<>();
+        synchronized (stocks) {
+            if (stocksBySession.get(sessionId) != stocks) {
+                return List.of(); // 필터를 얻은 뒤 세션이 종료됨
+            }
+            for (String stockCode : stockCodes) {
+                if (stocks.size() >= maxStocksPerSession) {
+                    log.warn("[WS][Watchlist] 세션당 최대 종목 수 초과 - sessionId={}, max={}", sessionId, maxStocksPerSession);
+                    break;
+                }
+                if (stocks.add(stockCode)) {
+                    sessionsByStock.computeIfAbsent(stockCode, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+                    added.add(stockCode);
+                }
+            }
+        }
+        sendSnapshot(sessionId, added);
+        return added;
+    }
+
+    /**
+     * 세션 필터에서 종목 제거 - 실제로 빠진 종목만 반환
+     */
+    public List<String> remove(String sessionId, Collection<String> stockCodes) {
+        Set<String> stocks = stocksBySession.get(sessionId);
+        if (stocks == null) {
+            return List.of();
+        }
+        List<String> removed = new ArrayList<>();
+        synchronized (stocks) {
+            for (String stockCode : stockCodes) {
+                if (stocks.remove(stockCode)) {
+                    detach(stockCode, sessionId);
+                    removed.add(stockCode);
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 세션 종료 - 세션이 보던 종목 전체를 반환
+     */
+    public List<String> removeSession(String sessionId) {
+        closedSessions.put(sessionId, System.currentTimeMillis());
+        Set<String> stocks = stocksBySession.remove(sessionId);
+        if (stocks == null) {
+            return List.of();
+        }
+        List<String> removed;
+        synchronized (stocks) {
+            removed = new ArrayList<>(stocks);
+            stocks.clear();
+        }
+        removed.forEach(stockCode -> detach(stockCode, sessionId));
+        return removed;
+    }
+
+    /**
+     * 전송한 체결 등록 (stripe 실행기 스레드에서 호출) - 보는 세션이 없는 종목은 바로 버림
+     */
+    public void offer(String stockCode, StompFramePublisher.Encoded encoded) {
+        if (sessionsByStock.containsKey(stockCode)) {
+            pending.put(stockCode, encoded);
+        }
+    }
+
+    /**
+     * 모아 둔 체결을 세션별 프레임 1개로 전송
+     */
+    @Scheduled(fixedDelayString = "${watchlist.flush-interval-ms:200}")
+    public void flush() {
+        purgeClosedSessions();
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, List<byte[]>> partsBySession = new HashMap<>();
+        Object contentType = null;
+        for (Map.Entry<String, StompFramePublisher.Encoded> entry : pending.entrySet()) {
+            StompFramePublisher.Encoded encoded = entry.getValue();
+            // 그 사이 더 새 체결이 들어왔으면 남겨 두고 다음 flush 에 보냄
+            if (!pending.remove(entry.getKey(), encoded)) {
+                continue;
+            }
+            Set<String> sessions = sessionsByStock.get(entry.getKey());
+            if (sessions == null) {
+                continue;
+            }
+            contentType = encoded.contentType();
+            for (String sessionId : sessions) {
+                partsBySession.computeIfAbsent(sessionId, k -> new ArrayList<>()).add(encoded.bytes());
+            }
+        }
+        Object frameContentType = contentType;
+        partsBySession.forEach((sessionId, parts) -> sendFrame(sessionId, parts, frameContentType));
+    }
+
+    public boolean isWatched(String stockCode) {
+        return sessionsByStock.containsKey(stockCode);
+    }
+
+    static String destination(String sessionId) {
+        return SESSION_DESTINATION_PREFIX + sessionId;
+    }
+
+    private void purgeClosedSessions() {
+        if (!closedSessions.isEmpty()) {
+            long expiredBefore = System.currentTimeMillis() - CLOSED_SESSION_TTL_MS;
+            closedSessions.values().removeIf(closedAt -> closedAt < expiredBefore);
+        }
+    }
+
+    private void detach(String stockCode, String sessionId) {
+        sessionsByStock.computeIfPresent(stockCode, (k, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    // 새로 추가된 종목의 마지막 체결을 한 프레임으로 전송
+    private void sendSnapshot(String sessionId, List<String> stockCodes) {
+        List<byte[]> parts = new ArrayList<>(stockCodes.size());
+        Object contentType = null;
+        for (String stockCode : stockCodes) {
+            StompFramePublisher.Encoded encoded = lastPriceCache.getEncoded(stockCode);
+            if (encoded != null) {
+                parts.add(encoded.bytes());
+                contentType = encoded.contentType();
+            }
+        }
+        if (!parts.isEmpty()) {
+            sendFrame(sessionId, parts, contentType);
+        }
+    }
+
+    // 종목별 JSON 객체 바이트를 JSON 배열 하나로 이어 붙여 전송
+    private void sendFrame(String sessionId, List<byte[]> parts, Object contentType) {
+        int size = parts.size() + 1;
+        for (byte[] part : parts) {
+            size += part.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write('[');
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(parts.get(i));
+        }
+        out.write(']');
+        try {
+            stompFramePublisher.send(destination(sessionId), new StompFramePublisher.Encoded(out.toByteArray(), contentType));
+            frameCounter.increment();
+            tickCounter.increment(parts.size());
+        } catch (Exception e) {
+            log.warn("[WS][Watchlist] 전송 실패 - sessionId={}, error={}", sessionId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.rookies4.finalProject.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 키 기반 스트라이프 실행기
+ *
+ * <p>같은 키(예: 종목코드)의 작업은 항상 같은 단일 스레드 stripe 에서 순서대로 실행되고,
+ * 서로 다른 키는 여러 stripe 에서 병렬로 실행됩니다.</p>
+ *
+ * <p>stripe 큐가 가득 차면 제출한 스레드(Kafka 리스너)가 자리가 날 때까지 대기합니다.
+ * 작업을 버리거나 호출 스레드에서 실행하지 않으므로 키별 순서가 깨지지 않고,
+ * 처리 지연은 Kafka consumer lag 로 드러납니다.</p>
+ *
+ * <p>dropWhenFull 로 만든 실행기는 대기하지 않고 큐에서 가장 오래된 작업을 버린 뒤 새 작업을 넣습니다
+ * ({name}.dropped 로 집계). 밀린 상황에서는 오래된 값보다 최신 값이 중요한 호가 같은 작업에만 사용합니다.
+ * 스냅샷처럼 버리면 안 되는 작업은 {@link #executeNoDrop(String, Runnable)} 으로 제출합니다
+ * - 버릴 대상에서 빠지고, 큐가 모두 그런 작업이면 자리가 날 때까지 대기합니다.</p>
+ *
+ * <p>{@link #submit(String, Runnable)} 은 끝날 때를 알 수 있는 제출입니다. Kafka 리스너가 배치의 목표가 판단이
+ * 끝날 때까지 기다린 뒤 반환해야(= offset 커밋) 재기동 / 장애 때 판단이 유실되지 않습니다.</p>
+ */
+@Slf4j
+public class StripedExecutor implements MeterBinder {
+
+    private final String name;
+    private final ThreadPoolExecutor[] stripes;
+    private final LongAdder dropped = new LongAdder();
+    private final boolean dropWhenFull;
+
+    public StripedExecutor(String name, int stripeCount, int queueCapacity) {
+        this(name, stripeCount, queueCapacity, false);
+    }
+
+    public StripedExecutor(String name, int stripeCount, int queueCapacity, boolean dropWhenFull) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("stripeCount must be positive: " + stripeCount);
+        }
+        this.name = name;
+        this.dropWhenFull = dropWhenFull;
+        this.stripes = new ThreadPoolExecutor[stripeCount];
+
+        for (int i = 0; i < stripeCount; i++) {
+            String threadName = name + "-" + i;
+            ThreadPoolExecutor stripe = new ThreadPoolExecutor(
+                    1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    dropWhenFull ? this::dropOldest : StripedExecutor::blockUntilQueued
+            );
+            stripes[i] = stripe;
+        }
+    }
+
+    /**
+     * key 에 해당하는 stripe 에 작업 제출 (같은 key 는 제출 순서대로 실행)
+     */
+    public void execute(String key, Runnable task) {
+        stripes[stripeOf(key)].execute(guarded(key, task));
+    }
+
+    /**
+     * 버리지 않는 제출 - 버리는 실행기에서도 오래된 작업 정리 대상에서 빠지고, 필요하면 자리가 날 때까지 대기
+     * (대기 모드 실행기에서는 execute 와 같음, 공용 @Scheduled 스레드처럼 멈추면 안 되는 스레드에서는 쓰지 않음)
+     */
+    public void executeNoDrop(String key, Runnable task) {
+        stripes[stripeOf(key)].execute(new NoDropTask(guarded(key, task)));
+    }
+
+    /**
+     * execute 와 같되 작업이 끝나면(예외 포함) 완료되는 future 반환 - 대기 모드 실행기 전용
+     * (버리는 실행기에서는 버려진 작업의 future 가 끝나지 않으므로 사용 불가)
+     */
+    public CompletableFuture<Void> submit(String key, Runnable task) {
+        if (dropWhenFull) {
+            throw new IllegalStateException("submit is not supported on a drop-when-full executor: " + name);
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        execute(key, () -> {
+            try {
+                task.run();
+            } finally {
+                done.complete(null);
+            }
+        });
+        return done;
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public int queueDepth(int stripe) {
+        return stripes[stripe].getQueue().size();
+    }
+
+    public int totalQueueDepth() {
+        int total = 0;
+        for (ThreadPoolExecutor stripe : stripes) {
+            total += stripe.getQueue().size();
+        }
+        return total;
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    int stripeOf(String key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        return Math.floorMod(h, stripes.length);
+    }
+
+    /**
+     * 남은 작업을 최대 timeout 동안 처리한 뒤 종료 (Spring 빈 destroy 시 자동 호출)
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor stripe : stripes) {
+                if (!stripe.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("[{}] 종료 대기 시간 초과 - 남은 작업 {}건 폐기", name, stripe.shutdownNow().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < stripes.length; i++) {
+            ThreadPoolExecutor stripe = stripes[i];
+            Gauge.builder(name + ".queue.depth", stripe, s -> s.getQueue().size())
+                    .description("stripe 별 대기 중인 작업 수")
+                    .tag("stripe", String.valueOf(i))
+                    .register(registry);
+        }
+        Gauge.builder(name + ".queue.depth.total", this, StripedExecutor::totalQueueDepth)
+                .description("전체 stripe 대기 작업 수")
+                .register(registry);
+        FunctionCounter.builder(name + ".dropped", this, StripedExecutor::droppedCount)
+                .description("큐가 가득 차 버린 작업 수")
+                .register(registry);
+    }
+
+    private Runnable guarded(String key, Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                // 예외로 stripe 스레드가 교체되지 않도록 여기서 처리
+                log.error("[{}] 작업 실패 - key={}", name, key, e);
+            }
+        };
+    }
+
+    // 큐가 가득 차면 가장 오래된(버려도 되는) 작업을 버리고 새 작업을 넣음
+    // 버릴 작업이 없으면 버리지 않는 작업은 대기, 나머지는 새 작업을 버림
+    private void dropOldest(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        while (!queue.offer(task)) {
+            if (evictOldest(queue)) {
+                dropped.increment();
+            } else if (task instanceof NoDropTask) {
+                blockUntilQueued(task, executor);
+                return;
+            } else {
+                dropped.increment();
+                return;
+            }
+        }
+    }
+
+    private static boolean evictOldest(BlockingQueue<Runnable> queue) {
+        for (Runnable queued : queue) {
+            if (!(queued instanceof NoDropTask) && queue.remove(queued)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 큐가 가득 차면 제출 스레드를 대기시켜 Kafka poll 속도를 늦춤 (backpressure)
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+        }
+    }
+
+    // 버리는 실행기에서도 버리지 않을 작업 표시
+    private static final class NoDropTask implements Runnable {
+
+        private final Runnable delegate;
+
+        private NoDropTask(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.rookies4.finalProject.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 커밋 후 실행 도우미
+ *
+ * <p>메모리 색인(활성 종목, 목표가, 알림 규칙, KIS 슬롯)은 DB 변경이 커밋된 뒤에만 반영해야
+ * 롤백된 변경이 남지 않습니다. 트랜잭션 밖에서 호출하면 바로 실행합니다.</p>
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.rookies4.finalProject.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 세션별 송신 대기열 - 느린 세션이 다른 세션과 힙을 잡아먹지 않도록 목적지별 정책으로 버림
+ *
+ * <p>보내는 쪽(clientOutbound 채널 스레드)은 대기열에 넣고 바로 돌아가고, 실제 쓰기는 writer 실행기에서
+ * 세션당 한 스레드씩만 합니다. 한 차례(drain)는 drainSliceMillis 까지만 writer 를 잡고 남은 메시지는 실행기 대기열
+ * 뒤로 다시 걸어, 밀린 세션 하나가 스레드를 독점하지 않습니다. 쓰기 1건이 slowWriteMillis 를 넘긴 세션은 다음 차례부터
+ * 느린 세션 전용 실행기(slowWriter)에서 쓰므로, 막힌 쓰기가 정상 세션의 writer 를 잡아두지 않습니다.</p>
+ * <ul>
+ *   <li>대기열 크기는 STOMP 프레임 바이트 합계로 재고, 한도를 넘으면 {@link OutboundDropPolicy} 대로 버림</li>
+ *   <li>LATEST_VALUE : 같은 목적지(구독)의 못 보낸 메시지를 새 메시지로 교체 - 한도와 무관하게 밀린 만큼만 합쳐짐</li>
+ *   <li>호가 델타를 버린 뒤에는 다음 스냅샷(ORDER_BOOK)까지 그 종목 델타를 보내지 않음 (클라이언트도 seq 가 끊기면 버림)</li>
+ *   <li>NEVER_DROP 메시지만으로 한도를 넘은 상태가 이어지거나 쓰기 하나가 너무 오래 걸리면
+ *       {@link SlowConsumerGuard} 가 세션을 끊음</li>
+ *   <li>쓰기가 실패하면 세션을 SESSION_NOT_RELIABLE 로 닫고 failureListener 로 알림 (이후 메시지를 조용히 버리며 열려 있지 않도록)</li>
+ * </ul>
+ */
+@Slf4j
+public class BackpressureSessionDecorator extends WebSocketSessionDecorator {
+
+    private static final String MESSAGE_COMMAND = "MESSAGE\n";
+    private static final String ORDER_BOOK_SNAPSHOT_TYPE = "\"type\":\"ORDER_BOOK\"";
+    // 호가 스냅샷 여부는 본문 앞부분(type 필드)만 봄
+    private static final int TYPE_SCAN_LENGTH = 64;
+    private static final int HEADER_SCAN_LIMIT = 1024;
+
+    private final int bufferSizeLimit;
+    private final Executor writer;
+    private final Executor slowWriter;
+    private final long slowWriteMillis;
+    private final long drainSliceMillis;
+    private final Consumer<OutboundDropPolicy> dropListener;
+    private final Consumer<BackpressureSessionDecorator> failureListener;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private final Map<String, Pending> latestByKey = new HashMap<>();
+    private final Set<String> orderBookGaps = new HashSet<>();
+    private int bufferedBytes;
+    private long overLimitSince;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long sendStartTime;
+    private volatile boolean closed;
+    private volatile boolean slow;
+
+    public BackpressureSessionDecorator(WebSocketSession delegate, int bufferSizeLimit,
+                                        Executor writer, Executor slowWriter,
+                                        long slowWriteMillis, long drainSliceMillis,
+                                        Consumer<OutboundDropPolicy> dropListener,
+                                        Consumer<BackpressureSessionDecorator> failureListener) {
+        super(delegate);
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.writer = writer;
+        this.slowWriter = slowWriter;
+        this.slowWriteMillis = slowWriteMillis;
+        this.drainSliceMillis = drainSliceMillis;
+        this.dropListener = dropListener;
+        this.failureListener = failureListener;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closed) {
+            return;
+        }
+        Frame frame = Frame.of(message);
+        synchronized (lock) {
+            enqueue(message, frame);
+            trimToLimit();
+            if (bufferedBytes <= bufferSizeLimit) {
+                overLimitSince = 0;
+            } else if (overLimitSince == 0) {
+                overLimitSince = System.currentTimeMillis();
+            }
+        }
+        scheduleDrain();
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        closed = true;
+        synchronized (lock) {
+            queue.clear();
+            latestByKey.clear();
+            bufferedBytes = 0;
+            overLimitSince = 0;
+        }
+        super.close(status);
+    }
+
+    public int getBufferedBytes() {
+        synchronized (lock) {
+            return bufferedBytes;
+        }
+    }
+
+    /**
+     * 한도를 넘은 채로 지난 시간 (넘지 않았으면 0)
+     */
+    public long getOverLimitMillis(long now) {
+        synchronized (lock) {
+            return overLimitSince == 0 ? 0 : now - overLimitSince;
+        }
+    }
+
+    /**
+     * 진행 중인 쓰기 1건이 걸린 시간 (쓰는 중이 아니면 0)
+     */
+    public long getTimeSinceSendStarted(long now) {
+        long start = sendStartTime;
+        return start == 0 ? 0 : now - start;
+    }
+
+    /**
+     * 마지막 쓰기가 느려 느린 세션 전용 writer 에서 쓰는 중인지
+     */
+    public boolean isSlowWriter() {
+        return slow;
+    }
+
+    /**
+     * 대기열이 남았는데 drain 이 걸려 있지 않으면 다시 걸음 (차례를 넘긴 뒤, 주기 점검에서 호출)
+     */
+    void resumeDrain() {
+        boolean pending;
+        synchronized (lock) {
+            pending = !queue.isEmpty();
+        }
+        if (pending) {
+            scheduleDrain();
+        }
+    }
+
+    private void enqueue(WebSocketMessage<?> message, Frame frame) {
+        int size = message.getPayloadLength();
+        if (frame.policy() == OutboundDropPolicy.LATEST_VALUE) {
+            Pending queued = latestByKey.get(frame.key());
+            if (queued != null) {
+                bufferedBytes += size - queued.size;
+                queued.message = message;
+                queued.size = size;
+                dropListener.accept(OutboundDropPolicy.LATEST_VALUE);
+                return;
+            }
+        } else if (frame.orderBook() && orderBookGaps.contains(frame.key())) {
+            if (!frame.snapshot()) {
+                dropListener.accept(OutboundDropPolicy.DROP_OLDEST);
+                return;
+            }
+            orderBookGaps.remove(frame.key());
+        }
+
+        Pending pending = new Pending(frame, message, size);
+        queue.add(pending);
+        bufferedBytes += size;
+        if (frame.policy() == OutboundDropPolicy.LATEST_VALUE) {
+            latestByKey.put(frame.key(), pending);
+        }
+    }
+
+    // 한도를 넘으면 버릴 수 있는 메시지를 오래된 것부터 버림 (버린 호가 델타 뒤에 대기 중인 같은 종목 델타도 함께)
+    private void trimToLimit() {
+        if (bufferedBytes <= bufferSizeLimit) {
+            return;
+        }
+        Iterator<Pending> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Pending pending = iterator.next();
+            Frame frame = pending.frame;
+            if (frame.orderBook() && orderBookGaps.contains(frame.key())) {
+                if (frame.snapshot()) {
+                    orderBookGaps.remove(frame.key());
+                    continue;
+                }
+            } else if (bufferedBytes <= bufferSizeLimit || frame.policy() == OutboundDropPolicy.NEVER_DROP) {
+                continue;
+            }
+            iterator.remove();
+            bufferedBytes -= pending.size;
+            if (frame.policy() == OutboundDropPolicy.LATEST_VALUE) {
+                latestByKey.remove(frame.key(), pending);
+            } else if (frame.orderBook()) {
+                orderBookGaps.add(frame.key());
+            }
+            dropListener.accept(frame.policy());
+        }
+    }
+
+    private void scheduleDrain() {
+        if (closed || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            (slow ? slowWriter : writer).execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // 실행기 종료 중 - 다음 전송이나 주기 점검에서 다시 시도
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        long turnStart = System.currentTimeMillis();
+        try {
+            while (!closed) {
+                Pending pending;
+                synchronized (lock) {
+                    pending = queue.poll();
+                    if (pending == null) {
+                        break;
+                    }
+                    bufferedBytes -= pending.size;
+                    if (pending.frame.policy() == OutboundDropPolicy.LATEST_VALUE) {
+                        latestByKey.remove(pending.frame.key(), pending);
+                    }
+                    if (bufferedBytes <= bufferSizeLimit) {
+                        overLimitSince = 0;
+                    }
+                }
+                long start = System.currentTimeMillis();
+                sendStartTime = start;
+                try {
+                    getDelegate().sendMessage(pending.message);
+                } finally {
+                    sendStartTime = 0;
+                }
+                long end = System.currentTimeMillis();
+                boolean slowWrite = end - start > slowWriteMillis;
+                if (slowWrite != slow) {
+                    // 느려졌거나 회복됨 - 다음 차례부터 다른 실행기에서 씀
+                    slow = slowWrite;
+                    break;
+                }
+                // 한 차례 시간을 다 쓰면 남은 메시지는 다음 차례로 (실행기 대기열 뒤에 다시 걸림)
+                if (end - turnStart >= drainSliceMillis) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.debug("[WS] 전송 실패 - sessionId={}, error={}", getId(), e.getMessage());
+            closeAfterSendFailure();
+        } finally {
+            draining.set(false);
+        }
+        // 차례를 넘겼거나 drain 종료와 새 메시지 도착이 겹친 경우
+        resumeDrain();
+    }
+
+    private void closeAfterSendFailure() {
+        try {
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            log.debug("[WS] 세션 종료 실패 - sessionId={}, error={}", getId(), e.getMessage());
+        } finally {
+            failureListener.accept(this);
+        }
+    }
+
+    private static final class Pending {
+        private final Frame frame;
+        private WebSocketMessage<?> message;
+        private int size;
+
+        private Pending(Frame frame, WebSocketMessage<?> message, int size) {
+            this.frame = frame;
+            this.message = message;
+            this.size = size;
+        }
+    }
+
+    /**
+     * 인코딩된 STOMP 프레임에서 읽은 목적지 정보 (key = 목적지 + 구독 id)
+     */
+    record Frame(OutboundDropPolicy policy, String key, boolean orderBook, boolean snapshot) {
+
+        private static final Frame CONTROL = new Frame(OutboundDropPolicy.NEVER_DROP, null, false, false);
+
+        static Frame of(WebSocketMessage<?> message) {
+            String text = head(message);
+            if (text == null || !text.startsWith(MESSAGE_COMMAND)) {
+                return CONTROL;
+            }
+            int headerEnd = text.indexOf("\n\n");
+            String header = headerEnd < 0 ? text : text.substring(0, headerEnd);
+            String destination = headerValue(header, "destination:");
+            OutboundDropPolicy policy = OutboundDropPolicy.of(destination);
+            if (policy == OutboundDropPolicy.NEVER_DROP) {
+                return CONTROL;
+            }
+            String key = destination + '\n' + headerValue(header, "subscription:");
+            boolean orderBook = destination.startsWith(OutboundDropPolicy.ORDER_BOOK_PREFIX);
+            int bodyStart = headerEnd + 2;
+            boolean snapshot = orderBook && headerEnd >= 0 && bodyStart <= text.length()
+                    && text.substring(bodyStart, Math.min(text.length(), bodyStart + TYPE_SCAN_LENGTH))
+                    .contains(ORDER_BOOK_SNAPSHOT_TYPE);
+            return new Frame(policy, key, orderBook, snapshot);
+        }
+
+        // 헤더 + 본문 앞부분 (본문 전체는 복사하지 않음)
+        private static String head(WebSocketMessage<?> message) {
+            if (message instanceof TextMessage textMessage) {
+                String payload = textMessage.getPayload();
+                return payload.length() <= HEADER_SCAN_LIMIT ? payload : payload.substring(0, HEADER_SCAN_LIMIT);
+            }
+            if (message instanceof BinaryMessage binaryMessage) {
+                ByteBuffer buffer = binaryMessage.getPayload().duplicate();
+                byte[] bytes = new byte[Math.min(buffer.remaining(), HEADER_SCAN_LIMIT)];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            return null;
+        }
+
+        private static String headerValue(String header, String name) {
+            int start = header.indexOf('\n' + name);
+            if (start < 0) {
+                return null;
+            }
+            start += name.length() + 1;
+            int end = header.indexOf('\n', start);
+            return header.substring(start, end < 0 ? header.length() : end);
+        }
+    }
+}
@@ -1,44 +1,170 @@
 package com.rookies4.finalProject.websocket;
 
 import com.rookies4.finalProject.service.kafka.SubscriptionEventProducer;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * 변경된 역할:
  * 이전에는 직접 KIS WebSocket에 연결했지만,
  * 이제는 Kafka(subscription-events)로 구독 명령을 발행하는 역할만 수행합니다.
+ *
+ * <p>구독자가 0명이 되어도 UNSUBSCRIBE 는 유예 시간(kis.realtime.unsubscribe-grace-ms) 뒤에 보냅니다.
+ * 종목 화면을 옮겨 다니며 바로 다시 구독하면 예약을 취소하고 SUBSCRIBE 도 다시 보내지 않으므로
+ * 수집기가 KIS 에 해지/재등록을 반복하지 않습니다.</p>
+ * <ul>
+ *   <li>stock.subscription.upstream.events : 수집기로 보낸 구독 이벤트 수 (type = SUBSCRIBE / UNSUBSCRIBE)</li>
+ *   <li>stock.subscription.unsubscribe.cancelled : 유예 중 재구독으로 취소된 UNSUBSCRIBE 수 (줄어든 churn)</li>
+ *   <li>stock.subscription.unsubscribe.pending : 유예 중인 종목 수</li>
+ * </ul>
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class KisRealtimeConnector {
+public class KisRealtimeConnector implements DisposableBean {
 
     private final SubscriptionEventProducer subscriptionEventProducer;
+    private final StompSubscriptionRegistry subscriptionRegistry;
+    private final long graceMillis;
 
     // 시스템용 ID (수집기에게 '시스템이 요청함'을 알리기 위함)
     private static final Long SYSTEM_USER_ID = 0L;
 
+    // 종목별 예약된 UNSUBSCRIBE
+    private final Map<String, ScheduledFuture<?>> pendingDisconnects = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kis-unsubscribe-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter subscribeEvents;
+    private final Counter unsubscribeEvents;
+    private final Counter cancelledUnsubscribes;
+
+    public KisRealtimeConnector(SubscriptionEventProducer subscriptionEventProducer,
+                                StompSubscriptionRegistry subscriptionRegistry,
+                                MeterRegistry meterRegistry,
+                                @Value("${kis.realtime.unsubscribe-grace-ms:30000}") long graceMillis) {
+        this.subscriptionEventProducer = subscriptionEventProducer;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.graceMillis = graceMillis;
+        this.subscribeEvents = upstreamCounter(meterRegistry, "SUBSCRIBE");
+        this.unsubscribeEvents = upstreamCounter(meterRegistry, "UNSUBSCRIBE");
+        this.cancelledUnsubscribes = Counter.builder("stock.subscription.unsubscribe.cancelled")
+                .description("유예 중 재구독으로 취소된 UNSUBSCRIBE 수")
+                .register(meterRegistry);
+        Gauge.builder("stock.subscription.unsubscribe.pending", pendingDisconnects, Map::size)
+                .description("UNSUBSCRIBE 유예 중인 종목 수")
+                .register(meterRegistry);
+    }
+
     /**
      * 프론트엔드에서 구독 요청이 들어왔을 때 호출됨 (최초 1명일 때)
-     * -> Kafka로 SUBSCRIBE 이벤트 발송
+     * -> 유예 중인 UNSUBSCRIBE 가 있으면 취소 (수집기는 아직 구독 중이므로 SUBSCRIBE 생략)
+     * -> 없으면 Kafka로 SUBSCRIBE 이벤트 발송
      */
     public void connectIfAbsent(boolean useVirtualServer, String stockCode) {
+        ScheduledFuture<?> pending = pendingDisconnects.remove(stockCode);
+        if (pending != null && pending.cancel(false)) {
+            cancelledUnsubscribes.increment();
+            log.info("[Kafka] UNSUBSCRIBE 예약 취소 (재구독) - stock: {}", stockCode);
+            return;
+        }
+
         log.info("[Kafka] Requesting SUBSCRIBE for stock: {} (Virtual: {})", stockCode, useVirtualServer);
-        
+
         // Python 수집기가 알아들을 수 있도록 구독 이벤트 발행
         subscriptionEventProducer.publishSubscribeEvent(SYSTEM_USER_ID, stockCode);
+        subscribeEvents.increment();
     }
 
     /**
      * 프론트엔드 구독자가 0명이 되었을 때 호출됨
-     * -> Kafka로 UNSUBSCRIBE 이벤트 발송
+     * -> 유예 시간 뒤에도 구독자가 없으면 Kafka로 UNSUBSCRIBE 이벤트 발송
      */
     public void scheduleDisconnect(boolean useVirtualServer, String stockCode) {
+        if (graceMillis <= 0) {
+            disconnect(stockCode, useVirtualServer);
+            return;
+        }
+        AtomicReference<ScheduledFuture<?>> self = new AtomicReference<>();
+        pendingDisconnects.compute(stockCode, (code, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            self.set(scheduler.schedule(() -> fireDisconnect(code, self, useVirtualServer), graceMillis, TimeUnit.MILLISECONDS));
+            return self.get();
+        });
+        log.debug("[Kafka] UNSUBSCRIBE 예약 - stock: {}, graceMs: {}", stockCode, graceMillis);
+    }
+
+    /**
+     * 슬롯 회수 - 유예 없이 바로 UNSUBSCRIBE (구독자가 있어도 REST 폴링으로 전환, {@link KisSlotAllocator})
+     */
+    public void disconnectNow(boolean useVirtualServer, String stockCode) {
+        ScheduledFuture<?> pending = pendingDisconnects.remove(stockCode);
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        disconnect(stockCode, useVirtualServer);
+    }
+
+    // 유예 중인 종목은 아직 KIS 등록을 차지하고 있음
+    public boolean isDisconnectPending(String stockCode) {
+        return pendingDisconnects.containsKey(stockCode);
+    }
+
+    public int pendingDisconnectCount() {
+        return pendingDisconnects.size();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    // 유예 만료 - 취소/재예약된 예약이거나, 그 사이 다시 구독한 경우(구독/해지 순서가 엇갈린 경우 포함)는 보내지 않음
+    private void fireDisconnect(String stockCode, AtomicReference<ScheduledFuture<?>> self, boolean useVirtualServer) {
+        boolean[] current = {false};
+        pendingDisconnects.computeIfPresent(stockCode, (code, future) -> {
+            current[0] = future == self.get();
+            return current[0] ? null : future;
+        });
+        if (!current[0]) {
+            return;
+        }
+        if (subscriptionRegistry.subscriberCount(stockCode) > 0) {
+            log.debug("[Kafka] UNSUBSCRIBE 생략 (구독자 있음) - stock: {}", stockCode);
+            return;
+        }
+        disconnect(stockCode, useVirtualServer);
+    }
+
+    private void disconnect(String stockCode, boolean useVirtualServer) {
         log.info("[Kafka] Requesting UNSUBSCRIBE for stock: {} (Virtual: {})", stockCode, useVirtualServer);
-        
+
         // Python 수집기에게 수집 중단 요청
         subscriptionEventProducer.publishUnsubscribeEvent(SYSTEM_USER_ID, stockCode);
+        unsubscribeEvents.increment();
+    }
+
+    private static Counter upstreamCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("stock.subscription.upstream.events")
+                .description("수집기로 보낸 구독 이벤트 수")
+                .tag("type", type)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
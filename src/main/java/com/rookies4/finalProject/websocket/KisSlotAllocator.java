@@ -0,0 +1,287 @@
+package com.rookies4.finalProject.websocket;
+
+import com.rookies4.finalProject.dto.SlotAllocationDTO;
+import com.rookies4.finalProject.dto.StockPopularityDTO;
+import com.rookies4.finalProject.service.PriceTargetIndex;
+import com.rookies4.finalProject.service.StockPopularityIndex;
+import com.rookies4.finalProject.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * KIS 실시간 등록 슬롯 배분
+ *
+ * <p>KIS 실시간 WebSocket 은 승인키 하나당 등록할 수 있는 종목 수가 정해져 있습니다
+ * (kis.realtime.slots.capacity). 수요가 이보다 많으면 먼저 온 순서가 아니라 수요 점수 순으로
+ * 실시간 등록(streaming)하고, 나머지는 REST 폴링(polling) 대상으로 배분합니다.</p>
+ * <ul>
+ *   <li>수요 점수 = 실시간 구독 수 × viewer-weight + (구독 + 관심 등록 수) × interest-weight + 활성 목표가 수 × price-target-weight</li>
+ *   <li>첫 구독자 : 빈 슬롯이 있으면 바로 등록, 없으면 폴링 대상으로 두고 재배분에서 판단</li>
+ *   <li>마지막 구독자 이탈 : 관심 / 목표가 수요가 남았으면 유지, 없으면 유예 뒤 해지 ({@link KisRealtimeConnector})</li>
+ *   <li>재배분(주기) : 수요가 없어진 종목 해지 → 빈 슬롯 채움 → 폴링 종목 점수가 가장 낮은 등록 종목보다
+ *       swap-margin 이상 높을 때만 교체 (1회 최대 max-swaps 건 - 점수가 비슷한 종목끼리 등록/해지를 반복하지 않도록)</li>
+ * </ul>
+ * <p>등록/해지는 기존과 같이 subscription-events 로 수집기에 전달되고, 전체 배분은
+ * {@link #plan()} (/api/app/subscriptions/allocation) 으로 조회합니다. 해지 유예 중인 종목은 아직 KIS 등록을
+ * 차지하므로 사용 슬롯에 포함합니다. STOMP 구독과 REST 구독 / 해지 모두 이 클래스를 거쳐야 하며
+ * 수집기로 직접 SUBSCRIBE / UNSUBSCRIBE 를 보내지 않습니다.</p>
+ * <p>배분 상태는 노드 메모리에만 있으므로 단일 노드에서만 배분합니다. 다중 노드(broadcast) 모드에서는 노드마다
+ * 자기 구독자만 알고 슬롯도 따로 세게 되므로 배분하지 않고 예전처럼 바로 등록/해지하며,
+ * {@link #plan()} 은 allocated=false 를 돌려줍니다 (수집기가 자체 한도로 처리).</p>
+ */
+@Slf4j
+@Component
+public class KisSlotAllocator {
+
+    private final KisRealtimeConnector kisRealtimeConnector;
+    private final StockPopularityIndex stockPopularityIndex;
+    private final PriceTargetIndex priceTargetIndex;
+
+    private final int capacity;
+    private final long viewerWeight;
+    private final long interestWeight;
+    private final long priceTargetWeight;
+    private final double swapMargin;
+    private final int maxSwaps;
+    private final boolean allocating;
+
+    // 실시간 등록 종목 (넣은 순서 = 등록 순서)
+    private final Set<String> streaming = new LinkedHashSet<>();
+    private long version;
+
+    private final Counter pollingFallbacks;
+    private final Counter swaps;
+
+    public KisSlotAllocator(KisRealtimeConnector kisRealtimeConnector,
+                            StockPopularityIndex stockPopularityIndex,
+                            PriceTargetIndex priceTargetIndex,
+                            MeterRegistry meterRegistry,
+                            @Value("${kis.realtime.slots.capacity:41}") int capacity,
+                            @Value("${kis.realtime.slots.viewer-weight:10}") long viewerWeight,
+                            @Value("${kis.realtime.slots.interest-weight:1}") long interestWeight,
+                            @Value("${kis.realtime.slots.price-target-weight:3}") long priceTargetWeight,
+                            @Value("${kis.realtime.slots.swap-margin:0.2}") double swapMargin,
+                            @Value("${kis.realtime.slots.max-swaps:5}") int maxSwaps,
+                            @Value("${kafka.stock-ticks.broadcast.enabled:false}") boolean broadcastEnabled) {
+        this.kisRealtimeConnector = kisRealtimeConnector;
+        this.stockPopularityIndex = stockPopularityIndex;
+        this.priceTargetIndex = priceTargetIndex;
+        this.capacity = capacity;
+        this.viewerWeight = viewerWeight;
+        this.interestWeight = interestWeight;
+        this.priceTargetWeight = priceTargetWeight;
+        this.swapMargin = swapMargin;
+        this.maxSwaps = maxSwaps;
+        this.allocating = !broadcastEnabled;
+        if (broadcastEnabled) {
+            log.warn("[KisSlot] 다중 노드 모드 - 슬롯 배분 없이 바로 등록/해지 (배분은 단일 노드에서만)");
+        }
+        this.pollingFallbacks = Counter.builder("stock.kis.slots.polling-fallbacks")
+                .description("빈 슬롯이 없어 REST 폴링으로 배분된 구독 요청 수")
+                .register(meterRegistry);
+        this.swaps = Counter.builder("stock.kis.slots.swaps")
+                .description("재배분으로 교체된 실시간 등록 종목 수")
+                .register(meterRegistry);
+        Gauge.builder("stock.kis.slots.used", this, KisSlotAllocator::usedSlots)
+                .description("사용 중인 KIS 실시간 등록 슬롯 수 (해지 유예 포함)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 첫 구독자 - 빈 슬롯이 있으면 실시간 등록
+     */
+    public synchronized void request(String stockCode) {
+        if (!allocating) {
+            kisRealtimeConnector.connectIfAbsent(false, stockCode);
+            return;
+        }
+        if (streaming.contains(stockCode)) {
+            return;
+        }
+        // 해지 유예 중인 종목은 자기 슬롯을 그대로 다시 씀
+        int used = usedSlots() - (kisRealtimeConnector.isDisconnectPending(stockCode) ? 1 : 0);
+        if (used < capacity) {
+            admit(stockCode);
+            return;
+        }
+        pollingFallbacks.increment();
+        log.info("[KisSlot] 빈 슬롯 없음 - REST 폴링 배분: {} (사용 {}/{})", stockCode, used, capacity);
+    }
+
+    /**
+     * 마지막 구독자 이탈 - 다른 수요가 없으면 유예 뒤 해지
+     */
+    public synchronized void release(String stockCode) {
+        if (!allocating) {
+            kisRealtimeConnector.scheduleDisconnect(false, stockCode);
+            return;
+        }
+        if (!streaming.contains(stockCode)) {
+            return;
+        }
+        if (score(stockCode, stockPopularityIndex.get(stockCode)) > 0) {
+            log.debug("[KisSlot] 관심 / 목표가 수요가 남아 실시간 등록 유지: {}", stockCode);
+            return;
+        }
+        streaming.remove(stockCode);
+        version++;
+        kisRealtimeConnector.scheduleDisconnect(false, stockCode);
+    }
+
+    /**
+     * 수요 변화에 맞춰 슬롯 재배분 (바뀐 만큼만 등록/해지)
+     */
+    @Scheduled(initialDelayString = "${kis.realtime.slots.rebalance-ms:10000}",
+            fixedDelayString = "${kis.realtime.slots.rebalance-ms:10000}")
+    public synchronized void rebalance() {
+        if (!allocating) {
+            return;
+        }
+        Map<String, Long> scores = scores();
+
+        // 1. 수요가 없어진 종목 해지
+        for (String stockCode : new ArrayList<>(streaming)) {
+            if (scores.getOrDefault(stockCode, 0L) == 0L) {
+                streaming.remove(stockCode);
+                version++;
+                kisRealtimeConnector.scheduleDisconnect(false, stockCode);
+            }
+        }
+
+        // 2. 빈 슬롯을 점수 높은 폴링 종목으로 채움
+        List<String> waiting = polling(scores);
+        int next = 0;
+        while (next < waiting.size() && usedSlots() - pendingSelf(waiting.get(next)) < capacity) {
+            admit(waiting.get(next++));
+        }
+
+        // 3. 점수 차이가 충분히 큰 경우만 가장 약한 등록 종목과 교체
+        List<String> weakest = new ArrayList<>(streaming);
+        weakest.sort(Comparator.comparingLong((String code) -> scores.getOrDefault(code, 0L)));
+        int swapped = 0;
+        while (swapped < maxSwaps && next < waiting.size() && swapped < weakest.size()) {
+            String challenger = waiting.get(next);
+            String victim = weakest.get(swapped);
+            long challengerScore = scores.get(challenger);
+            long victimScore = scores.getOrDefault(victim, 0L);
+            if (challengerScore <= victimScore * (1 + swapMargin)) {
+                break;
+            }
+            streaming.remove(victim);
+            kisRealtimeConnector.disconnectNow(false, victim);
+            admit(challenger);
+            swaps.increment();
+            log.info("[KisSlot] 실시간 등록 교체 - {}(점수 {}) → {}(점수 {})", victim, victimScore, challenger, challengerScore);
+            swapped++;
+            next++;
+        }
+    }
+
+    /**
+     * REST 구독 등록 - 커밋 뒤 슬롯 요청 (구독 수는 커밋 뒤 수요 점수에 반영됨)
+     */
+    public void requestAfterCommit(String stockCode) {
+        TransactionCallbacks.afterCommit(() -> request(stockCode));
+    }
+
+    /**
+     * REST 구독 해지 - 커밋 뒤 반납 (해지한 구독이 수요 점수에서 빠진 뒤 판단해야 함)
+     */
+    public void releaseAfterCommit(String stockCode) {
+        TransactionCallbacks.afterCommit(() -> release(stockCode));
+    }
+
+    public synchronized SlotAllocationDTO.AllocationResponse plan() {
+        if (!allocating) {
+            return SlotAllocationDTO.AllocationResponse.builder()
+                    .allocated(false)
+                    .capacity(capacity)
+                    .streaming(List.of())
+                    .polling(List.of())
+                    .build();
+        }
+        Map<String, Long> scores = scores();
+        List<String> streamingCodes = new ArrayList<>(streaming);
+        streamingCodes.sort(Comparator.comparingLong((String code) -> scores.getOrDefault(code, 0L)).reversed());
+        return SlotAllocationDTO.AllocationResponse.builder()
+                .allocated(true)
+                .version(version)
+                .capacity(capacity)
+                .usedSlots(usedSlots())
+                .streaming(streamingCodes)
+                .polling(polling(scores))
+                .build();
+    }
+
+    public synchronized boolean isStreaming(String stockCode) {
+        return streaming.contains(stockCode);
+    }
+
+    private int usedSlots() {
+        return streaming.size() + kisRealtimeConnector.pendingDisconnectCount();
+    }
+
+    private int pendingSelf(String stockCode) {
+        return kisRealtimeConnector.isDisconnectPending(stockCode) ? 1 : 0;
+    }
+
+    private void admit(String stockCode) {
+        streaming.add(stockCode);
+        version++;
+        kisRealtimeConnector.connectIfAbsent(false, stockCode);
+    }
+
+    // 실시간 등록되지 않은 수요 종목 (점수 내림차순)
+    private List<String> polling(Map<String, Long> scores) {
+        List<String> waiting = new ArrayList<>();
+        scores.forEach((stockCode, score) -> {
+            if (score > 0 && !streaming.contains(stockCode)) {
+                waiting.add(stockCode);
+            }
+        });
+        waiting.sort(Comparator.comparingLong((String code) -> scores.get(code)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return waiting;
+    }
+
+    // 수요가 있는 종목 전체의 점수 (인기 지표 종목 ∪ 목표가 종목)
+    private Map<String, Long> scores() {
+        Map<String, StockPopularityDTO.PopularityResponse> demand = demand();
+        Map<String, Long> scores = new HashMap<>();
+        demand.forEach((stockCode, popularity) -> scores.put(stockCode, score(stockCode, popularity)));
+        for (String stockCode : priceTargetIndex.stockCodes()) {
+            scores.computeIfAbsent(stockCode, code -> score(code, null));
+        }
+        return scores;
+    }
+
+    private Map<String, StockPopularityDTO.PopularityResponse> demand() {
+        Map<String, StockPopularityDTO.PopularityResponse> demand = new HashMap<>();
+        for (StockPopularityDTO.PopularityResponse popularity : stockPopularityIndex.top(Integer.MAX_VALUE)) {
+            demand.put(popularity.getStockCode(), popularity);
+        }
+        return demand;
+    }
+
+    private long score(String stockCode, StockPopularityDTO.PopularityResponse popularity) {
+        long score = priceTargetIndex.targetCount(stockCode) * priceTargetWeight;
+        if (popularity != null) {
+            score += popularity.getViewerCount() * viewerWeight
+                    + (popularity.getSubscriberCount() + popularity.getInterestCount()) * interestWeight;
+        }
+        return score;
+    }
+}
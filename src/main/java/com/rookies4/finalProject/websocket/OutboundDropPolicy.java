@@ -0,0 +1,39 @@
+package com.rookies4.finalProject.websocket;
+
+/**
+ * 느린 세션의 송신 대기열이 밀렸을 때 목적지별 처리 방식 ({@link BackpressureSessionDecorator})
+ */
+public enum OutboundDropPolicy {
+
+    /**
+     * 같은 목적지에서 아직 못 보낸 메시지를 새 메시지로 교체 (실시간 시세 - 마지막 체결만 의미 있음)
+     */
+    LATEST_VALUE,
+
+    /**
+     * 한도를 넘으면 가장 오래된 메시지부터 버림 (호가 델타, 관심 종목 묶음)
+     */
+    DROP_OLDEST,
+
+    /**
+     * 버리지 않음 - 한도를 계속 넘으면 세션을 끊음 (가격 알림, CONNECTED / RECEIPT / ERROR 등 제어 프레임)
+     */
+    NEVER_DROP;
+
+    static final String REALTIME_PRICE_PREFIX = "/topic/realtime-price/";
+    static final String ORDER_BOOK_PREFIX = "/topic/stock-order-book/";
+    static final String WATCHLIST_PREFIX = "/queue/ticks-user";
+
+    public static OutboundDropPolicy of(String destination) {
+        if (destination == null) {
+            return NEVER_DROP;
+        }
+        if (destination.startsWith(REALTIME_PRICE_PREFIX)) {
+            return LATEST_VALUE;
+        }
+        if (destination.startsWith(ORDER_BOOK_PREFIX) || destination.startsWith(WATCHLIST_PREFIX)) {
+            return DROP_OLDEST;
+        }
+        return NEVER_DROP;
+    }
+}
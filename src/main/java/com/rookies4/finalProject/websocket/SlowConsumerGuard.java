@@ -0,0 +1,214 @@
+package com.rookies4.finalProject.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 느린 소비자(읽지 않는 WebSocket 세션) 보호
+ *
+ * <p>모든 세션을 {@link BackpressureSessionDecorator} 로 감싸 송신 대기열을 세션마다 한도 안에 두고,
+ * 주기 점검에서 다음 세션을 끊습니다. 쓰기 1건이 websocket.slow-consumer.slow-write-ms 를 넘긴 세션은
+ * 끊기 전까지 느린 세션 전용 writer(websocket.slow-writer-threads)에서 쓰므로, 막힌 쓰기가 정상 세션의 writer 를
+ * 잡아두지 않습니다.</p>
+ * <ul>
+ *   <li>쓰기 1건이 websocket.send-time-limit-ms 를 넘김 (reason = send-time)</li>
+ *   <li>버릴 수 없는 메시지(가격 알림 등)만으로 한도를 넘은 상태가
+ *       websocket.slow-consumer.disconnect-after-ms 이상 이어짐 (reason = buffer)</li>
+ * </ul>
+ * <p>쓰기가 실패한 세션은 writer 가 바로 닫고 알려오므로 점검 대상에서 빼고 reason = send-failure 로 셉니다.</p>
+ *
+ * <p>지표</p>
+ * <ul>
+ *   <li>stock.ws.outbound.dropped : 버리거나 합친 메시지 수 (policy = LATEST_VALUE / DROP_OLDEST)</li>
+ *   <li>stock.ws.slow-consumer.disconnects : 느린 세션 강제 종료 수 (reason)</li>
+ *   <li>stock.ws.slow-sessions : 한도를 넘었거나, 쓰기가 1초 넘게 걸리고 있거나, 느린 세션 전용 writer 에서 쓰는 세션 수</li>
+ *   <li>stock.ws.outbound.buffered-bytes : 전체 세션 송신 대기열 합계</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class SlowConsumerGuard implements WebSocketHandlerDecoratorFactory, DisposableBean {
+
+    private static final long SLOW_SEND_MS = 1000L;
+
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitMillis;
+    private final long disconnectAfterMillis;
+    private final long slowWriteMillis;
+    private final long drainSliceMillis;
+
+    private final ThreadPoolExecutor writer;
+    private final ThreadPoolExecutor slowWriter;
+    private final Map<String, BackpressureSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+    private final Map<OutboundDropPolicy, Counter> dropCounters = new EnumMap<>(OutboundDropPolicy.class);
+    private final Counter sendTimeDisconnects;
+    private final Counter bufferDisconnects;
+    private final Counter sendFailureDisconnects;
+    private final AtomicInteger slowSessions = new AtomicInteger();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+
+    public SlowConsumerGuard(MeterRegistry meterRegistry,
+                             @Value("${websocket.send-buffer-size-limit:524288}") int bufferSizeLimit,
+                             @Value("${websocket.send-time-limit-ms:10000}") long sendTimeLimitMillis,
+                             @Value("${websocket.slow-consumer.disconnect-after-ms:5000}") long disconnectAfterMillis,
+                             @Value("${websocket.writer-threads:64}") int writerThreads,
+                             @Value("${websocket.slow-writer-threads:8}") int slowWriterThreads,
+                             @Value("${websocket.slow-consumer.slow-write-ms:200}") long slowWriteMillis,
+                             @Value("${websocket.writer.drain-slice-ms:50}") long drainSliceMillis) {
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.disconnectAfterMillis = disconnectAfterMillis;
+        this.slowWriteMillis = slowWriteMillis;
+        this.drainSliceMillis = drainSliceMillis;
+
+        // 세션마다 drain 은 1건만 걸리므로 대기 큐는 세션 수를 넘지 않음 - 스레드가 모두 바쁘면 FIFO 로 차례를 기다림
+        this.writer = writerPool("ws-writer-", writerThreads);
+        this.slowWriter = writerPool("ws-slow-writer-", slowWriterThreads);
+
+        for (OutboundDropPolicy policy : new OutboundDropPolicy[]{OutboundDropPolicy.LATEST_VALUE, OutboundDropPolicy.DROP_OLDEST}) {
+            dropCounters.put(policy, Counter.builder("stock.ws.outbound.dropped")
+                    .description("느린 세션 대기열에서 버리거나 합친 메시지 수")
+                    .tag("policy", policy.name())
+                    .register(meterRegistry));
+        }
+        this.sendTimeDisconnects = disconnectCounter(meterRegistry, "send-time");
+        this.bufferDisconnects = disconnectCounter(meterRegistry, "buffer");
+        this.sendFailureDisconnects = disconnectCounter(meterRegistry, "send-failure");
+        Gauge.builder("stock.ws.slow-sessions", slowSessions, AtomicInteger::get)
+                .description("송신이 밀린 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("stock.ws.outbound.buffered-bytes", bufferedBytes, AtomicLong::get)
+                .description("전체 세션 송신 대기열 바이트 합계")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                BackpressureSessionDecorator decorated = new BackpressureSessionDecorator(
+                        session, bufferSizeLimit, writer, slowWriter, slowWriteMillis, drainSliceMillis,
+                        SlowConsumerGuard.this::recordDropped, SlowConsumerGuard.this::sendFailed);
+                sessions.put(session.getId(), decorated);
+                super.afterConnectionEstablished(decorated);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 느린 세션 점검 - 한도를 오래 넘었거나 쓰기가 멈춘 세션은 끊음
+     */
+    @Scheduled(fixedDelayString = "${websocket.slow-consumer.check-interval-ms:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        int slow = 0;
+        long buffered = 0;
+        for (BackpressureSessionDecorator session : sessions.values()) {
+            long sending = session.getTimeSinceSendStarted(now);
+            long overLimit = session.getOverLimitMillis(now);
+            buffered += session.getBufferedBytes();
+
+            if (sending > sendTimeLimitMillis) {
+                disconnect(session, "send-time", sending);
+                sendTimeDisconnects.increment();
+            } else if (overLimit > disconnectAfterMillis) {
+                disconnect(session, "buffer", overLimit);
+                bufferDisconnects.increment();
+            } else {
+                if (overLimit > 0 || sending > SLOW_SEND_MS || session.isSlowWriter()) {
+                    slow++;
+                }
+                session.resumeDrain();
+            }
+        }
+        slowSessions.set(slow);
+        bufferedBytes.set(buffered);
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    @Override
+    public void destroy() {
+        writer.shutdownNow();
+        slowWriter.shutdownNow();
+    }
+
+    private void recordDropped(OutboundDropPolicy policy) {
+        Counter counter = dropCounters.get(policy);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    // writer 가 쓰기 실패로 세션을 닫은 경우 (check 에서 계속 건너뛰지 않도록 바로 뺌)
+    private void sendFailed(BackpressureSessionDecorator session) {
+        if (sessions.remove(session.getId(), session)) {
+            log.warn("[WS] 전송 실패로 세션 종료 - sessionId={}", session.getId());
+            sendFailureDisconnects.increment();
+        }
+    }
+
+    private void disconnect(BackpressureSessionDecorator session, String reason, long elapsedMillis) {
+        log.warn("[WS] 느린 세션 종료 - sessionId={}, reason={}, elapsedMs={}, bufferedBytes={}",
+                session.getId(), reason, elapsedMillis, session.getBufferedBytes());
+        sessions.remove(session.getId());
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            log.debug("[WS] 세션 종료 실패 - sessionId={}, error={}", session.getId(), e.getMessage());
+        }
+    }
+
+    private static ThreadPoolExecutor writerPool(String namePrefix, int threads) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        int size = Math.max(1, threads);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                size, size, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static Counter disconnectCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("stock.ws.slow-consumer.disconnects")
+                .description("느린 세션 강제 종료 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -1,5 +1,9 @@
 package com.rookies4.finalProject.websocket;
 
+import com.rookies4.finalProject.service.kafka.LastPriceCache;
+import com.rookies4.finalProject.service.kafka.OrderBookPublisher;
+import com.rookies4.finalProject.service.kafka.TickInterestFilter;
+import com.rookies4.finalProject.service.kafka.WatchlistTickRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -10,26 +14,34 @@ import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
+import java.util.Collection;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * STOMP SUBSCRIBE/ UNSUBSCRIBE 이벤트 리스너
  * 역할:
  * - JWT 인증된 세션만 "유효 구독자"로 카운트
- * - 구독자 수 0 -> 1 : Kafka SUBSCRIBE 요청
- * - 구독자 수 1 -> 0 : Kafka UNSUBSCRIBE 요청
+ * - 구독자 수 0 -> 1 : KIS 실시간 슬롯 요청 (빈 슬롯이 있으면 Kafka SUBSCRIBE, {@link KisSlotAllocator})
+ * - 구독자 수 1 -> 0 : KIS 실시간 슬롯 반납 (다른 수요가 없으면 Kafka UNSUBSCRIBE)
+ * - 관심 종목 스트림(/user/queue/ticks)의 종목 필터도 같은 구독자 수에 포함 ({@link WatchlistStreamController})
+ * - 구독은 {@link StompSubscriptionRegistry} 에 구독 id 단위로 등록하고, UNSUBSCRIBE 는 그 구독 하나만 해지
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class StompSubscriptionEventListener {
 
-    private final KisRealtimeConnector kisRealtimeConnector;
+    private final KisSlotAllocator kisSlotAllocator;
+    private final OrderBookPublisher orderBookPublisher;
+    private final LastPriceCache lastPriceCache;
+    private final TickInterestFilter tickInterestFilter;
+    private final WatchlistTickRouter watchlistTickRouter;
+    private final StompSubscriptionRegistry subscriptionRegistry;
 
-    // 종목별 구독 세션 관리
-    private final Map<String, Set<String>> subscribersByStock = new ConcurrentHashMap<>();
+    private static final String REALTIME_PRICE_DESTINATION_PREFIX = "/topic/realtime-price/";
+    private static final String ORDER_BOOK_DESTINATION_PREFIX = "/topic/stock-order-book/";
+    // 관심 종목 스트림의 종목 필터는 종목마다 가상의 구독 id 로 등록 (같은 세션의 종목 토픽 구독과 따로 셈)
+    private static final String WATCHLIST_SUBSCRIPTION_PREFIX = "watchlist:";
 
     // STOMP SUBSCRIBE 이벤트 처리
     @EventListener
@@ -51,24 +63,29 @@ public class StompSubscriptionEventListener {
         }
 
         // 2. 구독 destination 에서 stockCode 추출 (/topic/realtime-price/005930)
+        //    관심 종목 스트림(/user/queue/ticks) 등 종목 토픽이 아닌 구독은 앱 메시지로 종목을 받으므로 제외
         String destination = accessor.getDestination();
+        if (destination == null || !(destination.startsWith(REALTIME_PRICE_DESTINATION_PREFIX)
+                || destination.startsWith(ORDER_BOOK_DESTINATION_PREFIX))) {
+            return;
+        }
         String stockCode = extractStockCode(destination);
 
         if (stockCode == null) {
             return;
         }
 
-        // 3. 구독자 수 증가
-        subscribersByStock
-                .computeIfAbsent(stockCode, k -> ConcurrentHashMap.newKeySet())
-                .add(accessor.getSessionId());
-
-        int count = subscribersByStock.get(stockCode).size();
-        log.info("[WS] SUBSCRIBE 종목코드={}, 구독자 수={}", stockCode, count);
-
-        // 4. 최초 구독자일 때만 Kafka SUBSCRIBE 요청
-        if (count == 1) {
-            kisRealtimeConnector.connectIfAbsent(false, stockCode);
+        // 3. 구독 등록 (최초 구독자일 때만 Kafka SUBSCRIBE 요청)
+        addSubscription(accessor.getSessionId(), accessor.getSubscriptionId(), destination, stockCode);
+
+        // 5. 새 구독자를 위해 현재 값 전송 (호가는 델타로 전송되므로 스냅샷, 체결은 마지막 체결가)
+        //    토픽 전체가 아니라 이 구독에만 보냄 - 기존 구독자는 이미 받은 값
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        if (destination.startsWith(ORDER_BOOK_DESTINATION_PREFIX)) {
+            orderBookPublisher.publishSnapshot(stockCode, sessionId, subscriptionId);
+        } else if (destination.startsWith(REALTIME_PRICE_DESTINATION_PREFIX)) {
+            lastPriceCache.publishCached(stockCode, sessionId, subscriptionId);
         }
     }
 
@@ -76,28 +93,52 @@ public class StompSubscriptionEventListener {
     @EventListener
     public void handleUnsubscribe(SessionUnsubscribeEvent event) {
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
-        removeSessionFromAllStocks(accessor.getSessionId());
+        // 해지한 구독 하나만 제거
+        String emptiedStockCode = subscriptionRegistry.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        if (emptiedStockCode != null) {
+            onLastSubscriberRemoved(emptiedStockCode);
+        }
     }
 
-    // WebSocket DISCONNECT 처리 (브라우저 종료, 강제 종료 등)
+    // WebSocket DISCONNECT 처리 (브라우저 종료, 강제 종료 등) - 세션이 가진 구독만 제거
     @EventListener
     public void handleDisconnect(SessionDisconnectEvent event) {
-        removeSessionFromAllStocks(event.getSessionId());
+        watchlistTickRouter.removeSession(event.getSessionId());
+        subscriptionRegistry.removeSession(event.getSessionId()).forEach(this::onLastSubscriberRemoved);
+    }
+
+    // 관심 종목 스트림 필터에 새로 들어온 종목을 구독자로 셈
+    public void addWatchlistStocks(String sessionId, Collection<String> stockCodes) {
+        stockCodes.forEach(stockCode -> addSubscription(
+                sessionId, WATCHLIST_SUBSCRIPTION_PREFIX + stockCode, WatchlistTickRouter.USER_DESTINATION, stockCode));
     }
 
-    // 세션이 구독 중이던 모든 종목에서 제거
-    private void removeSessionFromAllStocks(String sessionId) {
-        subscribersByStock.forEach((stockCode, sessions) -> {
-            if (sessions.remove(sessionId)) {
-                int count = sessions.size();
-                log.info("[WS] UNSUBSCRIBE 종목코드={}, 구독자 수={}", stockCode, count);
-
-                // 마지막 구독자가 나간 경우
-                if (count == 0) {
-                    kisRealtimeConnector.scheduleDisconnect(false, stockCode);
-                }
+    // 관심 종목 스트림 필터에서 빠진 종목의 구독자 제거
+    public void removeWatchlistStocks(String sessionId, Collection<String> stockCodes) {
+        for (String stockCode : stockCodes) {
+            String emptiedStockCode = subscriptionRegistry.unsubscribe(sessionId, WATCHLIST_SUBSCRIPTION_PREFIX + stockCode);
+            if (emptiedStockCode != null) {
+                onLastSubscriberRemoved(emptiedStockCode);
             }
-        });
+        }
+    }
+
+    private void addSubscription(String sessionId, String subscriptionId, String destination, String stockCode) {
+        boolean first = subscriptionRegistry.subscribe(sessionId, subscriptionId, destination, stockCode);
+        log.info("[WS] SUBSCRIBE 종목코드={}, 구독자 수={}", stockCode, subscriptionRegistry.subscriberCount(stockCode));
+
+        // 최초 구독자일 때만 실시간 슬롯 요청
+        if (first) {
+            tickInterestFilter.watch(stockCode);
+            kisSlotAllocator.request(stockCode);
+        }
+    }
+
+    // 마지막 구독자가 나간 경우
+    private void onLastSubscriberRemoved(String stockCode) {
+        log.info("[WS] UNSUBSCRIBE 종목코드={}, 구독자 수=0", stockCode);
+        tickInterestFilter.unwatch(stockCode);
+        kisSlotAllocator.release(stockCode);
     }
 
     // destination 에서 종목코드 추출 (/topic/realtime-price/{stockCode})
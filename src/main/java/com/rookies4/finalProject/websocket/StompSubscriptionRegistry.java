@@ -0,0 +1,141 @@
+package com.rookies4.finalProject.websocket;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * STOMP 구독 레지스트리 (양방향 색인)
+ *
+ * <ul>
+ *   <li>종목 → 구독 (세션 + 구독 id) : 종목별 구독자 수, 0 → 1 / 1 → 0 전환 판단</li>
+ *   <li>세션 → 구독 id → 종목 / 목적지 : UNSUBSCRIBE 는 그 구독 하나만 O(1) 로 제거, DISCONNECT 는 그 세션 구독만 제거</li>
+ *   <li>목적지별 구독 수 (/topic/realtime-price/{code}, /topic/stock-order-book/{code}, 관심 종목 스트림)</li>
+ * </ul>
+ *
+ * <p>종목별 전환 판단과 목적지별 구독 수 증감은 ConcurrentHashMap 의 merge / compute 안에서 하므로 같은 종목의
+ * 구독/해지가 동시에 와도 전환이 한 번씩만 보고되고, 0 이 되어 빠지는 항목에 증가분을 잃지 않습니다.</p>
+ * <p>구독 1건이 늘거나 줄 때마다 등록된 리스너에 (종목코드, +1 / -1) 을 알립니다 (인기 종목 집계 등).</p>
+ */
+@Component
+public class StompSubscriptionRegistry {
+
+    // 종목 → 구독 키 (sessionId + '/' + subscriptionId)
+    private final Map<String, Set<String>> subscriptionsByStock = new ConcurrentHashMap<>();
+    // 세션 → 구독 id → 구독
+    private final Map<String, Map<String, Subscription>> subscriptionsBySession = new ConcurrentHashMap<>();
+    // 목적지 → 구독 수
+    private final Map<String, Integer> countsByDestination = new ConcurrentHashMap<>();
+    // 종목별 구독 수 증감 리스너
+    private final List<ObjIntConsumer<String>> countListeners = new CopyOnWriteArrayList<>();
+
+    public void addCountListener(ObjIntConsumer<String> listener) {
+        countListeners.add(listener);
+    }
+
+    /**
+     * 구독 등록 - 종목의 첫 구독이면 true (같은 구독 id 를 다시 등록하면 무시)
+     */
+    public boolean subscribe(String sessionId, String subscriptionId, String destination, String stockCode) {
+        Subscription subscription = new Subscription(stockCode, destination);
+        Map<String, Subscription> subscriptions = subscriptionsBySession.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>());
+        if (subscriptions.putIfAbsent(subscriptionId, subscription) != null) {
+            return false;
+        }
+        countsByDestination.merge(destination, 1, Integer::sum);
+
+        boolean[] first = {false};
+        subscriptionsByStock.compute(stockCode, (k, keys) -> {
+            Set<String> updated = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            first[0] = updated.add(key(sessionId, subscriptionId)) && updated.size() == 1;
+            return updated;
+        });
+        notifyCount(stockCode, 1);
+        return first[0];
+    }
+
+    /**
+     * 구독 1건 해지 - 해지로 구독자가 0 이 된 종목코드, 아니면 null
+     */
+    public String unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, Subscription> subscriptions = subscriptionsBySession.get(sessionId);
+        if (subscriptions == null) {
+            return null;
+        }
+        Subscription subscription = subscriptions.remove(subscriptionId);
+        if (subscription == null) {
+            return null;
+        }
+        return detach(sessionId, subscriptionId, subscription) ? subscription.stockCode() : null;
+    }
+
+    /**
+     * 세션 종료 - 세션 구독을 모두 해지하고 구독자가 0 이 된 종목코드 목록 반환
+     */
+    public List<String> removeSession(String sessionId) {
+        Map<String, Subscription> subscriptions = subscriptionsBySession.remove(sessionId);
+        if (subscriptions == null) {
+            return List.of();
+        }
+        List<String> emptied = new ArrayList<>();
+        subscriptions.forEach((subscriptionId, subscription) -> {
+            if (detach(sessionId, subscriptionId, subscription)) {
+                emptied.add(subscription.stockCode());
+            }
+        });
+        return emptied;
+    }
+
+    public int subscriberCount(String stockCode) {
+        Set<String> keys = subscriptionsByStock.get(stockCode);
+        return keys == null ? 0 : keys.size();
+    }
+
+    public int destinationCount(String destination) {
+        return countsByDestination.getOrDefault(destination, 0);
+    }
+
+    public Set<String> activeStockCodes() {
+        return subscriptionsByStock.keySet();
+    }
+
+    public int sessionCount() {
+        return subscriptionsBySession.size();
+    }
+
+    // 종목 / 목적지 색인에서 제거 - 종목 구독자가 0 이 되면 true
+    private boolean detach(String sessionId, String subscriptionId, Subscription subscription) {
+        countsByDestination.computeIfPresent(subscription.destination(), (k, count) -> count <= 1 ? null : count - 1);
+
+        boolean[] removed = {false};
+        boolean[] last = {false};
+        subscriptionsByStock.computeIfPresent(subscription.stockCode(), (k, keys) -> {
+            removed[0] = keys.remove(key(sessionId, subscriptionId));
+            last[0] = removed[0] && keys.isEmpty();
+            return keys.isEmpty() ? null : keys;
+        });
+        if (removed[0]) {
+            notifyCount(subscription.stockCode(), -1);
+        }
+        return last[0];
+    }
+
+    private void notifyCount(String stockCode, int delta) {
+        for (ObjIntConsumer<String> listener : countListeners) {
+            listener.accept(stockCode, delta);
+        }
+    }
+
+    private static String key(String sessionId, String subscriptionId) {
+        return sessionId + '/' + subscriptionId;
+    }
+
+    private record Subscription(String stockCode, String destination) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.rookies4.finalProject.websocket;
+
+import com.rookies4.finalProject.dto.kafka.WatchlistCommandDTO;
+import com.rookies4.finalProject.service.kafka.WatchlistTickRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 관심 종목 스트림 필터 변경 (STOMP 앱 메시지)
+ * - SEND /app/watchlist/add    : 세션 필터에 종목 추가 (추가한 종목의 마지막 체결을 바로 전송)
+ * - SEND /app/watchlist/remove : 세션 필터에서 종목 제거
+ * - 체결은 /user/queue/ticks 구독 하나로 여러 종목을 묶어서 받음 ({@link WatchlistTickRouter})
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class WatchlistStreamController {
+
+    private final WatchlistTickRouter watchlistTickRouter;
+    private final StompSubscriptionEventListener subscriptionEventListener;
+
+    @MessageMapping("/watchlist/add")
+    public void add(@Payload WatchlistCommandDTO command, SimpMessageHeaderAccessor accessor) {
+        List<String> stockCodes = stockCodes(command, accessor);
+        if (stockCodes.isEmpty()) {
+            return;
+        }
+        List<String> added = watchlistTickRouter.add(accessor.getSessionId(), stockCodes);
+        subscriptionEventListener.addWatchlistStocks(accessor.getSessionId(), added);
+    }
+
+    @MessageMapping("/watchlist/remove")
+    public void remove(@Payload WatchlistCommandDTO command, SimpMessageHeaderAccessor accessor) {
+        List<String> stockCodes = stockCodes(command, accessor);
+        if (stockCodes.isEmpty()) {
+            return;
+        }
+        List<String> removed = watchlistTickRouter.remove(accessor.getSessionId(), stockCodes);
+        subscriptionEventListener.removeWatchlistStocks(accessor.getSessionId(), removed);
+    }
+
+    // 인증된 세션의 요청만 처리, 빈 종목코드는 제외
+    private List<String> stockCodes(WatchlistCommandDTO command, SimpMessageHeaderAccessor accessor) {
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        if (sessionAttributes == null
+                || !Boolean.TRUE.equals(sessionAttributes.get(StompAuthChannelInterceptor.AUTHENTICATED))) {
+            log.warn("[WS] 인증되지 않은 세션의 관심 종목 요청 - sessionId={}", accessor.getSessionId());
+            return List.of();
+        }
+        if (command == null || command.getStockCodes() == null) {
+            return List.of();
+        }
+        return command.getStockCodes().stream()
+                .filter(code -> code != null && !code.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.rookies4.finalProject.benchmark;
+
+import com.rookies4.finalProject.util.EncryptionUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EncryptionUtil.encrypt / decrypt 벤치마크 (KIS appkey / appsecret 암복호화)
+ * - plainLength 36: appkey, 180: appsecret 길이
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EncryptionUtilBenchmark {
+
+    @Param({"36", "180"})
+    public int plainLength;
+
+    private final EncryptionUtil encryptionUtil = new EncryptionUtil("benchmark-secret-key-for-encryption");
+
+    private String plainText;
+    private String encryptedText;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder(plainLength);
+        for (int i = 0; i < plainLength; i++) {
+            sb.append((char) ('A' + i % 26));
+        }
+        plainText = sb.toString();
+        encryptedText = encryptionUtil.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return encryptionUtil.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return encryptionUtil.decrypt(encryptedText);
+    }
+}
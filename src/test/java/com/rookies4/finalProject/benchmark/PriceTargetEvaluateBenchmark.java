@@ -0,0 +1,96 @@
+package com.rookies4.finalProject.benchmark;
+
+import com.rookies4.finalProject.domain.entity.PriceTarget;
+import com.rookies4.finalProject.domain.entity.Stock;
+import com.rookies4.finalProject.domain.entity.User;
+import com.rookies4.finalProject.repository.PriceTargetRepository;
+import com.rookies4.finalProject.service.PriceTargetIndex;
+import com.rookies4.finalProject.service.PriceTargetService;
+import com.rookies4.finalProject.service.PriceTargetTriggerWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PriceTargetService.evaluate 벤치마크 (체결 배치마다 호출되는 목표가 판단)
+ * - 목표가 targetCount 건이 모두 한 종목(005930)에 걸린 경우 (인기 종목 최악 조건)
+ * - 상한은 70100 초과, 하한은 69900 미만에 고르게 분포하고 체결 구간은 [69900, 70100] 이라 돌파 없음
+ * - index: 메모리 인덱스 경로 / repository: 인덱스 적재 전 DB 조회 경로 (메모리 repository 대역으로 DB 시간 제외)
+ * - 목표가는 고정 seed 로 만들어 실행마다 같은 데이터
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PriceTargetEvaluateBenchmark {
+
+    private static final String STOCK_CODE = "005930";
+    private static final BigDecimal LOW = new BigDecimal("69900");
+    private static final BigDecimal HIGH = new BigDecimal("70100");
+
+    @Param({"1000", "10000", "100000"})
+    public int targetCount;
+
+    @Param({"index", "repository"})
+    public String path;
+
+    private PriceTargetService priceTargetService;
+
+    @Setup
+    public void setUp() {
+        List<PriceTarget> targets = buildTargets(targetCount);
+        PriceTargetRepository repository = inMemoryRepository(targets);
+        PriceTargetIndex index = new PriceTargetIndex(repository);
+        if ("index".equals(path)) {
+            index.rebuild();
+        }
+        // 돌파가 없으므로 알림 상태 저장(JdbcTemplate)까지 가지 않음
+        priceTargetService = new PriceTargetService(repository, null, null, index, new PriceTargetTriggerWriter(null));
+    }
+
+    @Benchmark
+    public List<PriceTargetService.TargetHit> evaluate() {
+        return priceTargetService.evaluate(STOCK_CODE, LOW, HIGH);
+    }
+
+    private static List<PriceTarget> buildTargets(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        Stock stock = Stock.builder().stockCode(STOCK_CODE).name("삼성전자").build();
+        List<PriceTarget> targets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean upper = random.nextBoolean();
+            BigDecimal price = BigDecimal.valueOf(upper ? random.nextInt(70101, 90001) : random.nextInt(50000, 69900));
+            targets.add(PriceTarget.builder()
+                    .id((long) i + 1)
+                    .user(User.builder().id((long) i + 1).build())
+                    .stock(stock)
+                    .upperTarget(upper ? price : null)
+                    .lowerTarget(upper ? null : price)
+                    .isEnabled(true)
+                    .build());
+        }
+        return targets;
+    }
+
+    // 벤치마크에 쓰는 조회 메서드만 구현한 메모리 repository 대역
+    private static PriceTargetRepository inMemoryRepository(List<PriceTarget> targets) {
+        return (PriceTargetRepository) Proxy.newProxyInstance(
+                PriceTargetRepository.class.getClassLoader(),
+                new Class<?>[]{PriceTargetRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllEnabledWithStock" -> targets;
+                    case "findByStockCodeAndEnabled" -> STOCK_CODE.equals(args[0]) ? targets : List.of();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryPriceTargetRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,60 @@
+package com.rookies4.finalProject.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookies4.finalProject.component.SecureLogger;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SecureLogger.maskSensitive 벤치마크
+ * - tokenResponse: KIS 토큰 발급 응답 (민감 필드 포함, JSON 구조 마스킹 경로)
+ * - balanceResponse: 잔고 조회 응답 크기의 중첩 JSON (민감 필드 없음)
+ * - plainText: JSON 이 아닌 문자열 (파싱 실패 → 정규식 마스킹 경로)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SecureLoggerBenchmark {
+
+    static final String TOKEN_RESPONSE = "{\"access_token\":\"eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9.eyJzdWIiOiJ0b2tlbiJ9.abc\","
+            + "\"token\":\"eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9\",\"appkey\":\"PSabcdefghijklmnopqrstuvwxyz012345\","
+            + "\"appsecret\":\"secret-value-0123456789\",\"token_type\":\"Bearer\",\"expires_in\":86400,"
+            + "\"access_token_token_expired\":\"2026-10-18 09:00:00\"}";
+
+    static final String BALANCE_RESPONSE = buildBalanceResponse();
+
+    static final String PLAIN_TEXT = "KIS 요청 실패 - appkey\":\"PSabcdefghijklmnopqrstuvwxyz012345\", "
+            + "appsecret\":\"secret-value-0123456789\", status=401";
+
+    private final SecureLogger secureLogger = new SecureLogger(new ObjectMapper());
+
+    @Benchmark
+    public String tokenResponse() {
+        return secureLogger.maskSensitive(TOKEN_RESPONSE);
+    }
+
+    @Benchmark
+    public String balanceResponse() {
+        return secureLogger.maskSensitive(BALANCE_RESPONSE);
+    }
+
+    @Benchmark
+    public String plainText() {
+        return secureLogger.maskSensitive(PLAIN_TEXT);
+    }
+
+    private static String buildBalanceResponse() {
+        StringBuilder sb = new StringBuilder("{\"rt_cd\":\"0\",\"msg_cd\":\"20310000\",\"msg1\":\"조회가 완료되었습니다.\",\"output1\":[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"pdno\":\"").append(String.format("%06d", 5930 + i)).append("\",\"prdt_name\":\"종목").append(i)
+                    .append("\",\"hldg_qty\":\"").append(10 + i).append("\",\"pchs_avg_pric\":\"").append(70000 + i * 100)
+                    .append("\",\"prpr\":\"").append(71000 + i * 100).append("\",\"evlu_pfls_rt\":\"1.42\"}");
+        }
+        return sb.append("],\"output2\":[{\"dnca_tot_amt\":\"1000000\",\"tot_evlu_amt\":\"15000000\"}]}").toString();
+    }
+}
@@ -0,0 +1,203 @@
+package com.rookies4.finalProject.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import com.rookies4.finalProject.service.kafka.StockTickDecoder;
+import com.rookies4.finalProject.service.kafka.TickBinaryCodec;
+import com.rookies4.finalProject.service.kafka.TickMessageType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * stock-ticks 메시지 디코딩 비교 벤치마크
+ * - legacy*: 기존 StockTickConsumer 의 Map 기반 파싱 (readValue → findString/findBigDecimal)
+ * - streaming*: StockTickDecoder (JsonParser 한 번 순회 + DTO 재사용)
+ * - binary*: TickBinaryCodec (바이너리 v1 포맷)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class StockTickDecodeBenchmark {
+
+    static final String STOCK_TICK_KIS = "{\"type\":\"STOCK_TICK\",\"mkscShrnIscd\":\"005930\",\"stckCntgHour\":\"091502\","
+            + "\"stckPrpr\":\"71500\",\"prdyVrss\":\"-300\",\"prdyCtrt\":\"-0.42\",\"acmlVol\":\"8123456\","
+            + "\"acmlTrPbmn\":\"581234567890\",\"stckOprc\":\"71800\",\"stckHgpr\":\"72000\",\"stckLwpr\":\"71200\"}";
+
+    static final String STOCK_TICK_EN = "{\"type\":\"STOCK_TICK\",\"stockCode\":\"005930\",\"tickTime\":\"091502\","
+            + "\"currentPrice\":71500,\"diff\":-300,\"diffRate\":-0.42,\"volume\":8123456,\"tradingValue\":581234567890}";
+
+    static final String ORDER_BOOK = buildOrderBook();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StockTickDecoder decoder = new StockTickDecoder(objectMapper);
+
+    private final TickBinaryCodec binaryCodec = new TickBinaryCodec();
+
+    private final StockTickDTO tick = new StockTickDTO();
+    private final OrderBookDTO orderBook = new OrderBookDTO();
+
+    private byte[] binaryStockTick;
+    private byte[] binaryOrderBook;
+
+    @Setup
+    public void setUp() throws IOException {
+        decoder.decode(STOCK_TICK_KIS, tick, orderBook);
+        binaryStockTick = binaryCodec.encode(tick);
+        decoder.decode(ORDER_BOOK, tick, orderBook);
+        binaryOrderBook = binaryCodec.encode(orderBook);
+    }
+
+    @Benchmark
+    public void legacyStockTickKis(Blackhole bh) throws IOException {
+        bh.consume(legacyToStockTickDTO(objectMapper.readValue(STOCK_TICK_KIS, Map.class)));
+    }
+
+    @Benchmark
+    public void streamingStockTickKis(Blackhole bh) throws IOException {
+        bh.consume(decoder.decode(STOCK_TICK_KIS, tick, orderBook));
+        bh.consume(tick.getCurrentPrice());
+    }
+
+    @Benchmark
+    public void legacyStockTickEnglish(Blackhole bh) throws IOException {
+        bh.consume(legacyToStockTickDTO(objectMapper.readValue(STOCK_TICK_EN, Map.class)));
+    }
+
+    @Benchmark
+    public void streamingStockTickEnglish(Blackhole bh) throws IOException {
+        bh.consume(decoder.decode(STOCK_TICK_EN, tick, orderBook));
+        bh.consume(tick.getCurrentPrice());
+    }
+
+    @Benchmark
+    public void legacyOrderBook(Blackhole bh) throws IOException {
+        bh.consume(legacyToOrderBookDTO(objectMapper.readValue(ORDER_BOOK, Map.class)));
+    }
+
+    @Benchmark
+    public void streamingOrderBook(Blackhole bh) throws IOException {
+        TickMessageType type = decoder.decode(ORDER_BOOK, tick, orderBook);
+        bh.consume(type);
+        bh.consume(orderBook.getAsks());
+    }
+
+    @Benchmark
+    public void binaryStockTick(Blackhole bh) {
+        bh.consume(binaryCodec.decode(binaryStockTick, tick, orderBook));
+        bh.consume(tick.getCurrentPrice());
+    }
+
+    @Benchmark
+    public void binaryOrderBook(Blackhole bh) {
+        bh.consume(binaryCodec.decode(binaryOrderBook, tick, orderBook));
+        bh.consume(orderBook.getAsks());
+    }
+
+    private static String buildOrderBook() {
+        StringBuilder sb = new StringBuilder("{\"type\":\"ORDER_BOOK\",\"stockCode\":\"005930\",\"asks\":[");
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"askp\":\"").append(71600 + i * 100).append("\",\"askpRsqn\":\"").append(1000 + i * 37).append("\"}");
+        }
+        sb.append("],\"bids\":[");
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"bidp\":\"").append(71500 - i * 100).append("\",\"bidpRsqn\":\"").append(900 + i * 41).append("\"}");
+        }
+        return sb.append("],\"totalAskQty\":\"123456\",\"totalBidQty\":\"234567\"}").toString();
+    }
+
+    // ------------------------------------------------------------------
+    // 기존 Map 기반 파싱 경로 (비교 기준용 복사본)
+    // ------------------------------------------------------------------
+
+    private StockTickDTO legacyToStockTickDTO(Map<String, Object> data) {
+        return StockTickDTO.builder()
+                .type("STOCK_TICK")
+                .stockCode(findString(data, "stockCode", "code", "mkscShrnIscd"))
+                .tickTime(findString(data, "tickTime", "time", "stckCntgHour"))
+                .currentPrice(findBigDecimal(data, "currentPrice", "price", "stckPrpr"))
+                .diff(findBigDecimal(data, "diff", "changeAmount", "prdyVrss"))
+                .diffRate(findBigDecimal(data, "diffRate", "changeRate", "prdyCtrt"))
+                .volume(findBigDecimal(data, "volume", "acmlVol"))
+                .tradingValue(findBigDecimal(data, "tradingValue", "acmlTrPbmn"))
+                .build();
+    }
+
+    private OrderBookDTO legacyToOrderBookDTO(Map<String, Object> data) {
+        return OrderBookDTO.builder()
+                .type("ORDER_BOOK")
+                .stockCode(findString(data, "stockCode", "code"))
+                .asks(buildOrderItems(data, "asks", "ask"))
+                .bids(buildOrderItems(data, "bids", "bid"))
+                .totalAskQty(findLong(data, "totalAskQty", "total_ask_qty"))
+                .totalBidQty(findLong(data, "totalBidQty", "total_bid_qty"))
+                .build();
+    }
+
+    private String findString(Map<String, Object> data, String... keys) {
+        for (String key : keys) {
+            if (data.containsKey(key) && data.get(key) != null) {
+                return String.valueOf(data.get(key));
+            }
+        }
+        return null;
+    }
+
+    private BigDecimal findBigDecimal(Map<String, Object> data, String... keys) {
+        for (String key : keys) {
+            Object val = data.get(key);
+            if (val != null) {
+                try {
+                    return new BigDecimal(String.valueOf(val));
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        return null;
+    }
+
+    private Long findLong(Map<String, Object> data, String... keys) {
+        for (String key : keys) {
+            Object val = data.get(key);
+            if (val != null) {
+                try {
+                    return Long.parseLong(String.valueOf(val));
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        return null;
+    }
+
+    private List<OrderBookDTO.OrderItem> buildOrderItems(Map<String, Object> data, String... keys) {
+        Object rawList = null;
+        for (String key : keys) {
+            if (data.containsKey(key)) {
+                rawList = data.get(key);
+                break;
+            }
+        }
+        if (rawList == null) {
+            return List.of();
+        }
+        List<Map<String, Object>> items = objectMapper.convertValue(
+                rawList, new TypeReference<List<Map<String, Object>>>() {}
+        );
+        return items.stream()
+                .map(item -> new OrderBookDTO.OrderItem(
+                        findBigDecimal(item, "price", "p", "askp", "bidp"),
+                        findLong(item, "qty", "quantity", "volume", "v", "askpRsqn", "bidpRsqn")
+                ))
+                .toList();
+    }
+}
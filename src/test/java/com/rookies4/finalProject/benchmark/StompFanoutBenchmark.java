@@ -0,0 +1,126 @@
+package com.rookies4.finalProject.benchmark;
+
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import com.rookies4.finalProject.service.kafka.StompFramePublisher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * STOMP 체결 전송 벤치마크 - 세션 10,000개가 종목 100개에 100명씩 구독 (simple broker 까지 포함)
+ * - 한 번 호출에 100개 종목 체결을 1건씩 전송 (목적지 수 × 10,000 세션 전달)
+ * - convertAndSend: 목적지마다 DTO 를 다시 직렬화 (기존 경로)
+ * - encodeOnce: StompFramePublisher 로 종목당 한 번만 직렬화하고 모든 목적지에 같은 바이트 전송
+ * - destinations: 체결 1건이 나가는 목적지 수 (실시간 시세 / 시장 개요 / 관심 종목 스트림)
+ * - 세션별 STOMP 프레임 인코딩(웹소켓 전송)은 두 경로가 같으므로 제외
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class StompFanoutBenchmark {
+
+    private static final int STOCKS = 100;
+    private static final int SESSIONS_PER_STOCK = 100;
+    private static final String[] DESTINATION_PREFIXES = {
+            "/topic/realtime-price/", "/topic/market-overview/", "/topic/watchlist/"
+    };
+
+    @Param({"1", "3"})
+    public int destinations;
+
+    private SimpMessagingTemplate messagingTemplate;
+    private StompFramePublisher publisher;
+    private StockTickDTO[] ticks;
+    private String[][] destinationsByStock;
+
+    // 세션으로 나간 메시지 수 (브로커 전달이 최적화로 사라지지 않도록 누적)
+    private long delivered;
+
+    @Setup
+    public void setUp() {
+        ExecutorSubscribableChannel clientInboundChannel = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        MessageChannel clientOutboundChannel = (message, timeout) -> {
+            delivered++;
+            return true;
+        };
+        SimpleBrokerMessageHandler broker = new SimpleBrokerMessageHandler(
+                clientInboundChannel, clientOutboundChannel, brokerChannel, List.of("/topic"));
+        broker.start();
+
+        messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        messagingTemplate.setMessageConverter(new CompositeMessageConverter(List.of(
+                new StringMessageConverter(), new ByteArrayMessageConverter(), new MappingJackson2MessageConverter())));
+        publisher = new StompFramePublisher(messagingTemplate, clientOutboundChannel);
+
+        ticks = new StockTickDTO[STOCKS];
+        destinationsByStock = new String[STOCKS][destinations];
+        int session = 0;
+        for (int s = 0; s < STOCKS; s++) {
+            String stockCode = String.format("%06d", s + 1);
+            ticks[s] = StockTickDTO.builder()
+                    .type("STOCK_TICK")
+                    .stockCode(stockCode)
+                    .tickTime("091502")
+                    .currentPrice(BigDecimal.valueOf(70000 + s * 10L))
+                    .diff(new BigDecimal("-300"))
+                    .diffRate(new BigDecimal("-0.42"))
+                    .volume(new BigDecimal("8123456"))
+                    .tradingValue(new BigDecimal("581234567890"))
+                    .build();
+            for (int d = 0; d < destinations; d++) {
+                destinationsByStock[s][d] = DESTINATION_PREFIXES[d] + stockCode;
+            }
+            for (int i = 0; i < SESSIONS_PER_STOCK; i++, session++) {
+                for (int d = 0; d < destinations; d++) {
+                    subscribe(broker, "session-" + session, "sub-" + d, destinationsByStock[s][d]);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public long convertAndSend() {
+        for (int s = 0; s < STOCKS; s++) {
+            for (String destination : destinationsByStock[s]) {
+                messagingTemplate.convertAndSend(destination, ticks[s]);
+            }
+        }
+        return delivered;
+    }
+
+    @Benchmark
+    public long encodeOnce() {
+        for (int s = 0; s < STOCKS; s++) {
+            StompFramePublisher.Encoded encoded = publisher.encode(ticks[s]);
+            for (String destination : destinationsByStock[s]) {
+                publisher.send(destination, encoded);
+            }
+        }
+        return delivered;
+    }
+
+    private static void subscribe(SimpleBrokerMessageHandler broker, String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.rookies4.finalProject.runner;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MasterStockRunner.parseCsvLine 벤치마크 (기동 시 마스터 적재 경로)
+ * - 번들 CSV(src/main/resources/data) 한 파일의 모든 줄을 파싱하는 시간
+ * - 파일 읽기/디코딩(CP949)은 setUp 에서 끝내고 파싱만 측정
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MasterStockCsvBenchmark {
+
+    private static final Charset CSV_CHARSET = Charset.forName("CP949");
+
+    @Param({
+            "data/data_stock.csv",
+            "data/data_sector_KOSPI.csv",
+            "data/data_sector_KOSDAQ.csv",
+            "data/data_industry_code.csv",
+            "data/integrated_financial_data.csv"
+    })
+    public String file;
+
+    private String[] lines;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ClassPathResource(file).getInputStream(), CSV_CHARSET))) {
+            lines = reader.lines().toArray(String[]::new);
+        }
+    }
+
+    @Benchmark
+    public void parseFile(Blackhole bh) {
+        for (String line : lines) {
+            bh.consume(MasterStockRunner.parseCsvLine(line));
+        }
+    }
+}
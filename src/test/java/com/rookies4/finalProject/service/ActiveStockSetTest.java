@@ -0,0 +1,158 @@
+package com.rookies4.finalProject.service;
+
+import com.rookies4.finalProject.dto.ActiveStockDTO;
+import com.rookies4.finalProject.repository.InterestStockRepository;
+import com.rookies4.finalProject.repository.StockSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ActiveStockSet 단위 테스트
+ */
+@DisplayName("ActiveStockSet 테스트")
+class ActiveStockSetTest {
+
+    private StockSubscriptionRepository stockSubscriptionRepository;
+    private InterestStockRepository interestStockRepository;
+
+    @BeforeEach
+    void setUp() {
+        stockSubscriptionRepository = mock(StockSubscriptionRepository.class);
+        interestStockRepository = mock(InterestStockRepository.class);
+        when(stockSubscriptionRepository.countByStockCode()).thenReturn(rows("005930", 2L));
+        when(interestStockRepository.countByStockCode()).thenReturn(rows("005930", 1L, "000660", 1L));
+    }
+
+    @Test
+    @DisplayName("구독과 관심 등록이 모두 0 이 될 때만 빠지고, since 이후 순변경분만 돌려준다")
+    void returnsNetDeltaSinceVersion() {
+        // given
+        ActiveStockSet set = new ActiveStockSet(stockSubscriptionRepository, interestStockRepository, 100, false);
+        set.rebuild();
+        ActiveStockDTO.DeltaResponse initial = set.delta(null, 0);
+
+        // when - 005930 은 관심만 해제(구독 남음), 000660 은 빠짐, 035420 은 추가 후 삭제, 373220 추가
+        set.interestRemovedAfterCommit("005930");
+        set.interestRemovedAfterCommit("000660");
+        set.subscriptionAddedAfterCommit("035420");
+        set.subscriptionRemovedAfterCommit("035420");
+        set.subscriptionAddedAfterCommit("373220");
+        ActiveStockDTO.DeltaResponse delta = set.delta(initial.getEpoch(), initial.getVersion());
+
+        // then
+        assertThat(initial.isFull()).isTrue();
+        assertThat(initial.getStockCodes()).containsExactlyInAnyOrder("005930", "000660");
+        assertThat(delta.isFull()).isFalse();
+        assertThat(delta.getAdded()).containsExactly("373220");
+        assertThat(delta.getRemoved()).containsExactly("000660");
+        assertThat(delta.getVersion()).isEqualTo(initial.getVersion() + 4);
+        assertThat(set.stockCodes()).containsExactlyInAnyOrder("005930", "373220");
+    }
+
+    @Test
+    @DisplayName("다른 epoch 이거나 변경 기록보다 오래된 version 이면 전체 목록을 돌려주고, 재집계 차이도 변경분에 남긴다")
+    void fallsBackToSnapshot() {
+        // given - 변경 기록 2건
+        ActiveStockSet set = new ActiveStockSet(stockSubscriptionRepository, interestStockRepository, 2, false);
+        set.rebuild();
+        long loadedVersion = set.version();
+        String epoch = set.snapshot().getEpoch();
+
+        // when
+        set.subscriptionAddedAfterCommit("035420");
+        set.subscriptionAddedAfterCommit("373220");
+        set.subscriptionAddedAfterCommit("051910");
+        when(interestStockRepository.countByStockCode()).thenReturn(rows("005930", 1L));
+        set.rebuild(); // DB 에는 035420, 373220, 051910, 000660 이 없음
+        long beforeLastChange = set.version() - 1;
+
+        // then
+        assertThat(set.delta("other-node", loadedVersion).isFull()).isTrue();
+        assertThat(set.delta(epoch, loadedVersion).isFull()).isTrue();
+        ActiveStockDTO.DeltaResponse recent = set.delta(epoch, beforeLastChange);
+        assertThat(recent.isFull()).isFalse();
+        assertThat(recent.getRemoved()).hasSize(1);
+        assertThat(set.stockCodes()).containsExactly("005930");
+    }
+
+    @Test
+    @DisplayName("재집계 쿼리 도중 커밋된 변경은 집계 결과에 다시 적용되어 사라지지 않고, 삭제 후 추가로 기록되지 않는다")
+    void keepsChangesCommittedDuringRebuild() {
+        // given
+        ActiveStockSet set = new ActiveStockSet(stockSubscriptionRepository, interestStockRepository, 100, false);
+        set.rebuild();
+        set.subscriptionAddedAfterCommit("035420");
+        ActiveStockDTO.DeltaResponse before = set.snapshot();
+
+        // when - 재집계 쿼리(035420 미포함) 도중 373220 추가 커밋
+        when(interestStockRepository.countByStockCode()).thenAnswer(invocation -> {
+            set.subscriptionAddedAfterCommit("373220");
+            return rows("005930", 1L, "000660", 1L, "035420", 0L);
+        });
+        when(stockSubscriptionRepository.countByStockCode()).thenReturn(rows("005930", 2L, "035420", 1L));
+        when(stockSubscriptionRepository.countByStock_StockCode("373220")).thenReturn(1L);
+        set.rebuild();
+        ActiveStockDTO.DeltaResponse delta = set.delta(before.getEpoch(), before.getVersion());
+
+        // then
+        assertThat(set.stockCodes()).containsExactlyInAnyOrder("005930", "000660", "035420", "373220");
+        assertThat(delta.getAdded()).containsExactly("373220");
+        assertThat(delta.getRemoved()).isEmpty();
+        assertThat(set.countsOf("373220")).containsExactly(1L, 0L);
+    }
+
+    @Test
+    @DisplayName("재집계 쿼리가 이미 센 구독은 두 번 세지 않아, 해지하면 바로 빠진다")
+    void doesNotDoubleCountChangesSeenByQuery() {
+        // given
+        ActiveStockSet set = new ActiveStockSet(stockSubscriptionRepository, interestStockRepository, 100, false);
+        set.rebuild();
+
+        // when - 구독 집계 쿼리 도중 373220 구독이 커밋되고 쿼리 결과에도 포함됨
+        when(stockSubscriptionRepository.countByStockCode()).thenAnswer(invocation -> {
+            set.subscriptionAddedAfterCommit("373220");
+            return rows("005930", 2L, "373220", 1L);
+        });
+        when(stockSubscriptionRepository.countByStock_StockCode("373220")).thenReturn(1L);
+        set.rebuild();
+        long[] afterRebuild = set.countsOf("373220");
+        set.subscriptionRemovedAfterCommit("373220");
+
+        // then
+        assertThat(afterRebuild).containsExactly(1L, 0L);
+        assertThat(set.stockCodes()).containsExactlyInAnyOrder("005930", "000660");
+    }
+
+    @Test
+    @DisplayName("다중 노드 모드에서는 적재 후에도 수집기용 목록을 메모리에서 응답하지 않는다")
+    void notAuthoritativeAcrossNodes() {
+        // given
+        ActiveStockSet single = new ActiveStockSet(stockSubscriptionRepository, interestStockRepository, 100, false);
+        ActiveStockSet shared = new ActiveStockSet(stockSubscriptionRepository, interestStockRepository, 100, true);
+
+        // when
+        single.rebuild();
+        shared.rebuild();
+
+        // then
+        assertThat(single.isAuthoritative()).isTrue();
+        assertThat(shared.isLoaded()).isTrue();
+        assertThat(shared.isAuthoritative()).isFalse();
+    }
+
+    private static List<Object[]> rows(Object... values) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < values.length; i += 2) {
+            rows.add(new Object[]{values[i], values[i + 1]});
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,138 @@
+package com.rookies4.finalProject.service;
+
+import com.rookies4.finalProject.domain.entity.AlertRule;
+import com.rookies4.finalProject.domain.entity.Stock;
+import com.rookies4.finalProject.domain.entity.User;
+import com.rookies4.finalProject.domain.enums.AlertRuleType;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import com.rookies4.finalProject.repository.AlertRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AlertRuleEngine 단위 테스트
+ */
+@DisplayName("AlertRuleEngine 테스트")
+class AlertRuleEngineTest {
+
+    private AlertRuleRepository alertRuleRepository;
+    private PriceTargetTriggerWriter triggerWriter;
+    private AlertRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        alertRuleRepository = mock(AlertRuleRepository.class);
+        triggerWriter = mock(PriceTargetTriggerWriter.class);
+        engine = new AlertRuleEngine(alertRuleRepository, triggerWriter);
+    }
+
+    @Test
+    @DisplayName("규칙 타입별 조건을 만족한 규칙만 알림 대상이 된다")
+    void evaluatesEachRuleType() {
+        // given - 전일 종가 70000, 배치 저가 72000 / 고가 73500, 마지막 체결 73000, 누적 거래량 120만
+        when(alertRuleRepository.findAllEnabledWithStock()).thenReturn(List.of(
+                rule(1L, AlertRuleType.PERCENT_CHANGE, "4", null),
+                rule(2L, AlertRuleType.PERCENT_CHANGE, "6", null),
+                rule(3L, AlertRuleType.PERCENT_CHANGE, "-3", null),
+                rule(4L, AlertRuleType.N_DAY_HIGH, null, "73000"),
+                rule(5L, AlertRuleType.N_DAY_HIGH, null, "75000"),
+                rule(6L, AlertRuleType.VOLUME, "1000000", null),
+                rule(7L, AlertRuleType.VOLUME, "2000000", null),
+                rule(8L, AlertRuleType.TRAILING_STOP, "5", "76000"),
+                rule(9L, AlertRuleType.TRAILING_STOP, "10", null)
+        ));
+        engine.rebuild();
+
+        // when
+        List<AlertRuleEngine.FiredRule> fired = engine.evaluate("005930",
+                new BigDecimal("72000"), new BigDecimal("73500"), tick("73000", "3000", "1200000"), System.currentTimeMillis());
+
+        // then - +4% (72800 돌파), 73000 신고가, 거래량 100만, 고점 76000 대비 -5% (72200 이하)
+        assertThat(fired).extracting(AlertRuleEngine.FiredRule::ruleId).containsExactly(1L, 4L, 6L, 8L);
+        assertThat(fired.get(0).targetPrice()).isEqualByComparingTo("72800");
+        assertThat(fired.get(0).currentPrice()).isEqualByComparingTo("73500");
+        assertThat(fired.get(0).userId()).isEqualTo(7L);
+        assertThat(fired.get(2).targetPrice()).isNull();
+        assertThat(fired.get(3).targetPrice()).isEqualByComparingTo("72200");
+        verify(triggerWriter, times(4)).recordRule(anyLong(), any());
+        assertThat(engine.evaluate("000660", new BigDecimal("1"), new BigDecimal("2"), tick("2", "1", "1"), 0L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("트레일링 스탑은 고점을 따라가고 알림 뒤에는 그때 가격부터 다시 추적하며, 규칙별 쿨다운 동안은 다시 알리지 않는다 (다시 읽어도 상태 유지)")
+    void tracksPeakAndCooldown() {
+        // given - 고점 대비 5% 하락, 쿨다운 10분
+        AlertRule trailing = rule(1L, AlertRuleType.TRAILING_STOP, "5", null);
+        trailing.setCooldownMinutes(10);
+        when(alertRuleRepository.findAllEnabledWithStock()).thenReturn(List.of(trailing));
+        engine.rebuild();
+        long now = System.currentTimeMillis();
+
+        // when & then
+        assertThat(evaluate("9900", "10000", "10000", now)).isEmpty();
+        assertThat(evaluate("10300", "10500", "10400", now)).isEmpty();
+        assertThat(evaluate("9975", "10100", "10000", now)).hasSize(1);
+        assertThat(evaluate("9900", "9950", "9900", now + 1000)).isEmpty();
+        // 고점이 9975 로 되돌려졌으므로 옛 고점(10500) 아래에 머물러도 쿨다운 뒤 다시 알리지 않음
+        assertThat(evaluate("9900", "9950", "9900", now + TimeUnit.MINUTES.toMillis(11))).isEmpty();
+        assertThat(evaluate("9450", "9500", "9450", now + TimeUnit.MINUTES.toMillis(11))).hasSize(1);
+
+        engine.rebuild();
+        assertThat(evaluate("8900", "8950", "8900", now + TimeUnit.MINUTES.toMillis(12))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("전체 조회 도중 커밋된 규칙 삭제는 조회 결과에 다시 적용되어 되살아나지 않는다")
+    void replaysChangesCommittedDuringRebuild() {
+        // given
+        when(alertRuleRepository.findAllEnabledWithStock()).thenReturn(List.of(rule(1L, AlertRuleType.VOLUME, "100", null)));
+        engine.rebuild();
+
+        // when - 조회 결과에는 아직 규칙 1 이 있지만 조회 도중 삭제 커밋
+        when(alertRuleRepository.findAllEnabledWithStock()).thenAnswer(invocation -> {
+            engine.removeAfterCommit(1L);
+            return List.of(rule(1L, AlertRuleType.VOLUME, "100", null));
+        });
+        engine.rebuild();
+
+        // then
+        assertThat(engine.hasRules("005930")).isFalse();
+    }
+
+    private List<AlertRuleEngine.FiredRule> evaluate(String low, String high, String current, long nowMillis) {
+        return engine.evaluate("005930", new BigDecimal(low), new BigDecimal(high), tick(current, "0", "1"), nowMillis);
+    }
+
+    private StockTickDTO tick(String currentPrice, String diff, String volume) {
+        return StockTickDTO.builder()
+                .stockCode("005930")
+                .currentPrice(new BigDecimal(currentPrice))
+                .diff(new BigDecimal(diff))
+                .volume(new BigDecimal(volume))
+                .build();
+    }
+
+    private AlertRule rule(Long id, AlertRuleType type, String threshold, String referencePrice) {
+        return AlertRule.builder()
+                .id(id)
+                .user(User.builder().id(7L).build())
+                .stock(Stock.builder().stockCode("005930").name("삼성전자").build())
+                .ruleType(type)
+                .threshold(threshold == null ? null : new BigDecimal(threshold))
+                .referencePrice(referencePrice == null ? null : new BigDecimal(referencePrice))
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.rookies4.finalProject.service;
+
+import com.rookies4.finalProject.domain.entity.PriceTarget;
+import com.rookies4.finalProject.domain.entity.Stock;
+import com.rookies4.finalProject.domain.entity.User;
+import com.rookies4.finalProject.repository.PriceTargetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * PriceTargetIndex 단위 테스트
+ */
+@DisplayName("PriceTargetIndex 테스트")
+class PriceTargetIndexTest {
+
+    private static final long COOLDOWN = TimeUnit.MINUTES.toMillis(30);
+
+    private PriceTargetRepository priceTargetRepository;
+    private PriceTargetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        priceTargetRepository = mock(PriceTargetRepository.class);
+        index = new PriceTargetIndex(priceTargetRepository);
+    }
+
+    @Test
+    @DisplayName("가격 구간에서 돌파한 상한/하한 목표가만 찾는다")
+    void findsCrossedTargets() {
+        // given
+        when(priceTargetRepository.findAllEnabledWithStock()).thenReturn(List.of(
+                target(1L, "70000", null),
+                target(2L, "72000", null),
+                target(3L, "71500.5", "69000"),
+                target(4L, null, "68000"),
+                target(5L, null, "70500")
+        ));
+        index.rebuild();
+        long now = System.currentTimeMillis();
+
+        // when
+        List<PriceTarget> crossed = index.findCrossed("005930", new BigDecimal("69500"), new BigDecimal("71500"), now, COOLDOWN);
+
+        // then - 상한 70000 (71500.5 는 후보에서도 제외), 하한 70500
+        assertThat(crossed).extracting(PriceTarget::getId).containsExactlyInAnyOrder(1L, 5L);
+        assertThat(crossed).allSatisfy(target -> {
+            assertThat(target.getUser().getId()).isEqualTo(7L);
+            assertThat(target.getStock().getName()).isEqualTo("삼성전자");
+        });
+        assertThat(ids(index.findCrossed("005930", new BigDecimal("68000"), new BigDecimal("68500"), now, COOLDOWN)))
+                .containsExactlyInAnyOrder(3L, 4L, 5L);
+        assertThat(index.findCrossed("000660", new BigDecimal("1"), new BigDecimal("999999"), now, COOLDOWN)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("알림 후 쿨다운 동안은 후보에서 빠지고, 목표가 변경/삭제를 반영한다")
+    void cooldownAndUpdates() {
+        // given
+        when(priceTargetRepository.findAllEnabledWithStock()).thenReturn(List.of(target(1L, "70000", null)));
+        index.rebuild();
+        LocalDateTime triggeredAt = LocalDateTime.now();
+        long now = System.currentTimeMillis();
+
+        // when
+        index.markTriggered(1L, true, triggeredAt);
+
+        // then
+        assertThat(index.findCrossed("005930", new BigDecimal("70000"), new BigDecimal("70000"), now, COOLDOWN)).isEmpty();
+        assertThat(ids(index.findCrossed("005930", new BigDecimal("70000"), new BigDecimal("70000"), now + COOLDOWN, COOLDOWN)))
+                .containsExactly(1L);
+
+        // 다시 읽어도 아직 저장 전인 알림 시각은 유지
+        index.rebuild();
+        assertThat(index.findCrossed("005930", new BigDecimal("70000"), new BigDecimal("70000"), now, COOLDOWN)).isEmpty();
+
+        // 목표가 재설정 (트랜잭션 밖이므로 바로 반영) - 알림 상태 초기화
+        index.putAfterCommit(target(1L, "75000", null));
+        assertThat(index.findCrossed("005930", new BigDecimal("74000"), new BigDecimal("74000"), now, COOLDOWN)).isEmpty();
+        assertThat(ids(index.findCrossed("005930", new BigDecimal("75000"), new BigDecimal("75000"), now, COOLDOWN)))
+                .containsExactly(1L);
+
+        index.removeAfterCommit(1L);
+        assertThat(index.hasTargets("005930")).isFalse();
+    }
+
+    @Test
+    @DisplayName("전체 조회 중에도 다른 스레드의 알림 시각 반영이 막히지 않고, 조회 도중 커밋된 설정/해제는 조회 결과에 다시 적용한다")
+    void queriesOutsideLockAndReplaysChanges() throws Exception {
+        // given
+        when(priceTargetRepository.findAllEnabledWithStock()).thenReturn(List.of(target(1L, "70000", null), target(2L, "71000", null)));
+        index.rebuild();
+        boolean[] markedDuringQuery = {false};
+
+        // when - 조회 결과는 1, 2 그대로지만 조회 도중 2 해제, 3 설정 커밋
+        when(priceTargetRepository.findAllEnabledWithStock()).thenAnswer(invocation -> {
+            Thread other = new Thread(() -> index.markTriggered(1L, true, LocalDateTime.now()));
+            other.start();
+            other.join(1000);
+            markedDuringQuery[0] = !other.isAlive();
+            index.removeAfterCommit(2L);
+            index.putAfterCommit(target(3L, "72000", null));
+            return List.of(target(1L, "70000", null), target(2L, "71000", null));
+        });
+        index.rebuild();
+        long now = System.currentTimeMillis();
+
+        // then - 1 은 쿨다운 중, 2 는 빠지고 3 은 남음
+        assertThat(markedDuringQuery[0]).isTrue();
+        assertThat(ids(index.findCrossed("005930", new BigDecimal("72000"), new BigDecimal("72000"), now, COOLDOWN)))
+                .containsExactly(3L);
+        assertThat(index.targetCount("005930")).isEqualTo(2);
+    }
+
+    private List<Long> ids(List<PriceTarget> targets) {
+        return targets.stream().map(PriceTarget::getId).toList();
+    }
+
+    private PriceTarget target(Long id, String upper, String lower) {
+        return PriceTarget.builder()
+                .id(id)
+                .user(User.builder().id(7L).build())
+                .stock(Stock.builder().stockCode("005930").name("삼성전자").build())
+                .upperTarget(upper == null ? null : new BigDecimal(upper))
+                .lowerTarget(lower == null ? null : new BigDecimal(lower))
+                .build();
+    }
+}
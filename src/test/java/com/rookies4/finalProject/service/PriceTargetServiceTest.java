@@ -0,0 +1,61 @@
+package com.rookies4.finalProject.service;
+
+import com.rookies4.finalProject.domain.entity.PriceTarget;
+import com.rookies4.finalProject.domain.entity.Stock;
+import com.rookies4.finalProject.domain.entity.User;
+import com.rookies4.finalProject.repository.PriceTargetRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * PriceTargetService.evaluate 단위 테스트
+ */
+@DisplayName("PriceTargetService 목표가 판단 테스트")
+class PriceTargetServiceTest {
+
+    @Test
+    @DisplayName("한 구간에서 도달한 (목표가, 상한/하한) 을 한 번씩만 돌려주고, 이전에 알린 반대쪽은 다시 알리지 않는다")
+    void returnsEachCrossedSideOnce() {
+        // given - 1번은 상한/하한 모두 구간 안, 2번은 상한이 방금 알림(쿨다운 중)이고 하한만 구간 안
+        PriceTargetRepository repository = mock(PriceTargetRepository.class);
+        when(repository.findAllEnabledWithStock()).thenReturn(List.of(
+                target(1L, "70000", "69000"),
+                target(2L, "70500", "68900")));
+        PriceTargetIndex index = new PriceTargetIndex(repository);
+        index.rebuild();
+        index.markTriggered(2L, true, LocalDateTime.now());
+        PriceTargetService service = new PriceTargetService(repository, null, null, index, new PriceTargetTriggerWriter(null));
+
+        // when
+        List<PriceTargetService.TargetHit> hits = service.evaluate("005930", new BigDecimal("68800"), new BigDecimal("71000"));
+
+        // then
+        assertThat(hits).extracting(hit -> hit.target().getId() + (hit.upper() ? ":UPPER" : ":LOWER"))
+                .containsExactlyInAnyOrder("1:UPPER", "1:LOWER", "2:LOWER");
+        assertThat(hits).filteredOn(PriceTargetService.TargetHit::upper)
+                .allSatisfy(hit -> assertThat(hit.currentPrice()).isEqualByComparingTo("71000"));
+        assertThat(hits).filteredOn(hit -> !hit.upper())
+                .allSatisfy(hit -> assertThat(hit.currentPrice()).isEqualByComparingTo("68800"));
+
+        // 같은 구간을 다시 판단해도 쿨다운으로 추가 알림 없음
+        assertThat(service.evaluate("005930", new BigDecimal("68800"), new BigDecimal("71000"))).isEmpty();
+    }
+
+    private PriceTarget target(Long id, String upper, String lower) {
+        return PriceTarget.builder()
+                .id(id)
+                .user(User.builder().id(7L).build())
+                .stock(Stock.builder().stockCode("005930").name("삼성전자").build())
+                .upperTarget(new BigDecimal(upper))
+                .lowerTarget(new BigDecimal(lower))
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.rookies4.finalProject.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * PriceTargetTriggerWriter 단위 테스트
+ */
+@DisplayName("PriceTargetTriggerWriter 테스트")
+class PriceTargetTriggerWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PriceTargetTriggerWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        writer = new PriceTargetTriggerWriter(jdbcTemplate);
+        ReflectionTestUtils.setField(writer, "batchSize", 500);
+    }
+
+    @Test
+    @DisplayName("주기 안에 모인 알림 상태를 목표가별 마지막 시각으로 한 번에 batch UPDATE 한다")
+    @SuppressWarnings("unchecked")
+    void flushesLatestPerTargetInBatch() {
+        // given
+        LocalDateTime first = LocalDateTime.of(2026, 10, 16, 9, 15);
+        LocalDateTime later = first.plusMinutes(40);
+        writer.record(1L, true, first);
+        writer.record(1L, true, later);
+        writer.record(2L, true, first);
+        writer.record(3L, false, first);
+
+        // when
+        writer.flush();
+
+        // then
+        ArgumentCaptor<List<Object[]>> upper = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("upper_triggered = true"), upper.capture());
+        assertThat(upper.getValue()).hasSize(2);
+        assertThat(upper.getValue()).anySatisfy(args -> {
+            assertThat(args[1]).isEqualTo(1L);
+            assertThat(args[0]).isEqualTo(Timestamp.valueOf(later));
+        });
+        verify(jdbcTemplate).batchUpdate(contains("lower_triggered = true"), anyList());
+        assertThat(writer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("저장에 실패하면 다음 주기에 다시 저장한다")
+    void requeuesOnFailure() {
+        // given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("db down"));
+        writer.record(1L, true, LocalDateTime.now());
+
+        // when
+        writer.flush();
+
+        // then
+        assertThat(writer.pendingCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.rookies4.finalProject.service;
+
+import com.rookies4.finalProject.dto.StockPopularityDTO;
+import com.rookies4.finalProject.repository.InterestStockRepository;
+import com.rookies4.finalProject.repository.StockSubscriptionRepository;
+import com.rookies4.finalProject.websocket.StompSubscriptionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * StockPopularityIndex 단위 테스트
+ */
+@DisplayName("StockPopularityIndex 테스트")
+class StockPopularityIndexTest {
+
+    private ActiveStockSet activeStockSet;
+    private StompSubscriptionRegistry subscriptionRegistry;
+    private StockPopularityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        StockSubscriptionRepository stockSubscriptionRepository = mock(StockSubscriptionRepository.class);
+        InterestStockRepository interestStockRepository = mock(InterestStockRepository.class);
+        when(stockSubscriptionRepository.countByStockCode()).thenReturn(List.<Object[]>of(new Object[]{"005930", 3L}));
+        when(interestStockRepository.countByStockCode()).thenReturn(List.of(
+                new Object[]{"005930", 2L}, new Object[]{"000660", 4L}));
+        activeStockSet = new ActiveStockSet(stockSubscriptionRepository, interestStockRepository, 100, false);
+        subscriptionRegistry = new StompSubscriptionRegistry();
+        index = new StockPopularityIndex(activeStockSet, subscriptionRegistry, new SimpleMeterRegistry());
+        activeStockSet.rebuild();
+    }
+
+    @Test
+    @DisplayName("적재 집계, 커밋 반영, 실시간 구독 증감을 합쳐 종목별 지표를 돌려준다")
+    void combinesDurableAndLiveCounts() {
+        // when
+        activeStockSet.interestAddedAfterCommit("005930");
+        subscriptionRegistry.subscribe("s1", "sub-0", "/topic/realtime-price/005930", "005930");
+        subscriptionRegistry.subscribe("s1", "sub-1", "/topic/stock-order-book/005930", "005930");
+        subscriptionRegistry.unsubscribe("s1", "sub-1");
+
+        // then
+        StockPopularityDTO.PopularityResponse popularity = index.get("005930");
+        assertThat(index.isLoaded()).isTrue();
+        assertThat(popularity.getSubscriberCount()).isEqualTo(3);
+        assertThat(popularity.getInterestCount()).isEqualTo(3);
+        assertThat(popularity.getViewerCount()).isEqualTo(1);
+        assertThat(popularity.getScore()).isEqualTo(7);
+        assertThat(index.get("035420").getScore()).isZero();
+    }
+
+    @Test
+    @DisplayName("값이 바뀐 종목만 다시 정렬해 상위 N 개를 돌려주고, 0 이 된 종목은 순위에서 빠진다")
+    void reranksOnChange() {
+        // given - 005930 = 5, 000660 = 4
+        assertThat(index.top(10)).extracting(StockPopularityDTO.PopularityResponse::getStockCode)
+                .containsExactly("005930", "000660");
+
+        // when - 035420 시청자 6명, 005930 구독 3건 해지
+        for (int i = 0; i < 6; i++) {
+            subscriptionRegistry.subscribe("s" + i, "sub-0", "/topic/realtime-price/035420", "035420");
+        }
+        for (int i = 0; i < 3; i++) {
+            activeStockSet.subscriptionRemovedAfterCommit("005930");
+        }
+
+        // then
+        assertThat(index.top(2)).extracting(StockPopularityDTO.PopularityResponse::getStockCode)
+                .containsExactly("035420", "000660");
+
+        subscriptionRegistry.removeSession("s0");
+        for (int i = 1; i < 6; i++) {
+            subscriptionRegistry.removeSession("s" + i);
+        }
+        assertThat(index.top(10)).extracting(StockPopularityDTO.PopularityResponse::getStockCode)
+                .containsExactly("000660", "005930");
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
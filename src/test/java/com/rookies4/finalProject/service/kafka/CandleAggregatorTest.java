@@ -0,0 +1,105 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.KisPeriodStockDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CandleAggregator / CandleSeries 단위 테스트
+ */
+@DisplayName("CandleAggregator 테스트")
+class CandleAggregatorTest {
+
+    private CandleAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        // warm 조건: 09:00 이전부터 받았거나 0분 이상 연속 수신 → 테스트에서는 항상 warm
+        aggregator = new CandleAggregator(400, 0, 60_000);
+    }
+
+    @Test
+    @DisplayName("체결을 건너뛴 종목은 집계를 버리고, 다시 받은 체결부터 새로 집계한다")
+    void markColdDropsSeries() {
+        // given
+        aggregator.onTick(tick("090010", "71000", 1000));
+        aggregator.onTick(tick("090130", "71500", 1200));
+
+        // when - 구독자가 없는 동안 건너뜀 → 09:30 에 다시 받음
+        aggregator.markCold("005930");
+        List<KisPeriodStockDTO.ChartData> cold = aggregator.getBars("005930", 1);
+        aggregator.onTick(tick("093005", "72000", 5000));
+        List<KisPeriodStockDTO.ChartData> restarted = aggregator.getBars("005930", 1);
+
+        // then - 09:01 ~ 09:29 를 평평한 봉으로 채우지 않음
+        assertThat(cold).isNull();
+        assertThat(restarted).hasSize(1);
+        assertThat(restarted.get(0).getTime()).endsWith("09:30:00");
+        assertThat(restarted.get(0).getOpen()).isEqualTo(72000);
+    }
+
+    @Test
+    @DisplayName("체결로 1분봉과 5분봉 OHLCV 를 만들고 거래량은 누적 거래량 증가분으로 계산한다")
+    void buildsBars() {
+        // given
+        aggregator.onTick(tick("090010", "71000", 1000));
+        aggregator.onTick(tick("090030", "71500", 1200));
+        aggregator.onTick(tick("090059", "70800", 1300));
+        aggregator.onTick(tick("090105", "71200", 1500));
+        aggregator.onTick(tick("090412", "71100", 1600));
+
+        // when
+        List<KisPeriodStockDTO.ChartData> minute = aggregator.getBars("005930", 1);
+        List<KisPeriodStockDTO.ChartData> fiveMinute = aggregator.getBars("005930", 5);
+
+        // then
+        String today = LocalDate.now(ZoneId.of("Asia/Seoul")).toString();
+        assertThat(minute).extracting(KisPeriodStockDTO.ChartData::getTime).containsExactly(
+                today + " 09:00:00", today + " 09:01:00", today + " 09:02:00", today + " 09:03:00", today + " 09:04:00");
+
+        KisPeriodStockDTO.ChartData first = minute.get(0);
+        assertThat(first.getOpen()).isEqualTo(71000);
+        assertThat(first.getHigh()).isEqualTo(71500);
+        assertThat(first.getLow()).isEqualTo(70800);
+        assertThat(first.getPrice()).isEqualTo(70800);
+        // 처음 받은 체결의 누적 거래량은 기준값으로만 사용
+        assertThat(first.getVolume()).isEqualTo(300);
+
+        // 체결이 없던 09:02, 09:03 은 직전 종가로 채움
+        assertThat(minute.get(2).getOpen()).isEqualTo(71200);
+        assertThat(minute.get(2).getVolume()).isZero();
+
+        assertThat(fiveMinute).hasSize(1);
+        assertThat(fiveMinute.get(0).getHigh()).isEqualTo(71500);
+        assertThat(fiveMinute.get(0).getPrice()).isEqualTo(71100);
+        assertThat(fiveMinute.get(0).getVolume()).isEqualTo(600);
+    }
+
+    @Test
+    @DisplayName("체결을 받지 않은 종목이나 지원하지 않는 간격은 null 을 반환한다")
+    void returnsNullWhenCold() {
+        aggregator.onTick(tick("090010", "71000", 1000));
+
+        assertThat(aggregator.getBars("000660", 1)).isNull();
+        assertThat(aggregator.getBars("005930", 2)).isNull();
+    }
+
+    private StockTickDTO tick(String time, String price, long cumulativeVolume) {
+        return StockTickDTO.builder()
+                .type("STOCK_TICK")
+                .stockCode("005930")
+                .tickTime(time)
+                .currentPrice(new BigDecimal(price))
+                .volume(BigDecimal.valueOf(cumulativeVolume))
+                .build();
+    }
+}
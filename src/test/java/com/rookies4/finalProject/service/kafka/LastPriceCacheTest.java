@@ -0,0 +1,110 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import com.rookies4.finalProject.util.StripedExecutor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * LastPriceCache 단위 테스트
+ */
+@DisplayName("LastPriceCache 테스트")
+class LastPriceCacheTest {
+
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private StompFramePublisher stompFramePublisher;
+    private LastPriceCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+
+        stompFramePublisher = mock(StompFramePublisher.class);
+        TickBinaryCodec codec = new TickBinaryCodec();
+        cache = new LastPriceCache(kafkaTemplate, codec,
+                new StockTickMessageReader(new StockTickDecoder(new ObjectMapper()), codec),
+                stompFramePublisher, mock(StripedExecutor.class));
+    }
+
+    @Test
+    @DisplayName("마지막 체결을 캐시하고, 종목코드 키로 stock-last-price 에 기록한다")
+    @SuppressWarnings("unchecked")
+    void updateWritesCompactedTopic() {
+        // given
+        StockTickDTO tick = tick("005930", "71500");
+
+        // when
+        cache.put(tick, new StompFramePublisher.Encoded(new byte[0], null));
+        cache.record(tick);
+
+        // then
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        ProducerRecord<String, byte[]> record = captor.getValue();
+        assertThat(record.topic()).isEqualTo(LastPriceCache.TOPIC);
+        assertThat(record.key()).isEqualTo("005930");
+        assertThat(record.headers().lastHeader(TickBinaryCodec.CONTENT_TYPE_HEADER)).isNotNull();
+        assertThat(cache.get("005930")).isSameAs(tick);
+    }
+
+    @Test
+    @DisplayName("기동 시 적재한 레코드로 캐시를 채우고, tombstone 은 캐시에서 제거한다")
+    void loadsRecordsAndTombstones() {
+        // given
+        byte[] samsung = new TickBinaryCodec().encode(tick("005930", "71500"));
+        byte[] hynix = new TickBinaryCodec().encode(tick("000660", "180000"));
+
+        // when
+        cache.load("005930", null, samsung);
+        cache.load("000660", null, hynix);
+        cache.load("000660", null, null);
+
+        // then
+        assertThat(cache.get("005930").getCurrentPrice()).isEqualByComparingTo("71500");
+        assertThat(cache.get("000660")).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("건너뛴 종목의 체결로 갱신하면 전송 때 만든 직렬화 결과를 버리고 새 체결로 다시 만든다")
+    void refreshDropsStaleFrame() {
+        // given
+        StompFramePublisher.Encoded stale = new StompFramePublisher.Encoded(new byte[0], null);
+        cache.put(tick("005930", "71500"), stale);
+        StockTickDTO latest = tick("005930", "72000");
+        StompFramePublisher.Encoded fresh = new StompFramePublisher.Encoded(new byte[0], null);
+        when(stompFramePublisher.encode(latest)).thenReturn(fresh);
+
+        // when
+        cache.refresh(latest);
+
+        // then
+        assertThat(cache.get("005930")).isSameAs(latest);
+        assertThat(cache.getEncoded("005930")).isSameAs(fresh);
+    }
+
+    private StockTickDTO tick(String stockCode, String price) {
+        return StockTickDTO.builder()
+                .type("STOCK_TICK")
+                .stockCode(stockCode)
+                .tickTime("091502")
+                .currentPrice(new BigDecimal(price))
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.OrderBookDeltaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OrderBookStateStore 단위 테스트
+ */
+@DisplayName("OrderBookStateStore 테스트")
+class OrderBookStateStoreTest {
+
+    private OrderBookStateStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OrderBookStateStore();
+    }
+
+    @Test
+    @DisplayName("바뀐 호가 단계만 델타로 반환하고, 변화가 없으면 null 을 반환한다")
+    void returnsOnlyChangedLevels() {
+        // given
+        OrderBookDTO first = orderBook(10, 100L);
+        OrderBookDTO second = orderBook(10, 100L);
+        second.getAsks().set(2, new OrderBookDTO.OrderItem(new BigDecimal("71800"), 555L));
+        second.setTotalAskQty(first.getTotalAskQty() + 1);
+
+        // when
+        OrderBookDeltaDTO initial = store.apply(first);
+        OrderBookDeltaDTO delta = store.apply(second);
+        OrderBookDeltaDTO unchanged = store.apply(orderBookCopy(second));
+
+        // then
+        assertThat(initial.getSeq()).isEqualTo(1);
+        assertThat(initial.changedLevels()).isEqualTo(20);
+
+        assertThat(delta.getSeq()).isEqualTo(2);
+        assertThat(delta.getType()).isEqualTo(OrderBookDeltaDTO.TYPE);
+        assertThat(delta.getAsks()).containsExactly(
+                new OrderBookDeltaDTO.Level(2, new BigDecimal("71800"), 555L));
+        assertThat(delta.getBids()).isNull();
+        assertThat(delta.getTotalAskQty()).isEqualTo(second.getTotalAskQty());
+        assertThat(delta.getTotalBidQty()).isNull();
+
+        assertThat(unchanged).isNull();
+    }
+
+    @Test
+    @DisplayName("스냅샷은 마지막 상태와 순번을 그대로 복원한다")
+    void snapshotReflectsLatestState() {
+        // given
+        store.apply(orderBook(10, 100L));
+        OrderBookDTO latest = orderBook(10, 100L);
+        latest.getBids().set(0, new OrderBookDTO.OrderItem(new BigDecimal("71450.5"), 7L));
+        store.apply(latest);
+
+        // when
+        OrderBookDTO snapshot = store.snapshot("005930");
+
+        // then
+        assertThat(snapshot.getSeq()).isEqualTo(2);
+        assertThat(snapshot.getAsks()).isEqualTo(latest.getAsks());
+        assertThat(snapshot.getBids()).isEqualTo(latest.getBids());
+        assertThat(snapshot.getTotalAskQty()).isEqualTo(latest.getTotalAskQty());
+    }
+
+    @Test
+    @DisplayName("호가 단계 수가 줄면 사라진 단계를 가격/잔량 없이 알린다")
+    void reportsRemovedLevels() {
+        // given
+        store.apply(orderBook(10, 100L));
+
+        // when
+        OrderBookDeltaDTO delta = store.apply(orderBook(8, 100L));
+
+        // then
+        assertThat(delta.getAsks()).extracting(OrderBookDeltaDTO.Level::getLevel).containsExactly(8, 9);
+        assertThat(delta.getAsks()).allSatisfy(level -> {
+            assertThat(level.getPrice()).isNull();
+            assertThat(level.getQty()).isNull();
+        });
+        assertThat(store.snapshot("005930").getAsks()).hasSize(8);
+    }
+
+    private OrderBookDTO orderBook(int depth, long baseQty) {
+        List<OrderBookDTO.OrderItem> asks = new ArrayList<>();
+        List<OrderBookDTO.OrderItem> bids = new ArrayList<>();
+        for (int i = 0; i < depth; i++) {
+            asks.add(new OrderBookDTO.OrderItem(new BigDecimal(71600 + i * 100), baseQty + i));
+            bids.add(new OrderBookDTO.OrderItem(new BigDecimal(71500 - i * 100), baseQty * 2 + i));
+        }
+        return OrderBookDTO.builder()
+                .type("ORDER_BOOK")
+                .stockCode("005930")
+                .asks(asks)
+                .bids(bids)
+                .totalAskQty(12345L)
+                .totalBidQty(23456L)
+                .build();
+    }
+
+    private OrderBookDTO orderBookCopy(OrderBookDTO source) {
+        return OrderBookDTO.builder()
+                .type(source.getType())
+                .stockCode(source.getStockCode())
+                .asks(new ArrayList<>(source.getAsks()))
+                .bids(new ArrayList<>(source.getBids()))
+                .totalAskQty(source.getTotalAskQty())
+                .totalBidQty(source.getTotalBidQty())
+                .build();
+    }
+}
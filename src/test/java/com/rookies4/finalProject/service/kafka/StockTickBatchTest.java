@@ -0,0 +1,66 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StockTickBatch (종목별 conflation) 단위 테스트
+ */
+@DisplayName("StockTickBatch 테스트")
+class StockTickBatchTest {
+
+    @Test
+    @DisplayName("종목별 마지막 체결만 남기고 배치 고가/저가를 기록한다")
+    void keepsLatestTickAndRange() {
+        // given
+        StockTickBatch batch = new StockTickBatch(5);
+
+        // when
+        batch.offerTick(tick("005930", "71000"));
+        batch.offerTick(tick("000660", "180000"));
+        batch.offerTick(tick("005930", "72500"));
+        batch.offerTick(tick("005930", "70500"));
+        batch.offerTick(tick("005930", "71200"));
+
+        // then
+        List<StockTickBatch.Entry> entries = List.copyOf(batch.entries());
+        assertThat(entries).hasSize(2);
+
+        StockTickBatch.Entry samsung = entries.get(0);
+        assertThat(samsung.getStockCode()).isEqualTo("005930");
+        assertThat(samsung.getLatestTick().getCurrentPrice()).isEqualByComparingTo("71200");
+        assertThat(samsung.getHigh()).isEqualByComparingTo("72500");
+        assertThat(samsung.getLow()).isEqualByComparingTo("70500");
+        assertThat(samsung.getTickCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("밀려난 이전 DTO를 재사용용으로 돌려준다")
+    void returnsReplacedDtoForReuse() {
+        // given
+        StockTickBatch batch = new StockTickBatch(2);
+        StockTickDTO first = tick("005930", "71000");
+
+        // when
+        StockTickDTO spare = batch.offerTick(first);
+        StockTickDTO replaced = batch.offerTick(tick("005930", "71100"));
+
+        // then
+        assertThat(spare).isNotSameAs(first);
+        assertThat(replaced).isSameAs(first);
+    }
+
+    private StockTickDTO tick(String stockCode, String price) {
+        return StockTickDTO.builder()
+                .type("STOCK_TICK")
+                .stockCode(stockCode)
+                .currentPrice(new BigDecimal(price))
+                .build();
+    }
+}
@@ -0,0 +1,224 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rookies4.finalProject.config.KafkaConfig;
+import com.rookies4.finalProject.domain.entity.PriceTarget;
+import com.rookies4.finalProject.domain.entity.Stock;
+import com.rookies4.finalProject.domain.entity.User;
+import com.rookies4.finalProject.service.AlertRuleEngine;
+import com.rookies4.finalProject.service.PriceTargetIndex;
+import com.rookies4.finalProject.service.PriceTargetService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 다중 노드(broadcast) 모드 통합 테스트
+ * 같은 embedded Kafka 에 붙은 두 노드가 모든 체결을 받고, 목표가 알림은 한 번만 판단되어 두 노드 모두에 전달되는지 확인
+ */
+@EmbeddedKafka(partitions = 3, topics = {"stock-ticks", PriceAlertRelay.TOPIC, LastPriceCache.TOPIC})
+@DisplayName("stock-ticks 다중 노드 전송 통합 테스트")
+class StockTickBroadcastIntegrationTest {
+
+    private static final List<String> STOCK_CODES = List.of("005930", "000660", "035420", "035720", "051910", "068270");
+    private static final String ALERT_STOCK_CODE = "005930";
+    private static final long USER_ID = 1L;
+    private static final long WAIT_MILLIS = 30_000L;
+
+    @Test
+    @DisplayName("모든 노드가 모든 종목 시세를 받고, 목표가 알림은 한 번 판단되어 모든 노드로 전달된다")
+    void everyNodeSeesEveryTick(EmbeddedKafkaBroker broker) {
+        try (AnnotationConfigApplicationContext nodeA = startNode(broker, "node-a");
+             AnnotationConfigApplicationContext nodeB = startNode(broker, "node-b")) {
+
+            // given - 두 노드의 노드별 그룹은 모든 파티션, 공유 그룹은 파티션을 나눠 가질 때까지 대기
+            for (AnnotationConfigApplicationContext node : List.of(nodeA, nodeB)) {
+                KafkaListenerEndpointRegistry registry = node.getBean(KafkaListenerEndpointRegistry.class);
+                ContainerTestUtils.waitForAssignment(registry.getListenerContainer("stockTickFanout"), broker.getPartitionsPerTopic());
+                ContainerTestUtils.waitForAssignment(registry.getListenerContainer("priceAlertRelay"), broker.getPartitionsPerTopic());
+            }
+            waitForSharedGroupAssignment(nodeA, nodeB, broker.getPartitionsPerTopic());
+
+            // 두 노드 모두 전 종목 구독 중, 목표가는 한 종목에만
+            for (AnnotationConfigApplicationContext node : List.of(nodeA, nodeB)) {
+                TickInterestFilter interestFilter = node.getBean(TickInterestFilter.class);
+                STOCK_CODES.forEach(interestFilter::watch);
+            }
+
+            // when
+            try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(
+                    KafkaTestUtils.producerProps(broker), new StringSerializer(), new ByteArraySerializer())) {
+                for (String stockCode : STOCK_CODES) {
+                    producer.send(new ProducerRecord<>("stock-ticks", stockCode, tickJson(stockCode)));
+                }
+                producer.flush();
+            }
+
+            // then
+            for (AnnotationConfigApplicationContext node : List.of(nodeA, nodeB)) {
+                SimpMessagingTemplate messagingTemplate = node.getBean(SimpMessagingTemplate.class);
+                for (String stockCode : STOCK_CODES) {
+                    verify(messagingTemplate, timeout(WAIT_MILLIS))
+                            .send(eq("/topic/realtime-price/" + stockCode), any(Message.class));
+                }
+                verify(messagingTemplate, timeout(WAIT_MILLIS))
+                        .convertAndSend(eq("/topic/price-alert/" + USER_ID), any(Object.class));
+            }
+
+            // 두 노드 중 한 곳에서만 판단했으므로 각 노드에 알림은 정확히 한 번
+            for (AnnotationConfigApplicationContext node : List.of(nodeA, nodeB)) {
+                verify(node.getBean(SimpMessagingTemplate.class), after(2_000L).times(1))
+                        .convertAndSend(eq("/topic/price-alert/" + USER_ID), any(Object.class));
+            }
+        }
+    }
+
+    private AnnotationConfigApplicationContext startNode(EmbeddedKafkaBroker broker, String instanceId) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("node", Map.of(
+                "spring.kafka.bootstrap-servers", broker.getBrokersAsString(),
+                "kafka.instance-id", instanceId,
+                "kafka.stock-ticks.broadcast.enabled", "true",
+                "kafka.stock-ticks.concurrency", "1")));
+        context.register(NodeConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    private void waitForSharedGroupAssignment(AnnotationConfigApplicationContext nodeA,
+                                              AnnotationConfigApplicationContext nodeB,
+                                              int partitions) {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            int assigned = sharedGroupPartitions(nodeA) + sharedGroupPartitions(nodeB);
+            if (assigned == partitions && sharedGroupPartitions(nodeA) > 0 && sharedGroupPartitions(nodeB) > 0) {
+                return;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        throw new IllegalStateException("be-stock-ticks 그룹 파티션 할당 대기 시간 초과");
+    }
+
+    private int sharedGroupPartitions(AnnotationConfigApplicationContext node) {
+        return node.getBean(KafkaListenerEndpointRegistry.class).getListenerContainers().stream()
+                .filter(container -> "be-stock-ticks".equals(container.getGroupId()))
+                .map(MessageListenerContainer::getAssignedPartitions)
+                .mapToInt(assigned -> assigned == null ? 0 : assigned.size())
+                .sum();
+    }
+
+    private byte[] tickJson(String stockCode) {
+        return ("{\"type\":\"STOCK_TICK\",\"stockCode\":\"" + stockCode
+                + "\",\"currentPrice\":71500,\"tickTime\":\"091502\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Configuration
+    @Import({KafkaConfig.class, StockTickConsumer.class, StockTickFanoutConsumer.class, PriceAlertRelay.class,
+            StockTickMessageReader.class, StockTickDecoder.class, TickBinaryCodec.class, TickMetrics.class,
+            OrderBookPublisher.class, OrderBookStateStore.class, CandleAggregator.class, TickCatchUpTracker.class,
+            LastPriceCache.class, TickInterestFilter.class, StompFramePublisher.class, WatchlistTickRouter.class})
+    static class NodeConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        KafkaProperties kafkaProperties() {
+            return new KafkaProperties();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().registerModule(new JavaTimeModule());
+        }
+
+        @Bean
+        MessageChannel clientOutboundChannel() {
+            return mock(MessageChannel.class);
+        }
+
+        @Bean
+        SimpMessagingTemplate messagingTemplate() {
+            SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+            when(messagingTemplate.getMessageConverter()).thenReturn(new MappingJackson2MessageConverter());
+            return messagingTemplate;
+        }
+
+        @Bean
+        PriceTargetIndex priceTargetIndex() {
+            PriceTargetIndex priceTargetIndex = mock(PriceTargetIndex.class);
+            when(priceTargetIndex.isLoaded()).thenReturn(true);
+            when(priceTargetIndex.hasTargets(ALERT_STOCK_CODE)).thenReturn(true);
+            when(priceTargetIndex.stockCodes()).thenReturn(Set.of(ALERT_STOCK_CODE));
+            return priceTargetIndex;
+        }
+
+        @Bean
+        AlertRuleEngine alertRuleEngine() {
+            AlertRuleEngine alertRuleEngine = mock(AlertRuleEngine.class);
+            when(alertRuleEngine.isLoaded()).thenReturn(true);
+            when(alertRuleEngine.stockCodes()).thenReturn(Set.of());
+            return alertRuleEngine;
+        }
+
+        @Bean
+        PriceTargetService priceTargetService() {
+            PriceTarget target = PriceTarget.builder()
+                    .user(User.builder().id(USER_ID).build())
+                    .stock(Stock.builder().stockCode(ALERT_STOCK_CODE).name("삼성전자").build())
+                    .upperTarget(new BigDecimal("70000"))
+                    .upperTriggered(true)
+                    .upperTriggeredAt(LocalDateTime.now())
+                    .build();
+
+            PriceTargetService priceTargetService = mock(PriceTargetService.class);
+            when(priceTargetService.evaluate(eq(ALERT_STOCK_CODE), any(), any())).thenReturn(List.of(
+                    new PriceTargetService.TargetHit(target, true, new BigDecimal("70000"), LocalDateTime.now())));
+            return priceTargetService;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StockTickDecoder 단위 테스트
+ */
+@DisplayName("StockTickDecoder 테스트")
+class StockTickDecoderTest {
+
+    private StockTickDecoder decoder;
+    private StockTickDTO tick;
+    private OrderBookDTO orderBook;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new StockTickDecoder(new ObjectMapper());
+        tick = new StockTickDTO();
+        orderBook = new OrderBookDTO();
+    }
+
+    @Test
+    @DisplayName("KIS 약어 키로 온 체결 메시지를 디코딩한다")
+    void decodeKisStockTick() throws Exception {
+        // given
+        String json = "{\"type\":\"STOCK_TICK\",\"mkscShrnIscd\":\"005930\",\"stckCntgHour\":\"091502\","
+                + "\"stckPrpr\":\"71500\",\"prdyVrss\":\"-300\",\"prdyCtrt\":\"-0.42\","
+                + "\"acmlVol\":\"8123456\",\"acmlTrPbmn\":\"581234567890\",\"extra\":{\"a\":[1,2]}}";
+
+        // when
+        TickMessageType type = decoder.decode(json, tick, orderBook);
+
+        // then
+        assertThat(type).isEqualTo(TickMessageType.STOCK_TICK);
+        assertThat(tick.getType()).isEqualTo("STOCK_TICK");
+        assertThat(tick.getStockCode()).isEqualTo("005930");
+        assertThat(tick.getTickTime()).isEqualTo("091502");
+        assertThat(tick.getCurrentPrice()).isEqualByComparingTo("71500");
+        assertThat(tick.getDiff()).isEqualByComparingTo("-300");
+        assertThat(tick.getDiffRate()).isEqualByComparingTo("-0.42");
+        assertThat(tick.getVolume()).isEqualByComparingTo("8123456");
+        assertThat(tick.getTradingValue()).isEqualByComparingTo("581234567890");
+    }
+
+    @Test
+    @DisplayName("여러 키가 함께 오면 기존 우선순위(앞선 키)를 따른다")
+    void aliasPriority() throws Exception {
+        // given - type 이 마지막에 와도, 우선순위 낮은 키가 먼저 와도 결과는 같아야 함
+        String json = "{\"stckPrpr\":\"100\",\"price\":\"200\",\"currentPrice\":\"300\","
+                + "\"mkscShrnIscd\":\"000660\",\"stockCode\":\"005930\",\"type\":\"STOCK_TICK\"}";
+
+        // when
+        decoder.decode(json, tick, orderBook);
+
+        // then
+        assertThat(tick.getCurrentPrice()).isEqualByComparingTo("300");
+        assertThat(tick.getStockCode()).isEqualTo("005930");
+    }
+
+    @Test
+    @DisplayName("숫자로 변환할 수 없는 값은 건너뛰고 다음 키 값을 사용한다")
+    void invalidNumberFallsBackToNextAlias() throws Exception {
+        // given
+        String json = "{\"type\":\"STOCK_TICK\",\"code\":\"005930\",\"currentPrice\":\"\",\"stckPrpr\":71500}";
+
+        // when
+        decoder.decode(json, tick, orderBook);
+
+        // then
+        assertThat(tick.getCurrentPrice()).isEqualByComparingTo(new BigDecimal("71500"));
+    }
+
+    @Test
+    @DisplayName("우선순위 높은 키가 나중에 null / 잘못된 값으로 오면 앞서 읽은 값을 유지한다")
+    void invalidHigherPriorityAliasKeepsParsedValue() throws Exception {
+        // given
+        String json = "{\"type\":\"STOCK_TICK\",\"mkscShrnIscd\":\"005930\",\"stockCode\":null,"
+                + "\"stckPrpr\":\"100\",\"currentPrice\":\"abc\",\"acmlVol\":\"10\",\"volume\":{\"a\":1}}";
+
+        // when
+        decoder.decode(json, tick, orderBook);
+
+        // then
+        assertThat(tick.getStockCode()).isEqualTo("005930");
+        assertThat(tick.getCurrentPrice()).isEqualByComparingTo("100");
+        assertThat(tick.getVolume()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    @DisplayName("호가 메시지를 디코딩하고 재사용 시 이전 값이 남지 않는다")
+    void decodeOrderBookAndReuse() throws Exception {
+        // given
+        String first = "{\"type\":\"ORDER_BOOK\",\"stockCode\":\"005930\","
+                + "\"asks\":[{\"askp\":\"71600\",\"askpRsqn\":\"10\"},{\"askp\":\"71700\",\"askpRsqn\":\"20\"}],"
+                + "\"bids\":[{\"bidp\":\"71500\",\"bidpRsqn\":\"30\"}],"
+                + "\"totalAskQty\":\"30\",\"total_bid_qty\":30}";
+        String second = "{\"type\":\"ORDER_BOOK\",\"code\":\"005930\",\"ask\":[{\"price\":71800,\"qty\":5}]}";
+
+        // when
+        TickMessageType firstType = decoder.decode(first, tick, orderBook);
+
+        // then
+        assertThat(firstType).isEqualTo(TickMessageType.ORDER_BOOK);
+        assertThat(orderBook.getStockCode()).isEqualTo("005930");
+        assertThat(orderBook.getAsks()).hasSize(2);
+        assertThat(orderBook.getAsks().get(1).getPrice()).isEqualByComparingTo("71700");
+        assertThat(orderBook.getAsks().get(1).getQty()).isEqualTo(20L);
+        assertThat(orderBook.getBids()).hasSize(1);
+        assertThat(orderBook.getTotalAskQty()).isEqualTo(30L);
+        assertThat(orderBook.getTotalBidQty()).isEqualTo(30L);
+
+        // when
+        decoder.decode(second, tick, orderBook);
+
+        // then
+        assertThat(orderBook.getAsks()).hasSize(1);
+        assertThat(orderBook.getAsks().get(0).getPrice()).isEqualByComparingTo("71800");
+        assertThat(orderBook.getAsks().get(0).getQty()).isEqualTo(5L);
+        assertThat(orderBook.getBids()).isEmpty();
+        assertThat(orderBook.getTotalAskQty()).isNull();
+    }
+
+    @Test
+    @DisplayName("type 이 없거나 알 수 없는 메시지는 UNKNOWN 을 반환한다")
+    void unknownType() throws Exception {
+        assertThat(decoder.decode("{\"stockCode\":\"005930\"}", tick, orderBook)).isEqualTo(TickMessageType.UNKNOWN);
+        assertThat(decoder.decode("{\"type\":\"HEARTBEAT\"}", tick, orderBook)).isEqualTo(TickMessageType.UNKNOWN);
+        assertThat(decoder.decode("[]", tick, orderBook)).isEqualTo(TickMessageType.UNKNOWN);
+    }
+}
@@ -0,0 +1,105 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StompFramePublisher 단위 테스트
+ */
+@DisplayName("StompFramePublisher 테스트")
+class StompFramePublisherTest {
+
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final List<Message<?>> sentToSessions = new ArrayList<>();
+    private SimpMessagingTemplate messagingTemplate;
+    private StompFramePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        MessageChannel brokerChannel = (message, timeout) -> sent.add(message);
+        messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        messagingTemplate.setMessageConverter(new MappingJackson2MessageConverter());
+        MessageChannel clientOutboundChannel = (message, timeout) -> sentToSessions.add(message);
+        publisher = new StompFramePublisher(messagingTemplate, clientOutboundChannel);
+    }
+
+    @Test
+    @DisplayName("한 번 직렬화한 바이트를 여러 목적지에 그대로 보낸다")
+    void sharesEncodedBytesAcrossDestinations() {
+        // given
+        StompFramePublisher.Encoded encoded = publisher.encode(tick());
+
+        // when
+        publisher.send("/topic/realtime-price/005930", encoded);
+        publisher.send("/topic/market-overview", encoded);
+
+        // then
+        assertThat(sent).hasSize(2);
+        assertThat(sent).allSatisfy(message -> {
+            assertThat(message.getPayload()).isSameAs(encoded.bytes());
+            assertThat(SimpMessageHeaderAccessor.getMessageType(message.getHeaders())).isEqualTo(SimpMessageType.MESSAGE);
+        });
+        assertThat(sent).extracting(message -> SimpMessageHeaderAccessor.getDestination(message.getHeaders()))
+                .containsExactly("/topic/realtime-price/005930", "/topic/market-overview");
+    }
+
+    @Test
+    @DisplayName("새 구독자용 값은 브로커를 거치지 않고 그 세션의 구독 하나로만 보낸다")
+    void sendsToSingleSubscription() {
+        // given
+        StompFramePublisher.Encoded encoded = publisher.encode(tick());
+
+        // when
+        publisher.sendToSubscriber("session-1", "sub-0", "/topic/realtime-price/005930", encoded);
+
+        // then
+        assertThat(sent).isEmpty();
+        assertThat(sentToSessions).hasSize(1);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(sentToSessions.get(0));
+        assertThat(accessor.getMessageType()).isEqualTo(SimpMessageType.MESSAGE);
+        assertThat(accessor.getSessionId()).isEqualTo("session-1");
+        assertThat(accessor.getSubscriptionId()).isEqualTo("sub-0");
+        assertThat(accessor.getDestination()).isEqualTo("/topic/realtime-price/005930");
+        assertThat(sentToSessions.get(0).getPayload()).isSameAs(encoded.bytes());
+    }
+
+    @Test
+    @DisplayName("convertAndSend 와 같은 JSON 본문과 content-type 으로 보낸다")
+    void matchesConvertAndSend() {
+        // given
+        messagingTemplate.convertAndSend("/topic/realtime-price/005930", tick());
+        Message<?> converted = sent.remove(0);
+
+        // when
+        publisher.send("/topic/realtime-price/005930", tick());
+
+        // then
+        Message<?> published = sent.get(0);
+        assertThat((byte[]) published.getPayload()).isEqualTo((byte[]) converted.getPayload());
+        assertThat(SimpMessageHeaderAccessor.wrap(published).getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+    }
+
+    private StockTickDTO tick() {
+        return StockTickDTO.builder()
+                .type("STOCK_TICK")
+                .stockCode("005930")
+                .tickTime("091502")
+                .currentPrice(new BigDecimal("71500"))
+                .build();
+    }
+}
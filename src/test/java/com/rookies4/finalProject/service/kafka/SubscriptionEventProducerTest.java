@@ -0,0 +1,125 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.SubscriptionEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SubscriptionEventProducer 단위 테스트
+ */
+@DisplayName("SubscriptionEventProducer 테스트")
+class SubscriptionEventProducerTest {
+
+    private KafkaTemplate<String, SubscriptionEventDTO> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+    }
+
+    @Test
+    @DisplayName("대기 시간 안의 반대 이벤트는 상쇄하고, 나머지는 대기 시간이 지난 뒤 모아서 보낸다")
+    void coalescesOpposingEvents() {
+        // given - 대기 시간 0: flush 때 모두 전송
+        SubscriptionEventProducer producer = new SubscriptionEventProducer(kafkaTemplate, meterRegistry, 0, 100, 100);
+
+        // when - 005930 은 해지 후 바로 재구독, 000660 은 구독 두 번
+        producer.publishUnsubscribeEvent(0L, "005930");
+        producer.publishSubscribeEvent(0L, "005930");
+        producer.publishSubscribeEvent(0L, "000660");
+        producer.publishSubscribeEvent(0L, "000660");
+        producer.flush();
+
+        // then
+        verify(kafkaTemplate, never()).send(anyString(), eq("005930"), any());
+        verify(kafkaTemplate, times(1)).send(eq("subscription-events"), eq("000660"),
+                argThat(event -> event.getEventType() == SubscriptionEventDTO.EventType.SUBSCRIBE));
+        assertThat(producer.pendingCount()).isZero();
+        assertThat(counter("cancelled")).isEqualTo(2.0);
+        assertThat(counter("sent")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("호출 스레드는 전송을 기다리지 않고, 대기열이 차거나 전송이 실패하면 지표로만 남긴다")
+    void neverThrowsToCaller() {
+        // given - 대기 시간이 길어 flush 전까지 대기, 대기열 2건
+        SubscriptionEventProducer producer = new SubscriptionEventProducer(kafkaTemplate, meterRegistry, 60_000, 2, 100);
+        when(kafkaTemplate.send(anyString(), eq("035420"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // when
+        assertThatCode(() -> {
+            producer.publishSubscribeEvent(0L, "005930");
+            producer.publishSubscribeEvent(0L, "035420");
+            producer.publishSubscribeEvent(0L, "000660");
+            producer.flush();
+        }).doesNotThrowAnyException();
+
+        // then
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+        assertThat(counter("dropped")).isEqualTo(1.0);
+
+        producer.flushOnShutdown();
+        assertThat(counter("sent")).isEqualTo(1.0);
+        assertThat(counter("failed")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("전송 요청이 실패하면 그 주기를 멈추고, 남은 이벤트는 순서대로 대기열 앞에 되돌려 다음 주기에 보낸다")
+    void stopsAndRequeuesOnSendFailure() {
+        // given - 000660 전송 요청이 한 번 실패 (메타데이터 대기 시간 초과)
+        SubscriptionEventProducer producer = new SubscriptionEventProducer(kafkaTemplate, meterRegistry, 0, 100, 100);
+        when(kafkaTemplate.send(anyString(), eq("000660"), any()))
+                .thenThrow(new TimeoutException("metadata"))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        producer.publishSubscribeEvent(0L, "005930");
+        producer.publishSubscribeEvent(0L, "000660");
+        producer.publishSubscribeEvent(0L, "035420");
+
+        // when
+        producer.flush();
+
+        // then - 035420 은 시도하지 않고 000660 과 함께 남음
+        verify(kafkaTemplate, never()).send(anyString(), eq("035420"), any());
+        assertThat(producer.pendingCount()).isEqualTo(2);
+
+        // when - 그 사이 000660 해지가 들어오면 되돌린 구독과 상쇄
+        producer.publishUnsubscribeEvent(0L, "000660");
+        producer.flush();
+
+        // then
+        verify(kafkaTemplate, times(1)).send(anyString(), eq("000660"), any());
+        verify(kafkaTemplate).send(anyString(), eq("035420"), any());
+        assertThat(producer.pendingCount()).isZero();
+        assertThat(counter("sent")).isEqualTo(2.0);
+        assertThat(counter("cancelled")).isEqualTo(2.0);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("stock.subscription.events").tag("result", result).counter().count();
+    }
+}
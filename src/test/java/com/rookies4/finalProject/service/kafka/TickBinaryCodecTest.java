@@ -0,0 +1,139 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookies4.finalProject.dto.kafka.OrderBookDTO;
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TickBinaryCodec / StockTickMessageReader 단위 테스트
+ */
+@DisplayName("TickBinaryCodec 테스트")
+class TickBinaryCodecTest {
+
+    private TickBinaryCodec codec;
+    private StockTickMessageReader reader;
+
+    @BeforeEach
+    void setUp() {
+        codec = new TickBinaryCodec();
+        reader = new StockTickMessageReader(new StockTickDecoder(new ObjectMapper()), codec);
+    }
+
+    @Test
+    @DisplayName("체결 메시지를 인코딩/디코딩하면 값이 그대로 복원된다")
+    void stockTickRoundTrip() {
+        // given
+        StockTickDTO tick = StockTickDTO.builder()
+                .type("STOCK_TICK")
+                .stockCode("005930")
+                .tickTime("091502")
+                .currentPrice(new BigDecimal("71500"))
+                .diff(new BigDecimal("-300"))
+                .diffRate(new BigDecimal("-0.42"))
+                .volume(new BigDecimal("8123456"))
+                .tradingValue(null)
+                .build();
+
+        // when
+        byte[] encoded = codec.encode(tick);
+        StockTickDTO decoded = new StockTickDTO();
+        TickMessageType type = codec.decode(encoded, decoded, new OrderBookDTO());
+
+        // then
+        assertThat(encoded.length).isLessThan(60);
+        assertThat(type).isEqualTo(TickMessageType.STOCK_TICK);
+        assertThat(decoded).isEqualTo(tick);
+        assertThat(decoded.getCurrentPrice().toPlainString()).isEqualTo("71500");
+    }
+
+    @Test
+    @DisplayName("6자리 숫자가 아닌 종목코드도 그대로 복원된다")
+    void nonNumericStockCode() {
+        // given
+        StockTickDTO tick = StockTickDTO.builder().type("STOCK_TICK").stockCode("0010A0").build();
+
+        // when
+        StockTickDTO decoded = new StockTickDTO();
+        codec.decode(codec.encode(tick), decoded, new OrderBookDTO());
+
+        // then
+        assertThat(decoded.getStockCode()).isEqualTo("0010A0");
+        assertThat(decoded.getTickTime()).isNull();
+    }
+
+    @Test
+    @DisplayName("호가 메시지를 인코딩/디코딩하면 값이 그대로 복원된다")
+    void orderBookRoundTrip() {
+        // given
+        OrderBookDTO orderBook = OrderBookDTO.builder()
+                .type("ORDER_BOOK")
+                .stockCode("000660")
+                .asks(List.of(new OrderBookDTO.OrderItem(new BigDecimal("180500"), 120L),
+                        new OrderBookDTO.OrderItem(new BigDecimal("181000"), null)))
+                .bids(List.of(new OrderBookDTO.OrderItem(new BigDecimal("180000"), 300L)))
+                .totalAskQty(120L)
+                .totalBidQty(300L)
+                .build();
+
+        // when
+        OrderBookDTO decoded = new OrderBookDTO();
+        TickMessageType type = codec.decode(codec.encode(orderBook), new StockTickDTO(), decoded);
+
+        // then
+        assertThat(type).isEqualTo(TickMessageType.ORDER_BOOK);
+        assertThat(decoded).isEqualTo(orderBook);
+    }
+
+    @Test
+    @DisplayName("MessageReader 는 content-type 헤더에 따라 JSON / 바이너리를 구분한다")
+    void readerUsesContentType() throws Exception {
+        // given
+        StockTickDTO tick = StockTickDTO.builder().type("STOCK_TICK").stockCode("005930")
+                .currentPrice(new BigDecimal("71500")).build();
+        RecordHeaders binaryHeaders = new RecordHeaders();
+        binaryHeaders.add(TickBinaryCodec.CONTENT_TYPE_HEADER,
+                TickBinaryCodec.CONTENT_TYPE_BINARY_V1.getBytes(StandardCharsets.US_ASCII));
+        byte[] json = "{\"type\":\"STOCK_TICK\",\"stockCode\":\"005930\",\"currentPrice\":71500}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        StockTickDTO fromBinary = new StockTickDTO();
+        StockTickDTO fromJson = new StockTickDTO();
+
+        // when
+        TickMessageType binaryType = reader.read(binaryHeaders, codec.encode(tick), fromBinary, new OrderBookDTO());
+        TickMessageType jsonType = reader.read(new RecordHeaders(), json, fromJson, new OrderBookDTO());
+
+        // then
+        assertThat(binaryType).isEqualTo(TickMessageType.STOCK_TICK);
+        assertThat(fromBinary).isEqualTo(tick);
+        assertThat(jsonType).isEqualTo(TickMessageType.STOCK_TICK);
+        assertThat(fromJson.getCurrentPrice()).isEqualByComparingTo("71500");
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 버전이나 잘린 메시지는 예외를 던진다")
+    void rejectsInvalidMessages() {
+        byte[] encoded = codec.encode(StockTickDTO.builder().stockCode("005930").build());
+
+        byte[] wrongVersion = encoded.clone();
+        wrongVersion[1] = 99;
+        byte[] truncated = Arrays.copyOf(encoded, 10);
+
+        assertThatThrownBy(() -> codec.decode(wrongVersion, new StockTickDTO(), new OrderBookDTO()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> codec.decode(truncated, new StockTickDTO(), new OrderBookDTO()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TickCatchUpTracker 단위 테스트
+ */
+@DisplayName("TickCatchUpTracker 테스트")
+class TickCatchUpTrackerTest {
+
+    private TickCatchUpTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new TickCatchUpTracker(2000, 200, 3000);
+    }
+
+    @Test
+    @DisplayName("offset 지연이 진입 임계값을 넘으면 catch-up 을 시작하고, 종료 임계값 아래로 내려와야 끝난다")
+    void switchesModeWithHysteresis() {
+        assertThat(tracker.update(0, 8000, 0)).isFalse();
+        assertThat(tracker.isCatchingUp(0)).isTrue();
+        assertThat(tracker.isCatchingUp(1)).isFalse();
+
+        // 두 임계값 사이에서는 모드 유지
+        assertThat(tracker.update(0, 1000, 0)).isFalse();
+        assertThat(tracker.isCatchingUp(0)).isTrue();
+
+        assertThat(tracker.update(0, 50, 0)).isTrue();
+        assertThat(tracker.isCatchingUp(0)).isFalse();
+        assertThat(tracker.update(0, 50, 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("catch-up 중 레코드가 quiet-ms 동안 끊긴 파티션만 정상 모드로 돌린다")
+    void exitsQuietPartitions() {
+        // given
+        tracker.update(0, 8000, 1_000);
+        tracker.update(1, 8000, 3_000);
+
+        // when
+        List<Integer> exited = tracker.exitQuiet(4_500);
+
+        // then
+        assertThat(exited).containsExactly(0);
+        assertThat(tracker.isCatchingUp(0)).isFalse();
+        assertThat(tracker.isCatchingUp(1)).isTrue();
+        assertThat(tracker.exitQuiet(4_500)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("넘겨준 파티션은 catch-up 모드와 보관 값을 모두 버린다")
+    void revokeClearsPartitionState() {
+        // given
+        tracker.update(0, 8000, 0);
+        tracker.update(1, 8000, 0);
+        tracker.hold(entry("005930", 0, "71000"));
+        tracker.hold(entry("000660", 1, "180000"));
+
+        // when
+        tracker.revoke(List.of(0));
+
+        // then
+        assertThat(tracker.isCatchingUp(0)).isFalse();
+        assertThat(tracker.release(0)).isEmpty();
+        assertThat(tracker.isCatchingUp(1)).isTrue();
+        assertThat(tracker.release(1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("catch-up 중 보관한 값은 종목별 마지막 값만 남고, 해당 파티션 복귀 시 한 번에 꺼내진다")
+    void holdsLatestPerStockUntilRelease() {
+        // given
+        tracker.hold(entry("005930", 0, "71000"));
+        tracker.hold(entry("005930", 0, "71500"));
+        tracker.hold(entry("000660", 1, "180000"));
+
+        // when
+        List<TickCatchUpTracker.Held> released = tracker.release(0);
+
+        // then
+        assertThat(released).hasSize(1);
+        assertThat(released.get(0).getStockCode()).isEqualTo("005930");
+        assertThat(released.get(0).getLatestTick().getCurrentPrice()).isEqualByComparingTo("71500");
+        assertThat(tracker.release(0)).isEmpty();
+        assertThat(tracker.release(1)).hasSize(1);
+    }
+
+    private StockTickBatch.Entry entry(String stockCode, int partition, String price) {
+        StockTickBatch batch = new StockTickBatch(1);
+        batch.offerTick(StockTickDTO.builder().stockCode(stockCode).currentPrice(new BigDecimal(price)).build(),
+                partition, System.currentTimeMillis());
+        return batch.entries().iterator().next();
+    }
+}
@@ -0,0 +1,107 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.domain.entity.AlertRule;
+import com.rookies4.finalProject.domain.entity.PriceTarget;
+import com.rookies4.finalProject.domain.entity.Stock;
+import com.rookies4.finalProject.domain.enums.AlertRuleType;
+import com.rookies4.finalProject.repository.AlertRuleRepository;
+import com.rookies4.finalProject.repository.PriceTargetRepository;
+import com.rookies4.finalProject.service.AlertRuleEngine;
+import com.rookies4.finalProject.service.PriceTargetIndex;
+import com.rookies4.finalProject.service.PriceTargetTriggerWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * TickInterestFilter 단위 테스트
+ */
+@DisplayName("TickInterestFilter 테스트")
+class TickInterestFilterTest {
+
+    private PriceTargetRepository priceTargetRepository;
+    private PriceTargetIndex priceTargetIndex;
+    private AlertRuleRepository alertRuleRepository;
+    private AlertRuleEngine alertRuleEngine;
+    private SimpleMeterRegistry registry;
+    private TickInterestFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        priceTargetRepository = mock(PriceTargetRepository.class);
+        priceTargetIndex = new PriceTargetIndex(priceTargetRepository);
+        alertRuleRepository = mock(AlertRuleRepository.class);
+        alertRuleEngine = new AlertRuleEngine(alertRuleRepository, mock(PriceTargetTriggerWriter.class));
+        alertRuleEngine.rebuild();
+        registry = new SimpleMeterRegistry();
+        filter = new TickInterestFilter(priceTargetIndex, alertRuleEngine, registry, true);
+    }
+
+    @Test
+    @DisplayName("전송 리스너는 구독 종목만, 목표가 판단 리스너는 목표가/알림 규칙 종목만 통과시킨다")
+    void filtersByRole() {
+        // given
+        when(priceTargetRepository.findAllEnabledWithStock()).thenReturn(List.of(target(1L, "000660")));
+        priceTargetIndex.rebuild();
+        when(alertRuleRepository.findAllEnabledWithStock()).thenReturn(List.of(volumeRule(1L, "035720")));
+        alertRuleEngine.rebuild();
+        filter.watch("005930");
+
+        // when & then
+        assertThat(filter.accepts("005930", TickRole.PUSH_ONLY)).isTrue();
+        assertThat(filter.accepts("000660", TickRole.PUSH_ONLY)).isFalse();
+        assertThat(filter.accepts("000660", TickRole.ALERTS_ONLY)).isTrue();
+        assertThat(filter.accepts("005930", TickRole.ALERTS_ONLY)).isFalse();
+        assertThat(filter.accepts("035720", TickRole.ALERTS_ONLY)).isTrue();
+        assertThat(filter.accepts("035420", TickRole.FULL)).isFalse();
+        assertThat(filter.accepts(null, TickRole.FULL)).isTrue();
+
+        assertThat(registry.get("stock.tick.interest").tag("result", "hit").counter().count()).isEqualTo(3);
+        assertThat(registry.get("stock.tick.interest").tag("result", "miss").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("목표가 인덱스 적재 전에는 모두 통과, 이후에는 목표가 설정/구독 해제를 바로 따라간다")
+    void followsIndexAndSubscriptions() {
+        // given - 아직 목표가 인덱스를 적재하지 않음
+        assertThat(filter.accepts("035420", TickRole.ALERTS_ONLY)).isTrue();
+
+        when(priceTargetRepository.findAllEnabledWithStock()).thenReturn(List.of());
+        priceTargetIndex.rebuild();
+        assertThat(filter.accepts("035420", TickRole.ALERTS_ONLY)).isFalse();
+
+        // when - 목표가 설정 (트랜잭션 밖이므로 바로 반영)
+        priceTargetIndex.putAfterCommit(target(2L, "035420"));
+        filter.watch("035420");
+        filter.unwatch("035420");
+
+        // then
+        assertThat(filter.accepts("035420", TickRole.ALERTS_ONLY)).isTrue();
+        assertThat(filter.accepts("035420", TickRole.PUSH_ONLY)).isFalse();
+    }
+
+    private PriceTarget target(Long id, String stockCode) {
+        return PriceTarget.builder()
+                .id(id)
+                .stock(Stock.builder().stockCode(stockCode).build())
+                .upperTarget(new BigDecimal("100000"))
+                .build();
+    }
+
+    private AlertRule volumeRule(Long id, String stockCode) {
+        return AlertRule.builder()
+                .id(id)
+                .stock(Stock.builder().stockCode(stockCode).build())
+                .ruleType(AlertRuleType.VOLUME)
+                .threshold(new BigDecimal("1000000"))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.rookies4.finalProject.service.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TickMetrics 단위 테스트
+ */
+@DisplayName("TickMetrics 테스트")
+class TickMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private TickMetrics tickMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tickMetrics = new TickMetrics(registry, 3);
+    }
+
+    @Test
+    @DisplayName("종목별 틱 수와 파티션별 지연이 태그별로 집계된다")
+    void countsPerStockAndPartition() {
+        // given
+        long timestamp = System.currentTimeMillis() - 1500;
+
+        // when
+        tickMetrics.countTicks("005930", 3);
+        tickMetrics.countTicks("005930", 2);
+        tickMetrics.countTicks("000660", 1);
+        tickMetrics.updateConsumerLag("stock-ticks", 0, timestamp);
+
+        // then
+        assertThat(registry.get("stock.tick.count").tag("stockCode", "005930").counter().count()).isEqualTo(5);
+        assertThat(registry.get("stock.tick.count").tag("stockCode", "000660").counter().count()).isEqualTo(1);
+        assertThat(registry.get("stock.tick.consumer.lag").tag("partition", "0").gauge().value())
+                .isGreaterThanOrEqualTo(1500);
+    }
+
+    @Test
+    @DisplayName("tickTime 형식이 잘못되었으면 거래소 기준 지연은 기록하지 않는다")
+    void recordsExchangeLatencyOnlyForValidTickTime() {
+        // given
+        String now = LocalTime.now(ZoneId.of("Asia/Seoul")).minusSeconds(2)
+                .format(DateTimeFormatter.ofPattern("HHmmss"));
+
+        // when
+        tickMetrics.recordLatency("9999AA", 0);
+        tickMetrics.recordLatency(null, 0);
+        tickMetrics.recordLatency(now, System.currentTimeMillis() - 10);
+
+        // then
+        long exchangeCount = registry.get("stock.tick.latency").tag("source", "exchange").timer().count();
+        long kafkaCount = registry.get("stock.tick.latency").tag("source", "kafka").timer().count();
+        // 자정 직후에는 2초 전 시각이 전날이 되어 기록되지 않을 수 있음
+        assertThat(exchangeCount).isLessThanOrEqualTo(1);
+        assertThat(kafkaCount).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("샘플링 로그는 설정한 건수마다 한 번만 허용된다")
+    void samplesLog() {
+        int sampled = 0;
+        for (int i = 0; i < 9; i++) {
+            if (tickMetrics.sampleLog()) sampled++;
+        }
+        assertThat(sampled).isEqualTo(3);
+    }
+}
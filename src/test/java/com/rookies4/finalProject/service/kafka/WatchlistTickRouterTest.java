@@ -0,0 +1,110 @@
+package com.rookies4.finalProject.service.kafka;
+
+import com.rookies4.finalProject.dto.kafka.StockTickDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * WatchlistTickRouter 단위 테스트
+ */
+@DisplayName("WatchlistTickRouter 테스트")
+class WatchlistTickRouterTest {
+
+    private final List<Message<?>> sent = new ArrayList<>();
+    private StompFramePublisher publisher;
+    private LastPriceCache lastPriceCache;
+    private WatchlistTickRouter router;
+
+    @BeforeEach
+    void setUp() {
+        MessageChannel brokerChannel = (message, timeout) -> sent.add(message);
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        messagingTemplate.setMessageConverter(new MappingJackson2MessageConverter());
+        publisher = new StompFramePublisher(messagingTemplate, brokerChannel);
+        lastPriceCache = mock(LastPriceCache.class);
+        router = new WatchlistTickRouter(publisher, lastPriceCache, new SimpleMeterRegistry(), 2);
+    }
+
+    @Test
+    @DisplayName("flush 마다 세션별로 보는 종목의 마지막 체결만 프레임 하나에 묶어 보낸다")
+    void batchesLatestTicksPerSession() {
+        // given
+        router.add("s1", List.of("005930", "000660"));
+        router.add("s2", List.of("005930"));
+        router.offer("005930", publisher.encode(tick("005930", "71000")));
+        router.offer("005930", publisher.encode(tick("005930", "71500")));
+        router.offer("000660", publisher.encode(tick("000660", "180000")));
+        router.offer("035420", publisher.encode(tick("035420", "200000")));
+
+        // when
+        router.flush();
+
+        // then
+        Map<String, String> frames = framesByDestination();
+        assertThat(frames).containsOnlyKeys("/queue/ticks-users1", "/queue/ticks-users2");
+        assertThat(frames.get("/queue/ticks-users1"))
+                .startsWith("[").endsWith("]")
+                .contains("\"stockCode\":\"005930\"", "71500", "\"stockCode\":\"000660\"")
+                .doesNotContain("71000", "035420");
+        assertThat(frames.get("/queue/ticks-users2")).contains("005930").doesNotContain("000660");
+
+        sent.clear();
+        router.flush();
+        assertThat(sent).isEmpty();
+    }
+
+    @Test
+    @DisplayName("추가 시 캐시된 마지막 체결을 바로 보내고, 최대 종목 수를 넘거나 세션이 끝나면 빠지며 종료 뒤 늦게 온 추가는 무시한다")
+    void snapshotLimitAndRemoveSession() {
+        // given
+        when(lastPriceCache.getEncoded("005930")).thenReturn(publisher.encode(tick("005930", "71500")));
+
+        // when
+        List<String> added = router.add("s1", List.of("005930", "000660", "035420"));
+
+        // then - 최대 2종목, 캐시가 있는 005930 만 스냅샷 프레임에 담김
+        assertThat(added).containsExactly("005930", "000660");
+        assertThat(framesByDestination().get("/queue/ticks-users1")).contains("005930").doesNotContain("000660");
+
+        assertThat(router.removeSession("s1")).containsExactlyInAnyOrder("005930", "000660");
+        assertThat(router.isWatched("005930")).isFalse();
+        assertThat(router.add("s1", List.of("005930"))).isEmpty();
+        assertThat(router.isWatched("005930")).isFalse();
+        sent.clear();
+        router.offer("005930", publisher.encode(tick("005930", "72000")));
+        router.flush();
+        assertThat(sent).isEmpty();
+    }
+
+    private Map<String, String> framesByDestination() {
+        return sent.stream().collect(Collectors.toMap(
+                message -> SimpMessageHeaderAccessor.getDestination(message.getHeaders()),
+                message -> new String((byte[]) message.getPayload(), StandardCharsets.UTF_8)));
+    }
+
+    private StockTickDTO tick(String stockCode, String price) {
+        return StockTickDTO.builder()
+                .type("STOCK_TICK")
+                .stockCode(stockCode)
+                .currentPrice(new BigDecimal(price))
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.rookies4.finalProject.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StripedExecutor 단위 테스트
+ */
+@DisplayName("StripedExecutor 테스트")
+class StripedExecutorTest {
+
+    private StripedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 키의 작업은 제출 순서대로 실행된다")
+    void preservesOrderPerKey() throws Exception {
+        // given
+        executor = new StripedExecutor("test", 4, 16);
+        String[] keys = {"005930", "000660", "035420", "035720", "051910"};
+        Map<String, List<Integer>> executed = new ConcurrentHashMap<>();
+        int perKey = 500;
+        CountDownLatch done = new CountDownLatch(keys.length * perKey);
+
+        // when - 큐 용량보다 많이 제출하여 대기(backpressure) 경로도 함께 검증
+        for (int i = 0; i < perKey; i++) {
+            for (String key : keys) {
+                int seq = i;
+                executor.execute(key, () -> {
+                    executed.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(seq);
+                    done.countDown();
+                });
+            }
+        }
+
+        // then
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        for (String key : keys) {
+            List<Integer> seqs = executed.get(key);
+            assertThat(seqs).hasSize(perKey);
+            assertThat(seqs).isSorted();
+        }
+    }
+
+    @Test
+    @DisplayName("작업에서 예외가 나도 같은 stripe 의 다음 작업은 실행된다")
+    void continuesAfterFailure() throws Exception {
+        // given
+        executor = new StripedExecutor("test", 1, 16);
+        CountDownLatch done = new CountDownLatch(1);
+
+        // when
+        executor.execute("005930", () -> {
+            throw new IllegalStateException("boom");
+        });
+        executor.execute("005930", done::countDown);
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("submit 한 작업의 future 는 작업이 끝난 뒤(예외 포함) 완료된다")
+    void submitCompletesAfterTask() throws Exception {
+        // given
+        executor = new StripedExecutor("test", 2, 16);
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+        // when
+        CompletableFuture<Void> first = executor.submit("005930", () -> executed.add("005930"));
+        CompletableFuture<Void> failed = executor.submit("000660", () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture.allOf(first, failed).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(executed).containsExactly("005930");
+        assertThat(failed).isCompleted();
+    }
+
+    @Test
+    @DisplayName("dropWhenFull 실행기는 큐가 가득 차면 대기하지 않고 가장 오래된 작업을 버린다")
+    void dropsOldestWhenFull() throws Exception {
+        // given - stripe 1개, 큐 1칸. 첫 작업이 stripe 를 붙잡고 있는 동안 제출
+        executor = new StripedExecutor("test", 1, 1, true);
+        CountDownLatch release = blockStripe("005930");
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latestRan = new CountDownLatch(1);
+
+        // when
+        executor.execute("005930", () -> executed.add("oldest"));
+        executor.execute("005930", () -> executed.add("older"));
+        executor.execute("005930", () -> {
+            executed.add("latest");
+            latestRan.countDown();
+        });
+        release.countDown();
+
+        // then
+        assertThat(latestRan.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).containsExactly("latest");
+        assertThat(executor.droppedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("executeNoDrop 작업은 버려지지 않고, 큐가 모두 그런 작업이면 새 일반 작업을 버린다")
+    void neverDropsNoDropTasks() throws Exception {
+        // given
+        executor = new StripedExecutor("test", 1, 1, true);
+        CountDownLatch release = blockStripe("005930");
+        CountDownLatch snapshotRan = new CountDownLatch(1);
+
+        // when
+        executor.executeNoDrop("005930", snapshotRan::countDown);
+        executor.execute("005930", () -> { });
+        release.countDown();
+
+        // then
+        assertThat(snapshotRan.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.droppedCount()).isEqualTo(1);
+    }
+
+    // 첫 작업이 stripe 를 붙잡게 하고, 풀어 줄 latch 반환
+    private CountDownLatch blockStripe(String key) throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(key, () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        return release;
+    }
+
+    @Test
+    @DisplayName("stripe 별 큐 깊이 게이지를 등록한다")
+    void registersQueueDepthGauges() {
+        // given
+        executor = new StripedExecutor("test.dispatch", 3, 16);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // when
+        executor.bindTo(registry);
+
+        // then
+        assertThat(registry.find("test.dispatch.queue.depth").gauges()).hasSize(3);
+        assertThat(registry.find("test.dispatch.queue.depth.total").gauge()).isNotNull();
+        assertThat(registry.find("test.dispatch.dropped").functionCounter()).isNotNull();
+    }
+}
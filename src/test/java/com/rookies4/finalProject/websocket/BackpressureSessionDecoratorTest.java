@@ -0,0 +1,186 @@
+package com.rookies4.finalProject.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * BackpressureSessionDecorator / SlowConsumerGuard 단위 테스트
+ */
+@DisplayName("느린 세션 송신 대기열 테스트")
+class BackpressureSessionDecoratorTest {
+
+    private final List<Runnable> writerTasks = new ArrayList<>();
+    private final List<Runnable> slowWriterTasks = new ArrayList<>();
+    private final List<String> written = new ArrayList<>();
+    private final List<OutboundDropPolicy> dropped = new ArrayList<>();
+    private final List<BackpressureSessionDecorator> failed = new ArrayList<>();
+    private WebSocketSession delegate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn("s1");
+        doAnswer(invocation -> written.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+                .when(delegate).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("밀린 동안 시세는 최신 값으로 합치고, 한도를 넘으면 호가부터 버리며 가격 알림은 남긴다")
+    void appliesPolicyPerDestination() throws Exception {
+        // given - writer 가 아직 돌지 않아 대기열에 쌓이는 상황, 한도 600 바이트 (프레임 하나 140~170 바이트)
+        BackpressureSessionDecorator session = new BackpressureSessionDecorator(
+                delegate, 600, writerTasks::add, slowWriterTasks::add, 1000, 10_000, dropped::add, failed::add);
+
+        // when
+        session.sendMessage(frame("/topic/price-alert/7", "{\"type\":\"UPPER\"}"));
+        session.sendMessage(frame("/topic/stock-order-book/005930", "{\"type\":\"ORDER_BOOK_DELTA\",\"seq\":2}"));
+        session.sendMessage(frame("/topic/realtime-price/005930", "{\"currentPrice\":71000}"));
+        session.sendMessage(frame("/topic/realtime-price/005930", "{\"currentPrice\":71500}"));
+        session.sendMessage(frame("/topic/stock-order-book/005930", "{\"type\":\"ORDER_BOOK_DELTA\",\"seq\":3}"));
+        session.sendMessage(frame("/topic/price-alert/7", "{\"type\":\"LOWER\"}"));
+        session.sendMessage(frame("/topic/stock-order-book/005930", "{\"type\":\"ORDER_BOOK_DELTA\",\"seq\":4}"));
+        session.sendMessage(frame("/topic/stock-order-book/005930", "{\"type\":\"ORDER_BOOK\",\"seq\":5}"));
+        writerTasks.forEach(Runnable::run);
+
+        // then - 시세는 71500 하나로 합쳐지고, 델타 2 를 버린 뒤로는 스냅샷 전까지 델타를 보내지 않음
+        assertThat(written).extracting(BackpressureSessionDecoratorTest::body).containsExactly(
+                "{\"type\":\"UPPER\"}",
+                "{\"currentPrice\":71500}",
+                "{\"type\":\"LOWER\"}",
+                "{\"type\":\"ORDER_BOOK\",\"seq\":5}");
+        assertThat(dropped).contains(OutboundDropPolicy.LATEST_VALUE, OutboundDropPolicy.DROP_OLDEST);
+        assertThat(session.getBufferedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("쓰기가 멈춘 세션은 다른 세션을 막지 않고, 시간 한도를 넘으면 끊는다")
+    void disconnectsStalledSession() throws Exception {
+        // given - s1 은 쓰기에서 멈춤
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SlowConsumerGuard guard = new SlowConsumerGuard(registry, 1024, 50, 5000, 4, 1, 1000, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(delegate).sendMessage(any());
+        WebSocketSession healthy = mock(WebSocketSession.class);
+        when(healthy.getId()).thenReturn("s2");
+
+        List<WebSocketSession> established = new ArrayList<>();
+        WebSocketHandler handler = mock(WebSocketHandler.class);
+        doAnswer(invocation -> established.add(invocation.getArgument(0))).when(handler).afterConnectionEstablished(any());
+        WebSocketHandler decorated = guard.decorate(handler);
+        decorated.afterConnectionEstablished(delegate);
+        decorated.afterConnectionEstablished(healthy);
+
+        // when
+        established.get(0).sendMessage(frame("/topic/price-alert/7", "{\"type\":\"UPPER\"}"));
+        established.get(1).sendMessage(frame("/topic/price-alert/8", "{\"type\":\"UPPER\"}"));
+        verify(healthy, timeout(1000)).sendMessage(any());
+        Thread.sleep(100);
+        guard.check();
+
+        // then
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(registry.get("stock.ws.slow-consumer.disconnects").tag("reason", "send-time").counter().count()).isEqualTo(1.0);
+        assertThat(guard.sessionCount()).isEqualTo(1);
+        release.countDown();
+        guard.destroy();
+    }
+
+    @Test
+    @DisplayName("한 차례는 정해진 시간만 writer 를 잡고, 쓰기가 느려진 세션은 느린 세션 전용 writer 로 옮긴다")
+    void yieldsWriterAndMovesSlowSession() throws Exception {
+        // given - 한 차례 0ms (메시지 1건 쓰고 차례를 넘김), 두 번째 쓰기부터 느려짐
+        BackpressureSessionDecorator session = new BackpressureSessionDecorator(
+                delegate, 1024, writerTasks::add, slowWriterTasks::add, 20, 0, dropped::add, failed::add);
+        doAnswer(invocation -> written.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+                .doAnswer(invocation -> {
+                    Thread.sleep(40);
+                    return written.add(((TextMessage) invocation.getArgument(0)).getPayload());
+                })
+                .when(delegate).sendMessage(any());
+        session.sendMessage(frame("/topic/price-alert/7", "{\"seq\":1}"));
+        session.sendMessage(frame("/topic/price-alert/7", "{\"seq\":2}"));
+        session.sendMessage(frame("/topic/price-alert/7", "{\"seq\":3}"));
+
+        // when - 첫 차례
+        writerTasks.remove(0).run();
+
+        // then - 1건만 쓰고 일반 writer 대기열 뒤에 다시 걸림
+        assertThat(written).hasSize(1);
+        assertThat(writerTasks).hasSize(1);
+
+        // when - 두 번째 차례의 쓰기가 느림
+        writerTasks.remove(0).run();
+
+        // then - 남은 메시지는 느린 세션 전용 writer 에서 씀
+        assertThat(written).hasSize(2);
+        assertThat(writerTasks).isEmpty();
+        assertThat(slowWriterTasks).hasSize(1);
+        assertThat(session.isSlowWriter()).isTrue();
+        slowWriterTasks.remove(0).run();
+        assertThat(written).extracting(BackpressureSessionDecoratorTest::body)
+                .containsExactly("{\"seq\":1}", "{\"seq\":2}", "{\"seq\":3}");
+    }
+
+    @Test
+    @DisplayName("쓰기가 실패한 세션은 SESSION_NOT_RELIABLE 로 닫고 가드에서 빼며 종료 수를 센다")
+    void closesSessionOnSendFailure() throws Exception {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SlowConsumerGuard guard = new SlowConsumerGuard(registry, 1024, 10_000, 5000, 1, 1, 1000, 50);
+        doAnswer(invocation -> {
+            throw new IOException("broken pipe");
+        }).when(delegate).sendMessage(any());
+        List<WebSocketSession> established = new ArrayList<>();
+        WebSocketHandler handler = mock(WebSocketHandler.class);
+        doAnswer(invocation -> established.add(invocation.getArgument(0))).when(handler).afterConnectionEstablished(any());
+        guard.decorate(handler).afterConnectionEstablished(delegate);
+
+        // when
+        established.get(0).sendMessage(frame("/topic/price-alert/7", "{\"type\":\"UPPER\"}"));
+
+        // then
+        verify(delegate, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        Counter failures = registry.get("stock.ws.slow-consumer.disconnects").tag("reason", "send-failure").counter();
+        await(() -> failures.count() == 1.0);
+        assertThat(guard.sessionCount()).isZero();
+        guard.destroy();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\n"
+                + "subscription:sub-0\nmessage-id:1\ncontent-length:" + body.length() + "\n\n" + body + "\u0000");
+    }
+
+    private static String body(String frame) {
+        return frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1);
+    }
+}
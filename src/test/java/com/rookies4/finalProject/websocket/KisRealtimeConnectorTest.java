@@ -0,0 +1,78 @@
+package com.rookies4.finalProject.websocket;
+
+import com.rookies4.finalProject.service.kafka.SubscriptionEventProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * KisRealtimeConnector 단위 테스트 (UNSUBSCRIBE 유예)
+ */
+@DisplayName("KisRealtimeConnector 테스트")
+class KisRealtimeConnectorTest {
+
+    private SubscriptionEventProducer producer;
+    private StompSubscriptionRegistry registry;
+    private SimpleMeterRegistry meterRegistry;
+    private KisRealtimeConnector connector;
+
+    @BeforeEach
+    void setUp() {
+        producer = mock(SubscriptionEventProducer.class);
+        registry = new StompSubscriptionRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        connector = new KisRealtimeConnector(producer, registry, meterRegistry, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connector.destroy();
+    }
+
+    @Test
+    @DisplayName("유예 안에 다시 구독하면 UNSUBSCRIBE / SUBSCRIBE 를 보내지 않는다")
+    void cancelsUnsubscribeOnResubscribe() {
+        // given
+        connector.connectIfAbsent(false, "005930");
+
+        // when - 화면 이동: 구독자 0 → 바로 재구독
+        connector.scheduleDisconnect(false, "005930");
+        connector.connectIfAbsent(false, "005930");
+
+        // then
+        verify(producer, after(300).never()).publishUnsubscribeEvent(anyLong(), anyString());
+        verify(producer, times(1)).publishSubscribeEvent(0L, "005930");
+        assertThat(meterRegistry.get("stock.subscription.unsubscribe.cancelled").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("유예가 지나도 구독자가 없을 때만 UNSUBSCRIBE 를 보낸다")
+    void unsubscribesAfterGrace() {
+        // given - 000660 은 해지 예약 뒤 구독 이벤트 순서가 엇갈려 구독자가 남은 상태
+        registry.subscribe("s1", "sub-0", "/topic/realtime-price/000660", "000660");
+
+        // when
+        connector.scheduleDisconnect(false, "005930");
+        connector.scheduleDisconnect(false, "000660");
+
+        // then
+        verify(producer, timeout(1000)).publishUnsubscribeEvent(0L, "005930");
+        verify(producer, after(300).never()).publishUnsubscribeEvent(anyLong(), eq("000660"));
+        verify(producer, never()).publishSubscribeEvent(anyLong(), anyString());
+        assertThat(meterRegistry.get("stock.subscription.upstream.events").tag("type", "UNSUBSCRIBE").counter().count())
+                .isEqualTo(1.0);
+    }
+}
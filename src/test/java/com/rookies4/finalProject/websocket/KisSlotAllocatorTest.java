@@ -0,0 +1,139 @@
+package com.rookies4.finalProject.websocket;
+
+import com.rookies4.finalProject.dto.SlotAllocationDTO;
+import com.rookies4.finalProject.repository.InterestStockRepository;
+import com.rookies4.finalProject.repository.StockSubscriptionRepository;
+import com.rookies4.finalProject.service.ActiveStockSet;
+import com.rookies4.finalProject.service.PriceTargetIndex;
+import com.rookies4.finalProject.service.StockPopularityIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * KisSlotAllocator 단위 테스트
+ */
+@DisplayName("KisSlotAllocator 테스트")
+class KisSlotAllocatorTest {
+
+    private KisRealtimeConnector connector;
+    private StompSubscriptionRegistry registry;
+    private ActiveStockSet activeStockSet;
+    private PriceTargetIndex priceTargetIndex;
+    private SimpleMeterRegistry meterRegistry;
+    private KisSlotAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        connector = mock(KisRealtimeConnector.class);
+        registry = new StompSubscriptionRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        StockSubscriptionRepository stockSubscriptionRepository = mock(StockSubscriptionRepository.class);
+        InterestStockRepository interestStockRepository = mock(InterestStockRepository.class);
+        when(stockSubscriptionRepository.countByStockCode()).thenReturn(List.of());
+        when(interestStockRepository.countByStockCode()).thenReturn(List.<Object[]>of(new Object[]{"035420", 2L}));
+        activeStockSet = new ActiveStockSet(stockSubscriptionRepository, interestStockRepository, 100, false);
+        StockPopularityIndex popularityIndex = new StockPopularityIndex(activeStockSet, registry, meterRegistry);
+        activeStockSet.rebuild();
+        priceTargetIndex = mock(PriceTargetIndex.class);
+        when(priceTargetIndex.stockCodes()).thenReturn(Set.of());
+        // 슬롯 2개, 교체 기준 20% 이상
+        allocator = new KisSlotAllocator(connector, popularityIndex, priceTargetIndex, meterRegistry,
+                2, 10, 1, 3, 0.2, 5, false);
+    }
+
+    @Test
+    @DisplayName("슬롯이 차면 폴링으로 배분하고, 재배분에서 점수가 충분히 높은 종목만 가장 약한 종목과 교체한다")
+    void fallsBackToPollingAndSwapsByDemand() {
+        // given - 005930, 000660 이 먼저 슬롯을 차지
+        view("s1", "005930");
+        view("s1", "000660");
+        view("s1", "373220");
+        view("s2", "005930");
+
+        // then - 373220 은 폴링
+        SlotAllocationDTO.AllocationResponse plan = allocator.plan();
+        assertThat(plan.getStreaming()).containsExactly("005930", "000660");
+        assertThat(plan.getPolling()).containsExactly("373220", "035420");
+        verify(connector, never()).connectIfAbsent(false, "373220");
+        assertThat(meterRegistry.get("stock.kis.slots.polling-fallbacks").counter().count()).isEqualTo(1.0);
+
+        // when - 점수가 같으면 교체하지 않음 (000660 = 373220 = 10)
+        allocator.rebalance();
+        assertThat(allocator.isStreaming("373220")).isFalse();
+
+        // when - 373220 시청자 증가 (30 > 10 × 1.2)
+        view("s2", "373220");
+        view("s3", "373220");
+        allocator.rebalance();
+
+        // then
+        assertThat(allocator.plan().getStreaming()).containsExactly("373220", "005930");
+        verify(connector).disconnectNow(false, "000660");
+        verify(connector).connectIfAbsent(false, "373220");
+        assertThat(allocator.plan().getVersion()).isGreaterThan(plan.getVersion());
+    }
+
+    @Test
+    @DisplayName("마지막 구독자가 나가도 관심 / 목표가 수요가 남은 종목은 유지하고, 빈 슬롯은 수요 순으로 채운다")
+    void keepsStocksWithRemainingDemand() {
+        // given - 관심 종목 035420 은 재배분으로 등록, 005930 은 시청자만 있음, 이후 000660 에 목표가 등록
+        allocator.rebalance();
+        view("s1", "035420");
+        view("s1", "005930");
+        when(priceTargetIndex.stockCodes()).thenReturn(Set.of("000660"));
+        when(priceTargetIndex.targetCount("000660")).thenReturn(1);
+        assertThat(allocator.plan().getPolling()).containsExactly("000660");
+
+        // when - 세션 종료
+        registry.removeSession("s1").forEach(allocator::release);
+
+        // then - 035420 (관심 2건) 은 유지, 005930 은 유예 해지, 빈 슬롯은 목표가 종목이 씀
+        assertThat(allocator.isStreaming("035420")).isTrue();
+        assertThat(allocator.isStreaming("005930")).isFalse();
+        verify(connector).scheduleDisconnect(false, "005930");
+        verify(connector, never()).scheduleDisconnect(false, "035420");
+
+        allocator.rebalance();
+        assertThat(allocator.plan().getStreaming()).containsExactlyInAnyOrder("035420", "000660");
+    }
+
+    @Test
+    @DisplayName("다중 노드 모드에서는 슬롯을 배분하지 않고 바로 등록/해지한다")
+    void passesThroughInBroadcastMode() {
+        // given
+        KisSlotAllocator broadcastAllocator = new KisSlotAllocator(connector,
+                new StockPopularityIndex(activeStockSet, registry, new SimpleMeterRegistry()), priceTargetIndex,
+                new SimpleMeterRegistry(), 1, 10, 1, 3, 0.2, 5, true);
+
+        // when
+        broadcastAllocator.request("005930");
+        broadcastAllocator.request("000660");
+        broadcastAllocator.rebalance();
+        broadcastAllocator.release("005930");
+
+        // then - 슬롯 1개를 넘어도 등록, 배분 현황은 allocated=false
+        verify(connector).connectIfAbsent(false, "005930");
+        verify(connector).connectIfAbsent(false, "000660");
+        verify(connector).scheduleDisconnect(false, "005930");
+        verify(connector, never()).disconnectNow(false, "005930");
+        assertThat(broadcastAllocator.plan().isAllocated()).isFalse();
+        assertThat(broadcastAllocator.plan().getStreaming()).isEmpty();
+    }
+
+    private void view(String sessionId, String stockCode) {
+        if (registry.subscribe(sessionId, "sub-" + stockCode, "/topic/realtime-price/" + stockCode, stockCode)) {
+            allocator.request(stockCode);
+        }
+    }
+}
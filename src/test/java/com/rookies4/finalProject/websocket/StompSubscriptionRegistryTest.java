@@ -0,0 +1,99 @@
+package com.rookies4.finalProject.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StompSubscriptionRegistry 단위 테스트
+ */
+@DisplayName("StompSubscriptionRegistry 테스트")
+class StompSubscriptionRegistryTest {
+
+    private static final String PRICE_005930 = "/topic/realtime-price/005930";
+    private static final String ORDER_BOOK_005930 = "/topic/stock-order-book/005930";
+    private static final String PRICE_000660 = "/topic/realtime-price/000660";
+
+    private StompSubscriptionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new StompSubscriptionRegistry();
+    }
+
+    @Test
+    @DisplayName("UNSUBSCRIBE 는 해지한 구독 하나만 빼고, 종목 구독자가 0 이 될 때만 알린다")
+    void unsubscribesOnlyThatSubscription() {
+        // given - s1 은 005930 시세/호가와 000660 시세, s2 는 005930 시세
+        assertThat(registry.subscribe("s1", "sub-0", PRICE_005930, "005930")).isTrue();
+        assertThat(registry.subscribe("s1", "sub-1", ORDER_BOOK_005930, "005930")).isFalse();
+        assertThat(registry.subscribe("s1", "sub-2", PRICE_000660, "000660")).isTrue();
+        assertThat(registry.subscribe("s2", "sub-0", PRICE_005930, "005930")).isFalse();
+
+        // when & then
+        assertThat(registry.unsubscribe("s1", "sub-0")).isNull();
+        assertThat(registry.subscriberCount("005930")).isEqualTo(2);
+        assertThat(registry.subscriberCount("000660")).isEqualTo(1);
+        assertThat(registry.destinationCount(PRICE_005930)).isEqualTo(1);
+        assertThat(registry.destinationCount(ORDER_BOOK_005930)).isEqualTo(1);
+
+        assertThat(registry.unsubscribe("s1", "sub-0")).isNull();
+        assertThat(registry.unsubscribe("s1", "sub-2")).isEqualTo("000660");
+        assertThat(registry.activeStockCodes()).containsExactly("005930");
+    }
+
+    @Test
+    @DisplayName("세션 종료는 그 세션 구독만 제거하고 구독자가 0 이 된 종목을 돌려준다")
+    void removesSessionSubscriptions() {
+        // given
+        registry.subscribe("s1", "sub-0", PRICE_005930, "005930");
+        registry.subscribe("s1", "sub-1", PRICE_000660, "000660");
+        registry.subscribe("s2", "sub-0", PRICE_005930, "005930");
+
+        // when & then
+        assertThat(registry.removeSession("s1")).containsExactly("000660");
+        assertThat(registry.subscriberCount("005930")).isEqualTo(1);
+        assertThat(registry.destinationCount(PRICE_000660)).isZero();
+        assertThat(registry.removeSession("s1")).isEmpty();
+        assertThat(registry.removeSession("s2")).containsExactly("005930");
+        assertThat(registry.sessionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 목적지의 구독/해지가 동시에 몰려도 목적지별 구독 수를 잃지 않는다")
+    void keepsDestinationCountUnderContention() throws Exception {
+        // given - 각 스레드가 자기 세션으로 같은 목적지를 구독했다 해지하기를 반복
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            String sessionId = "s" + t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    registry.subscribe(sessionId, "sub-" + i, PRICE_005930, "005930");
+                    registry.unsubscribe(sessionId, "sub-" + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        registry.subscribe("s9", "sub-0", PRICE_005930, "005930");
+
+        // then
+        assertThat(registry.destinationCount(PRICE_005930)).isEqualTo(1);
+        assertThat(registry.subscriberCount("005930")).isEqualTo(1);
+    }
+}